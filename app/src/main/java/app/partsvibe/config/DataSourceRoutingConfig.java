@@ -1,18 +1,19 @@
 package app.partsvibe.config;
 
+import app.partsvibe.shared.time.TimeProvider;
 import com.zaxxer.hikari.HikariDataSource;
-import java.util.HashMap;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.Map;
 import javax.sql.DataSource;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 @Configuration
 public class DataSourceRoutingConfig {
-    private static final String READ_KEY = "read";
-    private static final String WRITE_KEY = "write";
+    private static final String WRITE_KEY = "primary";
 
     @Bean
     @ConfigurationProperties("app.datasource.write")
@@ -21,21 +22,57 @@ public class DataSourceRoutingConfig {
     }
 
     @Bean
-    @ConfigurationProperties("app.datasource.read")
-    public HikariDataSource readDataSource() {
-        return new HikariDataSource();
+    ReadReplicas readReplicas(DataSourceRoutingProperties properties, MeterRegistry meterRegistry) {
+        return new ReadReplicas(properties, meterRegistry);
+    }
+
+    @Bean
+    ReadYourWritesTracker readYourWritesTracker(DataSourceRoutingProperties properties, TimeProvider timeProvider) {
+        var routing = properties.getRouting();
+        // A replica may be routed to while it lags up to max-replica-lag-ms, so a shorter window lets a session read
+        // from a replica that has yet to replay its write.
+        if (routing.getReadYourWritesWindowMs() != 0
+                && routing.getReadYourWritesWindowMs() < routing.getMaxReplicaLagMs()) {
+            throw new IllegalStateException(
+                    ("Read-your-writes window is shorter than the tolerated replica lag. readYourWritesWindowMs=%d, "
+                                    + "maxReplicaLagMs=%d")
+                            .formatted(routing.getReadYourWritesWindowMs(), routing.getMaxReplicaLagMs()));
+        }
+        return new ReadYourWritesTracker(timeProvider, routing.getReadYourWritesWindowMs());
+    }
+
+    @Bean
+    ReadRoutingStrategy readRoutingStrategy() {
+        return new WeightedReadRoutingStrategy();
     }
 
     @Bean
     @Primary
-    public DataSource routingDataSource(DataSource writeDataSource, DataSource readDataSource) {
-        Map<Object, Object> targets = new HashMap<>();
-        targets.put(WRITE_KEY, writeDataSource);
-        targets.put(READ_KEY, readDataSource);
+    public DataSource routingDataSource(
+            DataSource writeDataSource,
+            ReadReplicas readReplicas,
+            ReadRoutingStrategy readRoutingStrategy,
+            ReadYourWritesTracker readYourWritesTracker,
+            DataSourceRoutingProperties properties,
+            MeterRegistry meterRegistry) {
+        Map<Object, Object> targets = readReplicas.targetDataSources();
+        if (targets.put(WRITE_KEY, writeDataSource) != null) {
+            throw new IllegalStateException("Read replica name is reserved for the primary. name=" + WRITE_KEY);
+        }
 
-        RoutingDataSource routingDataSource = new RoutingDataSource(READ_KEY, WRITE_KEY);
+        RoutingDataSource routingDataSource = new RoutingDataSource(
+                WRITE_KEY,
+                properties.getRouting().getPrimaryWeight(),
+                readReplicas.targets(),
+                properties.getRouting().getMaxReplicaLagMs(),
+                readRoutingStrategy,
+                readYourWritesTracker,
+                meterRegistry);
         routingDataSource.setDefaultTargetDataSource(writeDataSource);
         routingDataSource.setTargetDataSources(targets);
-        return routingDataSource;
+        routingDataSource.afterPropertiesSet();
+        // JpaTransactionManager takes the connection of a read-only transaction before it marks the transaction
+        // read-only; the proxy defers the lookup to the first statement, when the flag routing relies on is set.
+        return new LazyConnectionDataSourceProxy(routingDataSource);
     }
 }
@@ -0,0 +1,68 @@
+package app.partsvibe.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("app.datasource")
+@Validated
+@Data
+public class DataSourceRoutingProperties {
+    @Valid
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Valid
+    private Routing routing = new Routing();
+
+    @Data
+    public static class Replica {
+        @NotBlank
+        private String name;
+
+        // Share of read-only transactions relative to other replicas and routing.primary-weight.
+        @Min(0)
+        private int weight = 1;
+
+        @NotBlank
+        private String jdbcUrl;
+
+        private String username;
+
+        private String password;
+
+        @Min(1)
+        private int maximumPoolSize = 10;
+
+        // Kept short: a replica that cannot hand out a connection quickly is better ejected than waited for.
+        @Min(250)
+        private long connectionTimeoutMs = 2000;
+    }
+
+    @Data
+    public static class Routing {
+        // Share of read-only transactions kept on the primary. 0 sends reads to the primary only when no replica is
+        // routable.
+        @Min(0)
+        private int primaryWeight = 0;
+
+        // Replicas whose replay lag exceeds this are ejected until they catch up.
+        @Min(0)
+        private long maxReplicaLagMs = 5000;
+
+        @Min(100)
+        private long lagProbeIntervalMs = 1000;
+
+        @Min(1)
+        private int lagProbeTimeoutSeconds = 1;
+
+        // After a command, read-only transactions of the same session stay on the primary for this long so the
+        // user sees their own writes. Must be at least maxReplicaLagMs; 0 disables stickiness.
+        @Min(0)
+        private long readYourWritesWindowMs = 5000;
+    }
+}
@@ -0,0 +1,54 @@
+package app.partsvibe.config;
+
+import java.util.Collection;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Statements against the Spring Session JDBC schema that JdbcIndexedSessionRepository has no API for.
+class JdbcSessionStore implements SessionLastAccessWriter, SessionChangeNotifier {
+    static final String NOTIFICATION_CHANNEL = "app_session_changed";
+
+    // Never moves a last access time backwards: another instance may have written a later one.
+    private static final String UPDATE_LAST_ACCESS_SQL =
+            """
+            UPDATE SPRING_SESSION
+            SET LAST_ACCESS_TIME = ?, EXPIRY_TIME = ?
+            WHERE SESSION_ID = ? AND LAST_ACCESS_TIME < ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    JdbcSessionStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    String instanceId() {
+        return instanceId;
+    }
+
+    @Override
+    public void write(Collection<SessionLastAccess> accesses) {
+        jdbcTemplate.batchUpdate(UPDATE_LAST_ACCESS_SQL, accesses, accesses.size(), (statement, access) -> {
+            long lastAccessedMs = access.lastAccessedTime().toEpochMilli();
+            statement.setLong(1, lastAccessedMs);
+            statement.setLong(2, expiryTimeMs(access));
+            statement.setString(3, access.sessionId());
+            statement.setLong(4, lastAccessedMs);
+        });
+    }
+
+    // The payload carries the sending instance, so that instances skip their own notifications.
+    @Override
+    public void sessionChanged(String sessionId) {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", NOTIFICATION_CHANNEL, instanceId + ":" + sessionId);
+    }
+
+    // Same encoding as JdbcIndexedSessionRepository: sessions that never expire get the largest possible expiry.
+    private static long expiryTimeMs(SessionLastAccess access) {
+        if (access.maxInactiveInterval().isNegative()) {
+            return Long.MAX_VALUE;
+        }
+        return access.lastAccessedTime().plus(access.maxInactiveInterval()).toEpochMilli();
+    }
+}
@@ -0,0 +1,145 @@
+package app.partsvibe.config;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+
+// Copy of a session private to one request. Records what the request changed, so that NearCacheSessionRepository can
+// tell a request that only touched the session from one whose changes have to be written to the durable store.
+final class NearCacheSession implements Session {
+    private final MapSession delegate;
+    private final String originalId;
+    private final Instant loadedLastAccessedTime;
+    private final boolean isNew;
+    private final Function<String, Session> durableLoader;
+    private final Set<String> changedAttributeNames = new HashSet<>();
+    private boolean maxInactiveIntervalChanged;
+    private boolean durableLoaded;
+    private Session durable;
+    private int roundTrips;
+
+    // durable is the store's own copy when the caller already has it (new sessions, cache misses), null otherwise.
+    NearCacheSession(MapSession delegate, Session durable, boolean isNew, Function<String, Session> durableLoader) {
+        this.delegate = delegate;
+        this.originalId = delegate.getId();
+        this.loadedLastAccessedTime = delegate.getLastAccessedTime();
+        this.isNew = isNew;
+        this.durableLoader = durableLoader;
+        this.durable = durable;
+        this.durableLoaded = durable != null;
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    // The durable store generates the new id, so that its copy of the session is renamed along with this one.
+    @Override
+    public String changeSessionId() {
+        Session target = durable();
+        String newId = target != null ? target.changeSessionId() : delegate.changeSessionId();
+        delegate.setId(newId);
+        return newId;
+    }
+
+    @Override
+    public <T> T getAttribute(String attributeName) {
+        return delegate.getAttribute(attributeName);
+    }
+
+    @Override
+    public Set<String> getAttributeNames() {
+        return delegate.getAttributeNames();
+    }
+
+    @Override
+    public void setAttribute(String attributeName, Object attributeValue) {
+        delegate.setAttribute(attributeName, attributeValue);
+        changedAttributeNames.add(attributeName);
+    }
+
+    @Override
+    public void removeAttribute(String attributeName) {
+        setAttribute(attributeName, null);
+    }
+
+    @Override
+    public Instant getCreationTime() {
+        return delegate.getCreationTime();
+    }
+
+    @Override
+    public void setLastAccessedTime(Instant lastAccessedTime) {
+        delegate.setLastAccessedTime(lastAccessedTime);
+    }
+
+    @Override
+    public Instant getLastAccessedTime() {
+        return delegate.getLastAccessedTime();
+    }
+
+    @Override
+    public void setMaxInactiveInterval(Duration interval) {
+        delegate.setMaxInactiveInterval(interval);
+        maxInactiveIntervalChanged = true;
+    }
+
+    @Override
+    public Duration getMaxInactiveInterval() {
+        return delegate.getMaxInactiveInterval();
+    }
+
+    @Override
+    public boolean isExpired() {
+        return delegate.isExpired();
+    }
+
+    String originalId() {
+        return originalId;
+    }
+
+    Instant loadedLastAccessedTime() {
+        return loadedLastAccessedTime;
+    }
+
+    boolean isNew() {
+        return isNew;
+    }
+
+    boolean requiresWrite() {
+        return isNew || !originalId.equals(getId()) || maxInactiveIntervalChanged || !changedAttributeNames.isEmpty();
+    }
+
+    // Null when the session was deleted from the durable store meanwhile.
+    Session durable() {
+        if (!durableLoaded) {
+            durable = durableLoader.apply(originalId);
+            durableLoaded = true;
+            countRoundTrip();
+        }
+        return durable;
+    }
+
+    void applyChangesTo(Session target) {
+        for (String attributeName : changedAttributeNames) {
+            target.setAttribute(attributeName, delegate.getAttribute(attributeName));
+        }
+        if (maxInactiveIntervalChanged) {
+            target.setMaxInactiveInterval(delegate.getMaxInactiveInterval());
+        }
+        target.setLastAccessedTime(delegate.getLastAccessedTime());
+    }
+
+    void countRoundTrip() {
+        roundTrips++;
+    }
+
+    int roundTrips() {
+        return roundTrips;
+    }
+}
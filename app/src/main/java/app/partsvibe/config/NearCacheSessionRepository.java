@@ -0,0 +1,236 @@
+package app.partsvibe.config;
+
+import app.partsvibe.config.SessionLastAccessWriter.SessionLastAccess;
+import app.partsvibe.shared.cache.ExpiringCache;
+import app.partsvibe.shared.time.TimeProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+// Session repository in front of the durable JDBC store. Sessions are read from a per-instance near cache; a request
+// that only touched its session (the common case) costs no statement, its last access time is written in a batch
+// with those of other sessions. Requests that change attributes, the id or the timeout are written through, drop the
+// cached copy and notify the other instances, which drop theirs. The durable store stays the source of truth, so
+// sessions survive restarts; unflushed last access times are written on shutdown. Attributes are cached serialized,
+// as the durable store keeps them, so every request gets its own copies of mutable values such as the security
+// context.
+class NearCacheSessionRepository implements SessionRepository<NearCacheSession>, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(NearCacheSessionRepository.class);
+    private static final SerializingConverter SERIALIZER = new SerializingConverter();
+    private static final DeserializingConverter DESERIALIZER =
+            new DeserializingConverter(NearCacheSessionRepository.class.getClassLoader());
+
+    private final SessionRepository<Session> durableRepository;
+    private final SessionLastAccessWriter lastAccessWriter;
+    private final SessionChangeNotifier changeNotifier;
+    private final ExpiringCache<String, CachedSession> cache;
+    private final Map<String, SessionLastAccess> pendingLastAccesses = new ConcurrentHashMap<>();
+    private final Counter flushedCounter;
+    private final DistributionSummary roundTripsPerRequest;
+
+    NearCacheSessionRepository(
+            SessionRepository<Session> durableRepository,
+            SessionLastAccessWriter lastAccessWriter,
+            SessionChangeNotifier changeNotifier,
+            SessionStoreProperties properties,
+            TimeProvider timeProvider,
+            MeterRegistry meterRegistry) {
+        this.durableRepository = durableRepository;
+        this.lastAccessWriter = lastAccessWriter;
+        this.changeNotifier = changeNotifier;
+        // An expired-looking copy may just be stale: another instance may have seen a later access.
+        this.cache = new ExpiringCache<>(
+                "app.session.near-cache",
+                properties.getNearCache().getTtlMs(),
+                properties.getNearCache().getMaxEntries(),
+                timeProvider,
+                meterRegistry,
+                CachedSession::isExpired);
+        this.flushedCounter = meterRegistry.counter("app.session.store.last-access.flushed");
+        // Statements the session store issued for one request.
+        this.roundTripsPerRequest =
+                DistributionSummary.builder("app.session.store.round-trips").register(meterRegistry);
+        meterRegistry.gauge("app.session.store.last-access.pending", pendingLastAccesses, Map::size);
+    }
+
+    @Override
+    public NearCacheSession createSession() {
+        // Creating the durable session touches no table, it is inserted by save().
+        Session created = durableRepository.createSession();
+        return new NearCacheSession(new MapSession(created), created, true, durableRepository::findById);
+    }
+
+    @Override
+    public NearCacheSession findById(String id) {
+        // Set only by a miss; the request can write through to the store's copy without loading it again.
+        Session[] loaded = new Session[1];
+        CachedSession cached = cache.get(id, () -> {
+            // Also deletes the session if the durable store considers it expired.
+            loaded[0] = durableRepository.findById(id);
+            return loaded[0] != null ? CachedSession.of(loaded[0], pendingLastAccesses.get(id)) : null;
+        });
+        if (cached == null) {
+            return null;
+        }
+
+        var session = new NearCacheSession(cached.toMapSession(), loaded[0], false, durableRepository::findById);
+        if (loaded[0] != null) {
+            session.countRoundTrip();
+        }
+        return session;
+    }
+
+    @Override
+    public void save(NearCacheSession session) {
+        if (session.requiresWrite()) {
+            writeThrough(session);
+        } else {
+            touch(session);
+        }
+        roundTripsPerRequest.record(session.roundTrips());
+    }
+
+    @Override
+    public void deleteById(String id) {
+        durableRepository.deleteById(id);
+        pendingLastAccesses.remove(id);
+        evict(id);
+        changeNotifier.sessionChanged(id);
+    }
+
+    void evict(String id) {
+        cache.invalidate(id);
+    }
+
+    void evictAll() {
+        cache.invalidateAll();
+    }
+
+    @Scheduled(fixedDelayString = "${app.session.last-access-flush-interval-ms:5000}")
+    void flushLastAccessTimes() {
+        List<SessionLastAccess> batch = new ArrayList<>();
+        for (var entry : pendingLastAccesses.entrySet()) {
+            if (pendingLastAccesses.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            lastAccessWriter.write(batch);
+            flushedCounter.increment(batch.size());
+        } catch (RuntimeException ex) {
+            batch.forEach(access -> pendingLastAccesses.merge(access.sessionId(), access, SessionLastAccess::later));
+            log.warn("Session last access flush failed, will retry. sessions={}", batch.size(), ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        flushLastAccessTimes();
+    }
+
+    private void touch(NearCacheSession session) {
+        Instant lastAccessedTime = session.getLastAccessedTime();
+        // Concurrent requests of the session share the cached copy; a late request must not move it backwards.
+        cache.update(session.getId(), cached -> cached.accessedAt(lastAccessedTime));
+
+        var access = new SessionLastAccess(session.getId(), lastAccessedTime, session.getMaxInactiveInterval());
+        if (idleForHalfOfTimeout(session)) {
+            // Its stored expiry may be close: a deferred write could come after the cleanup job removed the session.
+            lastAccessWriter.write(List.of(access));
+            session.countRoundTrip();
+            return;
+        }
+        pendingLastAccesses.merge(session.getId(), access, SessionLastAccess::later);
+    }
+
+    private void writeThrough(NearCacheSession session) {
+        Session target = session.durable();
+        if (target == null) {
+            // Deleted elsewhere (logout on another tab, expiry); its changes are dropped as the JDBC store would.
+            evict(session.originalId());
+            return;
+        }
+
+        session.applyChangesTo(target);
+        durableRepository.save(target);
+        session.countRoundTrip();
+        pendingLastAccesses.remove(session.originalId());
+        pendingLastAccesses.remove(session.getId());
+        evict(session.originalId());
+        evict(session.getId());
+        if (!session.isNew()) {
+            changeNotifier.sessionChanged(session.originalId());
+            session.countRoundTrip();
+        }
+    }
+
+    private boolean idleForHalfOfTimeout(NearCacheSession session) {
+        var maxInactiveInterval = session.getMaxInactiveInterval();
+        return !maxInactiveInterval.isNegative()
+                && session.loadedLastAccessedTime()
+                        .plus(maxInactiveInterval.dividedBy(2))
+                        .isBefore(session.getLastAccessedTime());
+    }
+
+    // What the near cache keeps of a session. Immutable, so requests never share attribute values.
+    private record CachedSession(
+            String id,
+            Instant creationTime,
+            Instant lastAccessedTime,
+            Duration maxInactiveInterval,
+            Map<String, byte[]> attributes) {
+        // A last access still waiting to be flushed is later than the one the durable store returned.
+        static CachedSession of(Session session, SessionLastAccess pending) {
+            Map<String, byte[]> attributes = new HashMap<>();
+            for (String attributeName : session.getAttributeNames()) {
+                attributes.put(attributeName, SERIALIZER.convert(session.getAttribute(attributeName)));
+            }
+            var cached = new CachedSession(
+                    session.getId(),
+                    session.getCreationTime(),
+                    session.getLastAccessedTime(),
+                    session.getMaxInactiveInterval(),
+                    attributes);
+            return pending != null ? cached.accessedAt(pending.lastAccessedTime()) : cached;
+        }
+
+        CachedSession accessedAt(Instant accessedAt) {
+            if (!accessedAt.isAfter(lastAccessedTime)) {
+                return this;
+            }
+            return new CachedSession(id, creationTime, accessedAt, maxInactiveInterval, attributes);
+        }
+
+        boolean isExpired(Instant now) {
+            return !maxInactiveInterval.isNegative() && !now.isBefore(lastAccessedTime.plus(maxInactiveInterval));
+        }
+
+        MapSession toMapSession() {
+            MapSession session = new MapSession(id);
+            session.setCreationTime(creationTime);
+            session.setLastAccessedTime(lastAccessedTime);
+            session.setMaxInactiveInterval(maxInactiveInterval);
+            attributes.forEach((name, value) -> session.setAttribute(name, DESERIALIZER.convert(value)));
+            return session;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package app.partsvibe.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// Connection pools of the configured read replicas and the background probe that ejects replicas which are down or
+// lag behind the primary by more than routing.max-replica-lag-ms.
+class ReadReplicas implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicas.class);
+
+    // Replay lag of a standby. A standby that replayed everything it received reports 0 even if the primary was idle
+    // since the last transaction; the primary itself (replica pointing at it) reports 0 as well.
+    private static final String LAG_SQL =
+            """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM (clock_timestamp() - pg_last_xact_replay_timestamp())) * 1000, 0)
+            END
+            """;
+
+    private final Map<ReadTarget, HikariDataSource> pools = new LinkedHashMap<>();
+    private final int lagProbeTimeoutSeconds;
+    private final long maxReplicaLagMs;
+
+    ReadReplicas(DataSourceRoutingProperties properties, MeterRegistry meterRegistry) {
+        this.lagProbeTimeoutSeconds = properties.getRouting().getLagProbeTimeoutSeconds();
+        this.maxReplicaLagMs = properties.getRouting().getMaxReplicaLagMs();
+        for (var replica : properties.getReplicas()) {
+            if (pools.keySet().stream().anyMatch(target -> target.key().equals(replica.getName()))) {
+                throw new IllegalStateException("Duplicate read replica name. name=" + replica.getName());
+            }
+            var target = new ReadTarget(replica.getName(), replica.getWeight());
+            target.registerGauges(meterRegistry);
+            pools.put(target, createPool(replica));
+        }
+    }
+
+    List<ReadTarget> targets() {
+        return List.copyOf(pools.keySet());
+    }
+
+    Map<Object, Object> targetDataSources() {
+        Map<Object, Object> dataSources = new LinkedHashMap<>();
+        pools.forEach((target, pool) -> dataSources.put(target.key(), pool));
+        return dataSources;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-probe-interval-ms:1000}")
+    void probe() {
+        pools.forEach(this::probe);
+    }
+
+    private void probe(ReadTarget target, DataSource dataSource) {
+        boolean wasRoutable = target.isRoutable(maxReplicaLagMs);
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(lagProbeTimeoutSeconds);
+            try (ResultSet resultSet = statement.executeQuery(LAG_SQL)) {
+                resultSet.next();
+                target.markHealthy(Math.max(0, resultSet.getLong(1)));
+            }
+        } catch (SQLException | RuntimeException ex) {
+            target.markUnhealthy();
+            log.debug("Read replica health check failed. target={}, error={}", target.key(), ex.getMessage());
+        }
+
+        boolean routable = target.isRoutable(maxReplicaLagMs);
+        if (wasRoutable && !routable) {
+            log.warn(
+                    "Read replica ejected from routing. target={}, healthy={}, lagMs={}, maxReplicaLagMs={}",
+                    target.key(),
+                    target.healthy(),
+                    target.lagMs(),
+                    maxReplicaLagMs);
+        } else if (!wasRoutable && routable) {
+            log.info("Read replica re-admitted to routing. target={}, lagMs={}", target.key(), target.lagMs());
+        }
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+
+    private static HikariDataSource createPool(DataSourceRoutingProperties.Replica replica) {
+        var pool = new HikariDataSource();
+        pool.setPoolName("read-" + replica.getName());
+        pool.setJdbcUrl(replica.getJdbcUrl());
+        pool.setUsername(replica.getUsername());
+        pool.setPassword(replica.getPassword());
+        pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+        pool.setConnectionTimeout(replica.getConnectionTimeoutMs());
+        pool.setReadOnly(true);
+        // Start even if a replica is down; the probe keeps it ejected until it answers.
+        pool.setInitializationFailTimeout(-1);
+        return pool;
+    }
+}
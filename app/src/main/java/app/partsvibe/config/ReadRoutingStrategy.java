@@ -0,0 +1,9 @@
+package app.partsvibe.config;
+
+import java.util.List;
+
+// Picks the target of one read-only transaction. Candidates are never empty and are already filtered to routable
+// targets; the list changes whenever a replica is ejected or re-admitted.
+interface ReadRoutingStrategy {
+    ReadTarget select(List<ReadTarget> candidates);
+}
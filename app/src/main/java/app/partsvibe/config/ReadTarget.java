@@ -0,0 +1,53 @@
+package app.partsvibe.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+// A lookup key of RoutingDataSource that can serve read-only transactions, with the health and replication lag last
+// observed by ReadReplicas. The primary is a read target that is always healthy and never lags.
+final class ReadTarget {
+    private final String key;
+    private final int weight;
+    private volatile boolean healthy = true;
+    private volatile long lagMs;
+
+    ReadTarget(String key, int weight) {
+        this.key = key;
+        this.weight = weight;
+    }
+
+    String key() {
+        return key;
+    }
+
+    int weight() {
+        return weight;
+    }
+
+    boolean healthy() {
+        return healthy;
+    }
+
+    long lagMs() {
+        return lagMs;
+    }
+
+    boolean isRoutable(long maxLagMs) {
+        return weight > 0 && healthy && lagMs <= maxLagMs;
+    }
+
+    void markHealthy(long lagMs) {
+        this.lagMs = lagMs;
+        this.healthy = true;
+    }
+
+    void markUnhealthy() {
+        this.healthy = false;
+    }
+
+    void registerGauges(MeterRegistry meterRegistry) {
+        var tags = Tags.of("target", key);
+        meterRegistry.gauge("app.datasource.replica.lag-ms", tags, this, ReadTarget::lagMs);
+        meterRegistry.gauge("app.datasource.replica.healthy", tags, this, target -> target.healthy ? 1 : 0);
+    }
+}
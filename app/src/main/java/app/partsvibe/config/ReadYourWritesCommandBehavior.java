@@ -0,0 +1,26 @@
+package app.partsvibe.config;
+
+import app.partsvibe.shared.cqrs.Command;
+import app.partsvibe.shared.cqrs.CommandBehavior;
+import app.partsvibe.shared.cqrs.CommandExecution;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Runs outside of the handler's transaction, so a command that returns normally has committed.
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+class ReadYourWritesCommandBehavior<C extends Command<R>, R> implements CommandBehavior<C, R> {
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    ReadYourWritesCommandBehavior(ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    public R handle(C command, CommandExecution<C, R> next) {
+        R result = next.execute(command);
+        readYourWritesTracker.recordWrite();
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+package app.partsvibe.config;
+
+import app.partsvibe.shared.time.TimeProvider;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+// Remembers which HTTP sessions executed a command recently, so RoutingDataSource can keep their reads on the primary
+// until replicas had a chance to replay the write. The rest of the request that ran the command is always sticky.
+// State is per application instance; requests outside of an HTTP request (event handlers, jobs) are never sticky.
+class ReadYourWritesTracker {
+    static final String WROTE_IN_REQUEST_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".wroteInRequest";
+
+    private final TimeProvider timeProvider;
+    private final long windowMs;
+    private final Map<String, Instant> stickyUntilBySessionId = new ConcurrentHashMap<>();
+
+    ReadYourWritesTracker(TimeProvider timeProvider, long windowMs) {
+        this.timeProvider = timeProvider;
+        this.windowMs = windowMs;
+    }
+
+    void recordWrite() {
+        HttpServletRequest request = currentRequest();
+        if (windowMs == 0 || request == null) {
+            return;
+        }
+        request.setAttribute(WROTE_IN_REQUEST_ATTRIBUTE, Boolean.TRUE);
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            stickyUntilBySessionId.put(session.getId(), timeProvider.now().plusMillis(windowMs));
+        }
+    }
+
+    boolean isSticky() {
+        HttpServletRequest request = currentRequest();
+        if (windowMs == 0 || request == null) {
+            return false;
+        }
+        if (request.getAttribute(WROTE_IN_REQUEST_ATTRIBUTE) != null) {
+            return true;
+        }
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return false;
+        }
+        Instant stickyUntil = stickyUntilBySessionId.get(session.getId());
+        return stickyUntil != null && timeProvider.now().isBefore(stickyUntil);
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    void evictExpired() {
+        Instant now = timeProvider.now();
+        stickyUntilBySessionId.values().removeIf(stickyUntil -> !now.isBefore(stickyUntil));
+    }
+
+    private static HttpServletRequest currentRequest() {
+        // Read without creating a session: anonymous requests must not start one just to be routed.
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest()
+                : null;
+    }
+}
@@ -1,9 +1,10 @@
 package app.partsvibe.config;
 
-import app.partsvibe.shared.cqrs.Mediator;
 import app.partsvibe.shared.security.CurrentUserProvider;
 import app.partsvibe.users.queries.auth.GetUserMenuQuery;
+import app.partsvibe.users.queries.auth.UserMenuCache;
 import jakarta.servlet.http.HttpServletRequest;
+import java.util.Optional;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ModelAttribute;
 
@@ -13,13 +14,13 @@ public class RequestContextAdvice {
 
     private final BuildVersionInfo buildVersionInfo;
     private final CurrentUserProvider currentUserProvider;
-    private final Mediator mediator;
+    private final UserMenuCache userMenuCache;
 
     public RequestContextAdvice(
-            BuildVersionInfo buildVersionInfo, CurrentUserProvider currentUserProvider, Mediator mediator) {
+            BuildVersionInfo buildVersionInfo, CurrentUserProvider currentUserProvider, UserMenuCache userMenuCache) {
         this.buildVersionInfo = buildVersionInfo;
         this.currentUserProvider = currentUserProvider;
-        this.mediator = mediator;
+        this.userMenuCache = userMenuCache;
     }
 
     @ModelAttribute("currentPath")
@@ -48,22 +49,26 @@ public class RequestContextAdvice {
 
     @ModelAttribute("currentUsername")
     public String currentUsername() {
-        return currentUserProvider.currentUsername().orElse("");
+        return currentUserMenu()
+                .map(GetUserMenuQuery.UserMenuData::displayName)
+                .or(currentUserProvider::currentUsername)
+                .orElse("");
     }
 
     @ModelAttribute("currentUserAvatarUrl")
     public String currentUserAvatarUrl() {
-        return currentUserProvider.currentUserId().map(this::resolveAvatarUrl).orElse(PLACEHOLDER_IMAGE_URL);
+        return currentUserMenu()
+                .map(GetUserMenuQuery.UserMenuData::avatarId)
+                .map(avatarId -> "/storage/files/" + avatarId + "/thumbnail/128")
+                .orElse(PLACEHOLDER_IMAGE_URL);
     }
 
-    private String resolveAvatarUrl(Long userId) {
+    // Served from UserMenuCache, so rendering the page chrome does not query the database.
+    private Optional<GetUserMenuQuery.UserMenuData> currentUserMenu() {
         try {
-            var menuData = mediator.executeQuery(new GetUserMenuQuery(userId));
-            return menuData.avatarId() == null
-                    ? PLACEHOLDER_IMAGE_URL
-                    : "/storage/files/" + menuData.avatarId() + "/thumbnail/128";
+            return currentUserProvider.currentUserId().map(userMenuCache::get);
         } catch (RuntimeException ex) {
-            return PLACEHOLDER_IMAGE_URL;
+            return Optional.empty();
         }
     }
 }
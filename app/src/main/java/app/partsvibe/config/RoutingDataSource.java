@@ -1,25 +1,75 @@
 package app.partsvibe.config;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 final class RoutingDataSource extends AbstractRoutingDataSource {
-    private final AtomicInteger readOnlyCounter = new AtomicInteger();
-    private final String readKey;
     private final String writeKey;
+    // The primary as a read target, followed by the replicas.
+    private final List<ReadTarget> readTargets;
+    private final long maxReplicaLagMs;
+    private final ReadRoutingStrategy strategy;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Map<String, Counter> readRoutingCounters = new HashMap<>();
+    private final Counter stickyReadsCounter;
+    private final Counter fallbackReadsCounter;
 
-    RoutingDataSource(String readKey, String writeKey) {
-        this.readKey = readKey;
+    RoutingDataSource(
+            String writeKey,
+            int primaryWeight,
+            List<ReadTarget> replicas,
+            long maxReplicaLagMs,
+            ReadRoutingStrategy strategy,
+            ReadYourWritesTracker readYourWritesTracker,
+            MeterRegistry meterRegistry) {
         this.writeKey = writeKey;
+        var targets = new ArrayList<ReadTarget>();
+        targets.add(new ReadTarget(writeKey, primaryWeight));
+        targets.addAll(replicas);
+        this.readTargets = List.copyOf(targets);
+        this.maxReplicaLagMs = maxReplicaLagMs;
+        this.strategy = strategy;
+        this.readYourWritesTracker = readYourWritesTracker;
+        for (var target : readTargets) {
+            readRoutingCounters.put(
+                    target.key(), meterRegistry.counter("app.datasource.routing.reads", "target", target.key()));
+        }
+        this.stickyReadsCounter = meterRegistry.counter("app.datasource.routing.reads.sticky");
+        this.fallbackReadsCounter = meterRegistry.counter("app.datasource.routing.reads.fallback");
     }
 
     @Override
     protected Object determineCurrentLookupKey() {
-        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
-            int pick = Math.floorMod(readOnlyCounter.getAndIncrement(), 2);
-            return pick == 0 ? readKey : writeKey;
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return writeKey;
+        }
+        if (readYourWritesTracker.isSticky()) {
+            stickyReadsCounter.increment();
+            return route(writeKey);
+        }
+
+        var candidates = new ArrayList<ReadTarget>(readTargets.size());
+        for (var target : readTargets) {
+            if (target.isRoutable(maxReplicaLagMs)) {
+                candidates.add(target);
+            }
         }
-        return writeKey;
+        if (candidates.isEmpty()) {
+            // Every replica is ejected and the primary has no read weight of its own.
+            fallbackReadsCounter.increment();
+            return route(writeKey);
+        }
+        return route(strategy.select(candidates).key());
+    }
+
+    private String route(String key) {
+        readRoutingCounters.get(key).increment();
+        return key;
     }
 }
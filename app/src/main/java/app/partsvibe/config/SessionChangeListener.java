@@ -0,0 +1,135 @@
+package app.partsvibe.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+// Drops sessions from the near cache when another instance changed or deleted them (JdbcSessionStore.sessionChanged).
+class SessionChangeListener implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(SessionChangeListener.class);
+    private static final int NOTIFICATION_WAIT_MS = 500;
+
+    private final DataSource dataSource;
+    private final String instanceId;
+    private final NearCacheSessionRepository sessionRepository;
+    private final long reconnectDelayMs;
+    private final Counter notificationsCounter;
+    private final Counter reconnectsCounter;
+
+    private volatile boolean running;
+    private volatile Thread listenerThread;
+
+    SessionChangeListener(
+            DataSource dataSource,
+            JdbcSessionStore sessionStore,
+            NearCacheSessionRepository sessionRepository,
+            SessionStoreProperties properties,
+            MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.instanceId = sessionStore.instanceId();
+        this.sessionRepository = sessionRepository;
+        this.reconnectDelayMs = properties.getNotificationsReconnectDelayMs();
+        this.notificationsCounter = meterRegistry.counter("app.session.notifications.received");
+        this.reconnectsCounter = meterRegistry.counter("app.session.notifications.reconnects");
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listenerThread = Thread.ofPlatform()
+                .name("session-change-listener")
+                .daemon(true)
+                .start(this::listenUntilStopped);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        Thread thread = listenerThread;
+        listenerThread = null;
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(NOTIFICATION_WAIT_MS * 2L);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenUntilStopped() {
+        while (running) {
+            // Holds one pooled connection for as long as the listener is running.
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (var statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + JdbcSessionStore.NOTIFICATION_CHANNEL);
+                }
+                log.info("Session change listener connected. channel={}", JdbcSessionStore.NOTIFICATION_CHANNEL);
+
+                // Changes made while we were not listening went unnoticed.
+                sessionRepository.evictAll();
+                awaitNotifications(connection.unwrap(PGConnection.class));
+
+                // The connection goes back to the pool, so it must not keep collecting notifications.
+                try (var statement = connection.createStatement()) {
+                    statement.execute("UNLISTEN *");
+                }
+            } catch (SQLException | RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+                reconnectsCounter.increment();
+                log.warn(
+                        "Session change listener lost its connection. Reconnecting. reconnectDelayMs={}",
+                        reconnectDelayMs,
+                        ex);
+                if (!sleepBeforeReconnect()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void awaitNotifications(PGConnection connection) throws SQLException {
+        while (running) {
+            PGNotification[] notifications = connection.getNotifications(NOTIFICATION_WAIT_MS);
+            if (notifications == null) {
+                continue;
+            }
+            notificationsCounter.increment(notifications.length);
+            for (PGNotification notification : notifications) {
+                String payload = notification.getParameter();
+                int separator = payload.indexOf(':');
+                if (separator > 0 && !payload.substring(0, separator).equals(instanceId)) {
+                    sessionRepository.evict(payload.substring(separator + 1));
+                }
+            }
+        }
+    }
+
+    private boolean sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelayMs);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
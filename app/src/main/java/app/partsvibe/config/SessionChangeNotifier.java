@@ -0,0 +1,6 @@
+package app.partsvibe.config;
+
+// Tells the other application instances to drop their cached copy of a session.
+interface SessionChangeNotifier {
+    void sessionChanged(String sessionId);
+}
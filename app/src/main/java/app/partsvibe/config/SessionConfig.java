@@ -1,8 +1,54 @@
 package app.partsvibe.config;
 
+import app.partsvibe.shared.time.TimeProvider;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
 import org.springframework.session.jdbc.config.annotation.web.http.EnableJdbcHttpSession;
 
 @Configuration
 @EnableJdbcHttpSession
-public class SessionConfig {}
+public class SessionConfig {
+    // Notifications are neither sent nor delivered on read replicas, so the session store talks to the primary.
+    @Bean
+    JdbcSessionStore jdbcSessionStore(HikariDataSource writeDataSource) {
+        return new JdbcSessionStore(new JdbcTemplate(writeDataSource));
+    }
+
+    // The session filter uses the primary repository. The JDBC one stays the durable store and keeps cleaning up
+    // expired sessions.
+    @Bean
+    @Primary
+    @SuppressWarnings("unchecked")
+    NearCacheSessionRepository nearCacheSessionRepository(
+            JdbcIndexedSessionRepository jdbcSessionRepository,
+            JdbcSessionStore jdbcSessionStore,
+            SessionStoreProperties properties,
+            TimeProvider timeProvider,
+            MeterRegistry meterRegistry) {
+        return new NearCacheSessionRepository(
+                (SessionRepository<Session>) (SessionRepository<?>) jdbcSessionRepository,
+                jdbcSessionStore,
+                jdbcSessionStore,
+                properties,
+                timeProvider,
+                meterRegistry);
+    }
+
+    @Bean
+    SessionChangeListener sessionChangeListener(
+            HikariDataSource writeDataSource,
+            JdbcSessionStore jdbcSessionStore,
+            NearCacheSessionRepository nearCacheSessionRepository,
+            SessionStoreProperties properties,
+            MeterRegistry meterRegistry) {
+        return new SessionChangeListener(
+                writeDataSource, jdbcSessionStore, nearCacheSessionRepository, properties, meterRegistry);
+    }
+}
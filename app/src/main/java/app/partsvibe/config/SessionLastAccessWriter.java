@@ -0,0 +1,15 @@
+package app.partsvibe.config;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+
+interface SessionLastAccessWriter {
+    void write(Collection<SessionLastAccess> accesses);
+
+    record SessionLastAccess(String sessionId, Instant lastAccessedTime, Duration maxInactiveInterval) {
+        SessionLastAccess later(SessionLastAccess other) {
+            return other.lastAccessedTime().isAfter(lastAccessedTime) ? other : this;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package app.partsvibe.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("app.session")
+@Validated
+@Data
+public class SessionStoreProperties {
+    @Valid
+    private NearCache nearCache = new NearCache();
+
+    // Requests that only touch a session have its last access time written in batches this often. Must stay well
+    // below the session timeout; sessions idle for half of it are written at once anyway.
+    @Min(100)
+    private long lastAccessFlushIntervalMs = 5000;
+
+    @Min(100)
+    private long notificationsReconnectDelayMs = 1000;
+
+    @Data
+    public static class NearCache {
+        // 0 disables the near cache; sessions are then read from the database on every request.
+        @Min(0)
+        private int maxEntries = 10_000;
+
+        // Backstop for invalidations this instance missed while its LISTEN connection was down.
+        @Min(1)
+        private long ttlMs = 60_000;
+    }
+}
@@ -0,0 +1,36 @@
+package app.partsvibe.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.StandardCacheManager;
+
+// Bounds the parsed-template and expression caches of every Thymeleaf engine (pages and e-mail texts). The template
+// cache also holds the component templates parsed by the ui-components tag processors. Whether templates are cached at
+// all is up to their resolvers, see spring.thymeleaf.cache.
+@Configuration
+public class TemplateCacheConfig {
+    @Bean
+    static BeanPostProcessor templateCacheConfigurer(
+            @Value("${app.thymeleaf.template-cache-max-size:200}") int templateCacheMaxSize,
+            @Value("${app.thymeleaf.expression-cache-max-size:500}") int expressionCacheMaxSize) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof TemplateEngine templateEngine) {
+                    templateEngine.setCacheManager(cacheManager(templateCacheMaxSize, expressionCacheMaxSize));
+                }
+                return bean;
+            }
+        };
+    }
+
+    static StandardCacheManager cacheManager(int templateCacheMaxSize, int expressionCacheMaxSize) {
+        StandardCacheManager cacheManager = new StandardCacheManager();
+        cacheManager.setTemplateCacheMaxSize(templateCacheMaxSize);
+        cacheManager.setExpressionCacheMaxSize(expressionCacheMaxSize);
+        return cacheManager;
+    }
+}
@@ -0,0 +1,25 @@
+package app.partsvibe.config;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Weighted round robin: every run of sum(weights) selections hands each candidate exactly `weight` of them.
+final class WeightedReadRoutingStrategy implements ReadRoutingStrategy {
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public ReadTarget select(List<ReadTarget> candidates) {
+        long totalWeight = 0;
+        for (var candidate : candidates) {
+            totalWeight += candidate.weight();
+        }
+        long slot = Math.floorMod(sequence.getAndIncrement(), totalWeight);
+        for (var candidate : candidates) {
+            slot -= candidate.weight();
+            if (slot < 0) {
+                return candidate;
+            }
+        }
+        return candidates.getLast();
+    }
+}
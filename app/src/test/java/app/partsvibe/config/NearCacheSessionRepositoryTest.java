@@ -0,0 +1,235 @@
+package app.partsvibe.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import app.partsvibe.config.SessionLastAccessWriter.SessionLastAccess;
+import app.partsvibe.testsupport.fakes.ManuallySetTimeProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+class NearCacheSessionRepositoryTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ManuallySetTimeProvider timeProvider = new ManuallySetTimeProvider();
+    private final CountingSessionRepository durableRepository = new CountingSessionRepository();
+    private final RecordingLastAccessWriter lastAccessWriter = new RecordingLastAccessWriter();
+    private final List<String> changedSessionIds = new ArrayList<>();
+    private NearCacheSessionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // MapSession stamps sessions with the system clock.
+        timeProvider.setNow(Instant.now());
+        repository = new NearCacheSessionRepository(
+                durableRepository,
+                lastAccessWriter,
+                changedSessionIds::add,
+                new SessionStoreProperties(),
+                timeProvider,
+                meterRegistry);
+    }
+
+    @Test
+    void servesTouchedSessionsFromCacheAndWritesLastAccessInBatches() {
+        String id = storedSession("cart", "3 parts");
+        durableRepository.loads = 0;
+
+        Instant lastAccess = Instant.now();
+        for (int request = 1; request <= 3; request++) {
+            NearCacheSession session = repository.findById(id);
+            assertThat(session.<String>getAttribute("cart")).isEqualTo("3 parts");
+            lastAccess = lastAccess.plusSeconds(1);
+            session.setLastAccessedTime(lastAccess);
+            repository.save(session);
+        }
+
+        assertThat(durableRepository.loads).isEqualTo(1);
+        assertThat(lastAccessWriter.batches).isEmpty();
+
+        repository.flushLastAccessTimes();
+
+        assertThat(lastAccessWriter.batches).hasSize(1);
+        assertThat(lastAccessWriter.batches.getFirst())
+                .extracting(SessionLastAccess::sessionId, SessionLastAccess::lastAccessedTime)
+                .containsExactly(tuple(id, lastAccess));
+        assertThat(meterRegistry.get("app.session.near-cache.requests").tag("result", "hit").counter().count())
+                .isEqualTo(2);
+        var roundTrips = meterRegistry.get("app.session.store.round-trips").summary();
+        // One insert for the new session, one load for the first request, nothing for the cache hits.
+        assertThat(roundTrips.count()).isEqualTo(4);
+        assertThat(roundTrips.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void writesChangedAttributesThroughAndNotifiesOtherInstances() {
+        String id = storedSession("cart", "3 parts");
+        repository.findById(id);
+
+        NearCacheSession session = repository.findById(id);
+        session.setAttribute("cart", "4 parts");
+        repository.save(session);
+
+        assertThat(durableRepository.findById(id).<String>getAttribute("cart")).isEqualTo("4 parts");
+        assertThat(changedSessionIds).containsExactly(id);
+        durableRepository.loads = 0;
+        assertThat(repository.findById(id).<String>getAttribute("cart")).isEqualTo("4 parts");
+        assertThat(durableRepository.loads).isEqualTo(1);
+    }
+
+    @Test
+    void givesEveryRequestItsOwnCopyOfAttributeValues() {
+        NearCacheSession created = repository.createSession();
+        created.setAttribute("cart", new ArrayList<>(List.of("bolt")));
+        repository.save(created);
+        repository.findById(created.getId());
+
+        NearCacheSession session = repository.findById(created.getId());
+        // Changed in place, as a security context is on login, without setting the attribute again.
+        session.<List<String>>getAttribute("cart").add("nut");
+        repository.save(session);
+
+        assertThat(repository.findById(created.getId()).<List<String>>getAttribute("cart")).containsExactly("bolt");
+    }
+
+    @Test
+    void renamesDurableSessionWhenIdChanges() {
+        String id = storedSession("user", "alice");
+
+        NearCacheSession session = repository.findById(id);
+        String newId = session.changeSessionId();
+        repository.save(session);
+
+        assertThat(newId).isNotEqualTo(id);
+        assertThat(durableRepository.findById(id)).isNull();
+        assertThat(durableRepository.findById(newId).<String>getAttribute("user")).isEqualTo("alice");
+        assertThat(repository.findById(id)).isNull();
+        assertThat(repository.findById(newId).<String>getAttribute("user")).isEqualTo("alice");
+    }
+
+    @Test
+    void deletesSessionEverywhere() {
+        String id = storedSession("user", "alice");
+        NearCacheSession session = repository.findById(id);
+        session.setLastAccessedTime(Instant.now().plusSeconds(1));
+        repository.save(session);
+
+        repository.deleteById(id);
+        repository.flushLastAccessTimes();
+
+        assertThat(durableRepository.findById(id)).isNull();
+        assertThat(repository.findById(id)).isNull();
+        assertThat(changedSessionIds).containsExactly(id);
+        assertThat(lastAccessWriter.batches).isEmpty();
+    }
+
+    @Test
+    void reloadsSessionEvictedAfterChangeOnAnotherInstance() {
+        String id = storedSession("cart", "3 parts");
+        repository.findById(id);
+
+        Session durable = durableRepository.findById(id);
+        durable.setAttribute("cart", "5 parts");
+        durableRepository.save(durable);
+        repository.evict(id);
+
+        assertThat(repository.findById(id).<String>getAttribute("cart")).isEqualTo("5 parts");
+    }
+
+    @Test
+    void dropsCachedCopyAfterTtl() {
+        String id = storedSession("cart", "3 parts");
+        repository.findById(id);
+        durableRepository.loads = 0;
+
+        timeProvider.move(Duration.ofMinutes(1));
+        repository.findById(id);
+
+        assertThat(durableRepository.loads).isEqualTo(1);
+    }
+
+    @Test
+    void writesLastAccessAtOnceForSessionIdleForHalfOfTimeout() {
+        String id = storedSession("cart", "3 parts");
+        NearCacheSession session = repository.findById(id);
+
+        session.setLastAccessedTime(session.getLastAccessedTime().plus(Duration.ofMinutes(16)));
+        repository.save(session);
+
+        assertThat(lastAccessWriter.batches).hasSize(1);
+        assertThat(lastAccessWriter.batches.getFirst()).extracting(SessionLastAccess::sessionId).containsExactly(id);
+    }
+
+    @Test
+    void retriesFailedLastAccessFlush() {
+        String id = storedSession("cart", "3 parts");
+        NearCacheSession session = repository.findById(id);
+        session.setLastAccessedTime(session.getLastAccessedTime().plusSeconds(1));
+        repository.save(session);
+
+        lastAccessWriter.failing = true;
+        repository.flushLastAccessTimes();
+        lastAccessWriter.failing = false;
+        repository.flushLastAccessTimes();
+
+        assertThat(lastAccessWriter.batches).hasSize(1);
+        assertThat(lastAccessWriter.batches.getFirst()).extracting(SessionLastAccess::sessionId).containsExactly(id);
+        assertThat(meterRegistry.counter("app.session.store.last-access.flushed").count()).isEqualTo(1);
+    }
+
+    private String storedSession(String attributeName, String attributeValue) {
+        NearCacheSession session = repository.createSession();
+        session.setAttribute(attributeName, attributeValue);
+        repository.save(session);
+        return session.getId();
+    }
+
+    private static final class CountingSessionRepository implements SessionRepository<Session> {
+        private final MapSessionRepository delegate = new MapSessionRepository(new ConcurrentHashMap<>());
+        private int loads;
+
+        @Override
+        public Session createSession() {
+            return delegate.createSession();
+        }
+
+        @Override
+        public void save(Session session) {
+            delegate.save((MapSession) session);
+        }
+
+        @Override
+        public Session findById(String id) {
+            loads++;
+            return delegate.findById(id);
+        }
+
+        @Override
+        public void deleteById(String id) {
+            delegate.deleteById(id);
+        }
+    }
+
+    private static final class RecordingLastAccessWriter implements SessionLastAccessWriter {
+        private final List<List<SessionLastAccess>> batches = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void write(Collection<SessionLastAccess> accesses) {
+            if (failing) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            batches.add(List.copyOf(accesses));
+        }
+    }
+}
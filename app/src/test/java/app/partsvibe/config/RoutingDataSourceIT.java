@@ -0,0 +1,93 @@
+package app.partsvibe.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.shared.cqrs.BaseQueryHandler;
+import app.partsvibe.shared.cqrs.Query;
+import app.partsvibe.testsupport.fakes.ManuallySetTimeProvider;
+import app.partsvibe.testsupport.it.IntegrationTestDatabase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+// Routes through the real JpaTransactionManager, which RoutingDataSourceTest stands in for by setting the read-only
+// flag by hand. The shared test database plays both the primary and the "read" replica.
+@SpringBootTest(classes = RoutingDataSourceIT.TestApplication.class)
+class RoutingDataSourceIT {
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        IntegrationTestDatabase.registerSharedProperties(registry);
+    }
+
+    @Autowired
+    private SelectOneQueryHandler selectOneQueryHandler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void routesReadOnlyQueryHandlerToReplica() {
+        // given
+        double primaryReadsBefore = readsRoutedTo("primary");
+        double replicaReadsBefore = readsRoutedTo("read");
+
+        // when
+        long result = selectOneQueryHandler.handle(new SelectOneQuery());
+
+        // then
+        assertThat(result).isEqualTo(1);
+        assertThat(readsRoutedTo("read")).isEqualTo(replicaReadsBefore + 1);
+        assertThat(readsRoutedTo("primary")).isEqualTo(primaryReadsBefore);
+    }
+
+    private double readsRoutedTo(String target) {
+        return meterRegistry.counter("app.datasource.routing.reads", "target", target).count();
+    }
+
+    record SelectOneQuery() implements Query<Long> {}
+
+    static class SelectOneQueryHandler extends BaseQueryHandler<SelectOneQuery, Long> {
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Override
+        protected Long doHandle(SelectOneQuery query) {
+            return ((Number) entityManager.createNativeQuery("SELECT 1").getSingleResult()).longValue();
+        }
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration(HibernateJpaAutoConfiguration.class)
+    @EnableTransactionManagement(proxyTargetClass = true)
+    @EnableConfigurationProperties(DataSourceRoutingProperties.class)
+    @Import(DataSourceRoutingConfig.class)
+    static class TestApplication {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ManuallySetTimeProvider timeProvider() {
+            return new ManuallySetTimeProvider();
+        }
+
+        @Bean
+        SelectOneQueryHandler selectOneQueryHandler() {
+            return new SelectOneQueryHandler();
+        }
+    }
+}
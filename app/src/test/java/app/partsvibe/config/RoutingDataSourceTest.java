@@ -2,39 +2,164 @@ package app.partsvibe.config;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import app.partsvibe.testsupport.fakes.ManuallySetTimeProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 class RoutingDataSourceTest {
-    private static final String READ_KEY = "read";
-    private static final String WRITE_KEY = "write";
+    private static final String WRITE_KEY = "primary";
+    private static final long MAX_LAG_MS = 5000;
+    private static final long READ_YOUR_WRITES_WINDOW_MS = MAX_LAG_MS;
 
-    private RoutingDataSource routingDataSource;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ManuallySetTimeProvider timeProvider = new ManuallySetTimeProvider();
+    private final ReadYourWritesTracker readYourWritesTracker =
+            new ReadYourWritesTracker(timeProvider, READ_YOUR_WRITES_WINDOW_MS);
+    private ReadTarget replicaA;
+    private ReadTarget replicaB;
 
     @BeforeEach
     void setUp() {
-        routingDataSource = new RoutingDataSource(READ_KEY, WRITE_KEY);
+        replicaA = new ReadTarget("replica-a", 3);
+        replicaB = new ReadTarget("replica-b", 1);
     }
 
     @AfterEach
     void resetTransactionState() {
         TransactionSynchronizationManager.clear();
+        RequestContextHolder.resetRequestAttributes();
     }
 
     @Test
     void usesWriteKeyWhenNoTransaction() {
-        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("write");
+        assertThat(routingDataSource(0).determineCurrentLookupKey()).isEqualTo(WRITE_KEY);
     }
 
     @Test
-    void alternatesBetweenReadAndWriteForReadOnlyTransactions() {
+    void usesWriteKeyForReadWriteTransactions() {
         TransactionSynchronizationManager.setActualTransactionActive(true);
-        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
 
-        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(READ_KEY);
+        assertThat(routingDataSource(0).determineCurrentLookupKey()).isEqualTo(WRITE_KEY);
+    }
+
+    @Test
+    void spreadsReadOnlyTransactionsOverReplicasByWeight() {
+        beginReadOnlyTransaction();
+        var routingDataSource = routingDataSource(0);
+
+        assertThat(lookupKeys(routingDataSource, 8))
+                .containsExactly(
+                        "replica-a",
+                        "replica-a",
+                        "replica-a",
+                        "replica-b",
+                        "replica-a",
+                        "replica-a",
+                        "replica-a",
+                        "replica-b");
+        assertThat(readsRoutedTo("replica-a")).isEqualTo(6);
+        assertThat(readsRoutedTo("replica-b")).isEqualTo(2);
+        assertThat(readsRoutedTo(WRITE_KEY)).isZero();
+    }
+
+    @Test
+    void primaryWeightKeepsShareOfReadsOnPrimary() {
+        beginReadOnlyTransaction();
+
+        assertThat(lookupKeys(routingDataSource(4), 8))
+                .containsExactly(
+                        WRITE_KEY, WRITE_KEY, WRITE_KEY, WRITE_KEY, "replica-a", "replica-a", "replica-a", "replica-b");
+    }
+
+    @Test
+    void ejectsUnhealthyAndLaggingReplicas() {
+        beginReadOnlyTransaction();
+        var routingDataSource = routingDataSource(0);
+
+        replicaA.markUnhealthy();
+        assertThat(lookupKeys(routingDataSource, 3)).containsOnly("replica-b");
+
+        replicaA.markHealthy(0);
+        replicaB.markHealthy(MAX_LAG_MS + 1);
+        assertThat(lookupKeys(routingDataSource, 3)).containsOnly("replica-a");
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenNoReplicaIsRoutable() {
+        beginReadOnlyTransaction();
+        var routingDataSource = routingDataSource(0);
+        replicaA.markUnhealthy();
+        replicaB.markHealthy(MAX_LAG_MS + 1);
+
         assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(WRITE_KEY);
-        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(READ_KEY);
+        assertThat(meterRegistry.counter("app.datasource.routing.reads.fallback").count()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsReadsOfSessionOnPrimaryWithinReadYourWritesWindow() {
+        var session = new MockHttpSession();
+        bindRequest(session);
+        readYourWritesTracker.recordWrite();
+        var routingDataSource = routingDataSource(0);
+        beginReadOnlyTransaction();
+
+        // Same request as the command.
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(WRITE_KEY);
+
+        bindRequest(session);
+        timeProvider.move(Duration.ofMillis(READ_YOUR_WRITES_WINDOW_MS - 1));
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(WRITE_KEY);
+
+        bindRequest(new MockHttpSession());
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-a");
+
+        bindRequest(session);
+        timeProvider.move(Duration.ofMillis(1));
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-a");
+        assertThat(meterRegistry.counter("app.datasource.routing.reads.sticky").count()).isEqualTo(2);
+    }
+
+    private RoutingDataSource routingDataSource(int primaryWeight) {
+        return new RoutingDataSource(
+                WRITE_KEY,
+                primaryWeight,
+                List.of(replicaA, replicaB),
+                MAX_LAG_MS,
+                new WeightedReadRoutingStrategy(),
+                readYourWritesTracker,
+                meterRegistry);
+    }
+
+    private static List<Object> lookupKeys(RoutingDataSource routingDataSource, int count) {
+        var keys = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            keys.add(routingDataSource.determineCurrentLookupKey());
+        }
+        return keys;
+    }
+
+    private double readsRoutedTo(String target) {
+        return meterRegistry.counter("app.datasource.routing.reads", "target", target).count();
+    }
+
+    private static void beginReadOnlyTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    private static void bindRequest(MockHttpSession session) {
+        var request = new MockHttpServletRequest();
+        request.setSession(session);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
     }
 }
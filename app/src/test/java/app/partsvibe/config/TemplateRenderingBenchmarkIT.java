@@ -0,0 +1,221 @@
+package app.partsvibe.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.catalog.queries.ListCategoryPartsQuery;
+import app.partsvibe.uicomponents.breadcrumbs.BreadcrumbItemData;
+import app.partsvibe.uicomponents.breadcrumbs.BreadcrumbsData;
+import app.partsvibe.uicomponents.thymeleaf.UiComponentsDialect;
+import app.partsvibe.users.queries.usermanagement.SearchUsersQuery;
+import app.partsvibe.users.web.form.ConfirmationDialogData;
+import app.partsvibe.users.web.form.HiddenField;
+import app.partsvibe.users.web.form.PaginationData;
+import app.partsvibe.users.web.form.UserFilters;
+import app.partsvibe.users.web.form.UserRow;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.spring6.expression.ThymeleafEvaluationContext;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+// Run with -Dit.benchmarks=true, see README.md.
+@EnabledIfSystemProperty(named = "it.benchmarks", matches = "true")
+class TemplateRenderingBenchmarkIT {
+    private static final Logger log = LoggerFactory.getLogger(TemplateRenderingBenchmarkIT.class);
+
+    private static final int PARTS = 50;
+    private static final int USERS = 50;
+    private static final int WARMUP_RENDERS = 500;
+    private static final int MEASURED_RENDERS = 2_000;
+
+    private final StaticApplicationContext applicationContext = applicationContext();
+    private final JakartaServletWebApplication webApplication =
+            JakartaServletWebApplication.buildApplication(new MockServletContext());
+
+    @Test
+    void cachedTemplatesRenderCatalogPageFaster() {
+        assertCachedRenderingIsFaster("catalog-category-view", "/catalog/categories/1", catalogPageVariables());
+    }
+
+    @Test
+    void cachedTemplatesRenderUsersPageFaster() {
+        assertCachedRenderingIsFaster("admin/users", "/admin/users", usersPageVariables());
+    }
+
+    private void assertCachedRenderingIsFaster(String template, String path, Map<String, Object> variables) {
+        SpringTemplateEngine cached = templateEngine(true);
+        SpringTemplateEngine uncached = templateEngine(false);
+        assertThat(render(cached, template, path, variables)).isEqualTo(render(uncached, template, path, variables));
+
+        double uncachedRendersPerSecond = rendersPerSecond(uncached, template, path, variables);
+        double cachedRendersPerSecond = rendersPerSecond(cached, template, path, variables);
+
+        log.info(
+                "Template rendering benchmark. template={}, renders={}, uncachedRendersPerSecond={}, cachedRendersPerSecond={}, speedup={}",
+                template,
+                MEASURED_RENDERS,
+                Math.round(uncachedRendersPerSecond),
+                Math.round(cachedRendersPerSecond),
+                String.format(Locale.ROOT, "%.2f", cachedRendersPerSecond / uncachedRendersPerSecond));
+        assertThat(cachedRendersPerSecond).isGreaterThan(uncachedRendersPerSecond);
+    }
+
+    private double rendersPerSecond(
+            SpringTemplateEngine templateEngine, String template, String path, Map<String, Object> variables) {
+        long length = 0;
+        for (int i = 0; i < WARMUP_RENDERS; i++) {
+            length += render(templateEngine, template, path, variables).length();
+        }
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < MEASURED_RENDERS; i++) {
+            length += render(templateEngine, template, path, variables).length();
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        assertThat(length).isPositive();
+        return MEASURED_RENDERS * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    private String render(
+            SpringTemplateEngine templateEngine, String template, String path, Map<String, Object> variables) {
+        var request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        var exchange = webApplication.buildExchange(request, new MockHttpServletResponse());
+
+        Map<String, Object> pageVariables = new HashMap<>(variables);
+        pageVariables.putAll(layoutVariables(path));
+        pageVariables.put(
+                ThymeleafEvaluationContext.THYMELEAF_EVALUATION_CONTEXT_CONTEXT_VARIABLE_NAME,
+                new ThymeleafEvaluationContext(applicationContext, null));
+        return templateEngine.process(template, new WebContext(exchange, Locale.ENGLISH, pageVariables));
+    }
+
+    // Mirrors the production engine: spring.thymeleaf.cache decides whether the resolver caches parsed templates.
+    private static SpringTemplateEngine templateEngine(boolean cacheable) {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(cacheable);
+
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("users/messages", "messages");
+        messageSource.setDefaultEncoding("UTF-8");
+
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        templateEngine.addDialect(new UiComponentsDialect());
+        templateEngine.setCacheManager(TemplateCacheConfig.cacheManager(200, 500));
+        return templateEngine;
+    }
+
+    private static StaticApplicationContext applicationContext() {
+        StaticApplicationContext applicationContext = new StaticApplicationContext();
+        applicationContext.getBeanFactory().registerSingleton("nav", new NavigationHelper());
+        applicationContext.refresh();
+        return applicationContext;
+    }
+
+    private static Map<String, Object> layoutVariables(String path) {
+        return Map.of(
+                "currentPath", path,
+                "isAuthenticatedUser", true,
+                "isAdminUser", true,
+                "currentUsername", "admin@example.com",
+                "currentUserAvatarUrl", "/resources/images/placeholder.png",
+                "appVersion", "v1.0.0",
+                "_csrf", new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "token"));
+    }
+
+    private static Map<String, Object> catalogPageVariables() {
+        List<ListCategoryPartsQuery.PartRow> parts = IntStream.rangeClosed(1, PARTS)
+                .mapToObj(id -> new ListCategoryPartsQuery.PartRow(
+                        (long) id,
+                        "Part " + id,
+                        "Description snippet of part " + id + ".",
+                        List.of(
+                                new ListCategoryPartsQuery.TagCard("smd", "BLUE"),
+                                new ListCategoryPartsQuery.TagCard("in stock", "GREEN"))))
+                .toList();
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("result", new ListCategoryPartsQuery.CategoryParts(1L, "Resistors", parts));
+        variables.put("query", "");
+        variables.put("tagBadgeClasses", Map.of("BLUE", "text-bg-primary", "GREEN", "text-bg-success"));
+        variables.put(
+                "breadcrumbs",
+                new BreadcrumbsData(List.of(
+                        new BreadcrumbItemData("Catalog", "/catalog", false),
+                        new BreadcrumbItemData("Resistors", null, true))));
+        return variables;
+    }
+
+    private static Map<String, Object> usersPageVariables() {
+        UserFilters filters = new UserFilters();
+        filters.sanitize();
+        List<UserRow> users = IntStream.rangeClosed(1, USERS)
+                .mapToObj(id -> new UserRow((long) id, "user" + id + "@example.com", id % 5 != 0, List.of("ROLE_USER")))
+                .toList();
+        List<HiddenField> hiddenFields = List.of(
+                new HiddenField("usernameContains", ""),
+                new HiddenField("enabledIs", ""),
+                new HiddenField("sortBy", filters.getSortBy()),
+                new HiddenField("sortDir", filters.getSortDir()));
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("users", users);
+        variables.put("availableRoles", List.of("ROLE_ADMIN", "ROLE_USER"));
+        variables.put("pageSizes", UserFilters.allowedPageSizes());
+        variables.put("sortUsername", filters.buildSortLink(SearchUsersQuery.SORT_BY_USERNAME));
+        variables.put("sortEnabled", filters.buildSortLink(SearchUsersQuery.SORT_BY_ENABLED));
+        variables.put("filters", filters);
+        variables.put(
+                "pageInfo",
+                new PaginationData(
+                        "/admin/users",
+                        null,
+                        "/admin/users?cursor=next",
+                        "/admin/users?cursor=last",
+                        USERS,
+                        500L,
+                        false));
+        variables.put(
+                "deleteDialogsByUserId",
+                users.stream()
+                        .collect(Collectors.toMap(
+                                UserRow::id,
+                                user -> new ConfirmationDialogData(
+                                        "delete-user-" + user.id(),
+                                        "/admin/users/" + user.id() + "/do-delete",
+                                        "POST",
+                                        null,
+                                        null,
+                                        null,
+                                        null))));
+        variables.put("hiddenFieldsForActions", hiddenFields);
+        variables.put("hiddenFieldsForPageSize", hiddenFields);
+        variables.put(
+                "breadcrumbs",
+                new BreadcrumbsData(List.of(
+                        new BreadcrumbItemData("Admin", "/admin", false),
+                        new BreadcrumbItemData("Users", null, true))));
+        return variables;
+    }
+}
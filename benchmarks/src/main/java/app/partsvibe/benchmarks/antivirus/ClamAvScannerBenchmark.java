@@ -0,0 +1,84 @@
+package app.partsvibe.benchmarks.antivirus;
+
+import app.partsvibe.infra.antivirus.ClamAvAntivirusScanner;
+import app.partsvibe.infra.antivirus.ClamAvProperties;
+import app.partsvibe.shared.antivirus.ScanResult;
+import app.partsvibe.testsupport.fakes.FakeClamd;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Scan throughput against FakeClamd on loopback, so the numbers cover the client and the protocol, not signature
+// matching. pooled=false sets max-idle-ms to 0, which opens a connection per scan like the scanner used to.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ClamAvScannerBenchmark {
+    // 16 KiB is a typical avatar thumbnail, 4 MiB the gallery image limit.
+    @Param({"16384", "4194304"})
+    public int fileSizeBytes;
+
+    @Param({"true", "false"})
+    public boolean pooled;
+
+    private FakeClamd clamd;
+    private ClamAvAntivirusScanner scanner;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] content = new byte[fileSizeBytes];
+        new Random(42).nextBytes(content);
+        file = Files.createTempFile("clamav-scanner-benchmark-", ".bin");
+        Files.write(file, content);
+
+        clamd = FakeClamd.start();
+        var properties = new ClamAvProperties();
+        properties.setHost(clamd.host());
+        properties.setPort(clamd.port());
+        properties.setMaxConnections(4);
+        properties.setMaxIdleMs(pooled ? 20_000 : 0);
+        scanner = new ClamAvAntivirusScanner(properties, new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        scanner.close();
+        clamd.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public ScanResult scanPath() {
+        return scanner.scan(file);
+    }
+
+    @Benchmark
+    public ScanResult scanStream() throws IOException {
+        try (InputStream content = Files.newInputStream(file)) {
+            return scanner.scan(content);
+        }
+    }
+}
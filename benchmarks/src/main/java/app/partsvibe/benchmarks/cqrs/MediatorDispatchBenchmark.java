@@ -0,0 +1,133 @@
+package app.partsvibe.benchmarks.cqrs;
+
+import app.partsvibe.infra.cqrs.SpringCqrsHandlerResolver;
+import app.partsvibe.infra.cqrs.SpringMediator;
+import app.partsvibe.shared.cqrs.Command;
+import app.partsvibe.shared.cqrs.CommandBehavior;
+import app.partsvibe.shared.cqrs.CommandExecution;
+import app.partsvibe.shared.cqrs.CommandHandler;
+import app.partsvibe.shared.cqrs.Mediator;
+import app.partsvibe.shared.cqrs.Query;
+import app.partsvibe.shared.cqrs.QueryBehavior;
+import app.partsvibe.shared.cqrs.QueryExecution;
+import app.partsvibe.shared.cqrs.QueryHandler;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.annotation.Order;
+
+// Measures mediator overhead on top of a direct handler call. Unrelated handler beans are registered because
+// resolution used to scan every handler bean on each call.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MediatorDispatchBenchmark {
+    @Param({"10", "200"})
+    public int unrelatedHandlers;
+
+    private AnnotationConfigApplicationContext context;
+    private Mediator mediator;
+    private LookupQueryHandler directHandler;
+    private final LookupQuery query = new LookupQuery(42L);
+    private final RenameCommand command = new RenameCommand(42L, "renamed");
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.register(SpringCqrsHandlerResolver.class, SpringMediator.class);
+        context.register(LookupQueryHandler.class, RenameCommandHandler.class);
+        context.register(OuterQueryBehavior.class, InnerQueryBehavior.class, OuterCommandBehavior.class);
+        for (int i = 0; i < unrelatedHandlers; i++) {
+            context.registerBean("unrelatedQueryHandler" + i, UnrelatedQueryHandler.class);
+        }
+        context.refresh();
+
+        mediator = context.getBean(Mediator.class);
+        directHandler = context.getBean(LookupQueryHandler.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String directHandlerCall() {
+        return directHandler.handle(query);
+    }
+
+    @Benchmark
+    public String mediatorQuery() {
+        return mediator.executeQuery(query);
+    }
+
+    @Benchmark
+    public Long mediatorCommand() {
+        return mediator.executeCommand(command);
+    }
+
+    public record LookupQuery(long id) implements Query<String> {}
+
+    public record UnrelatedQuery(long id) implements Query<String> {}
+
+    public record RenameCommand(long id, String name) implements Command<Long> {}
+
+    public static class LookupQueryHandler implements QueryHandler<LookupQuery, String> {
+        @Override
+        public String handle(LookupQuery query) {
+            return "part-" + query.id();
+        }
+    }
+
+    public static class UnrelatedQueryHandler implements QueryHandler<UnrelatedQuery, String> {
+        @Override
+        public String handle(UnrelatedQuery query) {
+            return "unrelated-" + query.id();
+        }
+    }
+
+    public static class RenameCommandHandler implements CommandHandler<RenameCommand, Long> {
+        @Override
+        public Long handle(RenameCommand command) {
+            return command.id() + command.name().length();
+        }
+    }
+
+    @Order(1)
+    public static class OuterQueryBehavior<Q extends Query<R>, R> implements QueryBehavior<Q, R> {
+        @Override
+        public R handle(Q query, QueryExecution<Q, R> next) {
+            return next.execute(query);
+        }
+    }
+
+    @Order(2)
+    public static class InnerQueryBehavior<Q extends Query<R>, R> implements QueryBehavior<Q, R> {
+        @Override
+        public R handle(Q query, QueryExecution<Q, R> next) {
+            return next.execute(query);
+        }
+    }
+
+    public static class OuterCommandBehavior<C extends Command<R>, R> implements CommandBehavior<C, R> {
+        @Override
+        public R handle(C command, CommandExecution<C, R> next) {
+            return next.execute(command);
+        }
+    }
+}
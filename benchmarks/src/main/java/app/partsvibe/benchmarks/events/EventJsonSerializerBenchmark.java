@@ -0,0 +1,71 @@
+package app.partsvibe.benchmarks.events;
+
+import app.partsvibe.infra.events.serialization.JacksonEventJsonSerializer;
+import app.partsvibe.storage.api.StorageObjectType;
+import app.partsvibe.storage.api.events.FileUploadedEvent;
+import app.partsvibe.users.events.UserInvitedEvent;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventJsonSerializerBenchmark {
+    private JacksonEventJsonSerializer serializer;
+    private FileUploadedEvent fileUploadedEvent;
+    private UserInvitedEvent userInvitedEvent;
+    private String fileUploadedJson;
+    private String userInvitedJson;
+
+    @Setup
+    public void setUp() {
+        serializer = new JacksonEventJsonSerializer();
+        fileUploadedEvent = FileUploadedEvent.builder()
+                .fileId(UUID.randomUUID())
+                .objectType(StorageObjectType.PART_IMAGE)
+                .build();
+        userInvitedEvent = UserInvitedEvent.builder()
+                .email("new.user@example.com")
+                .token("b3JpZ2luYWwtaW52aXRlLXRva2VuLXZhbHVlLWZvci1iZW5jaG1hcms")
+                .expiresAt(Instant.parse("2030-01-01T12:00:00Z"))
+                .inviteMessage("Welcome to parts-vibe! Please finish setting up your account.")
+                .invitedRole("ROLE_USER")
+                .build();
+        fileUploadedJson = serializer.serialize(fileUploadedEvent);
+        userInvitedJson = serializer.serialize(userInvitedEvent);
+    }
+
+    @Benchmark
+    public String serializeFileUploaded() {
+        return serializer.serialize(fileUploadedEvent);
+    }
+
+    @Benchmark
+    public FileUploadedEvent deserializeFileUploaded() {
+        return serializer.deserialize(fileUploadedJson, FileUploadedEvent.class);
+    }
+
+    @Benchmark
+    public String serializeUserInvited() {
+        return serializer.serialize(userInvitedEvent);
+    }
+
+    @Benchmark
+    public UserInvitedEvent deserializeUserInvited() {
+        return serializer.deserialize(userInvitedJson, UserInvitedEvent.class);
+    }
+}
@@ -0,0 +1,81 @@
+package app.partsvibe.benchmarks.events;
+
+import app.partsvibe.infra.events.jpa.EventQueueRepository;
+import app.partsvibe.infra.events.publishing.EventQueuePublisher;
+import app.partsvibe.infra.events.serialization.JacksonEventJsonSerializer;
+import app.partsvibe.storage.api.StorageObjectType;
+import app.partsvibe.storage.api.events.FileUploadedEvent;
+import app.partsvibe.testsupport.fakes.InMemoryCurrentUserProvider;
+import app.partsvibe.testsupport.fakes.InMemoryRequestIdProvider;
+import app.partsvibe.testsupport.fakes.ManuallySetTimeProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// publish() against a repository that discards entries. Compare with serializeOnly to see what validation, metadata
+// resolution and entry creation add on top of serialization.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventQueuePublisherBenchmark {
+    private JacksonEventJsonSerializer serializer;
+    private EventQueuePublisher publisher;
+    private FileUploadedEvent event;
+
+    @Setup
+    public void setUp() {
+        serializer = new JacksonEventJsonSerializer();
+        var requestIdProvider = new InMemoryRequestIdProvider();
+        requestIdProvider.set("req-benchmark");
+        var currentUserProvider = new InMemoryCurrentUserProvider();
+        currentUserProvider.setCurrentUser("benchmark-user");
+        publisher = new EventQueuePublisher(
+                discardingRepository(),
+                serializer,
+                new ManuallySetTimeProvider(),
+                requestIdProvider,
+                currentUserProvider,
+                new SimpleMeterRegistry());
+        event = FileUploadedEvent.builder()
+                .fileId(UUID.randomUUID())
+                .objectType(StorageObjectType.PART_IMAGE)
+                .build();
+    }
+
+    @Benchmark
+    public void publish() {
+        publisher.publish(event);
+    }
+
+    @Benchmark
+    public String serializeOnly() {
+        return serializer.serialize(event);
+    }
+
+    // publish() runs outside a transaction here, so save is the only repository method it calls.
+    private static EventQueueRepository discardingRepository() {
+        return (EventQueueRepository) Proxy.newProxyInstance(
+                EventQueueRepository.class.getClassLoader(),
+                new Class<?>[] {EventQueueRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("save")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return args[0];
+                });
+    }
+}
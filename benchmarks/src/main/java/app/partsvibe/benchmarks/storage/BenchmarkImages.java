@@ -0,0 +1,86 @@
+package app.partsvibe.benchmarks.storage;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import javax.imageio.ImageIO;
+
+// Synthetic stand-ins for uploads: a noisy "photo" JPEG and a PNG product shot with transparency.
+// A fixed seed keeps the inputs identical between runs.
+final class BenchmarkImages {
+    private BenchmarkImages() {}
+
+    static byte[] create(String format) {
+        return switch (format) {
+            case "jpeg" -> encode(photo(3000, 2000), "jpeg");
+            case "png" -> encode(productShot(1200, 900), "png");
+            default -> throw new IllegalArgumentException("Unsupported benchmark image format: " + format);
+        };
+    }
+
+    private static BufferedImage photo(int width, int height) {
+        var image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        var graphics = image.createGraphics();
+        try {
+            graphics.setPaint(new GradientPaint(0, 0, new Color(40, 70, 120), width, height, new Color(220, 180, 90)));
+            graphics.fillRect(0, 0, width, height);
+        } finally {
+            graphics.dispose();
+        }
+        var random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int rgb = image.getRGB(x, y);
+                int noise = random.nextInt(31) - 15;
+                image.setRGB(x, y, shift(rgb, noise));
+            }
+        }
+        return image;
+    }
+
+    private static BufferedImage productShot(int width, int height) {
+        var image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        var graphics = image.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            var random = new Random(7);
+            for (int i = 0; i < 60; i++) {
+                graphics.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256), 200));
+                int x = random.nextInt(width);
+                int y = random.nextInt(height);
+                graphics.fillOval(x, y, 50 + random.nextInt(250), 50 + random.nextInt(250));
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private static int shift(int rgb, int delta) {
+        int r = clamp(((rgb >> 16) & 0xff) + delta);
+        int g = clamp(((rgb >> 8) & 0xff) + delta);
+        int b = clamp((rgb & 0xff) + delta);
+        return (r << 16) | (g << 8) | b;
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+
+    private static byte[] encode(BufferedImage image, String format) {
+        try {
+            var output = new ByteArrayOutputStream();
+            if (!ImageIO.write(image, format, output)) {
+                throw new IllegalStateException("No ImageIO writer for format: " + format);
+            }
+            return output.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
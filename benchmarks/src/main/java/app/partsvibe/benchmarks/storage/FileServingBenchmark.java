@@ -0,0 +1,149 @@
+package app.partsvibe.benchmarks.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.InputStreamResource;
+
+// Load test for StorageFileController body transfer into a loopback socket drained by another thread.
+// - inputStreamResource is the previous InputStreamResource path.
+// - transferToSocket is what Tomcat sendfile does.
+// - transferToResponseStream is the fallback for containers without sendfile.
+// The "bytes" counter is bytes/s. "cpuNanos" is the serving thread's CPU time per second, so cpuNanos/bytes is the
+// CPU cost per byte.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileServingBenchmark {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    // 16 KiB is a typical avatar thumbnail, 4 MiB the gallery image limit.
+    @Param({"16384", "4194304"})
+    public int fileSizeBytes;
+
+    private Path file;
+    private ServerSocketChannel server;
+    private SocketChannel client;
+    private OutputStream clientStream;
+    private Thread drainer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] content = new byte[fileSizeBytes];
+        new Random(42).nextBytes(content);
+        file = Files.createTempFile("file-serving-benchmark-", ".bin");
+        Files.write(file, content);
+
+        server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = SocketChannel.open(server.getLocalAddress());
+        SocketChannel accepted = server.accept();
+        clientStream = Channels.newOutputStream(client);
+        drainer = Thread.ofPlatform()
+                .name("file-serving-benchmark-drain")
+                .daemon(true)
+                .start(() -> drain(accepted));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        client.close();
+        drainer.join(TimeUnit.SECONDS.toMillis(5));
+        server.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long inputStreamResource(TransferCounters counters) throws IOException {
+        long cpuStart = THREADS.getCurrentThreadCpuTime();
+        long transferred;
+        try (InputStream in = new InputStreamResource(Files.newInputStream(file)).getInputStream()) {
+            transferred = in.transferTo(clientStream);
+        }
+        return counters.record(transferred, cpuStart);
+    }
+
+    @Benchmark
+    public long transferToSocket(TransferCounters counters) throws IOException {
+        long cpuStart = THREADS.getCurrentThreadCpuTime();
+        return counters.record(transferAll(client), cpuStart);
+    }
+
+    @Benchmark
+    public long transferToResponseStream(TransferCounters counters) throws IOException {
+        long cpuStart = THREADS.getCurrentThreadCpuTime();
+        return counters.record(transferAll(Channels.newChannel(clientStream)), cpuStart);
+    }
+
+    private long transferAll(WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+            return position;
+        }
+    }
+
+    private static void drain(SocketChannel channel) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+        try (channel) {
+            while (channel.read(buffer) >= 0) {
+                buffer.clear();
+            }
+        } catch (IOException ex) {
+            // Client side closed during tear down.
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class TransferCounters {
+        public long bytes;
+        public long cpuNanos;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            cpuNanos = 0;
+        }
+
+        long record(long transferred, long cpuStart) {
+            bytes += transferred;
+            cpuNanos += THREADS.getCurrentThreadCpuTime() - cpuStart;
+            return transferred;
+        }
+    }
+}
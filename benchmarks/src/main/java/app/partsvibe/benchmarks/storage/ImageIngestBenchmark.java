@@ -0,0 +1,52 @@
+package app.partsvibe.benchmarks.storage;
+
+import app.partsvibe.storage.config.StorageProperties;
+import app.partsvibe.storage.service.ImageThumbnails;
+import app.partsvibe.storage.service.ThumbnailImageService;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// CPU per uploaded image for thumbnailing: two independent decodes (the previous file_ready handler) versus a single
+// decode with the 128 px thumbnail derived from the 512 px one.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImageIngestBenchmark {
+    @Param({"jpeg", "png"})
+    public String inputFormat;
+
+    private ThumbnailImageService thumbnailImageService;
+    private byte[] sourceImage;
+
+    @Setup
+    public void setUp() {
+        thumbnailImageService = new ThumbnailImageService(new StorageProperties());
+        sourceImage = BenchmarkImages.create(inputFormat);
+    }
+
+    @Benchmark
+    public void separateDecodes(Blackhole blackhole) {
+        blackhole.consume(thumbnailImageService.createThumbnail(sourceImage, 128, "png"));
+        blackhole.consume(thumbnailImageService.createThumbnail(sourceImage, 512, "png"));
+    }
+
+    @Benchmark
+    public ImageThumbnails singleDecode() {
+        return thumbnailImageService.createThumbnails(ByteBuffer.wrap(sourceImage), "png");
+    }
+}
@@ -0,0 +1,44 @@
+package app.partsvibe.benchmarks.storage;
+
+import app.partsvibe.storage.config.StorageProperties;
+import app.partsvibe.storage.service.ThumbnailImageService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThumbnailImageServiceBenchmark {
+    @Param({"jpeg", "png"})
+    public String inputFormat;
+
+    @Param({"128", "512"})
+    public int boxSize;
+
+    private ThumbnailImageService thumbnailImageService;
+    private byte[] sourceImage;
+
+    @Setup
+    public void setUp() {
+        thumbnailImageService = new ThumbnailImageService(new StorageProperties());
+        sourceImage = BenchmarkImages.create(inputFormat);
+    }
+
+    @Benchmark
+    public byte[] createThumbnail() {
+        return thumbnailImageService.createThumbnail(sourceImage, boxSize, "png");
+    }
+}
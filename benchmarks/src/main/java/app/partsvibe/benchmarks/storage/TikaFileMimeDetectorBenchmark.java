@@ -0,0 +1,43 @@
+package app.partsvibe.benchmarks.storage;
+
+import app.partsvibe.storage.config.StorageProperties;
+import app.partsvibe.storage.service.TikaFileMimeDetector;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TikaFileMimeDetectorBenchmark {
+    @Param({"jpeg", "png"})
+    public String inputFormat;
+
+    private TikaFileMimeDetector detector;
+    private byte[] content;
+    private String filename;
+
+    @Setup
+    public void setUp() {
+        detector = new TikaFileMimeDetector(new StorageProperties());
+        content = BenchmarkImages.create(inputFormat);
+        filename = "upload." + inputFormat;
+    }
+
+    @Benchmark
+    public String detect() {
+        return detector.detect(content, filename);
+    }
+}
@@ -0,0 +1,36 @@
+package app.partsvibe.benchmarks.users;
+
+import app.partsvibe.users.security.tokens.CredentialTokenCodec;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CredentialTokenCodecBenchmark {
+    private CredentialTokenCodec codec;
+    private String rawToken;
+
+    @Setup
+    public void setUp() {
+        codec = new CredentialTokenCodec();
+        rawToken = codec.newRawToken();
+    }
+
+    @Benchmark
+    public String hash() {
+        return codec.hash(rawToken);
+    }
+}
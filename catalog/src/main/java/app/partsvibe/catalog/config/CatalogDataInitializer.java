@@ -4,9 +4,12 @@ import app.partsvibe.catalog.domain.Category;
 import app.partsvibe.catalog.domain.Part;
 import app.partsvibe.catalog.domain.Tag;
 import app.partsvibe.catalog.domain.TagColor;
+import app.partsvibe.catalog.events.CatalogChangedEvent;
 import app.partsvibe.catalog.repo.CategoryRepository;
 import app.partsvibe.catalog.repo.PartRepository;
 import app.partsvibe.catalog.repo.TagRepository;
+import app.partsvibe.shared.events.publishing.EventPublisher;
+import java.util.List;
 import java.util.Set;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
@@ -18,12 +21,17 @@ public class CatalogDataInitializer implements ApplicationRunner {
     private final CategoryRepository categoryRepository;
     private final PartRepository partRepository;
     private final TagRepository tagRepository;
+    private final EventPublisher eventPublisher;
 
     public CatalogDataInitializer(
-            CategoryRepository categoryRepository, PartRepository partRepository, TagRepository tagRepository) {
+            CategoryRepository categoryRepository,
+            PartRepository partRepository,
+            TagRepository tagRepository,
+            EventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
         this.partRepository = partRepository;
         this.tagRepository = tagRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -104,6 +112,10 @@ public class CatalogDataInitializer implements ApplicationRunner {
                 "Microcontroller board based on RP2350 with wireless networking option for embedded and IoT projects.",
                 raspberryPi,
                 Set.of(microcontroller, wifi, bluetooth));
+
+        eventPublisher.publish(CatalogChangedEvent.builder()
+                .categoryIds(List.of(arduino.getId(), raspberryPi.getId()))
+                .build());
     }
 
     private Tag upsertTag(String name, TagColor color, String description) {
@@ -0,0 +1,19 @@
+package app.partsvibe.catalog.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("app.catalog.indexing")
+@Validated
+@Data
+public class CatalogIndexingProperties {
+    // Parts loaded from the database and sent to Solr in one add request.
+    @Min(1)
+    private int pageSize = 500;
+
+    // Pages indexed by one event of a full reindex; keeps each event well within the event handler timeout.
+    @Min(1)
+    private int pagesPerBatch = 20;
+}
@@ -0,0 +1,145 @@
+package app.partsvibe.catalog.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+// Part search structures that the entity mappings cannot express. The generated column is not mapped on Part, so
+// schema validation ignores it and inserts and updates keep it current.
+//
+// The extensions need a role allowed to create them (superuser, or the database owner on PostgreSQL 13+ for trusted
+// extensions). Production databases are expected to have them already, see the README; the application only creates
+// them when they are missing and fails with instructions when it may not. Indexes are built CONCURRENTLY, outside a
+// transaction, so a first rollout does not block writes to catalog_parts. Adding the generated column rewrites the
+// table once, on the first rollout only.
+//
+// It runs once the entity manager factory has created the tables (where Hibernate creates them) and before the web
+// server accepts requests, so search never runs without its indexes. Instances starting together take turns through
+// an advisory lock; otherwise one could drop as invalid an index another is still building.
+@Component
+@DependsOn("entityManagerFactory")
+public class CatalogSearchIndexInitializer implements InitializingBean {
+    private static final Logger log = LoggerFactory.getLogger(CatalogSearchIndexInitializer.class);
+
+    private static final String LOCK_NAME = "catalog_search_indexes";
+    private static final Duration LOCK_RETRY_INTERVAL = Duration.ofSeconds(1);
+
+    // btree_gin provides GIN operator classes for scalars, so category_id can lead the search indexes.
+    private static final List<String> EXTENSIONS = List.of("pg_trgm", "btree_gin");
+
+    private static final String SEARCH_VECTOR_COLUMN =
+            """
+            ALTER TABLE catalog_parts ADD COLUMN IF NOT EXISTS search_vector tsvector
+                GENERATED ALWAYS AS (
+                    setweight(to_tsvector('english', name), 'A') || setweight(to_tsvector('english', description), 'B')
+                ) STORED
+            """;
+
+    private static final List<SearchIndex> INDEXES = List.of(
+            new SearchIndex(
+                    "idx_catalog_parts_category_id_search_vector",
+                    "ON catalog_parts USING gin (category_id, search_vector)"),
+            new SearchIndex(
+                    "idx_catalog_parts_category_id_name_trgm",
+                    "ON catalog_parts USING gin (category_id, name gin_trgm_ops)"));
+
+    private final DataSource dataSource;
+
+    public CatalogSearchIndexInitializer(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException, InterruptedException {
+        // The advisory lock belongs to the session, so every statement runs on this one autocommit connection.
+        try (Connection connection = dataSource.getConnection()) {
+            var jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            lock(jdbcTemplate);
+            try {
+                EXTENSIONS.forEach(extension -> ensureExtension(jdbcTemplate, extension));
+                if (!searchVectorColumnExists(jdbcTemplate)) {
+                    jdbcTemplate.execute(SEARCH_VECTOR_COLUMN);
+                }
+                INDEXES.forEach(index -> ensureIndex(jdbcTemplate, index));
+            } finally {
+                jdbcTemplate.queryForObject("SELECT pg_advisory_unlock(hashtext(?))", Boolean.class, LOCK_NAME);
+            }
+        }
+        log.info("Catalog part search indexes are in place.");
+    }
+
+    // Polled rather than waited for: a session blocked in pg_advisory_lock holds a snapshot, which the concurrent
+    // index build of the lock holder would wait for in turn.
+    private static void lock(JdbcTemplate jdbcTemplate) throws InterruptedException {
+        while (!Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT pg_try_advisory_lock(hashtext(?))", Boolean.class, LOCK_NAME))) {
+            log.info("Waiting for another instance to finish the catalog search indexes.");
+            Thread.sleep(LOCK_RETRY_INTERVAL);
+        }
+    }
+
+    private static void ensureExtension(JdbcTemplate jdbcTemplate, String extension) {
+        Boolean installed = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = ?)", Boolean.class, extension);
+        if (Boolean.TRUE.equals(installed)) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS " + extension);
+            log.info("Created PostgreSQL extension. extension={}", extension);
+        } catch (DataAccessException ex) {
+            throw new IllegalStateException(
+                    ("PostgreSQL extension %s is missing and the application role may not create it. "
+                                    + "Have a superuser run 'CREATE EXTENSION %s;' in the application database.")
+                            .formatted(extension, extension),
+                    ex);
+        }
+    }
+
+    private static boolean searchVectorColumnExists(JdbcTemplate jdbcTemplate) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                """
+                SELECT EXISTS (
+                    SELECT 1 FROM information_schema.columns
+                    WHERE table_schema = current_schema()
+                      AND table_name = 'catalog_parts'
+                      AND column_name = 'search_vector'
+                )
+                """,
+                Boolean.class));
+    }
+
+    private static void ensureIndex(JdbcTemplate jdbcTemplate, SearchIndex index) {
+        // Empty when the index does not exist. A failed or interrupted concurrent build leaves an invalid index behind
+        // that IF NOT EXISTS would keep, so it is dropped and built again. Under the lock no other instance is still
+        // building it.
+        List<Boolean> valid = jdbcTemplate.queryForList(
+                """
+                SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+                WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace
+                """,
+                Boolean.class,
+                index.name());
+        if (!valid.isEmpty() && Boolean.TRUE.equals(valid.getFirst())) {
+            return;
+        }
+        if (!valid.isEmpty()) {
+            log.warn("Dropping invalid catalog search index left by an interrupted build. index={}", index.name());
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index.name());
+        }
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + index.name() + " " + index.definition());
+        log.info("Built catalog search index. index={}", index.name());
+    }
+
+    private record SearchIndex(String name, String definition) {}
+}
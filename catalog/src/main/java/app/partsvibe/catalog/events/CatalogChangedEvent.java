@@ -0,0 +1,21 @@
+package app.partsvibe.catalog.events;
+
+import app.partsvibe.shared.events.model.Event;
+import app.partsvibe.shared.events.model.IntegrationEvent;
+import java.util.List;
+import java.util.UUID;
+import lombok.Builder;
+
+// Categories whose card or parts changed. A part moved between categories lists both of them.
+@IntegrationEvent(name = CatalogChangedEvent.EVENT_NAME)
+@Builder
+public record CatalogChangedEvent(UUID eventId, List<Long> categoryIds) implements Event {
+    public static final String EVENT_NAME = "catalog_changed";
+
+    public CatalogChangedEvent {
+        if (eventId == null) {
+            eventId = UUID.randomUUID();
+        }
+        categoryIds = categoryIds == null ? List.of() : List.copyOf(categoryIds);
+    }
+}
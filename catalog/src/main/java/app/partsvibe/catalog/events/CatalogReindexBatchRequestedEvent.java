@@ -0,0 +1,22 @@
+package app.partsvibe.catalog.events;
+
+import app.partsvibe.shared.events.model.Event;
+import app.partsvibe.shared.events.model.IntegrationEvent;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Builder;
+
+// Next batch of a full reindex: parts with an id above afterPartId. A full reindex is a chain of these events, each
+// published by the batch before it, so a failed batch is retried on its own instead of restarting the whole run.
+@IntegrationEvent(name = CatalogReindexBatchRequestedEvent.EVENT_NAME)
+@Builder(toBuilder = true)
+public record CatalogReindexBatchRequestedEvent(
+        UUID eventId, long generation, Instant startedAt, long afterPartId, long indexedCount) implements Event {
+    public static final String EVENT_NAME = "catalog_reindex_batch_requested";
+
+    public CatalogReindexBatchRequestedEvent {
+        if (eventId == null) {
+            eventId = UUID.randomUUID();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package app.partsvibe.catalog.events.handling;
+
+import app.partsvibe.catalog.events.CatalogChangedEvent;
+import app.partsvibe.catalog.indexing.CatalogIndexer;
+import app.partsvibe.shared.events.handling.BaseEventHandler;
+import app.partsvibe.shared.events.handling.HandlesEvent;
+import app.partsvibe.shared.events.model.EventMetadata;
+import org.springframework.stereotype.Component;
+
+@Component
+@HandlesEvent(name = CatalogChangedEvent.EVENT_NAME, version = 1)
+class IndexCatalogOnCatalogChangedEventHandler extends BaseEventHandler<CatalogChangedEvent> {
+    private final CatalogIndexer catalogIndexer;
+
+    IndexCatalogOnCatalogChangedEventHandler(CatalogIndexer catalogIndexer) {
+        this.catalogIndexer = catalogIndexer;
+    }
+
+    @Override
+    protected void doHandle(CatalogChangedEvent event, EventMetadata metadata) {
+        catalogIndexer.reindexCategories(event.categoryIds(), metadata.publishedAt());
+    }
+}
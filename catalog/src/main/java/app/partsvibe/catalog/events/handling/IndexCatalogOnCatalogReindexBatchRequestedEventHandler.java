@@ -0,0 +1,23 @@
+package app.partsvibe.catalog.events.handling;
+
+import app.partsvibe.catalog.events.CatalogReindexBatchRequestedEvent;
+import app.partsvibe.catalog.indexing.CatalogIndexer;
+import app.partsvibe.shared.events.handling.BaseEventHandler;
+import app.partsvibe.shared.events.handling.HandlesEvent;
+import org.springframework.stereotype.Component;
+
+@Component
+@HandlesEvent(name = CatalogReindexBatchRequestedEvent.EVENT_NAME, version = 1)
+class IndexCatalogOnCatalogReindexBatchRequestedEventHandler
+        extends BaseEventHandler<CatalogReindexBatchRequestedEvent> {
+    private final CatalogIndexer catalogIndexer;
+
+    IndexCatalogOnCatalogReindexBatchRequestedEventHandler(CatalogIndexer catalogIndexer) {
+        this.catalogIndexer = catalogIndexer;
+    }
+
+    @Override
+    protected void doHandle(CatalogReindexBatchRequestedEvent event) {
+        catalogIndexer.indexFullReindexBatch(event);
+    }
+}
@@ -0,0 +1,24 @@
+package app.partsvibe.catalog.events.handling;
+
+import app.partsvibe.catalog.events.CatalogChangedEvent;
+import app.partsvibe.catalog.readmodel.CatalogReadModel;
+import app.partsvibe.shared.events.handling.BaseEventHandler;
+import app.partsvibe.shared.events.handling.HandlesEvent;
+import org.springframework.stereotype.Component;
+
+// The queue delivers an event to one instance only; the read models of the other instances catch up on their next
+// reconcile.
+@Component
+@HandlesEvent(name = CatalogChangedEvent.EVENT_NAME, version = 1)
+class RefreshCatalogReadModelOnCatalogChangedEventHandler extends BaseEventHandler<CatalogChangedEvent> {
+    private final CatalogReadModel catalogReadModel;
+
+    RefreshCatalogReadModelOnCatalogChangedEventHandler(CatalogReadModel catalogReadModel) {
+        this.catalogReadModel = catalogReadModel;
+    }
+
+    @Override
+    protected void doHandle(CatalogChangedEvent event) {
+        catalogReadModel.refreshCategories(event.categoryIds());
+    }
+}
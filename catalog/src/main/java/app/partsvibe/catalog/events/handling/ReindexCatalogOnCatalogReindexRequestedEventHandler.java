@@ -0,0 +1,24 @@
+package app.partsvibe.catalog.events.handling;
+
+import app.partsvibe.catalog.indexing.CatalogIndexer;
+import app.partsvibe.shared.events.admin.CatalogReindexRequestedEvent;
+import app.partsvibe.shared.events.handling.BaseEventHandler;
+import app.partsvibe.shared.events.handling.HandlesEvent;
+import app.partsvibe.shared.events.model.EventMetadata;
+import org.springframework.stereotype.Component;
+
+@Component
+@HandlesEvent(name = CatalogReindexRequestedEvent.EVENT_NAME)
+class ReindexCatalogOnCatalogReindexRequestedEventHandler extends BaseEventHandler<CatalogReindexRequestedEvent> {
+    private final CatalogIndexer catalogIndexer;
+
+    ReindexCatalogOnCatalogReindexRequestedEventHandler(CatalogIndexer catalogIndexer) {
+        this.catalogIndexer = catalogIndexer;
+    }
+
+    @Override
+    protected void doHandle(CatalogReindexRequestedEvent event, EventMetadata metadata) {
+        log.info("Handling catalog reindex requested event. eventId={}, metadata={}", event.eventId(), metadata);
+        catalogIndexer.startFullReindex();
+    }
+}
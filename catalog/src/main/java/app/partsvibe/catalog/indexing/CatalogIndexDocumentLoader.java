@@ -0,0 +1,87 @@
+package app.partsvibe.catalog.indexing;
+
+import app.partsvibe.catalog.domain.QCategory;
+import app.partsvibe.catalog.domain.QPart;
+import app.partsvibe.catalog.domain.QTag;
+import app.partsvibe.search.api.CatalogPartDocument;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// Reads parts as column projections rather than entities, so paging through the whole catalog does not grow the
+// persistence context.
+@Component
+class CatalogIndexDocumentLoader {
+    private final JPAQueryFactory queryFactory;
+
+    CatalogIndexDocumentLoader(JPAQueryFactory queryFactory) {
+        this.queryFactory = queryFactory;
+    }
+
+    // Up to limit parts with an id above afterPartId in id order; all categories when categoryIds is null.
+    @Transactional(readOnly = true)
+    public List<CatalogPartDocument> loadPage(Collection<Long> categoryIds, long afterPartId, int limit) {
+        QPart part = QPart.part;
+        QCategory category = QCategory.category;
+
+        BooleanBuilder predicate = new BooleanBuilder(part.id.gt(afterPartId));
+        if (categoryIds != null) {
+            if (categoryIds.isEmpty()) {
+                return List.of();
+            }
+            predicate.and(category.id.in(categoryIds));
+        }
+
+        List<Tuple> rows = queryFactory
+                .select(part.id, part.name, part.description, part.updatedAt, category.id, category.name)
+                .from(part)
+                .join(part.category, category)
+                .where(predicate)
+                .orderBy(part.id.asc())
+                .limit(limit)
+                .fetch();
+        Map<Long, List<String>> tagsByPartId =
+                tagNamesByPartId(rows.stream().map(row -> row.get(part.id)).toList());
+
+        return rows.stream()
+                .map(row -> {
+                    Long partId = row.get(part.id);
+                    return new CatalogPartDocument(
+                            partId,
+                            row.get(part.name),
+                            row.get(part.description),
+                            row.get(category.id),
+                            row.get(category.name),
+                            tagsByPartId.getOrDefault(partId, List.of()),
+                            row.get(part.updatedAt));
+                })
+                .toList();
+    }
+
+    private Map<Long, List<String>> tagNamesByPartId(List<Long> partIds) {
+        if (partIds.isEmpty()) {
+            return Map.of();
+        }
+        QPart part = QPart.part;
+        QTag tag = QTag.tag;
+        Map<Long, List<String>> tagsByPartId = new HashMap<>();
+        queryFactory
+                .select(part.id, tag.name)
+                .from(part)
+                .join(part.tags, tag)
+                .where(part.id.in(partIds))
+                .orderBy(tag.nameNormalized.asc())
+                .fetch()
+                .forEach(row -> tagsByPartId
+                        .computeIfAbsent(row.get(part.id), ignored -> new ArrayList<>())
+                        .add(row.get(tag.name)));
+        return tagsByPartId;
+    }
+}
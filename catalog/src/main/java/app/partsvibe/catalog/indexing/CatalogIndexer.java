@@ -0,0 +1,149 @@
+package app.partsvibe.catalog.indexing;
+
+import app.partsvibe.catalog.config.CatalogIndexingProperties;
+import app.partsvibe.catalog.events.CatalogReindexBatchRequestedEvent;
+import app.partsvibe.search.api.CatalogPartDocument;
+import app.partsvibe.search.api.SearchServiceClient;
+import app.partsvibe.shared.events.publishing.EventPublisher;
+import app.partsvibe.shared.time.TimeProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// Keeps the Solr catalog documents in line with the database. Every run stamps the documents it writes with a
+// generation (the run's start time in epoch millis) and afterwards deletes the documents of its scope that an older
+// generation left behind, which covers deleted parts and parts moved to another category. Incremental runs keep the
+// parts they indexed out of that delete, so a concurrent full reindex batch cannot get them removed.
+//
+// Incremental runs reindex the categories of a catalog change event. A full reindex pages through all parts in id
+// order; it is split into batch events so that no single event handler runs longer than the handler timeout.
+@Component
+public class CatalogIndexer {
+    private static final Logger log = LoggerFactory.getLogger(CatalogIndexer.class);
+
+    private final CatalogIndexDocumentLoader loader;
+    private final SearchServiceClient searchServiceClient;
+    private final EventPublisher eventPublisher;
+    private final TimeProvider timeProvider;
+    private final CatalogIndexingProperties properties;
+    private final Counter fullDocumentsCounter;
+    private final Counter incrementalDocumentsCounter;
+    private final Timer lagTimer;
+
+    private volatile double fullReindexDocsPerSecond;
+
+    CatalogIndexer(
+            CatalogIndexDocumentLoader loader,
+            SearchServiceClient searchServiceClient,
+            EventPublisher eventPublisher,
+            TimeProvider timeProvider,
+            CatalogIndexingProperties properties,
+            MeterRegistry meterRegistry) {
+        this.loader = loader;
+        this.searchServiceClient = searchServiceClient;
+        this.eventPublisher = eventPublisher;
+        this.timeProvider = timeProvider;
+        this.properties = properties;
+        this.fullDocumentsCounter = meterRegistry.counter("app.catalog.indexing.documents", "mode", "full");
+        this.incrementalDocumentsCounter =
+                meterRegistry.counter("app.catalog.indexing.documents", "mode", "incremental");
+        // Time from a catalog change being published to its documents being sent to Solr.
+        this.lagTimer = Timer.builder("app.catalog.indexing.lag").register(meterRegistry);
+        meterRegistry.gauge(
+                "app.catalog.indexing.full.docs-per-second", this, indexer -> indexer.fullReindexDocsPerSecond);
+    }
+
+    public void startFullReindex() {
+        Instant startedAt = timeProvider.now();
+        log.info("Catalog full reindex started. generation={}", startedAt.toEpochMilli());
+        indexFullReindexBatch(CatalogReindexBatchRequestedEvent.builder()
+                .generation(startedAt.toEpochMilli())
+                .startedAt(startedAt)
+                .build());
+    }
+
+    public void indexFullReindexBatch(CatalogReindexBatchRequestedEvent batch) {
+        int pageSize = properties.getPageSize();
+        long afterPartId = batch.afterPartId();
+        long indexedCount = batch.indexedCount();
+
+        for (int pageNumber = 0; pageNumber < properties.getPagesPerBatch(); pageNumber++) {
+            List<CatalogPartDocument> page = loader.loadPage(null, afterPartId, pageSize);
+            if (!page.isEmpty()) {
+                searchServiceClient.indexCatalogParts(batch.generation(), page);
+                fullDocumentsCounter.increment(page.size());
+                afterPartId = page.getLast().partId();
+                indexedCount += page.size();
+            }
+            if (page.size() < pageSize) {
+                searchServiceClient.deleteStaleCatalogParts(List.of(), List.of(), batch.generation());
+                updateThroughput(batch.startedAt(), indexedCount);
+                log.info(
+                        "Catalog full reindex finished. generation={}, documents={}, docsPerSecond={}",
+                        batch.generation(),
+                        indexedCount,
+                        Math.round(fullReindexDocsPerSecond));
+                return;
+            }
+        }
+
+        updateThroughput(batch.startedAt(), indexedCount);
+        log.debug(
+                "Catalog full reindex batch indexed. generation={}, afterPartId={}, documents={}",
+                batch.generation(),
+                afterPartId,
+                indexedCount);
+        eventPublisher.publish(batch.toBuilder()
+                .eventId(null)
+                .afterPartId(afterPartId)
+                .indexedCount(indexedCount)
+                .build());
+    }
+
+    public void reindexCategories(Collection<Long> categoryIds, Instant changedAt) {
+        if (categoryIds.isEmpty()) {
+            return;
+        }
+
+        int pageSize = properties.getPageSize();
+        long generation = timeProvider.now().toEpochMilli();
+        long afterPartId = 0;
+        List<Long> indexedPartIds = new ArrayList<>();
+        List<CatalogPartDocument> page;
+        do {
+            page = loader.loadPage(categoryIds, afterPartId, pageSize);
+            if (!page.isEmpty()) {
+                searchServiceClient.indexCatalogParts(generation, page);
+                afterPartId = page.getLast().partId();
+                page.forEach(part -> indexedPartIds.add(part.partId()));
+            }
+        } while (page.size() == pageSize);
+        // A full reindex batch may have overwritten the parts just indexed with its older generation; they are kept.
+        searchServiceClient.deleteStaleCatalogParts(categoryIds, indexedPartIds, generation);
+        long indexedCount = indexedPartIds.size();
+
+        incrementalDocumentsCounter.increment(indexedCount);
+        if (changedAt != null) {
+            lagTimer.record(Duration.between(changedAt, timeProvider.now()));
+        }
+        log.debug(
+                "Catalog categories reindexed. generation={}, categoryIds={}, documents={}",
+                generation,
+                categoryIds,
+                indexedCount);
+    }
+
+    // Measured from the start of the run, so time spent waiting in the event queue between batches counts too.
+    private void updateThroughput(Instant startedAt, long indexedCount) {
+        long elapsedMs = Math.max(1, Duration.between(startedAt, timeProvider.now()).toMillis());
+        fullReindexDocsPerSecond = indexedCount * 1000.0 / elapsedMs;
+    }
+}
@@ -1,6 +1,38 @@
 package app.partsvibe.catalog.queries;
 
-import app.partsvibe.search.api.CatalogSearchResult;
+import app.partsvibe.search.api.CatalogSearchHit;
 import app.partsvibe.shared.cqrs.Query;
+import java.util.List;
 
-public record CatalogSearchQuery(String query, int page, int pageSize) implements Query<CatalogSearchResult> {}
+// The cursor is the nextCursor of the previous page, null for the first page.
+public record CatalogSearchQuery(
+        String query, Long categoryId, List<String> tags, String sort, String cursor, int pageSize)
+        implements Query<CatalogSearchQuery.SearchResults> {
+    public static final String SORT_RELEVANCE = "relevance";
+    public static final String SORT_NAME = "name";
+    public static final String SORT_NEWEST = "newest";
+
+    public CatalogSearchQuery {
+        tags = tags == null ? List.of() : tags.stream().distinct().toList();
+    }
+
+    public record SearchResults(
+            List<CatalogSearchHit> hits,
+            long total,
+            String sort,
+            String cursor,
+            String nextCursor,
+            List<FacetOption> categories,
+            List<FacetOption> tags,
+            boolean degraded) {
+        public boolean hasNext() {
+            return nextCursor != null;
+        }
+
+        public boolean isFirstPage() {
+            return cursor == null;
+        }
+    }
+
+    public record FacetOption(String value, String label, long count, boolean selected) {}
+}
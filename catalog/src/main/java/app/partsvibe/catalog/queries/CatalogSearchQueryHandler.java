@@ -1,20 +1,144 @@
 package app.partsvibe.catalog.queries;
 
+import static app.partsvibe.catalog.queries.CatalogSearchQuery.*;
+
+import app.partsvibe.catalog.readmodel.CatalogReadModel;
+import app.partsvibe.catalog.readmodel.CatalogSnapshot;
+import app.partsvibe.catalog.repo.PartRepository;
+import app.partsvibe.search.api.CatalogSearchFacet;
+import app.partsvibe.search.api.CatalogSearchField;
+import app.partsvibe.search.api.CatalogSearchHit;
+import app.partsvibe.search.api.CatalogSearchRequest;
 import app.partsvibe.search.api.CatalogSearchResult;
+import app.partsvibe.search.api.CatalogSearchSort;
 import app.partsvibe.search.api.SearchServiceClient;
+import app.partsvibe.search.api.SearchUnavailableException;
 import app.partsvibe.shared.cqrs.BaseQueryHandler;
+import app.partsvibe.shared.utils.StringUtils;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import org.springframework.stereotype.Component;
 
 @Component
-class CatalogSearchQueryHandler extends BaseQueryHandler<CatalogSearchQuery, CatalogSearchResult> {
+class CatalogSearchQueryHandler extends BaseQueryHandler<CatalogSearchQuery, SearchResults> {
+    private static final int FALLBACK_CANDIDATES_LIMIT = 100;
+
     private final SearchServiceClient searchServiceClient;
+    private final CatalogReadModel catalogReadModel;
+    private final PartRepository partRepository;
 
-    CatalogSearchQueryHandler(SearchServiceClient searchServiceClient) {
+    CatalogSearchQueryHandler(
+            SearchServiceClient searchServiceClient,
+            CatalogReadModel catalogReadModel,
+            PartRepository partRepository) {
         this.searchServiceClient = searchServiceClient;
+        this.catalogReadModel = catalogReadModel;
+        this.partRepository = partRepository;
     }
 
     @Override
-    protected CatalogSearchResult doHandle(CatalogSearchQuery query) {
-        return searchServiceClient.search(query.query(), query.page(), query.pageSize());
+    protected SearchResults doHandle(CatalogSearchQuery query) {
+        boolean hasText = StringUtils.hasText(query.query());
+        String sort = resolveSort(query.sort(), hasText);
+        if (!hasText && query.categoryId() == null && query.tags().isEmpty()) {
+            return new SearchResults(List.of(), 0, sort, null, null, List.of(), List.of(), false);
+        }
+
+        CatalogSearchResult result;
+        try {
+            result = searchServiceClient.search(searchRequest(query, sort));
+        } catch (SearchUnavailableException e) {
+            log.warn("Catalog search unavailable, falling back to database search. error={}", e.getMessage());
+            return databaseFallback(query, sort);
+        }
+
+        // Category facet values are ids; names come from the read model and ids it does not know yet are skipped.
+        CatalogSnapshot snapshot = catalogReadModel.snapshot();
+        List<FacetOption> categories = result.facet(CatalogSearchFacet.CATEGORY).stream()
+                .flatMap(value -> snapshot.category(Long.valueOf(value.value())).stream()
+                        .map(entry -> new FacetOption(
+                                value.value(),
+                                entry.card().name(),
+                                value.count(),
+                                value.value().equals(String.valueOf(query.categoryId())))))
+                .toList();
+        List<FacetOption> tags = result.facet(CatalogSearchFacet.TAG).stream()
+                .map(value -> new FacetOption(
+                        value.value(), value.value(), value.count(), query.tags().contains(value.value())))
+                .toList();
+
+        return new SearchResults(
+                result.hits(), result.total(), sort, result.cursor(), result.nextCursor(), categories, tags, false);
+    }
+
+    private static CatalogSearchRequest searchRequest(CatalogSearchQuery query, String sort) {
+        return new CatalogSearchRequest(
+                query.query(),
+                query.categoryId(),
+                query.tags(),
+                toSearchSort(sort),
+                EnumSet.of(
+                        CatalogSearchField.NAME,
+                        CatalogSearchField.DESCRIPTION,
+                        CatalogSearchField.CATEGORY,
+                        CatalogSearchField.TAGS),
+                EnumSet.allOf(CatalogSearchFacet.class),
+                true,
+                query.cursor(),
+                query.pageSize());
+    }
+
+    // One page of best matches from the PostgreSQL full-text index, without facets, highlights or further pages.
+    // Browsing by filters alone needs Solr and comes back empty.
+    private SearchResults databaseFallback(CatalogSearchQuery query, String sort) {
+        if (!StringUtils.hasText(query.query())) {
+            return new SearchResults(List.of(), 0, sort, null, null, List.of(), List.of(), true);
+        }
+
+        String text = query.query().trim();
+        List<Long> ids = query.categoryId() == null
+                ? partRepository.searchIds(text, FALLBACK_CANDIDATES_LIMIT)
+                : partRepository.searchIdsInCategory(query.categoryId(), text, FALLBACK_CANDIDATES_LIMIT);
+        CatalogSnapshot snapshot = catalogReadModel.snapshot();
+        List<CatalogSearchHit> hits = ids.stream()
+                .map(id -> toFallbackHit(snapshot, id))
+                .flatMap(Optional::stream)
+                .filter(hit -> hit.tags().containsAll(query.tags()))
+                .limit(query.pageSize())
+                .toList();
+        return new SearchResults(hits, hits.size(), sort, null, null, List.of(), List.of(), true);
+    }
+
+    private static Optional<CatalogSearchHit> toFallbackHit(CatalogSnapshot snapshot, Long partId) {
+        return snapshot.part(partId).flatMap(part -> snapshot.categoryOfPart(partId)
+                .map(category -> new CatalogSearchHit(
+                        "part:" + part.id(),
+                        part.id(),
+                        part.name(),
+                        part.descriptionSnippet(),
+                        category.card().id(),
+                        category.card().name(),
+                        part.tags().stream().map(ListCategoryPartsQuery.TagCard::name).toList(),
+                        null,
+                        List.of())));
+    }
+
+    // Relevance means nothing without search text, so browsing by filters alone defaults to name order.
+    private static String resolveSort(String sort, boolean hasText) {
+        String normalized = sort == null ? "" : sort.toLowerCase(Locale.ROOT);
+        if (SORT_NAME.equals(normalized) || SORT_NEWEST.equals(normalized)) {
+            return normalized;
+        }
+        return hasText ? SORT_RELEVANCE : SORT_NAME;
+    }
+
+    private static CatalogSearchSort toSearchSort(String sort) {
+        return switch (sort) {
+            case SORT_NAME -> CatalogSearchSort.NAME;
+            case SORT_NEWEST -> CatalogSearchSort.NEWEST;
+            default -> CatalogSearchSort.RELEVANCE;
+        };
     }
 }
@@ -1,88 +1,47 @@
 package app.partsvibe.catalog.queries;
 
-import app.partsvibe.catalog.domain.Part;
-import app.partsvibe.catalog.domain.QCategory;
-import app.partsvibe.catalog.domain.QPart;
-import app.partsvibe.catalog.domain.QTag;
 import app.partsvibe.catalog.errors.CategoryNotFoundException;
+import app.partsvibe.catalog.readmodel.CatalogReadModel;
+import app.partsvibe.catalog.readmodel.CatalogSnapshot;
+import app.partsvibe.catalog.repo.PartRepository;
 import app.partsvibe.shared.cqrs.BaseQueryHandler;
 import app.partsvibe.shared.utils.StringUtils;
-import com.querydsl.core.BooleanBuilder;
-import com.querydsl.jpa.impl.JPAQueryFactory;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Locale;
+import java.util.Optional;
 import org.springframework.stereotype.Component;
 
 @Component
 class ListCategoryPartsQueryHandler
         extends BaseQueryHandler<ListCategoryPartsQuery, ListCategoryPartsQuery.CategoryParts> {
-    private static final int DESCRIPTION_SNIPPET_LENGTH = 280;
+    private static final int SEARCH_RESULTS_LIMIT = 100;
 
-    private final JPAQueryFactory queryFactory;
+    private final CatalogReadModel catalogReadModel;
+    private final PartRepository partRepository;
 
-    ListCategoryPartsQueryHandler(JPAQueryFactory queryFactory) {
-        this.queryFactory = queryFactory;
+    ListCategoryPartsQueryHandler(CatalogReadModel catalogReadModel, PartRepository partRepository) {
+        this.catalogReadModel = catalogReadModel;
+        this.partRepository = partRepository;
     }
 
     @Override
     protected ListCategoryPartsQuery.CategoryParts doHandle(ListCategoryPartsQuery query) {
-        QCategory category = QCategory.category;
-        QPart part = QPart.part;
-        QTag tag = QTag.tag;
+        CatalogSnapshot snapshot = catalogReadModel.snapshot();
+        CatalogSnapshot.CategoryEntry category = snapshot.category(query.categoryId())
+                .orElseThrow(() -> new CategoryNotFoundException(query.categoryId()));
 
-        String categoryName = queryFactory
-                .select(category.name)
-                .from(category)
-                .where(category.id.eq(query.categoryId()))
-                .fetchOne();
-        if (categoryName == null) {
-            throw new CategoryNotFoundException(query.categoryId());
+        if (!StringUtils.hasText(query.searchText())) {
+            return new ListCategoryPartsQuery.CategoryParts(
+                    query.categoryId(), category.card().name(), category.parts());
         }
 
-        BooleanBuilder predicate = new BooleanBuilder().and(part.category.id.eq(query.categoryId()));
-        if (StringUtils.hasText(query.searchText())) {
-            String searchText = query.searchText().trim();
-            predicate.and(part.name.containsIgnoreCase(searchText).or(part.description.containsIgnoreCase(searchText)));
-        }
-
-        List<Part> parts = queryFactory
-                .selectFrom(part)
-                .leftJoin(part.tags, tag)
-                .fetchJoin()
-                .where(predicate)
-                .orderBy(part.name.asc())
-                .distinct()
-                .fetch();
-
-        return new ListCategoryPartsQuery.CategoryParts(
-                query.categoryId(),
-                categoryName,
-                parts.stream()
-                        .map(partEntity -> new ListCategoryPartsQuery.PartRow(
-                                partEntity.getId(),
-                                partEntity.getName(),
-                                toDescriptionSnippet(partEntity.getDescription()),
-                                partEntity.getTags().stream()
-                                        .sorted(Comparator.comparing(
-                                                tagEntity -> tagEntity.getName().toLowerCase(Locale.ROOT)))
-                                        .map(tagEntity -> new ListCategoryPartsQuery.TagCard(
-                                                tagEntity.getName(),
-                                                tagEntity.getColor().name()))
-                                        .toList()))
-                        .toList());
-    }
-
-    private String toDescriptionSnippet(String description) {
-        if (!StringUtils.hasText(description)) {
-            return "";
-        }
-
-        String normalized = description.trim().replaceAll("\\s+", " ");
-        if (normalized.length() <= DESCRIPTION_SNIPPET_LENGTH) {
-            return normalized;
-        }
-
-        return normalized.substring(0, DESCRIPTION_SNIPPET_LENGTH - 1) + "…";
+        // The index ranks the matches, the rows come from the snapshot. Parts the snapshot does not know yet are
+        // left out until it catches up.
+        List<ListCategoryPartsQuery.PartRow> parts = partRepository
+                .searchIdsInCategory(query.categoryId(), query.searchText().trim(), SEARCH_RESULTS_LIMIT)
+                .stream()
+                .map(snapshot::part)
+                .flatMap(Optional::stream)
+                .toList();
+        return new ListCategoryPartsQuery.CategoryParts(query.categoryId(), category.card().name(), parts);
     }
 }
@@ -0,0 +1,129 @@
+package app.partsvibe.catalog.readmodel;
+
+import app.partsvibe.shared.time.TimeProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// In-memory catalog served to the query handlers without a database round trip. Catalog change events refresh the
+// affected categories on the instance that consumes them; every instance also reconciles its snapshot against the
+// database stamps on a fixed delay, which bounds how stale a snapshot can get. Staleness is the time since the snapshot
+// was last confirmed to match the database.
+@Component
+public class CatalogReadModel {
+    private static final Logger log = LoggerFactory.getLogger(CatalogReadModel.class);
+
+    private final CatalogSnapshotLoader loader;
+    private final TimeProvider timeProvider;
+    private final Counter fullRefreshCounter;
+    private final Counter incrementalRefreshCounter;
+
+    private volatile CatalogSnapshot snapshot;
+    private volatile Instant verifiedAt;
+
+    CatalogReadModel(CatalogSnapshotLoader loader, TimeProvider timeProvider, MeterRegistry meterRegistry) {
+        this.loader = loader;
+        this.timeProvider = timeProvider;
+        this.fullRefreshCounter = meterRegistry.counter("app.catalog.read-model.refreshes", "mode", "full");
+        this.incrementalRefreshCounter =
+                meterRegistry.counter("app.catalog.read-model.refreshes", "mode", "incremental");
+        meterRegistry.gauge("app.catalog.read-model.version", this, CatalogReadModel::version);
+        TimeGauge.builder(
+                        "app.catalog.read-model.staleness", this, TimeUnit.MILLISECONDS, CatalogReadModel::stalenessMs)
+                .register(meterRegistry);
+    }
+
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot current = snapshot;
+        return current != null ? current : initialize();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        snapshot();
+    }
+
+    public synchronized void refreshCategories(Collection<Long> categoryIds) {
+        if (snapshot == null) {
+            initialize();
+            return;
+        }
+        if (categoryIds.isEmpty()) {
+            return;
+        }
+
+        CatalogSnapshotLoader.Loaded loaded = loader.load(categoryIds);
+        snapshot = snapshot.withCategories(snapshot.version() + 1, timeProvider.now(), categoryIds, loaded);
+        incrementalRefreshCounter.increment();
+        log.debug(
+                "Catalog read model refreshed. mode=incremental, version={}, categoryIds={}",
+                snapshot.version(),
+                categoryIds);
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.read-model.reconcile-interval-ms:30000}")
+    public synchronized void reconcile() {
+        if (snapshot == null) {
+            initialize();
+            return;
+        }
+
+        Instant startedAt = timeProvider.now();
+        CatalogStamps stamps = loader.loadStamps();
+        if (!stamps.tags().equals(snapshot.stamps().tags())) {
+            rebuild(startedAt);
+            return;
+        }
+
+        Set<Long> changed = snapshot.stamps().changedCategories(stamps);
+        if (!changed.isEmpty()) {
+            CatalogSnapshotLoader.Loaded loaded = loader.load(changed);
+            snapshot = snapshot.withCategories(snapshot.version() + 1, startedAt, changed, loaded);
+            incrementalRefreshCounter.increment();
+            log.info(
+                    "Catalog read model caught up with missed changes. version={}, categoryIds={}",
+                    snapshot.version(),
+                    changed);
+        }
+        verifiedAt = startedAt;
+    }
+
+    private synchronized CatalogSnapshot initialize() {
+        if (snapshot == null) {
+            rebuild(timeProvider.now());
+        }
+        return snapshot;
+    }
+
+    private void rebuild(Instant startedAt) {
+        long version = snapshot == null ? 1 : snapshot.version() + 1;
+        snapshot = CatalogSnapshot.of(version, startedAt, loader.loadAll());
+        verifiedAt = startedAt;
+        fullRefreshCounter.increment();
+        log.info(
+                "Catalog read model rebuilt. mode=full, version={}, categories={}",
+                version,
+                snapshot.categories().size());
+    }
+
+    private long version() {
+        CatalogSnapshot current = snapshot;
+        return current == null ? 0 : current.version();
+    }
+
+    private double stalenessMs() {
+        Instant current = verifiedAt;
+        return current == null ? 0 : Math.max(0, Duration.between(current, timeProvider.now()).toMillis());
+    }
+}
@@ -0,0 +1,102 @@
+package app.partsvibe.catalog.readmodel;
+
+import app.partsvibe.catalog.queries.ListCategoriesQuery;
+import app.partsvibe.catalog.queries.ListCategoryPartsQuery;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Immutable view of the catalog served by the query handlers. A change produces a new snapshot with a higher version.
+public final class CatalogSnapshot {
+    private static final Comparator<ListCategoriesQuery.CategoryCard> CARD_ORDER = Comparator.comparing(
+                    (ListCategoriesQuery.CategoryCard card) -> card.name().toLowerCase(Locale.ROOT))
+            .thenComparing(ListCategoriesQuery.CategoryCard::id);
+
+    private final long version;
+    private final Instant builtAt;
+    private final Map<Long, CategoryEntry> categoriesById;
+    private final List<ListCategoriesQuery.CategoryCard> categories;
+    private final Map<Long, ListCategoryPartsQuery.PartRow> partsById;
+    private final Map<Long, Long> categoryIdsByPartId;
+    private final CatalogStamps stamps;
+
+    private CatalogSnapshot(
+            long version, Instant builtAt, Map<Long, CategoryEntry> categoriesById, CatalogStamps stamps) {
+        this.version = version;
+        this.builtAt = builtAt;
+        this.categoriesById = Map.copyOf(categoriesById);
+        this.categories = this.categoriesById.values().stream()
+                .map(CategoryEntry::card)
+                .sorted(CARD_ORDER)
+                .toList();
+        this.partsById = this.categoriesById.values().stream()
+                .flatMap(entry -> entry.parts().stream())
+                .collect(Collectors.toUnmodifiableMap(ListCategoryPartsQuery.PartRow::id, Function.identity()));
+        this.categoryIdsByPartId = this.categoriesById.values().stream()
+                .flatMap(entry -> entry.parts().stream().map(part -> Map.entry(part.id(), entry.card().id())))
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
+        this.stamps = stamps;
+    }
+
+    static CatalogSnapshot of(long version, Instant builtAt, CatalogSnapshotLoader.Loaded loaded) {
+        return new CatalogSnapshot(version, builtAt, loaded.categories(), loaded.stamps());
+    }
+
+    // Replaces the given categories with their reloaded entries; categories that were not reloaded no longer exist.
+    CatalogSnapshot withCategories(
+            long version, Instant builtAt, Collection<Long> categoryIds, CatalogSnapshotLoader.Loaded loaded) {
+        Map<Long, CategoryEntry> merged = new HashMap<>(categoriesById);
+        for (Long categoryId : categoryIds) {
+            CategoryEntry entry = loaded.categories().get(categoryId);
+            if (entry == null) {
+                merged.remove(categoryId);
+            } else {
+                merged.put(categoryId, entry);
+            }
+        }
+        return new CatalogSnapshot(version, builtAt, merged, stamps.withCategories(categoryIds, loaded.stamps()));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Instant builtAt() {
+        return builtAt;
+    }
+
+    // Ordered by name.
+    public List<ListCategoriesQuery.CategoryCard> categories() {
+        return categories;
+    }
+
+    public Optional<CategoryEntry> category(Long categoryId) {
+        return Optional.ofNullable(categoriesById.get(categoryId));
+    }
+
+    public Optional<ListCategoryPartsQuery.PartRow> part(Long partId) {
+        return Optional.ofNullable(partsById.get(partId));
+    }
+
+    public Optional<CategoryEntry> categoryOfPart(Long partId) {
+        return Optional.ofNullable(categoryIdsByPartId.get(partId)).map(categoriesById::get);
+    }
+
+    CatalogStamps stamps() {
+        return stamps;
+    }
+
+    // Parts ordered by name.
+    public record CategoryEntry(ListCategoriesQuery.CategoryCard card, List<ListCategoryPartsQuery.PartRow> parts) {
+        public CategoryEntry {
+            parts = List.copyOf(parts);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package app.partsvibe.catalog.readmodel;
+
+import app.partsvibe.catalog.domain.Category;
+import app.partsvibe.catalog.domain.Part;
+import app.partsvibe.catalog.domain.QCategory;
+import app.partsvibe.catalog.domain.QPart;
+import app.partsvibe.catalog.domain.QTag;
+import app.partsvibe.catalog.domain.Tag;
+import app.partsvibe.catalog.queries.ListCategoriesQuery;
+import app.partsvibe.catalog.queries.ListCategoryPartsQuery;
+import app.partsvibe.shared.utils.StringUtils;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+class CatalogSnapshotLoader {
+    private static final int DESCRIPTION_SNIPPET_LENGTH = 280;
+    private static final Comparator<Tag> TAG_ORDER =
+            Comparator.comparing(tag -> tag.getName().toLowerCase(Locale.ROOT));
+    private static final Comparator<ListCategoryPartsQuery.PartRow> PART_ORDER = Comparator.comparing(
+                    (ListCategoryPartsQuery.PartRow row) -> row.name().toLowerCase(Locale.ROOT))
+            .thenComparing(ListCategoryPartsQuery.PartRow::id);
+
+    private final JPAQueryFactory queryFactory;
+
+    CatalogSnapshotLoader(JPAQueryFactory queryFactory) {
+        this.queryFactory = queryFactory;
+    }
+
+    // Stamps and entries are read in one transaction, stamps first: a change that lands in between leaves stamps older
+    // than the entries, so the next reconcile reloads the category instead of missing the change.
+    @Transactional(readOnly = true)
+    public Loaded loadAll() {
+        CatalogStamps stamps = loadStamps();
+        return new Loaded(stamps, loadCategories(null));
+    }
+
+    @Transactional(readOnly = true)
+    public Loaded load(Collection<Long> categoryIds) {
+        CatalogStamps stamps = loadStamps();
+        return new Loaded(stamps, loadCategories(Set.copyOf(categoryIds)));
+    }
+
+    @Transactional(readOnly = true)
+    public CatalogStamps loadStamps() {
+        QCategory category = QCategory.category;
+        QPart part = QPart.part;
+        QTag tag = QTag.tag;
+
+        Map<Long, CatalogStamps.CategoryStamp> categoryStamps = new HashMap<>();
+        for (Tuple row : queryFactory
+                .select(category.id, category.version, part.id.count(), part.version.sum())
+                .from(category)
+                .leftJoin(category.parts, part)
+                .groupBy(category.id, category.version)
+                .fetch()) {
+            categoryStamps.put(
+                    row.get(category.id),
+                    new CatalogStamps.CategoryStamp(
+                            valueOf(row.get(category.version)),
+                            valueOf(row.get(part.id.count())),
+                            valueOf(row.get(part.version.sum()))));
+        }
+
+        Tuple tags = queryFactory
+                .select(tag.id.count(), tag.version.sum())
+                .from(tag)
+                .fetchOne();
+        CatalogStamps.TagsStamp tagsStamp = tags == null
+                ? new CatalogStamps.TagsStamp(0, 0)
+                : new CatalogStamps.TagsStamp(valueOf(tags.get(tag.id.count())), valueOf(tags.get(tag.version.sum())));
+
+        return new CatalogStamps(categoryStamps, tagsStamp);
+    }
+
+    // All categories when categoryIds is null.
+    private Map<Long, CatalogSnapshot.CategoryEntry> loadCategories(Set<Long> categoryIds) {
+        QCategory category = QCategory.category;
+        QPart part = QPart.part;
+        QTag tag = QTag.tag;
+
+        BooleanBuilder categoryPredicate = new BooleanBuilder();
+        BooleanBuilder partPredicate = new BooleanBuilder();
+        if (categoryIds != null) {
+            if (categoryIds.isEmpty()) {
+                return Map.of();
+            }
+            categoryPredicate.and(category.id.in(categoryIds));
+            partPredicate.and(part.category.id.in(categoryIds));
+        }
+
+        List<Category> categories = queryFactory
+                .selectFrom(category)
+                .leftJoin(category.tags, tag)
+                .fetchJoin()
+                .where(categoryPredicate)
+                .distinct()
+                .fetch();
+
+        List<Part> parts = queryFactory
+                .selectFrom(part)
+                .leftJoin(part.tags, tag)
+                .fetchJoin()
+                .where(partPredicate)
+                .distinct()
+                .fetch();
+
+        Map<Long, List<ListCategoryPartsQuery.PartRow>> partsByCategoryId = new HashMap<>();
+        for (Part partEntity : parts) {
+            partsByCategoryId
+                    .computeIfAbsent(partEntity.getCategory().getId(), ignored -> new ArrayList<>())
+                    .add(toPartRow(partEntity));
+        }
+
+        Map<Long, CatalogSnapshot.CategoryEntry> entries = new HashMap<>();
+        for (Category categoryEntity : categories) {
+            List<ListCategoryPartsQuery.PartRow> categoryParts =
+                    partsByCategoryId.getOrDefault(categoryEntity.getId(), List.of()).stream()
+                            .sorted(PART_ORDER)
+                            .toList();
+            entries.put(
+                    categoryEntity.getId(),
+                    new CatalogSnapshot.CategoryEntry(
+                            new ListCategoriesQuery.CategoryCard(
+                                    categoryEntity.getId(),
+                                    categoryEntity.getName(),
+                                    categoryParts.size(),
+                                    categoryEntity.getTags().stream()
+                                            .sorted(TAG_ORDER)
+                                            .map(tagEntity -> new ListCategoriesQuery.TagCard(
+                                                    tagEntity.getName(),
+                                                    tagEntity.getColor().name()))
+                                            .toList()),
+                            categoryParts));
+        }
+        return entries;
+    }
+
+    private static ListCategoryPartsQuery.PartRow toPartRow(Part partEntity) {
+        return new ListCategoryPartsQuery.PartRow(
+                partEntity.getId(),
+                partEntity.getName(),
+                toDescriptionSnippet(partEntity.getDescription()),
+                partEntity.getTags().stream()
+                        .sorted(TAG_ORDER)
+                        .map(tagEntity -> new ListCategoryPartsQuery.TagCard(
+                                tagEntity.getName(), tagEntity.getColor().name()))
+                        .toList());
+    }
+
+    private static String toDescriptionSnippet(String description) {
+        if (!StringUtils.hasText(description)) {
+            return "";
+        }
+
+        String normalized = description.trim().replaceAll("\\s+", " ");
+        if (normalized.length() <= DESCRIPTION_SNIPPET_LENGTH) {
+            return normalized;
+        }
+
+        return normalized.substring(0, DESCRIPTION_SNIPPET_LENGTH - 1) + "…";
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0L : value;
+    }
+
+    record Loaded(CatalogStamps stamps, Map<Long, CatalogSnapshot.CategoryEntry> categories) {}
+}
@@ -0,0 +1,47 @@
+package app.partsvibe.catalog.readmodel;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// Cheap change detection for the read model. Every entity update bumps its optimistic lock version, collection changes
+// included, so a category whose version, part count or sum of part versions moved has changed. Tags are shared by all
+// categories and are stamped as a whole.
+record CatalogStamps(Map<Long, CategoryStamp> categories, TagsStamp tags) {
+    CatalogStamps {
+        categories = Map.copyOf(categories);
+    }
+
+    Set<Long> changedCategories(CatalogStamps other) {
+        Set<Long> changed = new HashSet<>();
+        categories.forEach((categoryId, stamp) -> {
+            if (!stamp.equals(other.categories.get(categoryId))) {
+                changed.add(categoryId);
+            }
+        });
+        other.categories.keySet().stream()
+                .filter(categoryId -> !categories.containsKey(categoryId))
+                .forEach(changed::add);
+        return changed;
+    }
+
+    // Stamps of the given categories taken from other, the rest kept as they are.
+    CatalogStamps withCategories(Collection<Long> categoryIds, CatalogStamps other) {
+        Map<Long, CategoryStamp> merged = new HashMap<>(categories);
+        for (Long categoryId : categoryIds) {
+            CategoryStamp stamp = other.categories.get(categoryId);
+            if (stamp == null) {
+                merged.remove(categoryId);
+            } else {
+                merged.put(categoryId, stamp);
+            }
+        }
+        return new CatalogStamps(merged, tags);
+    }
+
+    record CategoryStamp(long version, long partsCount, long partsVersionSum) {}
+
+    record TagsStamp(long count, long versionSum) {}
+}
@@ -4,7 +4,7 @@ import app.partsvibe.catalog.domain.Part;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface PartRepository extends JpaRepository<Part, Long> {
+public interface PartRepository extends JpaRepository<Part, Long>, PartSearchRepository {
     Optional<Part> findByNameIgnoreCase(String name);
 
     boolean existsByNameIgnoreCase(String name);
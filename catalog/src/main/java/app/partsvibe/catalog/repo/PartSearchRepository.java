@@ -0,0 +1,11 @@
+package app.partsvibe.catalog.repo;
+
+import java.util.List;
+
+public interface PartSearchRepository {
+    // Ids of the parts of the category that match the text, best match first.
+    List<Long> searchIdsInCategory(Long categoryId, String text, int limit);
+
+    // Ids of the parts of any category that match the text, best match first.
+    List<Long> searchIds(String text, int limit);
+}
@@ -0,0 +1,51 @@
+package app.partsvibe.catalog.repo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+
+// Served by the GIN indexes that CatalogSearchIndexInitializer creates: full-text matches on the weighted
+// search_vector (name A, description B) and fuzzy word matches on the name through pg_trgm. Both indexes lead with
+// category_id, so only the parts of the category are looked at. Multicolumn GIN indexes also serve conditions on the
+// later column alone, which covers the search across categories.
+class PartSearchRepositoryImpl implements PartSearchRepository {
+    private static final String SEARCH_SQL =
+            """
+            SELECT p.id
+            FROM catalog_parts p, websearch_to_tsquery('english', :text) AS query
+            WHERE {categoryCondition}(p.search_vector @@ query OR :text <% p.name)
+            ORDER BY ts_rank_cd(p.search_vector, query) + word_similarity(:text, p.name) DESC,
+                     p.name_normalized,
+                     p.id
+            LIMIT :limit
+            """;
+    private static final String SEARCH_IN_CATEGORY_SQL =
+            SEARCH_SQL.replace("{categoryCondition}", "p.category_id = :categoryId AND ");
+    private static final String SEARCH_ALL_SQL = SEARCH_SQL.replace("{categoryCondition}", "");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> searchIdsInCategory(Long categoryId, String text, int limit) {
+        @SuppressWarnings("unchecked")
+        List<Number> ids = entityManager
+                .createNativeQuery(SEARCH_IN_CATEGORY_SQL)
+                .setParameter("categoryId", categoryId)
+                .setParameter("text", text)
+                .setParameter("limit", limit)
+                .getResultList();
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+    @Override
+    public List<Long> searchIds(String text, int limit) {
+        @SuppressWarnings("unchecked")
+        List<Number> ids = entityManager
+                .createNativeQuery(SEARCH_ALL_SQL)
+                .setParameter("text", text)
+                .setParameter("limit", limit)
+                .getResultList();
+        return ids.stream().map(Number::longValue).toList();
+    }
+}
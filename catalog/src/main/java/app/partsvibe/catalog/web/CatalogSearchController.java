@@ -1,10 +1,10 @@
 package app.partsvibe.catalog.web;
 
 import app.partsvibe.catalog.queries.CatalogSearchQuery;
-import app.partsvibe.search.api.CatalogSearchResult;
 import app.partsvibe.shared.cqrs.Mediator;
 import app.partsvibe.uicomponents.breadcrumbs.BreadcrumbItemData;
 import app.partsvibe.uicomponents.breadcrumbs.BreadcrumbsData;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import org.slf4j.Logger;
@@ -15,6 +15,7 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @Controller
 @RequestMapping("/catalog")
@@ -32,19 +33,56 @@ public class CatalogSearchController {
     @GetMapping("/search")
     public String search(
             @RequestParam(name = "q", required = false) String query,
-            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "categoryId", required = false) Long categoryId,
+            @RequestParam(name = "tag", required = false) List<String> tags,
+            @RequestParam(name = "sort", required = false) String sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
             Model model,
             Locale locale) {
         String safeQuery = query == null ? "" : query;
-        log.info("Catalog search requested: queryLength={}, page={}", safeQuery.length(), page);
-        CatalogSearchResult result = mediator.executeQuery(new CatalogSearchQuery(query, page, PAGE_SIZE));
+        List<String> safeTags = tags == null ? List.of() : tags;
         log.info(
-                "Catalog search completed: total={}, page={}, pageSize={}",
+                "Catalog search requested: queryLength={}, categoryId={}, tags={}, deepPage={}",
+                safeQuery.length(),
+                categoryId,
+                safeTags.size(),
+                cursor != null);
+        CatalogSearchQuery.SearchResults result = mediator.executeQuery(
+                new CatalogSearchQuery(query, categoryId, safeTags, sort, cursor, PAGE_SIZE));
+        log.info(
+                "Catalog search completed: total={}, hits={}, hasNext={}",
                 result.total(),
-                result.page(),
-                result.pageSize());
+                result.hits().size(),
+                result.hasNext());
+
+        var filters = new SearchFilters(safeQuery, categoryId, safeTags, result.sort());
         model.addAttribute("query", safeQuery);
+        model.addAttribute("searched", !safeQuery.isBlank() || categoryId != null || !safeTags.isEmpty());
         model.addAttribute("result", result);
+        model.addAttribute("selectedCategoryId", categoryId);
+        model.addAttribute("selectedTags", safeTags);
+        model.addAttribute("sort", result.sort());
+        model.addAttribute(
+                "categoryFacets",
+                result.categories().stream()
+                        .map(option -> new FacetLink(
+                                option.label(),
+                                option.count(),
+                                option.selected(),
+                                filters.withCategory(option.selected() ? null : Long.valueOf(option.value()))
+                                        .url(null)))
+                        .toList());
+        model.addAttribute(
+                "tagFacets",
+                result.tags().stream()
+                        .map(option -> new FacetLink(
+                                option.label(),
+                                option.count(),
+                                option.selected(),
+                                filters.withTagToggled(option.value()).url(null)))
+                        .toList());
+        model.addAttribute("firstPageUrl", filters.url(null));
+        model.addAttribute("nextPageUrl", result.hasNext() ? filters.url(result.nextCursor()) : null);
         model.addAttribute(
                 "breadcrumbs",
                 new BreadcrumbsData(List.of(
@@ -54,4 +92,44 @@ public class CatalogSearchController {
                                 messageSource.getMessage("nav.catalog.search", null, locale), null, true))));
         return "catalog-search";
     }
+
+    public record FacetLink(String label, long count, boolean selected, String url) {}
+
+    private record SearchFilters(String query, Long categoryId, List<String> tags, String sort) {
+        SearchFilters withCategory(Long newCategoryId) {
+            return new SearchFilters(query, newCategoryId, tags, sort);
+        }
+
+        SearchFilters withTagToggled(String tag) {
+            List<String> newTags = new ArrayList<>(tags);
+            if (!newTags.remove(tag)) {
+                newTags.add(tag);
+            }
+            return new SearchFilters(query, categoryId, newTags, sort);
+        }
+
+        // Changing a filter starts from the first page, so only the pager passes a cursor. Values are bound as URI
+        // variables, which encodes every reserved character; cursors are base64 and may contain '+'.
+        String url(String cursor) {
+            var builder = UriComponentsBuilder.fromPath("/catalog/search");
+            List<Object> values = new ArrayList<>();
+            if (!query.isBlank()) {
+                addParam(builder, values, "q", query);
+            }
+            if (categoryId != null) {
+                addParam(builder, values, "categoryId", categoryId);
+            }
+            tags.forEach(tag -> addParam(builder, values, "tag", tag));
+            addParam(builder, values, "sort", sort);
+            if (cursor != null) {
+                addParam(builder, values, "cursor", cursor);
+            }
+            return builder.encode().buildAndExpand(values.toArray()).toUriString();
+        }
+
+        private static void addParam(UriComponentsBuilder builder, List<Object> values, String name, Object value) {
+            builder.queryParam(name, "{v" + values.size() + "}");
+            values.add(value);
+        }
+    }
 }
@@ -0,0 +1,92 @@
+package app.partsvibe.catalog.events.handling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.catalog.domain.Category;
+import app.partsvibe.catalog.domain.Part;
+import app.partsvibe.catalog.events.CatalogChangedEvent;
+import app.partsvibe.catalog.queries.ListCategoryPartsQuery;
+import app.partsvibe.catalog.readmodel.CatalogReadModel;
+import app.partsvibe.catalog.readmodel.CatalogSnapshot;
+import app.partsvibe.catalog.repo.CategoryRepository;
+import app.partsvibe.catalog.repo.PartRepository;
+import app.partsvibe.catalog.test.it.AbstractCatalogIntegrationTest;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class RefreshCatalogReadModelOnCatalogChangedEventHandlerIT extends AbstractCatalogIntegrationTest {
+    @Autowired
+    private RefreshCatalogReadModelOnCatalogChangedEventHandler eventHandler;
+
+    @Autowired
+    private CatalogReadModel catalogReadModel;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PartRepository partRepository;
+
+    private String suffix;
+    private Category category;
+
+    @Override
+    protected void beforeEachTest(TestInfo testInfo) {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+        category = categoryRepository.saveAndFlush(new Category("it-read-model-" + suffix, "Read model test.", null));
+    }
+
+    @Test
+    void picksUpAddedAndEditedParts() {
+        Part shunt = partRepository.saveAndFlush(new Part("Shunt " + suffix, "Current sensing.", category));
+        eventHandler.handle(changed(category));
+        long versionBefore = catalogReadModel.snapshot().version();
+
+        shunt.setName("Precision Shunt " + suffix);
+        partRepository.saveAndFlush(shunt);
+        partRepository.saveAndFlush(new Part("Ammeter " + suffix, "Panel meter.", category));
+        eventHandler.handle(changed(category));
+
+        var snapshot = catalogReadModel.snapshot();
+        assertThat(snapshot.version()).isGreaterThan(versionBefore);
+        assertThat(partNames(snapshot.category(category.getId()).orElseThrow()))
+                .containsExactly("Ammeter " + suffix, "Precision Shunt " + suffix);
+        assertThat(snapshot.category(category.getId()).orElseThrow().card().partsCount()).isEqualTo(2);
+    }
+
+    @Test
+    void picksUpNewAndDeletedCategories() {
+        eventHandler.handle(changed(category));
+        assertThat(catalogReadModel.snapshot().category(category.getId())).isPresent();
+
+        categoryRepository.delete(category);
+        categoryRepository.flush();
+        eventHandler.handle(changed(category));
+
+        assertThat(catalogReadModel.snapshot().category(category.getId())).isEmpty();
+    }
+
+    @Test
+    void reconcileCatchesUpWithChangesWithoutEvent() {
+        eventHandler.handle(changed(category));
+
+        partRepository.saveAndFlush(new Part("Relay " + suffix, "Switches mains loads.", category));
+        catalogReadModel.reconcile();
+
+        assertThat(partNames(catalogReadModel.snapshot().category(category.getId()).orElseThrow()))
+                .containsExactly("Relay " + suffix);
+    }
+
+    private static CatalogChangedEvent changed(Category changedCategory) {
+        return CatalogChangedEvent.builder()
+                .categoryIds(List.of(changedCategory.getId()))
+                .build();
+    }
+
+    private static List<String> partNames(CatalogSnapshot.CategoryEntry entry) {
+        return entry.parts().stream().map(ListCategoryPartsQuery.PartRow::name).toList();
+    }
+}
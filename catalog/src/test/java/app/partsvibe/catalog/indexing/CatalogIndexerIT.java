@@ -0,0 +1,145 @@
+package app.partsvibe.catalog.indexing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.catalog.domain.Category;
+import app.partsvibe.catalog.domain.Part;
+import app.partsvibe.catalog.domain.Tag;
+import app.partsvibe.catalog.domain.TagColor;
+import app.partsvibe.catalog.events.CatalogReindexBatchRequestedEvent;
+import app.partsvibe.catalog.repo.CategoryRepository;
+import app.partsvibe.catalog.repo.PartRepository;
+import app.partsvibe.catalog.repo.TagRepository;
+import app.partsvibe.catalog.test.it.AbstractCatalogIntegrationTest;
+import app.partsvibe.catalog.test.it.RecordingSearchServiceClient;
+import app.partsvibe.search.api.CatalogPartDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class CatalogIndexerIT extends AbstractCatalogIntegrationTest {
+    @Autowired
+    private CatalogIndexer catalogIndexer;
+
+    @Autowired
+    private RecordingSearchServiceClient searchServiceClient;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PartRepository partRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String suffix;
+    private Category category;
+    private Category otherCategory;
+
+    @Override
+    protected void beforeEachTest(TestInfo testInfo) {
+        searchServiceClient.clear();
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+        category = categoryRepository.save(new Category("it-index-" + suffix, "Indexing test category.", null));
+        otherCategory = categoryRepository.save(new Category("it-index-other-" + suffix, "Other category.", null));
+    }
+
+    @Test
+    void reindexesChangedCategoriesInPagesAndDeletesTheirStaleDocuments() {
+        Tag tag = tagRepository.save(new Tag("smd-" + suffix, TagColor.SLATE, null));
+        Part resistor = savePart("Resistor", category);
+        resistor.getTags().add(tag);
+        partRepository.saveAndFlush(resistor);
+        savePart("Capacitor", category);
+        savePart("Inductor", category);
+        savePart("Relay", otherCategory);
+        var changedAt = timeProvider.now();
+        timeProvider.move(Duration.ofSeconds(2));
+
+        catalogIndexer.reindexCategories(List.of(category.getId()), changedAt);
+
+        long generation = timeProvider.now().toEpochMilli();
+        assertThat(searchServiceClient.indexedBatches())
+                .extracting(batch -> batch.parts().size())
+                .containsExactly(2, 1);
+        assertThat(searchServiceClient.indexedBatches())
+                .allSatisfy(batch -> assertThat(batch.generation()).isEqualTo(generation));
+        assertThat(searchServiceClient.indexedParts())
+                .extracting(CatalogPartDocument::name)
+                .containsExactly("Resistor " + suffix, "Capacitor " + suffix, "Inductor " + suffix);
+        CatalogPartDocument indexedResistor = searchServiceClient.indexedParts().getFirst();
+        assertThat(indexedResistor.partId()).isEqualTo(resistor.getId());
+        assertThat(indexedResistor.categoryId()).isEqualTo(category.getId());
+        assertThat(indexedResistor.categoryName()).isEqualTo("it-index-" + suffix);
+        assertThat(indexedResistor.tags()).containsExactly("smd-" + suffix);
+        Set<Long> indexedPartIds = searchServiceClient.indexedParts().stream()
+                .map(CatalogPartDocument::partId)
+                .collect(Collectors.toSet());
+        assertThat(searchServiceClient.staleDeletions())
+                .containsExactly(new RecordingSearchServiceClient.StaleDeletion(
+                        Set.of(category.getId()), indexedPartIds, generation));
+
+        assertThat(meterRegistry
+                        .counter("app.catalog.indexing.documents", "mode", "incremental")
+                        .count())
+                .isEqualTo(3);
+        var lag = meterRegistry.get("app.catalog.indexing.lag").timer();
+        assertThat(lag.count()).isEqualTo(1);
+        assertThat(lag.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(2000);
+    }
+
+    @Test
+    void fullReindexQueuesFollowUpBatchesUntilEveryPartIsIndexed() {
+        for (int i = 1; i <= 5; i++) {
+            savePart("Part " + i, i % 2 == 0 ? category : otherCategory);
+        }
+        long generation = timeProvider.now().toEpochMilli();
+
+        catalogIndexer.startFullReindex();
+
+        assertThat(searchServiceClient.indexedParts()).hasSize(4);
+        assertThat(searchServiceClient.staleDeletions()).isEmpty();
+        assertThat(eventPublisher.publishedEvents()).hasSize(1);
+        var nextBatch = (CatalogReindexBatchRequestedEvent) eventPublisher.publishedEvents().getFirst();
+        assertThat(nextBatch.generation()).isEqualTo(generation);
+        assertThat(nextBatch.afterPartId())
+                .isEqualTo(searchServiceClient.indexedParts().getLast().partId());
+        assertThat(nextBatch.indexedCount()).isEqualTo(4);
+
+        eventPublisher.clear();
+        timeProvider.move(Duration.ofSeconds(1));
+        catalogIndexer.indexFullReindexBatch(nextBatch);
+
+        assertThat(searchServiceClient.indexedParts())
+                .extracting(CatalogPartDocument::name)
+                .containsExactly(
+                        "Part 1 " + suffix,
+                        "Part 2 " + suffix,
+                        "Part 3 " + suffix,
+                        "Part 4 " + suffix,
+                        "Part 5 " + suffix);
+        assertThat(eventPublisher.publishedEvents()).isEmpty();
+        assertThat(searchServiceClient.staleDeletions())
+                .containsExactly(new RecordingSearchServiceClient.StaleDeletion(Set.of(), Set.of(), generation));
+        assertThat(meterRegistry
+                        .get("app.catalog.indexing.full.docs-per-second")
+                        .gauge()
+                        .value())
+                .isEqualTo(5.0);
+    }
+
+    private Part savePart(String name, Category partCategory) {
+        return partRepository.saveAndFlush(new Part(name + " " + suffix, "Description of " + name + ".", partCategory));
+    }
+}
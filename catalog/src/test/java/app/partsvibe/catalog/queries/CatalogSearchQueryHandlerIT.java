@@ -0,0 +1,160 @@
+package app.partsvibe.catalog.queries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.catalog.domain.Category;
+import app.partsvibe.catalog.domain.Part;
+import app.partsvibe.catalog.readmodel.CatalogReadModel;
+import app.partsvibe.catalog.repo.CategoryRepository;
+import app.partsvibe.catalog.repo.PartRepository;
+import app.partsvibe.catalog.test.it.AbstractCatalogIntegrationTest;
+import app.partsvibe.catalog.test.it.RecordingSearchServiceClient;
+import app.partsvibe.search.api.CatalogSearchFacet;
+import app.partsvibe.search.api.CatalogSearchFacetValue;
+import app.partsvibe.search.api.CatalogSearchHit;
+import app.partsvibe.search.api.CatalogSearchRequest;
+import app.partsvibe.search.api.CatalogSearchResult;
+import app.partsvibe.search.api.CatalogSearchSort;
+import app.partsvibe.search.api.SearchUnavailableException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class CatalogSearchQueryHandlerIT extends AbstractCatalogIntegrationTest {
+    @Autowired
+    private CatalogSearchQueryHandler queryHandler;
+
+    @Autowired
+    private RecordingSearchServiceClient searchServiceClient;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PartRepository partRepository;
+
+    @Autowired
+    private CatalogReadModel catalogReadModel;
+
+    private String suffix;
+
+    @Override
+    protected void beforeEachTest(TestInfo testInfo) {
+        searchServiceClient.clear();
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void doesNotSearchWithoutTextOrFilters() {
+        CatalogSearchQuery.SearchResults result =
+                queryHandler.handle(new CatalogSearchQuery(" ", null, List.of(), null, null, 5));
+
+        assertThat(result.hits()).isEmpty();
+        assertThat(result.hasNext()).isFalse();
+        assertThat(searchServiceClient.searchRequests()).isEmpty();
+    }
+
+    @Test
+    void passesFiltersCursorAndSortToSearchService() {
+        queryHandler.handle(new CatalogSearchQuery("relay", 7L, List.of("smd", "smd", "5v"), null, "AoE=", 5));
+
+        CatalogSearchRequest request = searchServiceClient.searchRequests().getFirst();
+        assertThat(request.queryText()).isEqualTo("relay");
+        assertThat(request.categoryId()).isEqualTo(7L);
+        assertThat(request.tags()).containsExactly("smd", "5v");
+        assertThat(request.sort()).isEqualTo(CatalogSearchSort.RELEVANCE);
+        assertThat(request.facets()).containsExactlyInAnyOrder(CatalogSearchFacet.values());
+        assertThat(request.highlight()).isTrue();
+        assertThat(request.cursor()).isEqualTo("AoE=");
+        assertThat(request.pageSize()).isEqualTo(5);
+    }
+
+    @Test
+    void sortsFilterOnlyBrowsingByName() {
+        CatalogSearchQuery.SearchResults result =
+                queryHandler.handle(new CatalogSearchQuery("", null, List.of("smd"), "relevance", null, 5));
+
+        assertThat(result.sort()).isEqualTo(CatalogSearchQuery.SORT_NAME);
+        assertThat(searchServiceClient.searchRequests().getFirst().sort()).isEqualTo(CatalogSearchSort.NAME);
+    }
+
+    @Test
+    void labelsCategoryFacetsFromReadModelAndMarksSelectedValues() {
+        Category sensors = categoryRepository.save(new Category("it-facet-sensors-" + suffix, null, null));
+        Category relays = categoryRepository.save(new Category("it-facet-relays-" + suffix, null, null));
+        catalogReadModel.refreshCategories(List.of(sensors.getId(), relays.getId()));
+        searchServiceClient.returnOnSearch(new CatalogSearchResult(
+                List.of(),
+                12,
+                null,
+                "AoE=",
+                Map.of(
+                        CatalogSearchFacet.CATEGORY,
+                        List.of(
+                                new CatalogSearchFacetValue(String.valueOf(sensors.getId()), 9),
+                                new CatalogSearchFacetValue(String.valueOf(relays.getId()), 3),
+                                new CatalogSearchFacetValue("-1", 1)),
+                        CatalogSearchFacet.TAG,
+                        List.of(new CatalogSearchFacetValue("smd", 5), new CatalogSearchFacetValue("5v", 2)))));
+
+        CatalogSearchQuery.SearchResults result = queryHandler.handle(
+                new CatalogSearchQuery("module", relays.getId(), List.of("5v"), "newest", null, 5));
+
+        assertThat(result.total()).isEqualTo(12);
+        assertThat(result.nextCursor()).isEqualTo("AoE=");
+        assertThat(result.sort()).isEqualTo(CatalogSearchQuery.SORT_NEWEST);
+        assertThat(result.categories())
+                .containsExactly(
+                        new CatalogSearchQuery.FacetOption(
+                                String.valueOf(sensors.getId()), "it-facet-sensors-" + suffix, 9, false),
+                        new CatalogSearchQuery.FacetOption(
+                                String.valueOf(relays.getId()), "it-facet-relays-" + suffix, 3, true));
+        assertThat(result.tags())
+                .containsExactly(
+                        new CatalogSearchQuery.FacetOption("smd", "smd", 5, false),
+                        new CatalogSearchQuery.FacetOption("5v", "5v", 2, true));
+    }
+
+    @Test
+    void fallsBackToDatabaseSearchWhenSearchServiceIsUnavailable() {
+        Category relays = categoryRepository.save(new Category("it-fallback-relays-" + suffix, null, null));
+        Category sensors = categoryRepository.save(new Category("it-fallback-sensors-" + suffix, null, null));
+        partRepository.saveAndFlush(new Part("Solid State Relay " + suffix, "Switches AC loads.", relays));
+        partRepository.saveAndFlush(new Part("Reed Relay " + suffix, "Magnetic contact.", sensors));
+        partRepository.saveAndFlush(new Part("Buzzer " + suffix, "Piezo sounder.", relays));
+        catalogReadModel.refreshCategories(List.of(relays.getId(), sensors.getId()));
+        searchServiceClient.failOnSearch(new SearchUnavailableException("Solr query rejected."));
+
+        CatalogSearchQuery.SearchResults everywhere =
+                queryHandler.handle(new CatalogSearchQuery("relay " + suffix, null, List.of(), null, null, 5));
+        CatalogSearchQuery.SearchResults inCategory = queryHandler.handle(
+                new CatalogSearchQuery("relay " + suffix, relays.getId(), List.of(), null, null, 5));
+
+        assertThat(everywhere.degraded()).isTrue();
+        assertThat(everywhere.hasNext()).isFalse();
+        assertThat(everywhere.categories()).isEmpty();
+        assertThat(everywhere.hits())
+                .extracting(CatalogSearchHit::name)
+                .containsExactlyInAnyOrder("Solid State Relay " + suffix, "Reed Relay " + suffix);
+        assertThat(inCategory.hits())
+                .singleElement()
+                .satisfies(hit -> {
+                    assertThat(hit.name()).isEqualTo("Solid State Relay " + suffix);
+                    assertThat(hit.categoryName()).isEqualTo("it-fallback-relays-" + suffix);
+                });
+    }
+
+    @Test
+    void returnsNoResultsForFilterOnlyBrowsingWhenSearchServiceIsUnavailable() {
+        searchServiceClient.failOnSearch(new SearchUnavailableException("Solr query rejected."));
+
+        CatalogSearchQuery.SearchResults result =
+                queryHandler.handle(new CatalogSearchQuery("", 1L, List.of(), null, null, 5));
+
+        assertThat(result.degraded()).isTrue();
+        assertThat(result.hits()).isEmpty();
+    }
+}
@@ -0,0 +1,114 @@
+package app.partsvibe.catalog.queries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.catalog.domain.Category;
+import app.partsvibe.catalog.domain.Part;
+import app.partsvibe.catalog.readmodel.CatalogReadModel;
+import app.partsvibe.catalog.repo.CategoryRepository;
+import app.partsvibe.catalog.repo.PartRepository;
+import app.partsvibe.catalog.test.it.AbstractCatalogIntegrationTest;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class ListCategoryPartsQueryHandlerIT extends AbstractCatalogIntegrationTest {
+    @Autowired
+    private ListCategoryPartsQueryHandler queryHandler;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PartRepository partRepository;
+
+    @Autowired
+    private CatalogReadModel catalogReadModel;
+
+    private String suffix;
+    private Category category;
+    private Category otherCategory;
+
+    @Override
+    protected void beforeEachTest(TestInfo testInfo) {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+        category = categoryRepository.save(new Category("it-search-" + suffix, "Search test category.", null));
+        otherCategory = categoryRepository.save(new Category("it-search-other-" + suffix, "Other category.", null));
+    }
+
+    @Test
+    void listsEveryPartOfCategoryByNameWithoutSearchText() {
+        savePart("Zener Diode", "Voltage reference.", category);
+        savePart("Ammeter Shunt", "Current sensing resistor.", category);
+        refreshReadModel();
+
+        ListCategoryPartsQuery.CategoryParts result =
+                queryHandler.handle(new ListCategoryPartsQuery(category.getId(), " "));
+
+        assertThat(result.categoryName()).isEqualTo("it-search-" + suffix);
+        assertThat(names(result)).containsExactly("Ammeter Shunt " + suffix, "Zener Diode " + suffix);
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() {
+        savePart("Timing Board", "Clock source built around a quartz crystal.", category);
+        savePart("Quartz Oscillator Module", "Stable clock source.", category);
+        savePart("Relay Module", "Switches mains loads.", category);
+        refreshReadModel();
+
+        ListCategoryPartsQuery.CategoryParts result =
+                queryHandler.handle(new ListCategoryPartsQuery(category.getId(), "quartz"));
+
+        assertThat(names(result)).containsExactly("Quartz Oscillator Module " + suffix, "Timing Board " + suffix);
+    }
+
+    @Test
+    void matchesStemmedWordsOfDescription() {
+        savePart("Stepper Driver", "Drives bipolar stepper motors.", category);
+        savePart("Buzzer", "Piezo sounder.", category);
+        refreshReadModel();
+
+        ListCategoryPartsQuery.CategoryParts result =
+                queryHandler.handle(new ListCategoryPartsQuery(category.getId(), "motor driving"));
+
+        assertThat(names(result)).containsExactly("Stepper Driver " + suffix);
+    }
+
+    @Test
+    void matchesMisspelledNamesThroughTrigrams() {
+        savePart("Raspberry Pico Board", "Dual-core microcontroller.", category);
+        savePart("Relay Module", "Switches mains loads.", category);
+        refreshReadModel();
+
+        ListCategoryPartsQuery.CategoryParts result =
+                queryHandler.handle(new ListCategoryPartsQuery(category.getId(), "rasberry"));
+
+        assertThat(names(result)).containsExactly("Raspberry Pico Board " + suffix);
+    }
+
+    @Test
+    void searchesOnlyWithinRequestedCategory() {
+        savePart("Quartz Oscillator Module", "Stable clock source.", category);
+        savePart("Quartz Crystal", "Bare 16 MHz crystal.", otherCategory);
+        refreshReadModel();
+
+        ListCategoryPartsQuery.CategoryParts result =
+                queryHandler.handle(new ListCategoryPartsQuery(category.getId(), "quartz"));
+
+        assertThat(names(result)).containsExactly("Quartz Oscillator Module " + suffix);
+    }
+
+    private void savePart(String name, String description, Category partCategory) {
+        partRepository.saveAndFlush(new Part(name + " " + suffix, description, partCategory));
+    }
+
+    private void refreshReadModel() {
+        catalogReadModel.refreshCategories(List.of(category.getId(), otherCategory.getId()));
+    }
+
+    private static List<String> names(ListCategoryPartsQuery.CategoryParts result) {
+        return result.parts().stream().map(ListCategoryPartsQuery.PartRow::name).toList();
+    }
+}
@@ -0,0 +1,97 @@
+package app.partsvibe.catalog.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.catalog.queries.ListCategoriesQuery;
+import app.partsvibe.catalog.queries.ListCategoryPartsQuery;
+import app.partsvibe.catalog.readmodel.CatalogSnapshot.CategoryEntry;
+import app.partsvibe.catalog.readmodel.CatalogStamps.CategoryStamp;
+import app.partsvibe.catalog.readmodel.CatalogStamps.TagsStamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CatalogSnapshotTest {
+    private static final Instant BUILT_AT = Instant.parse("2024-01-01T00:00:00Z");
+    private static final TagsStamp TAGS = new TagsStamp(0, 0);
+
+    @Test
+    void ordersCategoriesByNameAndIndexesParts() {
+        var snapshot = CatalogSnapshot.of(
+                1,
+                BUILT_AT,
+                loaded(category(1L, "resistors", part(10L, "Shunt")), category(2L, "Capacitors", part(20L, "MLCC"))));
+
+        assertThat(snapshot.categories())
+                .extracting(ListCategoriesQuery.CategoryCard::name)
+                .containsExactly("Capacitors", "resistors");
+        assertThat(snapshot.part(20L)).map(ListCategoryPartsQuery.PartRow::name).contains("MLCC");
+        assertThat(snapshot.categoryOfPart(10L)).map(entry -> entry.card().id()).contains(1L);
+    }
+
+    @Test
+    void replacesChangedCategoryAndKeepsTheOthers() {
+        var snapshot = CatalogSnapshot.of(
+                1,
+                BUILT_AT,
+                loaded(category(1L, "Resistors", part(10L, "Shunt")), category(2L, "Capacitors", part(20L, "MLCC"))));
+
+        var refreshed = snapshot.withCategories(
+                2, BUILT_AT.plusSeconds(1), List.of(1L), loaded(category(1L, "Resistors", part(11L, "Trimmer"))));
+
+        assertThat(refreshed.version()).isEqualTo(2);
+        assertThat(refreshed.category(1L).orElseThrow().parts())
+                .extracting(ListCategoryPartsQuery.PartRow::name)
+                .containsExactly("Trimmer");
+        assertThat(refreshed.part(10L)).isEmpty();
+        assertThat(refreshed.category(2L)).isEqualTo(snapshot.category(2L));
+        assertThat(refreshed.stamps().categories()).containsKeys(1L, 2L);
+        assertThat(snapshot.part(10L)).isPresent();
+    }
+
+    @Test
+    void addsNewCategory() {
+        var snapshot = CatalogSnapshot.of(1, BUILT_AT, loaded(category(1L, "Resistors")));
+
+        var refreshed = snapshot.withCategories(2, BUILT_AT, List.of(2L), loaded(category(2L, "Capacitors")));
+
+        assertThat(refreshed.categories()).extracting(ListCategoriesQuery.CategoryCard::id).containsExactly(2L, 1L);
+        assertThat(refreshed.stamps().categories()).containsKeys(1L, 2L);
+    }
+
+    @Test
+    void removesCategoryMissingFromReload() {
+        var snapshot = CatalogSnapshot.of(
+                1, BUILT_AT, loaded(category(1L, "Resistors", part(10L, "Shunt")), category(2L, "Capacitors")));
+
+        var refreshed = snapshot.withCategories(2, BUILT_AT, List.of(1L), loaded());
+
+        assertThat(refreshed.category(1L)).isEmpty();
+        assertThat(refreshed.part(10L)).isEmpty();
+        assertThat(refreshed.categoryOfPart(10L)).isEmpty();
+        assertThat(refreshed.categories()).extracting(ListCategoriesQuery.CategoryCard::id).containsExactly(2L);
+        assertThat(refreshed.stamps().categories()).containsOnlyKeys(2L);
+    }
+
+    private static CatalogSnapshotLoader.Loaded loaded(CategoryEntry... entries) {
+        Map<Long, CategoryEntry> categories = new HashMap<>();
+        Map<Long, CategoryStamp> stamps = new HashMap<>();
+        Arrays.stream(entries).forEach(entry -> {
+            categories.put(entry.card().id(), entry);
+            stamps.put(entry.card().id(), new CategoryStamp(1, entry.parts().size(), entry.parts().size()));
+        });
+        return new CatalogSnapshotLoader.Loaded(new CatalogStamps(stamps, TAGS), categories);
+    }
+
+    private static CategoryEntry category(Long id, String name, ListCategoryPartsQuery.PartRow... parts) {
+        var card = new ListCategoriesQuery.CategoryCard(id, name, parts.length, List.of());
+        return new CategoryEntry(card, List.of(parts));
+    }
+
+    private static ListCategoryPartsQuery.PartRow part(Long id, String name) {
+        return new ListCategoryPartsQuery.PartRow(id, name, "", List.of());
+    }
+}
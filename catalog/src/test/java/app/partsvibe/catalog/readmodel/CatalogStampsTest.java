@@ -0,0 +1,75 @@
+package app.partsvibe.catalog.readmodel;
+
+import static java.util.Map.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.catalog.readmodel.CatalogStamps.CategoryStamp;
+import app.partsvibe.catalog.readmodel.CatalogStamps.TagsStamp;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CatalogStampsTest {
+    private static final TagsStamp TAGS = new TagsStamp(3, 7);
+
+    @Test
+    void reportsNothingWhenStampsMatch() {
+        var current = stamps(entry(1L, new CategoryStamp(1, 2, 5)));
+        var latest = stamps(entry(1L, new CategoryStamp(1, 2, 5)));
+
+        assertThat(current.changedCategories(latest)).isEmpty();
+    }
+
+    @Test
+    void reportsChangedAddedAndRemovedCategories() {
+        var current = stamps(
+                entry(1L, new CategoryStamp(1, 2, 5)),
+                entry(2L, new CategoryStamp(1, 0, 0)),
+                entry(3L, new CategoryStamp(4, 1, 1)));
+        var latest = stamps(
+                entry(1L, new CategoryStamp(1, 2, 6)),
+                entry(3L, new CategoryStamp(4, 1, 1)),
+                entry(4L, new CategoryStamp(0, 0, 0)));
+
+        assertThat(current.changedCategories(latest)).containsExactlyInAnyOrder(1L, 2L, 4L);
+    }
+
+    @Test
+    void detectsPartMovedOutOfCategoryThroughPartsCount() {
+        var current = stamps(entry(1L, new CategoryStamp(1, 2, 5)));
+        var latest = stamps(entry(1L, new CategoryStamp(1, 1, 5)));
+
+        assertThat(current.changedCategories(latest)).containsExactly(1L);
+    }
+
+    @Test
+    void takesStampsOfGivenCategoriesOnly() {
+        var current = stamps(entry(1L, new CategoryStamp(1, 2, 5)), entry(2L, new CategoryStamp(1, 0, 0)));
+        var loaded = new CatalogStamps(
+                Map.of(1L, new CategoryStamp(2, 2, 5), 2L, new CategoryStamp(9, 9, 9), 3L, new CategoryStamp(1, 0, 0)),
+                new TagsStamp(4, 9));
+
+        var merged = current.withCategories(List.of(1L, 3L, 5L), loaded);
+
+        assertThat(merged.categories())
+                .containsOnly(
+                        entry(1L, new CategoryStamp(2, 2, 5)),
+                        entry(2L, new CategoryStamp(1, 0, 0)),
+                        entry(3L, new CategoryStamp(1, 0, 0)));
+        assertThat(merged.tags()).isEqualTo(TAGS);
+    }
+
+    @Test
+    void dropsStampOfCategoryMissingFromReload() {
+        var current = stamps(entry(1L, new CategoryStamp(1, 2, 5)));
+
+        var merged = current.withCategories(List.of(1L), stamps());
+
+        assertThat(merged.categories()).isEmpty();
+    }
+
+    @SafeVarargs
+    private static CatalogStamps stamps(Map.Entry<Long, CategoryStamp>... categories) {
+        return new CatalogStamps(Map.ofEntries(categories), TAGS);
+    }
+}
@@ -0,0 +1,137 @@
+package app.partsvibe.catalog.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.catalog.test.it.AbstractCatalogIntegrationTest;
+import jakarta.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+// Run with -Dit.benchmarks=true, see README.md.
+@EnabledIfSystemProperty(named = "it.benchmarks", matches = "true")
+class PartSearchRepositoryBenchmarkIT extends AbstractCatalogIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(PartSearchRepositoryBenchmarkIT.class);
+
+    private static final int CATEGORIES = 1_000;
+    private static final int PARTS = 1_000_000;
+    private static final int LIMIT = 100;
+    private static final int WARMUP_SEARCHES = 200;
+    private static final int MEASURED_SEARCHES = 1_000;
+    private static final List<String> QUERIES =
+            List.of("quartz oscillator", "stepper motor driver", "oled display", "voltage regulator", "blutooth");
+
+    @Autowired
+    private PartRepository partRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void searchesCategoryOfMillionPartsInUnderTenMilliseconds() {
+        List<Long> categoryIds = seed();
+
+        for (int i = 0; i < WARMUP_SEARCHES; i++) {
+            search(categoryIds);
+        }
+        long[] latenciesNanos = new long[MEASURED_SEARCHES];
+        long matches = 0;
+        for (int i = 0; i < MEASURED_SEARCHES; i++) {
+            long startedAt = System.nanoTime();
+            matches += search(categoryIds);
+            latenciesNanos[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(latenciesNanos);
+
+        log.info(
+                "Category part search benchmark. parts={}, categories={}, searches={}, avgMatches={}, p50Ms={}, p95Ms={}, p99Ms={}",
+                PARTS,
+                CATEGORIES,
+                MEASURED_SEARCHES,
+                matches / MEASURED_SEARCHES,
+                millis(percentile(latenciesNanos, 50)),
+                millis(percentile(latenciesNanos, 95)),
+                millis(percentile(latenciesNanos, 99)));
+        assertThat(matches).isPositive();
+        assertThat(percentile(latenciesNanos, 95)).isLessThan(10_000_000L);
+    }
+
+    private int search(List<Long> categoryIds) {
+        var random = ThreadLocalRandom.current();
+        return partRepository
+                .searchIdsInCategory(
+                        categoryIds.get(random.nextInt(categoryIds.size())),
+                        QUERIES.get(random.nextInt(QUERIES.size())),
+                        LIMIT)
+                .size();
+    }
+
+    private List<Long> seed() {
+        entityManager
+                .createNativeQuery(
+                        """
+                        INSERT INTO catalog_categories (
+                            id, version, created_at, created_by, updated_at, updated_by, name, name_normalized,
+                            description)
+                        SELECT nextval('catalog_categories_id_seq'), 0, now(), 'benchmark', now(), 'benchmark',
+                               'Benchmark Category ' || n, 'benchmark category ' || n, 'Benchmark category.'
+                        FROM generate_series(1, :categories) AS n
+                        """)
+                .setParameter("categories", CATEGORIES)
+                .executeUpdate();
+        entityManager
+                .createNativeQuery(
+                        """
+                        WITH words AS (
+                            SELECT ARRAY[
+                                'arduino', 'sensor', 'relay', 'module', 'quartz', 'oscillator', 'stepper', 'driver',
+                                'motor', 'display', 'oled', 'battery', 'charger', 'regulator', 'voltage', 'current',
+                                'wireless', 'bluetooth', 'antenna', 'board'] AS w
+                        ),
+                        categories AS (
+                            SELECT array_agg(id ORDER BY id) AS ids
+                            FROM catalog_categories
+                            WHERE name_normalized LIKE 'benchmark category %'
+                        )
+                        INSERT INTO catalog_parts (
+                            id, version, created_at, created_by, updated_at, updated_by, name, name_normalized,
+                            description, category_id)
+                        SELECT nextval('catalog_parts_id_seq'), 0, now(), 'benchmark', now(), 'benchmark',
+                               part.name, lower(part.name), part.description, part.category_id
+                        FROM (
+                            SELECT initcap(w[1 + n % 20]) || ' ' || initcap(w[1 + (n / 20) % 20]) || ' ' || n AS name,
+                                   'Benchmark part with ' || w[1 + (n * 7) % 20] || ' and ' || w[1 + (n * 13) % 20]
+                                       || ' for ' || w[1 + (n * 3) % 20] || ' projects. '
+                                       || repeat('Lorem ipsum dolor sit amet, consectetur adipiscing elit. ', 6)
+                                       AS description,
+                                   ids[1 + n % :categories] AS category_id
+                            FROM generate_series(1, :parts) AS n, words, categories
+                        ) AS part
+                        """)
+                .setParameter("categories", CATEGORIES)
+                .setParameter("parts", PARTS)
+                .executeUpdate();
+        entityManager.createNativeQuery("ANALYZE catalog_categories").executeUpdate();
+        entityManager.createNativeQuery("ANALYZE catalog_parts").executeUpdate();
+
+        @SuppressWarnings("unchecked")
+        List<Number> ids = entityManager
+                .createNativeQuery(
+                        "SELECT id FROM catalog_categories WHERE name_normalized LIKE 'benchmark category %'")
+                .getResultList();
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+    private static long percentile(long[] sortedValues, int percentile) {
+        return sortedValues[Math.min(sortedValues.length - 1, sortedValues.length * percentile / 100)];
+    }
+
+    private static String millis(long nanos) {
+        return "%.2f".formatted(nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,7 @@
+package app.partsvibe.catalog.test.it;
+
+import app.partsvibe.testsupport.it.AbstractModuleIntegrationTest;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(classes = CatalogItTestApplication.class)
+public abstract class AbstractCatalogIntegrationTest extends AbstractModuleIntegrationTest {}
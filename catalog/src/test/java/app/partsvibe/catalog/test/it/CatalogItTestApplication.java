@@ -0,0 +1,35 @@
+package app.partsvibe.catalog.test.it;
+
+import app.partsvibe.catalog.config.CatalogSearchIndexInitializer;
+import app.partsvibe.testsupport.fakes.TestFakesConfiguration;
+import app.partsvibe.testsupport.it.CommonJpaTestConfiguration;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.persistence.autoconfigure.EntityScan;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EnableJpaRepositories(basePackages = "app.partsvibe.catalog.repo")
+@EntityScan(basePackages = "app.partsvibe.catalog.domain")
+@ComponentScan(
+        basePackages = {
+            "app.partsvibe.catalog.queries",
+            "app.partsvibe.catalog.events.handling",
+            "app.partsvibe.catalog.readmodel"
+        },
+        useDefaultFilters = false,
+        includeFilters =
+                @ComponentScan.Filter(
+                        type = FilterType.REGEX,
+                        pattern = ".*(Handler|ReadModel|SnapshotLoader|Indexer|DocumentLoader)$"))
+@Import({
+    CatalogSearchIndexInitializer.class,
+    CommonJpaTestConfiguration.class,
+    TestFakesConfiguration.class,
+    CatalogItTestConfiguration.class
+})
+public class CatalogItTestApplication {}
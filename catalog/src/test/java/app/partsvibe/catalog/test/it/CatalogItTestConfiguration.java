@@ -0,0 +1,37 @@
+package app.partsvibe.catalog.test.it;
+
+import app.partsvibe.catalog.config.CatalogIndexingProperties;
+import app.partsvibe.search.api.SearchServiceClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+@TestConfiguration(proxyBeanMethods = false)
+public class CatalogItTestConfiguration {
+    public static final int INDEXING_PAGE_SIZE = 2;
+    public static final int INDEXING_PAGES_PER_BATCH = 2;
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    CatalogIndexingProperties catalogIndexingProperties() {
+        var properties = new CatalogIndexingProperties();
+        properties.setPageSize(INDEXING_PAGE_SIZE);
+        properties.setPagesPerBatch(INDEXING_PAGES_PER_BATCH);
+        return properties;
+    }
+
+    @Bean
+    RecordingSearchServiceClient recordingSearchServiceClient() {
+        return new RecordingSearchServiceClient();
+    }
+
+    @Bean
+    SearchServiceClient searchServiceClient(RecordingSearchServiceClient client) {
+        return client;
+    }
+}
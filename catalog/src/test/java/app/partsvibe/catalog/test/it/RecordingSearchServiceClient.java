@@ -0,0 +1,78 @@
+package app.partsvibe.catalog.test.it;
+
+import app.partsvibe.search.api.CatalogPartDocument;
+import app.partsvibe.search.api.CatalogSearchRequest;
+import app.partsvibe.search.api.CatalogSearchResult;
+import app.partsvibe.search.api.SearchServiceClient;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class RecordingSearchServiceClient implements SearchServiceClient {
+    private final List<IndexedBatch> indexedBatches = new CopyOnWriteArrayList<>();
+    private final List<StaleDeletion> staleDeletions = new CopyOnWriteArrayList<>();
+    private final List<CatalogSearchRequest> searchRequests = new CopyOnWriteArrayList<>();
+    private volatile CatalogSearchResult nextSearchResult = CatalogSearchResult.empty();
+    private volatile RuntimeException searchFailure;
+
+    @Override
+    public String indexText(String text) {
+        throw new UnsupportedOperationException("Free-text indexing is not used by catalog tests.");
+    }
+
+    @Override
+    public void indexCatalogParts(long generation, List<CatalogPartDocument> parts) {
+        indexedBatches.add(new IndexedBatch(generation, List.copyOf(parts)));
+    }
+
+    @Override
+    public void deleteStaleCatalogParts(Collection<Long> categoryIds, Collection<Long> keptPartIds, long generation) {
+        staleDeletions.add(new StaleDeletion(Set.copyOf(categoryIds), Set.copyOf(keptPartIds), generation));
+    }
+
+    @Override
+    public CatalogSearchResult search(CatalogSearchRequest request) {
+        searchRequests.add(request);
+        if (searchFailure != null) {
+            throw searchFailure;
+        }
+        return nextSearchResult;
+    }
+
+    public List<IndexedBatch> indexedBatches() {
+        return List.copyOf(indexedBatches);
+    }
+
+    public List<CatalogPartDocument> indexedParts() {
+        return indexedBatches.stream().flatMap(batch -> batch.parts().stream()).toList();
+    }
+
+    public List<StaleDeletion> staleDeletions() {
+        return List.copyOf(staleDeletions);
+    }
+
+    public List<CatalogSearchRequest> searchRequests() {
+        return List.copyOf(searchRequests);
+    }
+
+    public void returnOnSearch(CatalogSearchResult result) {
+        nextSearchResult = result;
+    }
+
+    public void failOnSearch(RuntimeException failure) {
+        searchFailure = failure;
+    }
+
+    public void clear() {
+        indexedBatches.clear();
+        staleDeletions.clear();
+        searchRequests.clear();
+        nextSearchResult = CatalogSearchResult.empty();
+        searchFailure = null;
+    }
+
+    public record IndexedBatch(long generation, List<CatalogPartDocument> parts) {}
+
+    public record StaleDeletion(Set<Long> categoryIds, Set<Long> keptPartIds, long generation) {}
+}
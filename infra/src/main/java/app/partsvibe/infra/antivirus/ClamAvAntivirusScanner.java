@@ -3,123 +3,134 @@ package app.partsvibe.infra.antivirus;
 import app.partsvibe.shared.antivirus.AntivirusScanException;
 import app.partsvibe.shared.antivirus.AntivirusScanner;
 import app.partsvibe.shared.antivirus.ScanResult;
+import app.partsvibe.shared.utils.ByteBufferInputStream;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.InetSocketAddress;
-import java.net.Socket;
-import java.nio.charset.StandardCharsets;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+// Scans over pooled clamd sessions instead of a connection per file. Files are streamed from their FileChannel in
+// chunks; a scan of a file that failed on a reused session is sent once more over a fresh one, since clamd drops
+// sessions it considers idle. Streams over a buffer are replayed the same way; any other stream cannot be replayed
+// without holding it on the heap, so its scan fails instead.
 @Component
-public class ClamAvAntivirusScanner implements AntivirusScanner {
+public class ClamAvAntivirusScanner implements AntivirusScanner, AutoCloseable {
     private static final Logger log = LoggerFactory.getLogger(ClamAvAntivirusScanner.class);
-    private static final byte[] INSTREAM_COMMAND = "zINSTREAM\0".getBytes(StandardCharsets.US_ASCII);
-    private static final int RESPONSE_MAX_BYTES = 4096;
-    private static final int CHUNK_SIZE = 8192;
-
-    private final String host;
-    private final int port;
-    private final int connectTimeoutMs;
-    private final int readTimeoutMs;
+
+    private final ClamAvProperties properties;
+    private final ClamAvConnectionPool connectionPool;
     private final Counter scansCounter;
     private final Counter scanErrorsCounter;
     private final Counter malwareFoundCounter;
+    private final Counter retriesCounter;
 
-    public ClamAvAntivirusScanner(
-            @Value("${app.antivirus.host}") String host,
-            @Value("${app.antivirus.port}") int port,
-            @Value("${app.antivirus.connect-timeout-ms}") int connectTimeoutMs,
-            @Value("${app.antivirus.read-timeout-ms}") int readTimeoutMs,
-            MeterRegistry meterRegistry) {
-        this.host = host;
-        this.port = port;
-        this.connectTimeoutMs = connectTimeoutMs;
-        this.readTimeoutMs = readTimeoutMs;
+    public ClamAvAntivirusScanner(ClamAvProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.connectionPool = new ClamAvConnectionPool(properties, meterRegistry);
         this.scansCounter = meterRegistry.counter("app.antivirus.scans");
         this.scanErrorsCounter = meterRegistry.counter("app.antivirus.scan.errors");
         this.malwareFoundCounter = meterRegistry.counter("app.antivirus.scan.malware.found");
+        this.retriesCounter = meterRegistry.counter("app.antivirus.scan.retries");
     }
 
     @Override
     public ScanResult scan(InputStream bytes) {
-        scansCounter.increment();
-        log.debug("Starting ClamAV scan. host={}, port={}", host, port);
-        try (Socket socket = new Socket()) {
-            socket.connect(new InetSocketAddress(host, port), connectTimeoutMs);
-            socket.setSoTimeout(readTimeoutMs);
-
-            OutputStream outputStream = socket.getOutputStream();
-            InputStream inputStream = socket.getInputStream();
-            sendInstreamRequest(bytes, outputStream);
-            String response = readResponse(inputStream);
-
-            if (response.endsWith("OK")) {
-                log.info("ClamAV scan completed successfully.");
-                return new ScanResult(ScanResult.Status.OK, Optional.empty());
-            }
-            if (response.endsWith("FOUND")) {
-                String foundMessage = extractMessage(response, "FOUND");
-                malwareFoundCounter.increment();
-                log.warn("ClamAV reported malware FOUND: {}", foundMessage);
-                return new ScanResult(ScanResult.Status.MALWARE_FOUND, optionalMessage(foundMessage));
-            }
-            if (response.endsWith("ERROR")) {
-                String errorMessage = extractMessage(response, "ERROR");
-                scanErrorsCounter.increment();
-                log.error("ClamAV reported scan ERROR: {}", errorMessage);
-                throw new AntivirusScanException("ClamAV scan error: " + errorMessage);
-            }
+        if (bytes instanceof ByteBufferInputStream buffered) {
+            buffered.mark(0);
+            return scan(Channels.newChannel(buffered), buffered::reset);
+        }
+        return scan(Channels.newChannel(bytes), null);
+    }
 
+    @Override
+    public ScanResult scan(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return scan(channel, () -> channel.position(0));
+        } catch (IOException e) {
             scanErrorsCounter.increment();
-            log.error("ClamAV returned unexpected scan response: {}", response);
-            throw new AntivirusScanException("Unexpected ClamAV scan response: " + response);
+            throw new AntivirusScanException("Failed to open file for ClamAV scan. path=" + file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        connectionPool.close();
+    }
+
+    // A source with a non-null rewind is sent again from the start when a reused session fails.
+    private ScanResult scan(ReadableByteChannel source, Rewind rewind) {
+        scansCounter.increment();
+        log.debug("Starting ClamAV scan. host={}, port={}", properties.getHost(), properties.getPort());
+        String response;
+        try {
+            response = exchange(source, rewind);
         } catch (IOException e) {
             scanErrorsCounter.increment();
             log.error("I/O error while communicating with ClamAV.", e);
             throw new AntivirusScanException("Failed to communicate with ClamAV.", e);
+        } catch (AntivirusScanException e) {
+            scanErrorsCounter.increment();
+            throw e;
         }
-    }
 
-    private static void sendInstreamRequest(InputStream source, OutputStream target) throws IOException {
-        target.write(INSTREAM_COMMAND);
-        byte[] buffer = new byte[CHUNK_SIZE];
-        int bytesRead;
-        while ((bytesRead = source.read(buffer)) != -1) {
-            writeLength(target, bytesRead);
-            target.write(buffer, 0, bytesRead);
+        if (response.endsWith("OK")) {
+            log.info("ClamAV scan completed successfully.");
+            return new ScanResult(ScanResult.Status.OK, Optional.empty());
+        }
+        if (response.endsWith("FOUND")) {
+            String foundMessage = extractMessage(response, "FOUND");
+            malwareFoundCounter.increment();
+            log.warn("ClamAV reported malware FOUND: {}", foundMessage);
+            return new ScanResult(ScanResult.Status.MALWARE_FOUND, optionalMessage(foundMessage));
+        }
+        if (response.endsWith("ERROR")) {
+            String errorMessage = extractMessage(response, "ERROR");
+            scanErrorsCounter.increment();
+            log.error("ClamAV reported scan ERROR: {}", errorMessage);
+            throw new AntivirusScanException("ClamAV scan error: " + errorMessage);
         }
-        writeLength(target, 0);
-        target.flush();
-    }
 
-    private static void writeLength(OutputStream outputStream, int value) throws IOException {
-        outputStream.write((value >>> 24) & 0xFF);
-        outputStream.write((value >>> 16) & 0xFF);
-        outputStream.write((value >>> 8) & 0xFF);
-        outputStream.write(value & 0xFF);
+        scanErrorsCounter.increment();
+        log.error("ClamAV returned unexpected scan response: {}", response);
+        throw new AntivirusScanException("Unexpected ClamAV scan response: " + response);
     }
 
-    private static String readResponse(InputStream inputStream) throws IOException {
-        byte[] responseBytes = new byte[RESPONSE_MAX_BYTES];
-        int offset = 0;
-        while (offset < RESPONSE_MAX_BYTES) {
-            int b = inputStream.read();
-            if (b == -1 || b == 0 || b == '\n') {
-                break;
+    private String exchange(ReadableByteChannel source, Rewind rewind) throws IOException {
+        ClamAvConnection connection = connectionPool.acquire();
+        boolean reused = connection.isReused();
+        try {
+            return exchange(connection, source);
+        } catch (IOException e) {
+            if (rewind == null || !reused) {
+                throw e;
             }
-            responseBytes[offset++] = (byte) b;
+            retriesCounter.increment();
+            log.debug("ClamAV session failed, retrying on a new connection. error={}", e.getMessage());
         }
-        if (offset == 0) {
-            throw new IOException("Empty ClamAV response.");
+
+        rewind.rewind();
+        return exchange(connectionPool.acquireNew(), source);
+    }
+
+    // clamd ends the session after a scan error, so only sessions that produced a verdict go back to the pool.
+    private String exchange(ClamAvConnection connection, ReadableByteChannel source) throws IOException {
+        boolean reusable = false;
+        try {
+            String response = connection.instream(source);
+            reusable = !response.endsWith("ERROR");
+            return response;
+        } finally {
+            connectionPool.release(connection, reusable);
         }
-        return new String(responseBytes, 0, offset, StandardCharsets.UTF_8).trim();
     }
 
     private static String extractMessage(String response, String suffix) {
@@ -140,4 +151,9 @@ public class ClamAvAntivirusScanner implements AntivirusScanner {
         }
         return Optional.of(value);
     }
+
+    @FunctionalInterface
+    private interface Rewind {
+        void rewind() throws IOException;
+    }
 }
@@ -0,0 +1,143 @@
+package app.partsvibe.infra.antivirus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+// One clamd connection in zIDSESSION mode: any number of zINSTREAM scans run over it one after another, and every
+// reply is prefixed with the number of the request it answers. A chunk is sent with its length prefix in one gathering
+// write, so neither the prefix nor the terminator goes out as a packet of its own.
+final class ClamAvConnection implements Closeable {
+    private static final byte[] IDSESSION_COMMAND = "zIDSESSION\0".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INSTREAM_COMMAND = "zINSTREAM\0".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] END_COMMAND = "zEND\0".getBytes(StandardCharsets.US_ASCII);
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int RESPONSE_MAX_BYTES = 4096;
+
+    private final SocketChannel channel;
+    // Reads through the socket adaptor honour the read timeout, plain channel reads would block indefinitely.
+    private final InputStream replies;
+    private final ByteBuffer header = ByteBuffer.allocateDirect(INSTREAM_COMMAND.length + Integer.BYTES);
+    private final ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_SIZE);
+    private final byte[] reply = new byte[RESPONSE_MAX_BYTES];
+
+    private int requests;
+    private long idleSinceNanos;
+
+    private ClamAvConnection(SocketChannel channel) throws IOException {
+        this.channel = channel;
+        this.replies = channel.socket().getInputStream();
+    }
+
+    static ClamAvConnection open(String host, int port, int connectTimeoutMs, int readTimeoutMs) throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        try {
+            channel.socket().connect(new InetSocketAddress(host, port), connectTimeoutMs);
+            channel.socket().setSoTimeout(readTimeoutMs);
+            channel.socket().setTcpNoDelay(true);
+            var connection = new ClamAvConnection(channel);
+            connection.writeFully(ByteBuffer.wrap(IDSESSION_COMMAND));
+            return connection;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Whether an earlier scan went over this connection, i.e. clamd may have dropped it while it was idle.
+    boolean isReused() {
+        return requests > 0;
+    }
+
+    long idleSinceNanos() {
+        return idleSinceNanos;
+    }
+
+    void markIdle() {
+        idleSinceNanos = System.nanoTime();
+    }
+
+    // Returns the reply without the request number, e.g. "stream: OK".
+    String instream(ReadableByteChannel source) throws IOException {
+        int requestId = ++requests;
+        header.clear().put(INSTREAM_COMMAND);
+        chunk.clear();
+        while (source.read(chunk) >= 0) {
+            if (!chunk.hasRemaining()) {
+                sendChunk();
+            }
+        }
+        if (chunk.position() > 0) {
+            sendChunk();
+        }
+        header.putInt(0).flip();
+        writeFully(header);
+        return readReply(requestId);
+    }
+
+    private void sendChunk() throws IOException {
+        chunk.flip();
+        header.putInt(chunk.remaining()).flip();
+        writeFully(header, chunk);
+        header.clear();
+        chunk.clear();
+    }
+
+    private void writeFully(ByteBuffer... buffers) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+    }
+
+    private String readReply(int requestId) throws IOException {
+        int length = 0;
+        int end = -1;
+        while (end < 0) {
+            if (length == reply.length) {
+                throw new IOException("ClamAV response exceeds " + RESPONSE_MAX_BYTES + " bytes.");
+            }
+            int read = replies.read(reply, length, reply.length - length);
+            if (read == -1) {
+                throw new IOException(length == 0 ? "Empty ClamAV response." : "Truncated ClamAV response.");
+            }
+            for (int i = length; i < length + read && end < 0; i++) {
+                if (reply[i] == 0) {
+                    end = i;
+                }
+            }
+            length += read;
+        }
+        String response = new String(reply, 0, end, StandardCharsets.UTF_8).trim();
+        // Only one request is ever in flight, so anything after the terminator means the session is out of step.
+        String prefix = requestId + ": ";
+        if (end + 1 != length || !response.startsWith(prefix)) {
+            throw new IOException("Unexpected ClamAV session reply. requestId=" + requestId + ", response=" + response);
+        }
+        return response.substring(prefix.length());
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (channel.isConnected()) {
+                writeFully(ByteBuffer.wrap(END_COMMAND));
+            }
+        } catch (IOException e) {
+            // The session is closed below either way.
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing left to release.
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package app.partsvibe.infra.antivirus;
+
+import app.partsvibe.shared.antivirus.AntivirusScanException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Bounded set of clamd sessions. The most recently used session is handed out first, so under light load the others
+// age out instead of all staying barely alive. Sessions idle for longer than maxIdleMs are closed rather than reused,
+// as clamd may already have dropped them.
+final class ClamAvConnectionPool implements AutoCloseable {
+    private final ClamAvProperties properties;
+    private final Semaphore permits;
+    private final Deque<ClamAvConnection> idle = new ArrayDeque<>();
+    private final Counter openedCounter;
+
+    private boolean closed;
+
+    ClamAvConnectionPool(ClamAvProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.permits = new Semaphore(properties.getMaxConnections(), true);
+        this.openedCounter = meterRegistry.counter("app.antivirus.connections.opened");
+        meterRegistry.gauge("app.antivirus.connections.idle", this, ClamAvConnectionPool::idleCount);
+        meterRegistry.gauge("app.antivirus.connections.in-use", this, ClamAvConnectionPool::inUseCount);
+    }
+
+    ClamAvConnection acquire() throws IOException {
+        acquirePermit();
+        try {
+            ClamAvConnection connection = pollIdle();
+            return connection != null ? connection : open();
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // For a retry after a reused session turned out to be dead: the others are likely just as stale.
+    ClamAvConnection acquireNew() throws IOException {
+        acquirePermit();
+        try {
+            closeIdle();
+            return open();
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    void release(ClamAvConnection connection, boolean reusable) {
+        try {
+            synchronized (this) {
+                if (reusable && !closed) {
+                    connection.markIdle();
+                    idle.push(connection);
+                    return;
+                }
+            }
+            connection.close();
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        closeIdle();
+    }
+
+    private void acquirePermit() {
+        try {
+            if (!permits.tryAcquire(properties.getAcquireTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                throw new AntivirusScanException("No ClamAV connection available within "
+                        + properties.getAcquireTimeoutMs() + " ms. maxConnections=" + properties.getMaxConnections());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AntivirusScanException("Interrupted while waiting for a ClamAV connection.", e);
+        }
+    }
+
+    private ClamAvConnection pollIdle() {
+        long maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(properties.getMaxIdleMs());
+        while (true) {
+            ClamAvConnection connection;
+            synchronized (this) {
+                connection = idle.poll();
+            }
+            if (connection == null) {
+                return null;
+            }
+            if (System.nanoTime() - connection.idleSinceNanos() < maxIdleNanos) {
+                return connection;
+            }
+            connection.close();
+        }
+    }
+
+    private void closeIdle() {
+        while (true) {
+            ClamAvConnection connection;
+            synchronized (this) {
+                connection = idle.poll();
+            }
+            if (connection == null) {
+                return;
+            }
+            connection.close();
+        }
+    }
+
+    private ClamAvConnection open() throws IOException {
+        ClamAvConnection connection = ClamAvConnection.open(
+                properties.getHost(),
+                properties.getPort(),
+                properties.getConnectTimeoutMs(),
+                properties.getReadTimeoutMs());
+        openedCounter.increment();
+        return connection;
+    }
+
+    private synchronized int idleCount() {
+        return idle.size();
+    }
+
+    private int inUseCount() {
+        return properties.getMaxConnections() - permits.availablePermits();
+    }
+}
@@ -0,0 +1,35 @@
+package app.partsvibe.infra.antivirus;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("app.antivirus")
+@Validated
+@Data
+public class ClamAvProperties {
+    @NotBlank
+    private String host = "localhost";
+
+    @Min(1)
+    private int port = 3310;
+
+    @Min(1)
+    private int connectTimeoutMs = 2000;
+
+    @Min(1)
+    private int readTimeoutMs = 10000;
+
+    // Upper bound on connections to clamd, which serves each session on one of its MaxThreads worker threads.
+    @Min(1)
+    private int maxConnections = 8;
+
+    @Min(0)
+    private long acquireTimeoutMs = 5000;
+
+    // Must stay below clamd's IdleTimeout (30 s by default), after which clamd closes the session on its side.
+    @Min(0)
+    private long maxIdleMs = 20000;
+}
@@ -0,0 +1,35 @@
+package app.partsvibe.infra.cqrs;
+
+import app.partsvibe.shared.cqrs.KeysetCursorCodec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+@Configuration
+class KeysetCursorCodecConfig {
+    private static final Logger log = LoggerFactory.getLogger(KeysetCursorCodecConfig.class);
+
+    @Bean
+    KeysetCursorCodec keysetCursorCodec(
+            @Value("${app.pagination.cursor-secret:}") String cursorSecret, Environment environment) {
+        if (cursorSecret.isBlank()) {
+            // A per-instance secret breaks cursors behind a load balancer and on every restart: they fail the HMAC
+            // check on other instances and silently fall back to the first page. Only acceptable on a dev machine.
+            if (!environment.acceptsProfiles(Profiles.of("dev"))) {
+                throw new IllegalStateException(
+                        "app.pagination.cursor-secret must be set outside the dev profile.");
+            }
+            log.warn("app.pagination.cursor-secret is not set, using a random per-instance secret.");
+            byte[] secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            return new KeysetCursorCodec(secret);
+        }
+        return new KeysetCursorCodec(cursorSecret.getBytes(StandardCharsets.UTF_8));
+    }
+}
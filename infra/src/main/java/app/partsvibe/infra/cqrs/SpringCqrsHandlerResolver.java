@@ -2,13 +2,20 @@ package app.partsvibe.infra.cqrs;
 
 import app.partsvibe.shared.cqrs.Command;
 import app.partsvibe.shared.cqrs.CommandBehavior;
+import app.partsvibe.shared.cqrs.CommandExecution;
 import app.partsvibe.shared.cqrs.CommandHandler;
 import app.partsvibe.shared.cqrs.Query;
 import app.partsvibe.shared.cqrs.QueryBehavior;
+import app.partsvibe.shared.cqrs.QueryExecution;
 import app.partsvibe.shared.cqrs.QueryHandler;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.stereotype.Component;
@@ -17,72 +24,125 @@ import org.springframework.stereotype.Component;
 public class SpringCqrsHandlerResolver {
     private final ListableBeanFactory beanFactory;
 
+    // Dispatch tables keyed by request class. Entries are immutable and created outside of the map, so a request
+    // type resolved concurrently is simply resolved twice and one result wins.
+    private final Map<Class<?>, CommandDispatch<?, ?>> commandDispatchTable = new ConcurrentHashMap<>();
+    private final Map<Class<?>, QueryDispatch<?, ?>> queryDispatchTable = new ConcurrentHashMap<>();
+
     SpringCqrsHandlerResolver(ListableBeanFactory beanFactory) {
         this.beanFactory = beanFactory;
     }
 
     @SuppressWarnings("unchecked")
-    <C extends Command<R>, R> CommandHandler<C, R> resolveCommandHandler(C command) {
+    <C extends Command<R>, R> CommandDispatch<C, R> resolveCommandDispatch(C command) {
         var commandType = command.getClass();
-        var matchingBeanNames = findMatchingBeanNames(CommandHandler.class, commandType, false);
-
-        if (matchingBeanNames.isEmpty()) {
-            throw new CqrsHandlerResolutionException(
-                    "No command handler found. commandClass=%s".formatted(commandType.getName()));
-        }
-        if (matchingBeanNames.size() > 1) {
-            throw new CqrsHandlerResolutionException("Multiple command handlers found. commandClass=%s, handlerBeans=%s"
-                    .formatted(commandType.getName(), matchingBeanNames));
+        var dispatch = commandDispatchTable.get(commandType);
+        if (dispatch == null) {
+            dispatch = createCommandDispatch(commandType);
+            var existing = commandDispatchTable.putIfAbsent(commandType, dispatch);
+            if (existing != null) {
+                dispatch = existing;
+            }
         }
-
-        return (CommandHandler<C, R>) beanFactory.getBean(matchingBeanNames.getFirst(), CommandHandler.class);
+        return (CommandDispatch<C, R>) dispatch;
     }
 
     @SuppressWarnings("unchecked")
-    <Q extends Query<R>, R> QueryHandler<Q, R> resolveQueryHandler(Q query) {
+    <Q extends Query<R>, R> QueryDispatch<Q, R> resolveQueryDispatch(Q query) {
         var queryType = query.getClass();
-        var matchingBeanNames = findMatchingBeanNames(QueryHandler.class, queryType, false);
-
-        if (matchingBeanNames.isEmpty()) {
-            throw new CqrsHandlerResolutionException(
-                    "No query handler found. queryClass=%s".formatted(queryType.getName()));
-        }
-        if (matchingBeanNames.size() > 1) {
-            throw new CqrsHandlerResolutionException("Multiple query handlers found. queryClass=%s, handlerBeans=%s"
-                    .formatted(queryType.getName(), matchingBeanNames));
+        var dispatch = queryDispatchTable.get(queryType);
+        if (dispatch == null) {
+            dispatch = createQueryDispatch(queryType);
+            var existing = queryDispatchTable.putIfAbsent(queryType, dispatch);
+            if (existing != null) {
+                dispatch = existing;
+            }
         }
+        return (QueryDispatch<Q, R>) dispatch;
+    }
 
-        return (QueryHandler<Q, R>) beanFactory.getBean(matchingBeanNames.getFirst(), QueryHandler.class);
+    // Bean definitions can change when a context is refreshed (e.g. test contexts with overridden beans).
+    @EventListener({ContextRefreshedEvent.class, ContextClosedEvent.class})
+    void clearDispatchTables() {
+        commandDispatchTable.clear();
+        queryDispatchTable.clear();
     }
 
     @SuppressWarnings("unchecked")
-    <C extends Command<R>, R> List<CommandBehavior<C, R>> resolveCommandBehaviors(C command) {
+    private <C extends Command<R>, R> CommandDispatch<C, R> createCommandDispatch(Class<?> commandType) {
+        var handlerBeanName = findHandlerBeanName(CommandHandler.class, commandType, "command");
         // Behaviors can be generic (e.g. <C extends Command<R>, R>) and then Spring does not
         // expose a concrete request generic type at runtime. We treat unresolved generic type
         // as a global behavior that should match every command.
-        var matchingBeanNames = findMatchingBeanNames(CommandBehavior.class, command.getClass(), true);
-        var behaviors = new ArrayList<CommandBehavior<C, R>>();
-        for (var beanName : matchingBeanNames) {
-            behaviors.add((CommandBehavior<C, R>) beanFactory.getBean(beanName, CommandBehavior.class));
+        var behaviorBeanNames = findMatchingBeanNames(CommandBehavior.class, commandType, true);
+        var handlerClass = beanFactory.getType(handlerBeanName);
+
+        if (areSingletons(handlerBeanName, behaviorBeanNames)) {
+            var handler = (CommandHandler<C, R>) beanFactory.getBean(handlerBeanName, CommandHandler.class);
+            List<CommandBehavior<C, R>> behaviors = getOrderedBeans(behaviorBeanNames, CommandBehavior.class);
+            return new CommandDispatch<>(handlerClass, behaviors.size(), buildCommandChain(handler, behaviors));
         }
-        AnnotationAwareOrderComparator.sort(behaviors);
-        return List.copyOf(behaviors);
+
+        // Non-singleton handlers or behaviors must be looked up on every call, only their bean names are cached.
+        CommandExecution<C, R> execution = command -> {
+            var handler = (CommandHandler<C, R>) beanFactory.getBean(handlerBeanName, CommandHandler.class);
+            List<CommandBehavior<C, R>> behaviors = getOrderedBeans(behaviorBeanNames, CommandBehavior.class);
+            return buildCommandChain(handler, behaviors).execute(command);
+        };
+        return new CommandDispatch<>(handlerClass, behaviorBeanNames.size(), execution);
     }
 
     @SuppressWarnings("unchecked")
-    <Q extends Query<R>, R> List<QueryBehavior<Q, R>> resolveQueryBehaviors(Q query) {
+    private <Q extends Query<R>, R> QueryDispatch<Q, R> createQueryDispatch(Class<?> queryType) {
+        var handlerBeanName = findHandlerBeanName(QueryHandler.class, queryType, "query");
         // Same rule as for command behaviors: unresolved generic request type means
         // this behavior is global and should apply to every query.
-        var matchingBeanNames = findMatchingBeanNames(QueryBehavior.class, query.getClass(), true);
-        var behaviors = new ArrayList<QueryBehavior<Q, R>>();
-        for (var beanName : matchingBeanNames) {
-            behaviors.add((QueryBehavior<Q, R>) beanFactory.getBean(beanName, QueryBehavior.class));
+        var behaviorBeanNames = findMatchingBeanNames(QueryBehavior.class, queryType, true);
+        var handlerClass = beanFactory.getType(handlerBeanName);
+
+        if (areSingletons(handlerBeanName, behaviorBeanNames)) {
+            var handler = (QueryHandler<Q, R>) beanFactory.getBean(handlerBeanName, QueryHandler.class);
+            List<QueryBehavior<Q, R>> behaviors = getOrderedBeans(behaviorBeanNames, QueryBehavior.class);
+            return new QueryDispatch<>(handlerClass, behaviors.size(), buildQueryChain(handler, behaviors));
         }
-        AnnotationAwareOrderComparator.sort(behaviors);
-        return List.copyOf(behaviors);
+
+        QueryExecution<Q, R> execution = query -> {
+            var handler = (QueryHandler<Q, R>) beanFactory.getBean(handlerBeanName, QueryHandler.class);
+            List<QueryBehavior<Q, R>> behaviors = getOrderedBeans(behaviorBeanNames, QueryBehavior.class);
+            return buildQueryChain(handler, behaviors).execute(query);
+        };
+        return new QueryDispatch<>(handlerClass, behaviorBeanNames.size(), execution);
+    }
+
+    private String findHandlerBeanName(Class<?> handlerType, Class<?> requestType, String requestKind) {
+        var matchingBeanNames = findMatchingBeanNames(handlerType, requestType, false);
+
+        if (matchingBeanNames.isEmpty()) {
+            throw new CqrsHandlerResolutionException(
+                    "No %s handler found. %sClass=%s".formatted(requestKind, requestKind, requestType.getName()));
+        }
+        if (matchingBeanNames.size() > 1) {
+            throw new CqrsHandlerResolutionException("Multiple %s handlers found. %sClass=%s, handlerBeans=%s"
+                    .formatted(requestKind, requestKind, requestType.getName(), matchingBeanNames));
+        }
+        return matchingBeanNames.getFirst();
+    }
+
+    private boolean areSingletons(String handlerBeanName, List<String> behaviorBeanNames) {
+        return beanFactory.isSingleton(handlerBeanName)
+                && behaviorBeanNames.stream().allMatch(beanFactory::isSingleton);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <B> List<B> getOrderedBeans(List<String> beanNames, Class<?> beanType) {
+        var beans = new ArrayList<B>();
+        for (var beanName : beanNames) {
+            beans.add((B) beanFactory.getBean(beanName, beanType));
+        }
+        AnnotationAwareOrderComparator.sort(beans);
+        return List.copyOf(beans);
     }
 
-    // TODO: Add caching to improve performance. This code must be thread-safe (I mean the caching)
     private List<String> findMatchingBeanNames(
             Class<?> rawType, Class<?> requestType, boolean includeUnresolvedAsMatch) {
         var matchingBeanNames = new ArrayList<String>();
@@ -113,4 +173,32 @@ public class SpringCqrsHandlerResolver {
         }
         return matchingBeanNames;
     }
+
+    private static <C extends Command<R>, R> CommandExecution<C, R> buildCommandChain(
+            CommandHandler<C, R> handler, List<CommandBehavior<C, R>> behaviors) {
+        CommandExecution<C, R> chain = handler::handle;
+        for (var i = behaviors.size() - 1; i >= 0; i--) {
+            var behavior = behaviors.get(i);
+            var next = chain;
+            chain = command -> behavior.handle(command, next);
+        }
+        return chain;
+    }
+
+    private static <Q extends Query<R>, R> QueryExecution<Q, R> buildQueryChain(
+            QueryHandler<Q, R> handler, List<QueryBehavior<Q, R>> behaviors) {
+        QueryExecution<Q, R> chain = handler::handle;
+        for (var i = behaviors.size() - 1; i >= 0; i--) {
+            var behavior = behaviors.get(i);
+            var next = chain;
+            chain = query -> behavior.handle(query, next);
+        }
+        return chain;
+    }
+
+    record CommandDispatch<C extends Command<R>, R>(
+            Class<?> handlerClass, int behaviorCount, CommandExecution<C, R> execution) {}
+
+    record QueryDispatch<Q extends Query<R>, R>(
+            Class<?> handlerClass, int behaviorCount, QueryExecution<Q, R> execution) {}
 }
@@ -2,6 +2,7 @@ package app.partsvibe.infra.events.handling;
 
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import java.time.Instant;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -10,11 +11,16 @@ public class DurationMetrics {
     private final AtomicLong lastMs;
 
     public DurationMetrics(MeterRegistry meterRegistry, String metricPrefix) {
+        this(meterRegistry, metricPrefix, Tags.empty());
+    }
+
+    public DurationMetrics(MeterRegistry meterRegistry, String metricPrefix, Tags tags) {
         this.summary = DistributionSummary.builder(metricPrefix + ".summary-ms")
                 .baseUnit("milliseconds")
+                .tags(tags)
                 .register(meterRegistry);
         this.lastMs = new AtomicLong(0);
-        meterRegistry.gauge(metricPrefix + ".last-ms", lastMs, AtomicLong::get);
+        meterRegistry.gauge(metricPrefix + ".last-ms", tags, lastMs, AtomicLong::get);
     }
 
     public void recordDurationBetween(Instant from, Instant to) {
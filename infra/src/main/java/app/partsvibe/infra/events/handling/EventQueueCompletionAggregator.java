@@ -0,0 +1,202 @@
+package app.partsvibe.infra.events.handling;
+
+import app.partsvibe.infra.events.jpa.EventQueueRepository;
+import app.partsvibe.infra.events.jpa.FailedEntryTransition;
+import app.partsvibe.shared.time.TimeProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Buffers DONE/FAILED transitions of processed entries and writes them in one UPDATE per status.
+ *
+ * <p>Entries stay PROCESSING until their batch is flushed. If the node dies before that, at most
+ * {@code completion-flush-interval-ms} worth of outcomes is lost and timed-out-processing recovery retries them.
+ * A batch whose UPDATE fails is requeued for the next flush, up to {@value #MAX_FLUSH_ATTEMPTS} attempts.
+ */
+@Component
+public class EventQueueCompletionAggregator {
+    private static final Logger log = LoggerFactory.getLogger(EventQueueCompletionAggregator.class);
+    static final int MAX_FLUSH_ATTEMPTS = 3;
+
+    private final EventQueueDispatcherProperties properties;
+    private final EventQueueRepository eventQueueRepository;
+    private final TimeProvider timeProvider;
+    private final ScheduledExecutorService flushScheduler;
+    private final Object lock = new Object();
+    private final AtomicInteger pendingCount = new AtomicInteger(0);
+    private final Counter flushErrorsCounter;
+    private final DistributionSummary flushBatchSizeSummary;
+    private final DurationMetrics flushDurationMetrics;
+
+    private List<PendingDone> pendingDone = new ArrayList<>();
+    private List<PendingFailed> pendingFailed = new ArrayList<>();
+
+    public EventQueueCompletionAggregator(
+            EventQueueDispatcherProperties properties,
+            EventQueueRepository eventQueueRepository,
+            TimeProvider timeProvider,
+            @Qualifier("eventQueueCompletionFlushScheduler") ScheduledExecutorService flushScheduler,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.eventQueueRepository = eventQueueRepository;
+        this.timeProvider = timeProvider;
+        this.flushScheduler = flushScheduler;
+
+        this.flushErrorsCounter = meterRegistry.counter("app.event-queue.completions.flush-errors");
+        this.flushBatchSizeSummary = DistributionSummary.builder("app.event-queue.completions.flush-batch-size")
+                .register(meterRegistry);
+        this.flushDurationMetrics = new DurationMetrics(meterRegistry, "app.event-queue.completions.flush-time");
+        meterRegistry.gauge("app.event-queue.completions.pending", pendingCount, AtomicInteger::get);
+        meterRegistry.gauge(
+                "app.event-queue.completions.flush-window-ms",
+                properties,
+                EventQueueDispatcherProperties::getCompletionFlushIntervalMs);
+    }
+
+    @PostConstruct
+    void startPeriodicFlush() {
+        var flushIntervalMs = properties.getCompletionFlushIntervalMs();
+        if (flushIntervalMs > 0) {
+            flushScheduler.scheduleWithFixedDelay(
+                    this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Futures complete with false when the entry was no longer PROCESSING at flush time.
+    public CompletableFuture<Boolean> markDone(long id) {
+        var result = new CompletableFuture<Boolean>();
+        synchronized (lock) {
+            pendingDone.add(new PendingDone(id, result, 0));
+        }
+        onEnqueued();
+        return result;
+    }
+
+    public CompletableFuture<Boolean> markFailed(long id, Instant nextAttemptAt, String lastError) {
+        var result = new CompletableFuture<Boolean>();
+        synchronized (lock) {
+            pendingFailed.add(new PendingFailed(new FailedEntryTransition(id, nextAttemptAt, lastError), result, 0));
+        }
+        onEnqueued();
+        return result;
+    }
+
+    private void onEnqueued() {
+        var pending = pendingCount.incrementAndGet();
+        if (properties.getCompletionFlushIntervalMs() <= 0) {
+            flushSafely();
+            return;
+        }
+        if (pending == properties.getCompletionFlushBatchSize()) {
+            try {
+                flushScheduler.execute(this::flushSafely);
+            } catch (RejectedExecutionException ex) {
+                flushSafely();
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        // Requeued batches get their remaining attempts now; there is no later flush.
+        for (int attempt = 0; attempt < MAX_FLUSH_ATTEMPTS && pendingCount.get() > 0; attempt++) {
+            flushSafely();
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            // Entries stay PROCESSING and are picked up again by timed-out-processing recovery.
+            log.error("Event queue completion flush failed unexpectedly.", ex);
+        }
+    }
+
+    private void flush() {
+        List<PendingDone> done;
+        List<PendingFailed> failed;
+        synchronized (lock) {
+            if (pendingDone.isEmpty() && pendingFailed.isEmpty()) {
+                return;
+            }
+            done = pendingDone;
+            failed = pendingFailed;
+            pendingDone = new ArrayList<>();
+            pendingFailed = new ArrayList<>();
+        }
+        pendingCount.addAndGet(-(done.size() + failed.size()));
+
+        var startedAt = timeProvider.now();
+        flushBatchSizeSummary.record(done.size() + failed.size());
+        if (!done.isEmpty()) {
+            try {
+                var updated = eventQueueRepository.markEntriesAsDone(
+                        done.stream().map(PendingDone::id).toList(), startedAt);
+                done.forEach(pending -> pending.result().complete(updated.contains(pending.id())));
+            } catch (RuntimeException ex) {
+                flushErrorsCounter.increment();
+                for (var pending : done) {
+                    if (pending.attempts() + 1 < MAX_FLUSH_ATTEMPTS) {
+                        requeueDone(new PendingDone(pending.id(), pending.result(), pending.attempts() + 1));
+                    } else {
+                        pending.result().completeExceptionally(ex);
+                    }
+                }
+            }
+        }
+        if (!failed.isEmpty()) {
+            try {
+                var updated = eventQueueRepository.markEntriesAsFailed(
+                        failed.stream().map(PendingFailed::transition).toList(), startedAt);
+                failed.forEach(pending ->
+                        pending.result().complete(updated.contains(pending.transition().id())));
+            } catch (RuntimeException ex) {
+                flushErrorsCounter.increment();
+                for (var pending : failed) {
+                    if (pending.attempts() + 1 < MAX_FLUSH_ATTEMPTS) {
+                        requeueFailed(
+                                new PendingFailed(pending.transition(), pending.result(), pending.attempts() + 1));
+                    } else {
+                        pending.result().completeExceptionally(ex);
+                    }
+                }
+            }
+        }
+        flushDurationMetrics.recordDurationBetween(startedAt, timeProvider.now());
+        log.debug("Flushed event queue completions. doneCount={}, failedCount={}", done.size(), failed.size());
+    }
+
+    private void requeueDone(PendingDone pending) {
+        synchronized (lock) {
+            pendingDone.add(pending);
+        }
+        pendingCount.incrementAndGet();
+    }
+
+    private void requeueFailed(PendingFailed pending) {
+        synchronized (lock) {
+            pendingFailed.add(pending);
+        }
+        pendingCount.incrementAndGet();
+    }
+
+    private record PendingDone(long id, CompletableFuture<Boolean> result, int attempts) {}
+
+    private record PendingFailed(FailedEntryTransition transition, CompletableFuture<Boolean> result, int attempts) {}
+}
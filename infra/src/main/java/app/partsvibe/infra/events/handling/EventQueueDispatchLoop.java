@@ -0,0 +1,114 @@
+package app.partsvibe.infra.events.handling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EventQueueDispatchLoop implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(EventQueueDispatchLoop.class);
+
+    private final EventQueueDispatcherProperties properties;
+    private final EventQueueDispatcher eventQueueDispatcher;
+    private final EventQueueNotificationListener notificationListener;
+    private final EventQueueWakeUpSignal wakeUpSignal;
+
+    private volatile boolean running;
+    private volatile Thread loopThread;
+
+    public EventQueueDispatchLoop(
+            EventQueueDispatcherProperties properties,
+            EventQueueDispatcher eventQueueDispatcher,
+            EventQueueNotificationListener notificationListener,
+            EventQueueWakeUpSignal wakeUpSignal) {
+        this.properties = properties;
+        this.eventQueueDispatcher = eventQueueDispatcher;
+        this.notificationListener = notificationListener;
+        this.wakeUpSignal = wakeUpSignal;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.isEnabled() && properties.isDispatchLoopEnabled();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        if (properties.isNotificationsEnabled()) {
+            notificationListener.start();
+        }
+        loopThread = Thread.ofPlatform()
+                .name("event-queue-dispatch-loop")
+                .daemon(true)
+                .start(this::dispatchUntilStopped);
+        log.info(
+                "Event queue dispatch loop started. notificationsEnabled={}, pollIntervalMs={}, maxPollIntervalMs={}",
+                properties.isNotificationsEnabled(),
+                properties.getPollIntervalMs(),
+                maxPollIntervalMs());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        notificationListener.stop();
+        Thread thread = loopThread;
+        loopThread = null;
+        if (thread != null) {
+            wakeUpSignal.signal();
+            try {
+                thread.join(properties.getPollIntervalMs());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info("Event queue dispatch loop stopped.");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void dispatchUntilStopped() {
+        long idleDelayMs = properties.getPollIntervalMs();
+        while (running) {
+            try {
+                wakeUpSignal.await(idleDelayMs);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!running) {
+                return;
+            }
+
+            int claimed;
+            try {
+                claimed = eventQueueDispatcher.pollAndDispatch();
+            } catch (RuntimeException ex) {
+                log.error("Event queue dispatch loop iteration failed.", ex);
+                claimed = 0;
+            }
+
+            // With notifications enabled polling is only a safety net, so back off while the queue stays empty.
+            idleDelayMs = claimed > 0
+                    ? properties.getPollIntervalMs()
+                    : Math.min(idleDelayMs * 2, maxPollIntervalMs());
+        }
+    }
+
+    private long maxPollIntervalMs() {
+        return properties.isNotificationsEnabled()
+                ? Math.max(properties.getPollIntervalMs(), properties.getMaxPollIntervalMs())
+                : properties.getPollIntervalMs();
+    }
+}
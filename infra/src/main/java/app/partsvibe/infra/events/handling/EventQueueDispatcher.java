@@ -10,8 +10,10 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PreDestroy;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -22,8 +24,6 @@ import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -33,11 +33,14 @@ public class EventQueueDispatcher {
     private final EventQueueDispatcherProperties properties;
     private final EventQueueRepository eventQueueRepository;
     private final EventQueueConsumer eventQueueConsumer;
+    private final EventQueueCompletionAggregator completionAggregator;
     private final TimeProvider timeProvider;
-    private final ThreadPoolTaskExecutor eventQueueExecutor;
+    private final ExecutorService eventQueueExecutor;
     private final ScheduledExecutorService eventQueueTimeoutScheduler;
+    private final EventQueueWakeUpSignal wakeUpSignal;
     private final Semaphore inFlightSlots;
     private final AtomicBoolean shuttingDown = new AtomicBoolean(false);
+    private final AtomicBoolean backlogPending = new AtomicBoolean(false);
     private final String dispatcherId;
     private final Counter claimedCounter;
     private final Counter doneCounter;
@@ -46,22 +49,27 @@ public class EventQueueDispatcher {
     private final DurationMetrics queueLagMetrics;
     private final DurationMetrics processingDurationMetrics;
     private final ExponentialBackoffCalculator backoffCalculator;
+    private final EventQueueLanes lanes;
 
     public EventQueueDispatcher(
             EventQueueDispatcherProperties properties,
             EventQueueRepository eventQueueRepository,
             EventQueueConsumer eventQueueConsumer,
+            EventQueueCompletionAggregator completionAggregator,
             TimeProvider timeProvider,
-            @Qualifier("eventQueueExecutor") ThreadPoolTaskExecutor eventQueueExecutor,
+            @Qualifier("eventQueueExecutor") ExecutorService eventQueueExecutor,
             @Qualifier("eventQueueTimeoutScheduler") ScheduledExecutorService eventQueueTimeoutScheduler,
+            EventQueueWakeUpSignal wakeUpSignal,
             MeterRegistry meterRegistry) {
         this.properties = properties;
         this.eventQueueRepository = eventQueueRepository;
         this.eventQueueConsumer = eventQueueConsumer;
+        this.completionAggregator = completionAggregator;
         this.timeProvider = timeProvider;
         this.eventQueueExecutor = eventQueueExecutor;
         this.eventQueueTimeoutScheduler = eventQueueTimeoutScheduler;
-        this.inFlightSlots = new Semaphore(properties.getThreadPoolSize());
+        this.wakeUpSignal = wakeUpSignal;
+        this.inFlightSlots = new Semaphore(properties.inFlightCapacity());
         this.dispatcherId = "dispatcher-" + UUID.randomUUID();
 
         this.claimedCounter = meterRegistry.counter("app.event-queue.events.claimed");
@@ -73,36 +81,57 @@ public class EventQueueDispatcher {
         this.processingDurationMetrics = new DurationMetrics(meterRegistry, "app.event-queue.processing-time");
         this.backoffCalculator = new ExponentialBackoffCalculator(
                 properties.getBackoffInitialMs(), properties.getBackoffMultiplier(), properties.getBackoffMaxMs());
+        this.lanes = new EventQueueLanes(properties, meterRegistry);
 
         log.info("Event queue dispatcher initialized. properties={}", properties);
     }
 
-    @Scheduled(fixedDelayString = "${app.events.dispatcher.poll-interval-ms:1000}")
-    public void pollAndDispatch() {
+    public int pollAndDispatch() {
         if (!properties.isEnabled()) {
             log.debug("Event queue dispatcher poll skipped because dispatcher is disabled");
-            return;
+            return 0;
         }
         if (isDispatcherShuttingDown()) {
             log.debug(
                     "Event queue dispatcher poll skipped because shutdown is in progress. dispatcherId={}",
                     dispatcherId);
-            return;
+            return 0;
         }
 
         var capacity = inFlightSlots.availablePermits();
         if (capacity <= 0) {
+            backlogPending.set(true);
             log.debug(
                     "Event queue dispatcher poll skipped due to no in-flight capacity. dispatcherId={}", dispatcherId);
-            return;
+            return 0;
         }
 
         var claimedAt = timeProvider.now();
-        var claimed = eventQueueRepository.claimEntriesForProcessing(
-                capacity, properties.getMaxAttempts(), dispatcherId, claimedAt);
+        List<ClaimedEventQueueEntry> claimed;
+        if (lanes.isConfigured()) {
+            var allocation = lanes.allocate(capacity);
+            if (allocation.total() <= 0) {
+                backlogPending.set(true);
+                log.debug(
+                        "Event queue dispatcher poll skipped because all lanes are full. dispatcherId={}", dispatcherId);
+                return 0;
+            }
+            claimed = eventQueueRepository.claimEntriesForProcessing(
+                    allocation.limitsByEventName(),
+                    allocation.otherEventsLimit(),
+                    properties.getMaxAttempts(),
+                    dispatcherId,
+                    claimedAt);
+            backlogPending.set(allocation.isSaturatedBy(claimed) || lanes.hasFullLane());
+        } else {
+            claimed = eventQueueRepository.claimEntriesForProcessing(
+                    capacity, properties.getMaxAttempts(), dispatcherId, claimedAt);
+            // A full batch means more entries may be waiting, so poll again as soon as a slot frees up.
+            backlogPending.set(claimed.size() >= capacity);
+        }
         if (claimed.isEmpty()) {
             log.debug("No event queue entries claimed. dispatcherId={}", dispatcherId);
-            return;
+            return 0;
         }
 
         claimedCounter.increment(claimed.size());
@@ -111,6 +140,7 @@ public class EventQueueDispatcher {
             recordQueueLag(entry, claimedAt);
             submitEvent(entry);
         }
+        return claimed.size();
     }
 
     private void submitEvent(ClaimedEventQueueEntry event) {
@@ -120,12 +150,16 @@ public class EventQueueDispatcher {
         }
 
         var processingStartedAt = timeProvider.now();
+        var lane = lanes.laneFor(event.eventName());
+        var task = new InterruptibleTask(() -> eventQueueConsumer.handle(event));
         CompletableFuture<Void> future;
 
         inFlightSlots.acquireUninterruptibly();
+        lane.acquire();
         try {
-            future = CompletableFuture.runAsync(() -> eventQueueConsumer.handle(event), eventQueueExecutor);
+            future = CompletableFuture.runAsync(task, eventQueueExecutor);
         } catch (RejectedExecutionException ex) {
+            lane.release();
             inFlightSlots.release();
             releaseClaimedEntry(event, ex);
             return;
@@ -153,7 +187,11 @@ public class EventQueueDispatcher {
                             cause.getClass().getSimpleName());
                 }
             } finally {
+                lane.release();
                 inFlightSlots.release();
+                if (backlogPending.get()) {
+                    wakeUpSignal.signal();
+                }
             }
         });
 
@@ -167,6 +205,9 @@ public class EventQueueDispatcher {
                             }
                             markTimedOut(event, timeoutMs);
                             if (future.cancel(true)) {
+                                // Unblocks handlers waiting on I/O or sleeping; on virtual threads it also lets the
+                                // thread finish instead of lingering after its in-flight slot was released.
+                                task.interrupt();
                                 timeoutCancelledCounter.increment();
                                 log.warn(
                                         "Cancelled timed out event queue task. event={}, timeoutMs={}",
@@ -191,46 +232,71 @@ public class EventQueueDispatcher {
     }
 
     private void markDone(ClaimedEventQueueEntry entry) {
-        var now = timeProvider.now();
-        var updated = eventQueueRepository.markEntryAsDone(entry.id(), now);
-        if (updated > 0) {
-            doneCounter.increment();
-            log.info("Event queue entry processed successfully. entry={}", entry.toStringWithoutPayload());
-        } else {
-            log.debug(
-                    "Skipping DONE transition because event queue entry is no longer PROCESSING. entry={}",
-                    entry.toStringWithoutPayload());
-        }
+        completionAggregator.markDone(entry.id()).whenComplete((updated, throwable) -> {
+            if (throwable != null) {
+                log.warn(
+                        "DONE transition failed to flush. Entry will be recovered after processing timeout. entry={}",
+                        entry.toStringWithoutPayload(),
+                        throwable);
+            } else if (updated) {
+                doneCounter.increment();
+                log.info("Event queue entry processed successfully. entry={}", entry.toStringWithoutPayload());
+            } else {
+                log.debug(
+                        "Skipping DONE transition because event queue entry is no longer PROCESSING. entry={}",
+                        entry.toStringWithoutPayload());
+            }
+        });
     }
 
     private void markFailed(ClaimedEventQueueEntry entry, Throwable errorCause) {
         var now = timeProvider.now();
         var nextAttemptAt = now.plusMillis(backoffCalculator.computeDelayMs(entry.attemptCount()));
         var error = truncatedError(errorCause);
-        var updated = eventQueueRepository.markEntryAsFailed(entry.id(), nextAttemptAt, error, now);
-        if (updated > 0) {
-            failedCounter.increment();
-            if (entry.attemptCount() < properties.getMaxAttempts()) {
-                log.debug(
-                        "Scheduled event queue retry. entry={}, nextAttemptAt={}",
+        completionAggregator.markFailed(entry.id(), nextAttemptAt, error).whenComplete((updated, throwable) -> {
+            if (throwable != null) {
+                log.warn(
+                        "FAILED transition failed to flush. Entry will be recovered after processing timeout. entry={}, errorSummary={}",
                         entry.toStringWithoutPayload(),
-                        nextAttemptAt);
+                        error,
+                        throwable);
+            } else if (updated) {
+                failedCounter.increment();
+                if (entry.attemptCount() < properties.getMaxAttempts()) {
+                    scheduleWakeUpAt(nextAttemptAt);
+                    log.debug(
+                            "Scheduled event queue retry. entry={}, nextAttemptAt={}",
+                            entry.toStringWithoutPayload(),
+                            nextAttemptAt);
+                } else {
+                    log.warn(
+                            "Event queue entry reached max attempts and will remain FAILED. entry={}",
+                            entry.toStringWithoutPayload());
+                }
+                log.error(
+                        "Event queue processing failed. entry={}, nextAttemptAt={}, errorSummary={}",
+                        entry.toStringWithoutPayload(),
+                        nextAttemptAt,
+                        error,
+                        errorCause);
             } else {
-                log.warn(
-                        "Event queue entry reached max attempts and will remain FAILED. entry={}",
-                        entry.toStringWithoutPayload());
+                log.debug(
+                        "Skipping FAILED transition because event queue entry is no longer PROCESSING. entry={}, errorSummary={}",
+                        entry.toStringWithoutPayload(),
+                        error);
             }
-            log.error(
-                    "Event queue processing failed. entry={}, nextAttemptAt={}, errorSummary={}",
-                    entry.toStringWithoutPayload(),
-                    nextAttemptAt,
-                    error,
-                    errorCause);
-        } else {
-            log.debug(
-                    "Skipping FAILED transition because event queue entry is no longer PROCESSING. entry={}, errorSummary={}",
-                    entry.toStringWithoutPayload(),
-                    error);
+        });
+    }
+
+    private void scheduleWakeUpAt(Instant wakeUpAt) {
+        // Retries produce no notification, so make sure a backed-off safety-net poll does not delay them.
+        try {
+            eventQueueTimeoutScheduler.schedule(
+                    wakeUpSignal::signal,
+                    Math.max(0L, wakeUpAt.toEpochMilli() - timeProvider.now().toEpochMilli()),
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            log.debug("Retry wake-up scheduling rejected. wakeUpAt={}", wakeUpAt, ex);
         }
     }
 
@@ -241,6 +307,7 @@ public class EventQueueDispatcher {
     private void recordQueueLag(ClaimedEventQueueEntry entry, Instant claimedAt) {
         if (entry.publishedAt() != null) {
             queueLagMetrics.recordDurationBetween(entry.publishedAt(), claimedAt);
+            lanes.laneFor(entry.eventName()).recordLag(entry.publishedAt(), claimedAt);
         }
     }
 
@@ -278,8 +345,7 @@ public class EventQueueDispatcher {
         if (shuttingDown.get()) {
             return true;
         }
-        var threadPoolExecutor = eventQueueExecutor.getThreadPoolExecutor();
-        return threadPoolExecutor != null && threadPoolExecutor.isShutdown();
+        return eventQueueExecutor.isShutdown();
     }
 
     @PreDestroy
@@ -296,10 +362,9 @@ public class EventQueueDispatcher {
         log.info("Event queue dispatcher shutdown started. dispatcherId={}, awaitMs={}", dispatcherId, awaitMs);
 
         eventQueueExecutor.shutdown();
-        var threadPoolExecutor = eventQueueExecutor.getThreadPoolExecutor();
 
         try {
-            if (threadPoolExecutor.awaitTermination(awaitMs, TimeUnit.MILLISECONDS)) {
+            if (eventQueueExecutor.awaitTermination(awaitMs, TimeUnit.MILLISECONDS)) {
                 log.info("Event queue dispatcher shutdown completed. dispatcherId={}", dispatcherId);
             } else {
                 log.warn(
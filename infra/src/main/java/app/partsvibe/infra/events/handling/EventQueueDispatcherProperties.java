@@ -1,7 +1,13 @@
 package app.partsvibe.infra.events.handling;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
@@ -12,24 +18,47 @@ import org.springframework.validation.annotation.Validated;
 public class EventQueueDispatcherProperties {
     private boolean enabled = true;
 
+    private boolean dispatchLoopEnabled = true;
+
+    private boolean notificationsEnabled = true;
+
     @Min(100)
     private long pollIntervalMs = 1000;
 
+    @Min(100)
+    private long maxPollIntervalMs = 30000;
+
+    @Min(100)
+    private long notificationsReconnectDelayMs = 5000;
+
     @Min(1)
     private int maxAttempts = 10;
 
+    @NotNull
+    private EventQueueExecutorMode executor = EventQueueExecutorMode.PLATFORM;
+
     @Min(1)
     private int threadPoolSize = 4;
 
     @Min(0)
     private int threadPoolQueueCapacity = 200;
 
+    // Used instead of thread-pool-size as the in-flight limit when handlers run on virtual threads.
+    @Min(1)
+    private int virtualThreadMaxInFlight = 256;
+
     @Min(1)
     private long handlerTimeoutMs = 60000;
 
     @Min(1)
     private long processingTimeoutMs = 120000;
 
+    @Min(0)
+    private long completionFlushIntervalMs = 5;
+
+    @Min(1)
+    private int completionFlushBatchSize = 64;
+
     @Min(1)
     private long backoffInitialMs = 1000;
 
@@ -53,4 +82,32 @@ public class EventQueueDispatcherProperties {
 
     @Min(1)
     private int failedRetentionDays = 90;
+
+    @Min(1)
+    private int defaultLanePriority = 1;
+
+    @Valid
+    private List<Lane> lanes = new ArrayList<>();
+
+    public int inFlightCapacity() {
+        return executor == EventQueueExecutorMode.VIRTUAL ? virtualThreadMaxInFlight : threadPoolSize;
+    }
+
+    @Data
+    public static class Lane {
+        @NotBlank
+        private String eventName;
+
+        @Min(1)
+        private int maxConcurrency = 1;
+
+        // Weight used when free capacity is shared between lanes; higher priority lanes are served first.
+        @Min(1)
+        private int priority = 1;
+
+        // Fraction of the dispatcher in-flight capacity this lane may occupy at once.
+        @DecimalMin(value = "0.0", inclusive = false)
+        @DecimalMax("1.0")
+        private double capacityShare = 1.0;
+    }
 }
@@ -1,30 +1,40 @@
 package app.partsvibe.infra.events.handling;
 
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 public class EventQueueExecutorConfig {
-    @Bean(name = "eventQueueExecutor")
-    public ThreadPoolTaskExecutor eventQueueExecutor(EventQueueDispatcherProperties properties) {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setThreadNamePrefix("event-queue-worker-");
-        executor.setDaemon(true);
-        executor.setCorePoolSize(properties.getThreadPoolSize());
-        executor.setMaxPoolSize(properties.getThreadPoolSize());
-        executor.setQueueCapacity(properties.getThreadPoolQueueCapacity());
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(awaitTerminationSeconds(properties.getHandlerTimeoutMs()));
-        executor.initialize();
-        return executor;
-    }
+    @Bean(name = "eventQueueExecutor", destroyMethod = "shutdown")
+    public ExecutorService eventQueueExecutor(EventQueueDispatcherProperties properties) {
+        if (properties.getExecutor() == EventQueueExecutorMode.VIRTUAL) {
+            // One virtual thread per claimed entry; concurrency is bounded by the dispatcher in-flight and lane limits.
+            var threadFactory = Thread.ofVirtual().name("event-queue-virtual-worker-", 1).factory();
+            return Executors.newThreadPerTaskExecutor(threadFactory);
+        }
 
-    private static int awaitTerminationSeconds(long handlerTimeoutMs) {
-        long waitMs = Math.min(60_000L, Math.max(1_000L, handlerTimeoutMs + 1_000L));
-        return (int) ((waitMs + 999L) / 1_000L);
+        var threadFactory = Thread.ofPlatform()
+                .name("event-queue-worker-", 1)
+                .daemon(true)
+                .factory();
+        BlockingQueue<Runnable> queue = properties.getThreadPoolQueueCapacity() > 0
+                ? new LinkedBlockingQueue<>(properties.getThreadPoolQueueCapacity())
+                : new SynchronousQueue<>();
+        return new ThreadPoolExecutor(
+                properties.getThreadPoolSize(),
+                properties.getThreadPoolSize(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                queue,
+                threadFactory);
     }
 
     @Bean(name = "eventQueueTimeoutScheduler", destroyMethod = "shutdown")
@@ -35,4 +45,13 @@ public class EventQueueExecutorConfig {
                 .factory();
         return Executors.newSingleThreadScheduledExecutor(threadFactory);
     }
+
+    @Bean(name = "eventQueueCompletionFlushScheduler", destroyMethod = "shutdown")
+    public ScheduledExecutorService eventQueueCompletionFlushScheduler() {
+        var threadFactory = Thread.ofPlatform()
+                .name("event-queue-completion-flusher-", 1)
+                .daemon(true)
+                .factory();
+        return Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
 }
@@ -0,0 +1,6 @@
+package app.partsvibe.infra.events.handling;
+
+public enum EventQueueExecutorMode {
+    PLATFORM,
+    VIRTUAL
+}
@@ -0,0 +1,148 @@
+package app.partsvibe.infra.events.handling;
+
+import app.partsvibe.infra.events.jpa.ClaimedEventQueueEntry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Per-event-name concurrency lanes. Entries of event names without a configured lane share the default lane.
+// Only the dispatch loop acquires lane slots, so a lane never goes over its limit between allocation and submit.
+final class EventQueueLanes {
+    static final String DEFAULT_LANE = "default";
+
+    private final Map<String, Lane> lanesByEventName = new HashMap<>();
+    private final Lane defaultLane;
+    private final List<Lane> lanesByPriority;
+
+    EventQueueLanes(EventQueueDispatcherProperties properties, MeterRegistry meterRegistry) {
+        var inFlightCapacity = properties.inFlightCapacity();
+        for (var config : properties.getLanes()) {
+            var shareLimit = (int) Math.floor(config.getCapacityShare() * inFlightCapacity);
+            var maxConcurrency = Math.max(1, Math.min(config.getMaxConcurrency(), shareLimit));
+            var lane = new Lane(config.getEventName(), maxConcurrency, config.getPriority(), meterRegistry);
+            if (lanesByEventName.putIfAbsent(config.getEventName(), lane) != null) {
+                throw new IllegalStateException(
+                        "Duplicate event queue lane configured. eventName=" + config.getEventName());
+            }
+        }
+        this.defaultLane = new Lane(DEFAULT_LANE, inFlightCapacity, properties.getDefaultLanePriority(), meterRegistry);
+
+        List<Lane> lanes = new ArrayList<>(lanesByEventName.values());
+        lanes.add(defaultLane);
+        lanes.sort(Comparator.comparingInt(Lane::priority).reversed().thenComparing(Lane::name));
+        this.lanesByPriority = List.copyOf(lanes);
+    }
+
+    boolean isConfigured() {
+        return !lanesByEventName.isEmpty();
+    }
+
+    // A full lane got no share of this poll, so it may still have entries waiting for one of its slots.
+    boolean hasFullLane() {
+        return lanesByPriority.stream().anyMatch(lane -> lane.freeSlots() == 0);
+    }
+
+    Lane laneFor(String eventName) {
+        return lanesByEventName.getOrDefault(eventName, defaultLane);
+    }
+
+    // Shares free dispatcher capacity between lanes round-robin, visiting higher priorities first and giving each lane
+    // up to `priority` slots per round, so a busy low-priority lane cannot take capacity an urgent lane could use.
+    Allocation allocate(int capacity) {
+        Map<Lane, Integer> granted = new LinkedHashMap<>();
+        var remaining = capacity;
+        var progress = true;
+        while (remaining > 0 && progress) {
+            progress = false;
+            for (Lane lane : lanesByPriority) {
+                var alreadyGranted = granted.getOrDefault(lane, 0);
+                var slots = Math.min(Math.min(lane.priority(), lane.freeSlots() - alreadyGranted), remaining);
+                if (slots > 0) {
+                    granted.put(lane, alreadyGranted + slots);
+                    remaining -= slots;
+                    progress = true;
+                }
+                if (remaining == 0) {
+                    break;
+                }
+            }
+        }
+
+        // Every configured lane is listed, a full one with limit 0: the default lane claims only unlisted event names.
+        Map<String, Integer> limitsByEventName = new LinkedHashMap<>();
+        lanesByEventName.forEach((eventName, lane) -> limitsByEventName.put(eventName, granted.getOrDefault(lane, 0)));
+        return new Allocation(Map.copyOf(limitsByEventName), granted.getOrDefault(defaultLane, 0));
+    }
+
+    record Allocation(Map<String, Integer> limitsByEventName, int otherEventsLimit) {
+        int total() {
+            return otherEventsLimit + limitsByEventName.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        // A lane that got everything it asked for may have more entries waiting.
+        boolean isSaturatedBy(List<ClaimedEventQueueEntry> claimed) {
+            Map<String, Integer> claimedByLimit = new HashMap<>();
+            for (ClaimedEventQueueEntry entry : claimed) {
+                var key = limitsByEventName.containsKey(entry.eventName()) ? entry.eventName() : DEFAULT_LANE;
+                claimedByLimit.merge(key, 1, Integer::sum);
+            }
+            if (otherEventsLimit > 0 && claimedByLimit.getOrDefault(DEFAULT_LANE, 0) >= otherEventsLimit) {
+                return true;
+            }
+            return limitsByEventName.entrySet().stream()
+                    .anyMatch(limit -> limit.getValue() > 0
+                            && claimedByLimit.getOrDefault(limit.getKey(), 0) >= limit.getValue());
+        }
+    }
+
+    static final class Lane {
+        private final String name;
+        private final int maxConcurrency;
+        private final int priority;
+        private final AtomicInteger inFlight = new AtomicInteger(0);
+        private final DurationMetrics lagMetrics;
+
+        private Lane(String name, int maxConcurrency, int priority, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.maxConcurrency = maxConcurrency;
+            this.priority = priority;
+
+            var tags = Tags.of("lane", name);
+            meterRegistry.gauge("app.event-queue.lane.in-flight", tags, inFlight, AtomicInteger::get);
+            // Lanes live as long as EventQueueLanes, so gauging the lane itself keeps it alive for Micrometer.
+            meterRegistry.gauge("app.event-queue.lane.max-concurrency", tags, this, lane -> lane.maxConcurrency);
+            this.lagMetrics = new DurationMetrics(meterRegistry, "app.event-queue.lane.lag", tags);
+        }
+
+        String name() {
+            return name;
+        }
+
+        int priority() {
+            return priority;
+        }
+
+        int freeSlots() {
+            return Math.max(0, maxConcurrency - inFlight.get());
+        }
+
+        void acquire() {
+            inFlight.incrementAndGet();
+        }
+
+        void release() {
+            inFlight.decrementAndGet();
+        }
+
+        void recordLag(Instant publishedAt, Instant claimedAt) {
+            lagMetrics.recordDurationBetween(publishedAt, claimedAt);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package app.partsvibe.infra.events.handling;
+
+import app.partsvibe.infra.events.jpa.EventQueueRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EventQueueNotificationListener {
+    private static final Logger log = LoggerFactory.getLogger(EventQueueNotificationListener.class);
+    private static final int NOTIFICATION_WAIT_MS = 500;
+
+    private final EventQueueDispatcherProperties properties;
+    private final DataSource dataSource;
+    private final EventQueueWakeUpSignal wakeUpSignal;
+    private final Counter notificationsCounter;
+    private final Counter reconnectsCounter;
+
+    private volatile boolean running;
+    private volatile Thread listenerThread;
+
+    public EventQueueNotificationListener(
+            EventQueueDispatcherProperties properties,
+            DataSource dataSource,
+            EventQueueWakeUpSignal wakeUpSignal,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.dataSource = dataSource;
+        this.wakeUpSignal = wakeUpSignal;
+        this.notificationsCounter = meterRegistry.counter("app.event-queue.notifications.received");
+        this.reconnectsCounter = meterRegistry.counter("app.event-queue.notifications.reconnects");
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listenerThread = Thread.ofPlatform()
+                .name("event-queue-listener")
+                .daemon(true)
+                .start(this::listenUntilStopped);
+    }
+
+    public synchronized void stop() {
+        running = false;
+        Thread thread = listenerThread;
+        listenerThread = null;
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(NOTIFICATION_WAIT_MS * 2L);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void listenUntilStopped() {
+        while (running) {
+            // Holds one pooled connection for as long as the listener is running.
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (var statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + EventQueueRepository.NOTIFICATION_CHANNEL);
+                }
+                log.info(
+                        "Event queue notification listener connected. channel={}",
+                        EventQueueRepository.NOTIFICATION_CHANNEL);
+
+                // Entries published while we were not listening are only visible to a poll.
+                wakeUpSignal.signal();
+                awaitNotifications(connection.unwrap(PGConnection.class));
+
+                // The connection goes back to the pool, so it must not keep collecting notifications.
+                try (var statement = connection.createStatement()) {
+                    statement.execute("UNLISTEN *");
+                }
+            } catch (SQLException | RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+                reconnectsCounter.increment();
+                log.warn(
+                        "Event queue notification listener lost its connection. Reconnecting. reconnectDelayMs={}",
+                        properties.getNotificationsReconnectDelayMs(),
+                        ex);
+                if (!sleepBeforeReconnect()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void awaitNotifications(PGConnection connection) throws SQLException {
+        while (running) {
+            PGNotification[] notifications = connection.getNotifications(NOTIFICATION_WAIT_MS);
+            if (notifications != null && notifications.length > 0) {
+                notificationsCounter.increment(notifications.length);
+                wakeUpSignal.signal();
+            }
+        }
+    }
+
+    private boolean sleepBeforeReconnect() {
+        try {
+            Thread.sleep(properties.getNotificationsReconnectDelayMs());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package app.partsvibe.infra.events.handling;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EventQueueWakeUpSignal {
+    private final Semaphore pending = new Semaphore(0);
+
+    public void signal() {
+        // Signals coalesce: a dispatcher that wakes up claims everything that is ready anyway.
+        if (pending.availablePermits() == 0) {
+            pending.release();
+        }
+    }
+
+    public boolean await(long timeoutMs) throws InterruptedException {
+        boolean signalled = pending.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS);
+        pending.drainPermits();
+        return signalled;
+    }
+}
@@ -0,0 +1,35 @@
+package app.partsvibe.infra.events.handling;
+
+// CompletableFuture.cancel(true) does not interrupt the running task, so the timeout watchdog interrupts the worker
+// thread through this wrapper. The interrupt flag is cleared before a pooled thread is handed back.
+final class InterruptibleTask implements Runnable {
+    private final Runnable delegate;
+    private Thread runner;
+
+    InterruptibleTask(Runnable delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void run() {
+        synchronized (this) {
+            runner = Thread.currentThread();
+        }
+        try {
+            delegate.run();
+        } finally {
+            synchronized (this) {
+                runner = null;
+            }
+            Thread.interrupted();
+        }
+    }
+
+    synchronized boolean interrupt() {
+        if (runner == null) {
+            return false;
+        }
+        runner.interrupt();
+        return true;
+    }
+}
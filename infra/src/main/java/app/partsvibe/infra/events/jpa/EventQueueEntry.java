@@ -31,6 +31,9 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
         uniqueConstraints = @UniqueConstraint(name = "uk_event_queue_event_id", columnNames = "event_id"),
         indexes = {
             @Index(name = "idx_event_queue_status_next_attempt_id", columnList = "status,next_attempt_at,id"),
+            @Index(
+                    name = "idx_event_queue_event_name_status_next_attempt_id",
+                    columnList = "event_name,status,next_attempt_at,id"),
             @Index(name = "idx_event_queue_published_at", columnList = "published_at")
         })
 @SequenceGenerator(
@@ -0,0 +1,51 @@
+package app.partsvibe.infra.events.jpa;
+
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.jpa.autoconfigure.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Creates the event_queue indexes declared on EventQueueEntry after the table was first created. Production only
+// validates the schema, which does not cover indexes, so without this they would exist only where Hibernate created
+// the table. A table Hibernate has yet to create is left to it.
+@Component
+public class EventQueueIndexesInitializer implements InitializingBean {
+    private static final List<String> INDEXES = List.of(
+            // Lane claims: one SKIP LOCKED subquery per event name.
+            "CREATE INDEX IF NOT EXISTS idx_event_queue_event_name_status_next_attempt_id "
+                    + "ON event_queue (event_name, status, next_attempt_at, id)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EventQueueIndexesInitializer(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (tableExists()) {
+            INDEXES.forEach(jdbcTemplate::execute);
+        }
+    }
+
+    private boolean tableExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                """
+                SELECT EXISTS (
+                    SELECT 1 FROM information_schema.tables
+                    WHERE table_schema = current_schema() AND table_name = 'event_queue'
+                )
+                """,
+                Boolean.class));
+    }
+
+    // Before the entity manager factory, so the index is in place by the time the dispatcher claims its first batch.
+    @Component
+    static class EntityManagerFactoryDependency extends EntityManagerFactoryDependsOnPostProcessor {
+        EntityManagerFactoryDependency() {
+            super(EventQueueIndexesInitializer.class);
+        }
+    }
+}
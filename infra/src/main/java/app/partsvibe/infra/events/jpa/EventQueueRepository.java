@@ -1,14 +1,21 @@
 package app.partsvibe.infra.events.jpa;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface EventQueueRepository {
+    String NOTIFICATION_CHANNEL = "event_queue";
+
     EventQueueEntry save(EventQueueEntry entry);
 
-    int markEntryAsDone(long id, Instant now);
+    void notifyEntriesAvailable();
+
+    Set<Long> markEntriesAsDone(Collection<Long> ids, Instant now);
 
-    int markEntryAsFailed(long id, Instant nextAttemptAt, String lastError, Instant now);
+    Set<Long> markEntriesAsFailed(Collection<FailedEntryTransition> transitions, Instant now);
 
     int recoverTimedOutProcessingEntries(Instant lockedBefore, Instant now);
 
@@ -17,5 +24,12 @@ public interface EventQueueRepository {
     List<ClaimedEventQueueEntry> claimEntriesForProcessing(
             int batchSize, int maxAttempts, String workerId, Instant now);
 
+    List<ClaimedEventQueueEntry> claimEntriesForProcessing(
+            Map<String, Integer> limitsByEventName,
+            int otherEventsLimit,
+            int maxAttempts,
+            String workerId,
+            Instant now);
+
     int releaseClaimedEntry(long id, Instant nextAttemptAt, Instant now);
 }
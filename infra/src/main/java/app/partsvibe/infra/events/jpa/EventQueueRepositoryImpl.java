@@ -2,8 +2,21 @@ package app.partsvibe.infra.events.jpa;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
@@ -27,51 +40,88 @@ public class EventQueueRepositoryImpl implements EventQueueRepository {
         return entityManager.merge(entry);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void notifyEntriesAvailable() {
+        // PostgreSQL delivers NOTIFY only when the surrounding transaction commits.
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (var statement = connection.prepareStatement("SELECT pg_notify(?, '')")) {
+                statement.setString(1, NOTIFICATION_CHANNEL);
+                statement.execute();
+            }
+        });
+    }
+
     @Override
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public int markEntryAsDone(long id, Instant now) {
-        return entityManager
-                .createQuery(
-                        """
-                        UPDATE EventQueueEntry e
-                        SET e.status = :doneStatus,
-                            e.lockedAt = NULL,
-                            e.lockedBy = NULL,
-                            e.lastError = NULL,
-                            e.updatedAt = :now
-                        WHERE e.id = :id
-                          AND e.status = :processingStatus
-                        """)
-                .setParameter("doneStatus", EventQueueEntryStatus.DONE)
-                .setParameter("processingStatus", EventQueueEntryStatus.PROCESSING)
-                .setParameter("id", id)
-                .setParameter("now", now)
-                .executeUpdate();
+    public Set<Long> markEntriesAsDone(Collection<Long> ids, Instant now) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (var statement = connection.prepareStatement(
+                    """
+                    UPDATE event_queue
+                    SET status = 'DONE',
+                        locked_at = NULL,
+                        locked_by = NULL,
+                        last_error = NULL,
+                        updated_at = ?
+                    WHERE id = ANY(?)
+                      AND status = 'PROCESSING'
+                    RETURNING id
+                    """)) {
+                statement.setObject(1, OffsetDateTime.ofInstant(now, ZoneOffset.UTC));
+                statement.setArray(2, connection.createArrayOf("bigint", ids.toArray()));
+                return updatedIds(statement);
+            }
+        });
     }
 
     @Override
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public int markEntryAsFailed(long id, Instant nextAttemptAt, String lastError, Instant now) {
-        return entityManager
-                .createQuery(
-                        """
-                        UPDATE EventQueueEntry e
-                        SET e.status = :failedStatus,
-                            e.nextAttemptAt = :nextAttemptAt,
-                            e.lastError = :lastError,
-                            e.lockedAt = NULL,
-                            e.lockedBy = NULL,
-                            e.updatedAt = :now
-                        WHERE e.id = :id
-                          AND e.status = :processingStatus
-                        """)
-                .setParameter("failedStatus", EventQueueEntryStatus.FAILED)
-                .setParameter("processingStatus", EventQueueEntryStatus.PROCESSING)
-                .setParameter("id", id)
-                .setParameter("nextAttemptAt", nextAttemptAt)
-                .setParameter("lastError", lastError)
-                .setParameter("now", now)
-                .executeUpdate();
+    public Set<Long> markEntriesAsFailed(Collection<FailedEntryTransition> transitions, Instant now) {
+        if (transitions.isEmpty()) {
+            return Set.of();
+        }
+        var ids = transitions.stream().map(FailedEntryTransition::id).toArray();
+        var nextAttemptsAt = transitions.stream()
+                .map(transition -> transition.nextAttemptAt().toString())
+                .toArray();
+        var lastErrors = transitions.stream().map(FailedEntryTransition::lastError).toArray();
+        // Each row carries its own retry time and error, so they are joined in from parallel arrays.
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (var statement = connection.prepareStatement(
+                    """
+                    UPDATE event_queue e
+                    SET status = 'FAILED',
+                        next_attempt_at = f.next_attempt_at::timestamptz,
+                        last_error = f.last_error,
+                        locked_at = NULL,
+                        locked_by = NULL,
+                        updated_at = ?
+                    FROM unnest(?::bigint[], ?::text[], ?::text[]) AS f(id, next_attempt_at, last_error)
+                    WHERE e.id = f.id
+                      AND e.status = 'PROCESSING'
+                    RETURNING e.id
+                    """)) {
+                statement.setObject(1, OffsetDateTime.ofInstant(now, ZoneOffset.UTC));
+                statement.setArray(2, connection.createArrayOf("bigint", ids));
+                statement.setArray(3, connection.createArrayOf("text", nextAttemptsAt));
+                statement.setArray(4, connection.createArrayOf("text", lastErrors));
+                return updatedIds(statement);
+            }
+        });
+    }
+
+    private static Set<Long> updatedIds(PreparedStatement statement) throws SQLException {
+        Set<Long> updated = new HashSet<>();
+        try (var resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                updated.add(resultSet.getLong(1));
+            }
+        }
+        return updated;
     }
 
     @Override
@@ -155,60 +205,173 @@ public class EventQueueRepositoryImpl implements EventQueueRepository {
             return List.of();
         }
 
-        @SuppressWarnings("unchecked")
-        var idRows = (List<Number>) entityManager
-                .createNativeQuery(
-                        """
+        // Lock, transition and read back in one round trip; rows are mapped directly, bypassing the persistence context.
+        var claimed = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (var statement = connection.prepareStatement(
+                    """
+                    UPDATE event_queue e
+                    SET status = 'PROCESSING',
+                        locked_at = ?,
+                        locked_by = ?,
+                        attempt_count = e.attempt_count + 1,
+                        updated_at = ?
+                    WHERE e.id IN (
                         SELECT id
                         FROM event_queue
                         WHERE status IN ('NEW', 'FAILED')
-                          AND next_attempt_at <= :now
-                          AND attempt_count < :maxAttempts
+                          AND next_attempt_at <= ?
+                          AND attempt_count < ?
                         ORDER BY id
                         FOR UPDATE SKIP LOCKED
-                        LIMIT :batchSize
-                        """)
-                .setParameter("maxAttempts", maxAttempts)
-                .setParameter("batchSize", batchSize)
-                .setParameter("now", now)
-                .getResultList();
+                        LIMIT ?
+                    )
+                    RETURNING e.id,
+                              e.event_id,
+                              e.event_name,
+                              e.schema_version,
+                              e.published_at,
+                              e.payload::text AS payload,
+                              e.request_id,
+                              e.published_by,
+                              e.attempt_count
+                    """)) {
+                var nowParameter = OffsetDateTime.ofInstant(now, ZoneOffset.UTC);
+                statement.setObject(1, nowParameter);
+                statement.setString(2, workerId);
+                statement.setObject(3, nowParameter);
+                statement.setObject(4, nowParameter);
+                statement.setInt(5, maxAttempts);
+                statement.setInt(6, batchSize);
+                return claimedEntries(statement);
+            }
+        });
+
+        log.debug(
+                "Claimed event queue rows and marked as PROCESSING. workerId={}, requestedBatchSize={}, claimedCount={}",
+                workerId,
+                batchSize,
+                claimed.size());
+        return claimed;
+    }
 
-        if (idRows.isEmpty()) {
-            log.debug("No event queue entry IDs selected for claiming");
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<ClaimedEventQueueEntry> claimEntriesForProcessing(
+            Map<String, Integer> limitsByEventName,
+            int otherEventsLimit,
+            int maxAttempts,
+            String workerId,
+            Instant now) {
+        var laneEventNames = new String[limitsByEventName.size()];
+        var laneLimits = new Integer[limitsByEventName.size()];
+        var totalLimit = Math.max(0, otherEventsLimit);
+        var index = 0;
+        for (var lane : limitsByEventName.entrySet()) {
+            laneEventNames[index] = lane.getKey();
+            laneLimits[index] = Math.max(0, lane.getValue());
+            totalLimit += laneLimits[index];
+            index++;
+        }
+        if (totalLimit <= 0) {
+            log.debug("Lane claim skipped because all lane limits are <= 0");
             return List.of();
         }
 
-        var ids = idRows.stream().map(Number::longValue).toList();
-
-        entityManager
-                .createQuery(
-                        """
-                        UPDATE EventQueueEntry e
-                        SET e.status = :processingStatus,
-                            e.lockedAt = :now,
-                            e.lockedBy = :workerId,
-                            e.attemptCount = e.attemptCount + 1,
-                            e.updatedAt = :now
-                        WHERE e.id IN :ids
-                        """)
-                .setParameter("processingStatus", EventQueueEntryStatus.PROCESSING)
-                .setParameter("now", now)
-                .setParameter("workerId", workerId)
-                .setParameter("ids", ids)
-                .executeUpdate();
+        // Every lane locks up to its own limit, so a backlog of one event name cannot fill the batch for the others.
+        var claimed = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (var statement = connection.prepareStatement(
+                    """
+                    UPDATE event_queue e
+                    SET status = 'PROCESSING',
+                        locked_at = ?,
+                        locked_by = ?,
+                        attempt_count = e.attempt_count + 1,
+                        updated_at = ?
+                    WHERE e.id IN (
+                        SELECT lane_entry.id
+                        FROM unnest(?::text[], ?::int[]) AS lane(event_name, lane_limit)
+                        CROSS JOIN LATERAL (
+                            SELECT id
+                            FROM event_queue
+                            WHERE event_name = lane.event_name
+                              AND status IN ('NEW', 'FAILED')
+                              AND next_attempt_at <= ?
+                              AND attempt_count < ?
+                            ORDER BY id
+                            FOR UPDATE SKIP LOCKED
+                            LIMIT lane.lane_limit
+                        ) AS lane_entry
+                        UNION ALL
+                        (
+                            SELECT id
+                            FROM event_queue
+                            WHERE event_name <> ALL(?::text[])
+                              AND status IN ('NEW', 'FAILED')
+                              AND next_attempt_at <= ?
+                              AND attempt_count < ?
+                            ORDER BY id
+                            FOR UPDATE SKIP LOCKED
+                            LIMIT ?
+                        )
+                    )
+                    RETURNING e.id,
+                              e.event_id,
+                              e.event_name,
+                              e.schema_version,
+                              e.published_at,
+                              e.payload::text AS payload,
+                              e.request_id,
+                              e.published_by,
+                              e.attempt_count
+                    """)) {
+                var nowParameter = OffsetDateTime.ofInstant(now, ZoneOffset.UTC);
+                var eventNamesParameter = connection.createArrayOf("text", laneEventNames);
+                statement.setObject(1, nowParameter);
+                statement.setString(2, workerId);
+                statement.setObject(3, nowParameter);
+                statement.setArray(4, eventNamesParameter);
+                statement.setArray(5, connection.createArrayOf("int", laneLimits));
+                statement.setObject(6, nowParameter);
+                statement.setInt(7, maxAttempts);
+                statement.setArray(8, eventNamesParameter);
+                statement.setObject(9, nowParameter);
+                statement.setInt(10, maxAttempts);
+                statement.setInt(11, Math.max(0, otherEventsLimit));
+                return claimedEntries(statement);
+            }
+        });
 
-        var claimed = entityManager
-                .createQuery("SELECT e FROM EventQueueEntry e WHERE e.id IN :ids", EventQueueEntry.class)
-                .setParameter("ids", ids)
-                .getResultStream()
-                .map(ClaimedEventQueueEntry::fromEntity)
-                .toList();
         log.debug(
-                "Claimed event queue rows and marked as PROCESSING. workerId={}, requestedBatchSize={}, selectedCount={}, claimedCount={}",
+                "Claimed event queue rows per lane and marked as PROCESSING. workerId={}, laneLimits={}, otherEventsLimit={}, claimedCount={}",
                 workerId,
-                batchSize,
-                ids.size(),
+                limitsByEventName,
+                otherEventsLimit,
                 claimed.size());
         return claimed;
     }
+
+    private static List<ClaimedEventQueueEntry> claimedEntries(PreparedStatement statement) throws SQLException {
+        List<ClaimedEventQueueEntry> rows = new ArrayList<>();
+        try (var resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows.add(mapClaimedEntry(resultSet));
+            }
+        }
+        rows.sort(Comparator.comparingLong(ClaimedEventQueueEntry::id));
+        return rows;
+    }
+
+    private static ClaimedEventQueueEntry mapClaimedEntry(ResultSet resultSet) throws SQLException {
+        var publishedAt = resultSet.getObject("published_at", OffsetDateTime.class);
+        return new ClaimedEventQueueEntry(
+                resultSet.getLong("id"),
+                resultSet.getObject("event_id", UUID.class),
+                resultSet.getString("event_name"),
+                resultSet.getInt("schema_version"),
+                publishedAt == null ? null : publishedAt.toInstant(),
+                resultSet.getString("payload"),
+                resultSet.getString("request_id"),
+                resultSet.getString("published_by"),
+                resultSet.getInt("attempt_count"));
+    }
 }
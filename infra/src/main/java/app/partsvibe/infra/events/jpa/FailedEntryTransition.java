@@ -0,0 +1,5 @@
+package app.partsvibe.infra.events.jpa;
+
+import java.time.Instant;
+
+public record FailedEntryTransition(long id, Instant nextAttemptAt, String lastError) {}
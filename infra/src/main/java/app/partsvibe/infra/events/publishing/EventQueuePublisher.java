@@ -20,11 +20,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Component
 public class EventQueuePublisher implements EventPublisher {
     private static final Pattern EVENT_NAME_PATTERN = Pattern.compile("^[a-z0-9]+(_[a-z0-9]+)*$");
     private static final String SYSTEM_PUBLISHER = "system";
+    private static final Object NOTIFY_ON_COMMIT_RESOURCE_KEY = new Object();
 
     private static final Logger log = LoggerFactory.getLogger(EventQueuePublisher.class);
 
@@ -70,6 +73,7 @@ public class EventQueuePublisher implements EventPublisher {
                     metadata.publishedBy(),
                     payloadJson);
             repository.save(entry);
+            notifyDispatchersOnCommit();
             publishSuccessCounter.increment();
             log.info(
                     "Published event to event queue. eventId={}, eventName={}, schemaVersion={}, requestId={}, publishedBy={}",
@@ -102,6 +106,26 @@ public class EventQueuePublisher implements EventPublisher {
         }
     }
 
+    private void notifyDispatchersOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(NOTIFY_ON_COMMIT_RESOURCE_KEY)) {
+            return;
+        }
+        // One NOTIFY per transaction is enough to wake dispatchers, however many events were published.
+        TransactionSynchronizationManager.bindResource(NOTIFY_ON_COMMIT_RESOURCE_KEY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                repository.notifyEntriesAvailable();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(NOTIFY_ON_COMMIT_RESOURCE_KEY);
+            }
+        });
+    }
+
     private EventMetadata validate(Event event) {
         var metadata = validateSchema(event);
         return metadata.withInfrastructureContext(resolveRequestId(), resolvePublishedAt(), resolvePublishedBy());
@@ -0,0 +1,174 @@
+package app.partsvibe.infra.antivirus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import app.partsvibe.shared.antivirus.AntivirusScanException;
+import app.partsvibe.shared.antivirus.ScanResult;
+import app.partsvibe.shared.utils.ByteBufferInputStream;
+import app.partsvibe.testsupport.fakes.FakeClamd;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClamAvAntivirusScannerTest {
+    private static final int MAX_CONNECTIONS = 2;
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FakeClamd clamd;
+    private ClamAvAntivirusScanner scanner;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        clamd = FakeClamd.start();
+        var properties = new ClamAvProperties();
+        properties.setHost(clamd.host());
+        properties.setPort(clamd.port());
+        properties.setMaxConnections(MAX_CONNECTIONS);
+        scanner = new ClamAvAntivirusScanner(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scanner.close();
+        clamd.close();
+    }
+
+    @Test
+    void reportsCleanAndInfectedFiles() throws IOException {
+        Path clean = file("clean.bin", randomBytes(200_000));
+        Path infected = file("infected.txt", ("X5O!P%@AP[4\\PZX54(P^)7CC)7}$" + FakeClamd.EICAR_SIGNATURE + "!$H+H*")
+                .getBytes(StandardCharsets.US_ASCII));
+
+        assertThat(scanner.scan(clean).status()).isEqualTo(ScanResult.Status.OK);
+        ScanResult result = scanner.scan(infected);
+        assertThat(result.status()).isEqualTo(ScanResult.Status.MALWARE_FOUND);
+        assertThat(result.message()).contains(FakeClamd.EICAR_VIRUS_NAME);
+    }
+
+    @Test
+    void findsSignatureSplitAcrossChunks() {
+        byte[] content = new byte[64 * 1024 + 10];
+        byte[] signature = FakeClamd.EICAR_SIGNATURE.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(signature, 0, content, 64 * 1024 - 10, signature.length);
+
+        ScanResult result = scanner.scan(new ByteArrayInputStream(content));
+
+        assertThat(result.status()).isEqualTo(ScanResult.Status.MALWARE_FOUND);
+    }
+
+    @Test
+    void scansEmptyInput() {
+        assertThat(scanner.scan(new ByteArrayInputStream(new byte[0])).status()).isEqualTo(ScanResult.Status.OK);
+    }
+
+    @Test
+    void reusesSessionForConsecutiveScans() throws IOException {
+        Path file = file("part.bin", randomBytes(10_000));
+
+        for (int i = 0; i < 5; i++) {
+            scanner.scan(file);
+            scanner.scan(new ByteArrayInputStream(randomBytes(1000)));
+        }
+
+        assertThat(clamd.scans()).isEqualTo(10);
+        assertThat(clamd.acceptedConnections()).isEqualTo(1);
+    }
+
+    @Test
+    void boundsConnectionsUnderConcurrentScans() throws Exception {
+        Path file = file("part.bin", randomBytes(500_000));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ScanResult>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                results.add(executor.submit((Callable<ScanResult>) () -> scanner.scan(file)));
+            }
+            for (Future<ScanResult> result : results) {
+                assertThat(result.get().status()).isEqualTo(ScanResult.Status.OK);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(clamd.scans()).isEqualTo(32);
+        assertThat(clamd.acceptedConnections()).isLessThanOrEqualTo(MAX_CONNECTIONS);
+    }
+
+    @Test
+    void resendsFileOverNewConnectionWhenIdleSessionWasDropped() throws IOException {
+        Path file = file("part.bin", randomBytes(10_000));
+        scanner.scan(file);
+
+        clamd.dropConnections();
+
+        assertThat(scanner.scan(file).status()).isEqualTo(ScanResult.Status.OK);
+        assertThat(clamd.acceptedConnections()).isEqualTo(2);
+        assertThat(meterRegistry.counter("app.antivirus.scan.retries").count()).isEqualTo(1);
+    }
+
+    @Test
+    void resendsBufferOverNewConnectionWhenIdleSessionWasDropped() {
+        scanner.scan(new ByteArrayInputStream(randomBytes(1000)));
+
+        clamd.dropConnections();
+
+        // The signature is only found if the retry sends the buffer from the start again.
+        byte[] content = randomBytes(10_000);
+        byte[] signature = FakeClamd.EICAR_SIGNATURE.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(signature, 0, content, 0, signature.length);
+
+        ScanResult result = scanner.scan(new ByteBufferInputStream(ByteBuffer.wrap(content)));
+
+        assertThat(result.status()).isEqualTo(ScanResult.Status.MALWARE_FOUND);
+        assertThat(meterRegistry.counter("app.antivirus.scan.retries").count()).isEqualTo(1);
+    }
+
+    @Test
+    void failsStreamScanWhenIdleSessionWasDropped() {
+        scanner.scan(new ByteArrayInputStream(randomBytes(1000)));
+
+        clamd.dropConnections();
+
+        assertThatThrownBy(() -> scanner.scan(new ByteArrayInputStream(randomBytes(1000))))
+                .isInstanceOf(AntivirusScanException.class);
+        assertThat(scanner.scan(new ByteArrayInputStream(randomBytes(1000))).status()).isEqualTo(ScanResult.Status.OK);
+    }
+
+    @Test
+    void failsWhenClamdIsDown() {
+        clamd.close();
+
+        assertThatThrownBy(() -> scanner.scan(new ByteArrayInputStream(randomBytes(1000))))
+                .isInstanceOf(AntivirusScanException.class);
+        assertThat(meterRegistry.counter("app.antivirus.scan.errors").count()).isEqualTo(1);
+    }
+
+    private Path file(String name, byte[] content) throws IOException {
+        return Files.write(tempDir.resolve(name), content);
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,132 @@
+package app.partsvibe.infra.cqrs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import app.partsvibe.shared.cqrs.Query;
+import app.partsvibe.shared.cqrs.QueryBehavior;
+import app.partsvibe.shared.cqrs.QueryExecution;
+import app.partsvibe.shared.cqrs.QueryHandler;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.annotation.Order;
+
+class SpringMediatorTest {
+    private AnnotationConfigApplicationContext context;
+
+    @AfterEach
+    void closeContext() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void runsBehaviorsInOrderAroundHandler() {
+        var mediator = mediatorWith(EchoQueryHandler.class, OuterBehavior.class, InnerBehavior.class);
+
+        assertThat(mediator.executeQuery(new EchoQuery("x"))).isEqualTo("outer(inner(x))");
+        assertThat(mediator.executeQuery(new EchoQuery("y"))).isEqualTo("outer(inner(y))");
+    }
+
+    @Test
+    void resolvesSingletonHandlersOncePerQueryClass() {
+        var mediator = mediatorWith(EchoQueryHandler.class);
+        var resolver = context.getBean(SpringCqrsHandlerResolver.class);
+
+        var first = resolver.resolveQueryDispatch(new EchoQuery("a"));
+        mediator.executeQuery(new EchoQuery("b"));
+        var second = resolver.resolveQueryDispatch(new EchoQuery("c"));
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void looksUpPrototypeHandlersOnEveryCall() {
+        var mediator = mediatorWith(PrototypeCountingQueryHandler.class);
+        PrototypeCountingQueryHandler.INSTANCES.set(0);
+
+        mediator.executeQuery(new CountingQuery());
+        mediator.executeQuery(new CountingQuery());
+
+        assertThat(PrototypeCountingQueryHandler.INSTANCES.get()).isEqualTo(2);
+    }
+
+    @Test
+    void contextRefreshClearsDispatchTable() {
+        mediatorWith(EchoQueryHandler.class);
+        var resolver = context.getBean(SpringCqrsHandlerResolver.class);
+        var before = resolver.resolveQueryDispatch(new EchoQuery("a"));
+
+        context.publishEvent(new ContextRefreshedEvent(context));
+
+        assertThat(resolver.resolveQueryDispatch(new EchoQuery("a"))).isNotSameAs(before);
+    }
+
+    @Test
+    void missingHandlerIsReportedOnEveryCall() {
+        var mediator = mediatorWith(EchoQueryHandler.class);
+
+        assertThatThrownBy(() -> mediator.executeQuery(new CountingQuery()))
+                .isInstanceOf(CqrsHandlerResolutionException.class)
+                .hasMessageContaining("No query handler found");
+        assertThatThrownBy(() -> mediator.executeQuery(new CountingQuery()))
+                .isInstanceOf(CqrsHandlerResolutionException.class);
+    }
+
+    private SpringMediator mediatorWith(Class<?>... beanClasses) {
+        context = new AnnotationConfigApplicationContext();
+        context.register(SpringCqrsHandlerResolver.class, SpringMediator.class);
+        context.register(beanClasses);
+        context.refresh();
+        return context.getBean(SpringMediator.class);
+    }
+
+    record EchoQuery(String value) implements Query<String> {}
+
+    record CountingQuery() implements Query<Integer> {}
+
+    static class EchoQueryHandler implements QueryHandler<EchoQuery, String> {
+        @Override
+        public String handle(EchoQuery query) {
+            return query.value();
+        }
+    }
+
+    @Scope(BeanDefinition.SCOPE_PROTOTYPE)
+    static class PrototypeCountingQueryHandler implements QueryHandler<CountingQuery, Integer> {
+        static final AtomicInteger INSTANCES = new AtomicInteger();
+
+        PrototypeCountingQueryHandler() {
+            INSTANCES.incrementAndGet();
+        }
+
+        @Override
+        public Integer handle(CountingQuery query) {
+            return INSTANCES.get();
+        }
+    }
+
+    @Order(1)
+    static class OuterBehavior<Q extends Query<R>, R> implements QueryBehavior<Q, R> {
+        @Override
+        @SuppressWarnings("unchecked")
+        public R handle(Q query, QueryExecution<Q, R> next) {
+            return (R) "outer(%s)".formatted(next.execute(query));
+        }
+    }
+
+    @Order(2)
+    static class InnerBehavior<Q extends Query<R>, R> implements QueryBehavior<Q, R> {
+        @Override
+        @SuppressWarnings("unchecked")
+        public R handle(Q query, QueryExecution<Q, R> next) {
+            return (R) "inner(%s)".formatted(next.execute(query));
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package app.partsvibe.infra.events.handling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import app.partsvibe.infra.events.jpa.ClaimedEventQueueEntry;
+import app.partsvibe.infra.events.jpa.EventQueueEntry;
+import app.partsvibe.infra.events.jpa.EventQueueEntryStatus;
+import app.partsvibe.infra.events.jpa.EventQueueRepository;
+import app.partsvibe.infra.events.jpa.FailedEntryTransition;
+import app.partsvibe.testsupport.fakes.ManuallySetTimeProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class EventQueueCompletionAggregatorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ManuallySetTimeProvider timeProvider = new ManuallySetTimeProvider();
+    private final RecordingEventQueueRepository repository = new RecordingEventQueueRepository();
+    private final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void tearDown() {
+        flushScheduler.shutdownNow();
+    }
+
+    @Test
+    void flushesAsSoonAsBatchIsFull() throws Exception {
+        var aggregator = aggregator(60_000, 2);
+
+        var first = aggregator.markDone(1);
+        assertThat(first).isNotDone();
+        var second = aggregator.markDone(2);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(repository.doneBatches).containsExactly(List.of(1L, 2L));
+    }
+
+    @Test
+    void flushesPartialBatchAfterInterval() throws Exception {
+        var aggregator = aggregator(20, 64);
+
+        var done = aggregator.markDone(1);
+        var failed = aggregator.markFailed(2, Instant.parse("2024-01-01T00:01:00Z"), "boom");
+
+        assertThat(done.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(failed.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(repository.doneBatches).containsExactly(List.of(1L));
+        assertThat(repository.failedBatches).containsExactly(List.of(2L));
+    }
+
+    @Test
+    void completesWithFalseWhenEntryIsNoLongerProcessing() throws Exception {
+        repository.notProcessing.add(1L);
+        var aggregator = aggregator(0, 64);
+
+        assertThat(aggregator.markDone(1).get(5, TimeUnit.SECONDS)).isFalse();
+    }
+
+    @Test
+    void requeuesBatchWhenFlushFails() throws Exception {
+        repository.failuresLeft.set(1);
+        var aggregator = aggregator(20, 64);
+
+        var done = aggregator.markDone(1);
+
+        assertThat(done.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(repository.doneAttempts.get()).isEqualTo(2);
+        assertThat(meterRegistry.counter("app.event-queue.completions.flush-errors").count()).isEqualTo(1);
+    }
+
+    @Test
+    void givesUpAfterMaxFlushAttempts() {
+        repository.failuresLeft.set(Integer.MAX_VALUE);
+        var aggregator = aggregator(20, 64);
+
+        var done = aggregator.markDone(1);
+
+        assertThatThrownBy(() -> done.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        assertThat(repository.doneAttempts.get()).isEqualTo(EventQueueCompletionAggregator.MAX_FLUSH_ATTEMPTS);
+    }
+
+    @Test
+    void flushesPendingCompletionsOnShutdown() throws Exception {
+        var aggregator = aggregator(60_000, 64);
+        var done = aggregator.markDone(1);
+
+        aggregator.flushOnShutdown();
+
+        assertThat(done.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("app.event-queue.completions.pending").gauge().value()).isZero();
+    }
+
+    private EventQueueCompletionAggregator aggregator(long flushIntervalMs, int flushBatchSize) {
+        var properties = new EventQueueDispatcherProperties();
+        properties.setCompletionFlushIntervalMs(flushIntervalMs);
+        properties.setCompletionFlushBatchSize(flushBatchSize);
+        var aggregator =
+                new EventQueueCompletionAggregator(properties, repository, timeProvider, flushScheduler, meterRegistry);
+        aggregator.startPeriodicFlush();
+        return aggregator;
+    }
+
+    private static final class RecordingEventQueueRepository implements EventQueueRepository {
+        private final List<List<Long>> doneBatches = new CopyOnWriteArrayList<>();
+        private final List<List<Long>> failedBatches = new CopyOnWriteArrayList<>();
+        private final Set<Long> notProcessing = new ConcurrentSkipListSet<>();
+        private final AtomicInteger failuresLeft = new AtomicInteger();
+        private final AtomicInteger doneAttempts = new AtomicInteger();
+
+        @Override
+        public Set<Long> markEntriesAsDone(Collection<Long> ids, Instant now) {
+            doneAttempts.incrementAndGet();
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            doneBatches.add(List.copyOf(ids));
+            return updated(ids);
+        }
+
+        @Override
+        public Set<Long> markEntriesAsFailed(Collection<FailedEntryTransition> transitions, Instant now) {
+            var ids = transitions.stream().map(FailedEntryTransition::id).toList();
+            failedBatches.add(ids);
+            return updated(ids);
+        }
+
+        private Set<Long> updated(Collection<Long> ids) {
+            return ids.stream().filter(id -> !notProcessing.contains(id)).collect(Collectors.toSet());
+        }
+
+        @Override
+        public EventQueueEntry save(EventQueueEntry entry) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void notifyEntriesAvailable() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int recoverTimedOutProcessingEntries(Instant lockedBefore, Instant now) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int deleteEntriesByStatusOlderThan(EventQueueEntryStatus status, Instant cutoff, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ClaimedEventQueueEntry> claimEntriesForProcessing(
+                int batchSize, int maxAttempts, String workerId, Instant now) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ClaimedEventQueueEntry> claimEntriesForProcessing(
+                Map<String, Integer> limitsByEventName,
+                int otherEventsLimit,
+                int maxAttempts,
+                String workerId,
+                Instant now) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int releaseClaimedEntry(long id, Instant nextAttemptAt, Instant now) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
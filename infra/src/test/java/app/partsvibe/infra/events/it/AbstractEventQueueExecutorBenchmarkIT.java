@@ -0,0 +1,103 @@
+package app.partsvibe.infra.events.it;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.infra.events.it.support.QueueTestEvent;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+// Run both subclasses with -Dit.benchmarks=true and compare the logged results, see README.md.
+@EnabledIfSystemProperty(named = "it.benchmarks", matches = "true")
+abstract class AbstractEventQueueExecutorBenchmarkIT extends AbstractEventQueueDatabaseIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(AbstractEventQueueExecutorBenchmarkIT.class);
+
+    private static final int ENTRIES = 2_000;
+    // Handlers sleep to simulate blocking I/O (SMTP, ClamAV, filesystem).
+    private static final long HANDLER_BLOCKING_MS = 20;
+    private static final Duration MAX_DURATION = Duration.ofMinutes(5);
+
+    @DynamicPropertySource
+    static void configureBenchmarkProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.events.dispatcher.thread-pool-size", () -> "32");
+        registry.add("app.events.dispatcher.thread-pool-queue-capacity", () -> "8");
+        registry.add("app.events.dispatcher.virtual-thread-max-in-flight", () -> "512");
+        registry.add("app.events.dispatcher.handler-timeout-ms", () -> "60000");
+        registry.add("app.events.dispatcher.processing-timeout-ms", () -> "120000");
+    }
+
+    protected abstract String executorMode();
+
+    @Test
+    void processesBlockingHandlersToCompletion() throws InterruptedException {
+        seedEntries();
+        var memory = ManagementFactory.getMemoryMXBean();
+        var threads = ManagementFactory.getThreadMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        threads.resetPeakThreadCount();
+        var peakHeap = new AtomicLong(heapBefore);
+
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + MAX_DURATION.toNanos();
+        long done;
+        do {
+            eventQueueDispatcher.pollAndDispatch();
+            peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+            Thread.sleep(5);
+            done = doneCount();
+        } while (done < ENTRIES && System.nanoTime() < deadline);
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        log.info(
+                "Event queue executor benchmark. executor={}, entries={}, handlerBlockingMs={}, entriesPerSecond={}, peakHeapGrowthMb={}, peakPlatformThreads={}",
+                executorMode(),
+                ENTRIES,
+                HANDLER_BLOCKING_MS,
+                "%.0f".formatted(done / elapsedSeconds),
+                "%.1f".formatted((peakHeap.get() - heapBefore) / (1024.0 * 1024.0)),
+                threads.getPeakThreadCount());
+        assertThat(done).isEqualTo(ENTRIES);
+    }
+
+    private void seedEntries() {
+        inTx(() -> {
+            entityManager
+                    .createNativeQuery(
+                            """
+                            INSERT INTO event_queue (
+                                id, event_id, event_name, schema_version, request_id, published_at, published_by,
+                                payload, status, attempt_count, next_attempt_at, updated_at)
+                            SELECT nextval('event_queue_id_seq'),
+                                   event_id,
+                                   :eventName,
+                                   1,
+                                   'req-benchmark',
+                                   now(),
+                                   'benchmark',
+                                   jsonb_build_object(
+                                       'eventId', event_id,
+                                       'key', 'benchmark-' || n,
+                                       'failAttempts', 0,
+                                       'processingDelayMs', :processingDelayMs),
+                                   'NEW',
+                                   0,
+                                   now() - interval '1 second',
+                                   now()
+                            FROM generate_series(1, :entries) AS n
+                            CROSS JOIN LATERAL (SELECT gen_random_uuid() AS event_id) AS generated
+                            """)
+                    .setParameter("eventName", QueueTestEvent.EVENT_NAME)
+                    .setParameter("processingDelayMs", HANDLER_BLOCKING_MS)
+                    .setParameter("entries", ENTRIES)
+                    .executeUpdate();
+            return null;
+        });
+    }
+}
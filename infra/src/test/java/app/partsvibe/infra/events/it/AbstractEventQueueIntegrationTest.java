@@ -15,6 +15,8 @@ public abstract class AbstractEventQueueIntegrationTest {
         IntegrationTestDatabase.registerSharedProperties(registry);
 
         registry.add("app.events.dispatcher.enabled", () -> "true");
+        // Tests drive pollAndDispatch() explicitly; the background loop is started only where a test needs it.
+        registry.add("app.events.dispatcher.dispatch-loop-enabled", () -> "false");
         registry.add("app.events.dispatcher.poll-interval-ms", () -> "100");
         registry.add("app.events.dispatcher.max-attempts", () -> "3");
         registry.add("app.events.dispatcher.thread-pool-size", () -> "4");
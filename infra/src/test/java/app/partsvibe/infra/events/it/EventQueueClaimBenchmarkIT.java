@@ -0,0 +1,147 @@
+package app.partsvibe.infra.events.it;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.infra.events.it.support.QueueTestEvent;
+import app.partsvibe.infra.events.jpa.ClaimedEventQueueEntry;
+import app.partsvibe.infra.events.jpa.EventQueueEntry;
+import app.partsvibe.infra.events.jpa.EventQueueEntryStatus;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.IntSupplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Run with -Dit.benchmarks=true, see README.md.
+@EnabledIfSystemProperty(named = "it.benchmarks", matches = "true")
+class EventQueueClaimBenchmarkIT extends AbstractEventQueueDatabaseIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(EventQueueClaimBenchmarkIT.class);
+
+    private static final int ENTRIES = 5_000;
+    private static final int BATCH_SIZE = 32;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String WORKER_ID = "benchmark-worker";
+
+    @Test
+    void singleStatementClaimOutperformsSelectUpdateReloadClaim() {
+        double legacyClaimsPerSecond = measureClaimsPerSecond("select-update-reload", this::legacyClaimBatch);
+        double claimsPerSecond = measureClaimsPerSecond("update-returning", () -> eventQueueRepository
+                .claimEntriesForProcessing(BATCH_SIZE, MAX_ATTEMPTS, WORKER_ID, Instant.now())
+                .size());
+
+        log.info(
+                "Event queue claim benchmark. entries={}, batchSize={}, selectUpdateReloadClaimsPerSecond={}, updateReturningClaimsPerSecond={}, speedup={}",
+                ENTRIES,
+                BATCH_SIZE,
+                "%.0f".formatted(legacyClaimsPerSecond),
+                "%.0f".formatted(claimsPerSecond),
+                "%.2f".formatted(claimsPerSecond / legacyClaimsPerSecond));
+        assertThat(claimsPerSecond).isPositive();
+    }
+
+    private double measureClaimsPerSecond(String variant, IntSupplier claimBatch) {
+        seedEntries();
+
+        long startedAt = System.nanoTime();
+        int claimed = 0;
+        int lastBatch;
+        do {
+            lastBatch = claimBatch.getAsInt();
+            claimed += lastBatch;
+        } while (lastBatch > 0);
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        assertThat(claimed).as("claimed entries for %s", variant).isEqualTo(ENTRIES);
+        return claimed / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    private void seedEntries() {
+        inTx(() -> {
+            entityManager.createQuery("DELETE FROM EventQueueEntry").executeUpdate();
+            entityManager
+                    .createNativeQuery(
+                            """
+                            INSERT INTO event_queue (
+                                id, event_id, event_name, schema_version, request_id, published_at, published_by,
+                                payload, status, attempt_count, next_attempt_at, updated_at)
+                            SELECT nextval('event_queue_id_seq'),
+                                   gen_random_uuid(),
+                                   :eventName,
+                                   1,
+                                   'req-benchmark',
+                                   now(),
+                                   'benchmark',
+                                   jsonb_build_object(
+                                       'eventId', gen_random_uuid(),
+                                       'key', 'benchmark-' || n,
+                                       'failAttempts', 0,
+                                       'processingDelayMs', 0,
+                                       'padding', repeat('x', 512)),
+                                   'NEW',
+                                   0,
+                                   now() - interval '1 second',
+                                   now()
+                            FROM generate_series(1, :entries) AS n
+                            """)
+                    .setParameter("eventName", QueueTestEvent.EVENT_NAME)
+                    .setParameter("entries", ENTRIES)
+                    .executeUpdate();
+            return null;
+        });
+    }
+
+    // Mirrors the previous claim path: SELECT ... SKIP LOCKED, JPQL UPDATE, then reload of full entities.
+    private int legacyClaimBatch() {
+        return inTx(() -> {
+            var now = Instant.now();
+            @SuppressWarnings("unchecked")
+            var ids = ((List<Number>) entityManager
+                            .createNativeQuery(
+                                    """
+                                    SELECT id
+                                    FROM event_queue
+                                    WHERE status IN ('NEW', 'FAILED')
+                                      AND next_attempt_at <= :now
+                                      AND attempt_count < :maxAttempts
+                                    ORDER BY id
+                                    FOR UPDATE SKIP LOCKED
+                                    LIMIT :batchSize
+                                    """)
+                            .setParameter("now", now)
+                            .setParameter("maxAttempts", MAX_ATTEMPTS)
+                            .setParameter("batchSize", BATCH_SIZE)
+                            .getResultList())
+                    .stream()
+                    .map(Number::longValue)
+                    .toList();
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            entityManager
+                    .createQuery(
+                            """
+                            UPDATE EventQueueEntry e
+                            SET e.status = :processingStatus,
+                                e.lockedAt = :now,
+                                e.lockedBy = :workerId,
+                                e.attemptCount = e.attemptCount + 1,
+                                e.updatedAt = :now
+                            WHERE e.id IN :ids
+                            """)
+                    .setParameter("processingStatus", EventQueueEntryStatus.PROCESSING)
+                    .setParameter("now", now)
+                    .setParameter("workerId", WORKER_ID)
+                    .setParameter("ids", ids)
+                    .executeUpdate();
+            return entityManager
+                    .createQuery("SELECT e FROM EventQueueEntry e WHERE e.id IN :ids", EventQueueEntry.class)
+                    .setParameter("ids", ids)
+                    .getResultStream()
+                    .map(ClaimedEventQueueEntry::fromEntity)
+                    .toList()
+                    .size();
+        });
+    }
+}
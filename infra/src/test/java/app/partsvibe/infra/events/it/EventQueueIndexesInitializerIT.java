@@ -0,0 +1,30 @@
+package app.partsvibe.infra.events.it;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.infra.events.jpa.EventQueueIndexesInitializer;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class EventQueueIndexesInitializerIT extends AbstractEventQueueDatabaseIntegrationTest {
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void createsIndexesMissingFromExistingTable() {
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // Dropped and recreated in one transaction, so other tests never see the table without the index.
+        inTx(() -> {
+            jdbcTemplate.execute("DROP INDEX idx_event_queue_event_name_status_next_attempt_id");
+            new EventQueueIndexesInitializer(dataSource).afterPropertiesSet();
+            return null;
+        });
+
+        assertThat(jdbcTemplate.queryForList(
+                        "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema()", String.class))
+                .contains("idx_event_queue_event_name_status_next_attempt_id");
+    }
+}
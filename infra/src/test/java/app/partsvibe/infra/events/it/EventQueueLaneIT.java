@@ -0,0 +1,85 @@
+package app.partsvibe.infra.events.it;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.infra.events.it.support.QueueTestEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+class EventQueueLaneIT extends AbstractEventQueueDatabaseIntegrationTest {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void configureLanes(DynamicPropertyRegistry registry) {
+        registry.add("app.events.dispatcher.lanes[0].event-name", () -> QueueTestEvent.EVENT_NAME);
+        registry.add("app.events.dispatcher.lanes[0].max-concurrency", () -> "1");
+        registry.add("app.events.dispatcher.lanes[0].priority", () -> "2");
+    }
+
+    @Test
+    void laneLimitsConcurrencyOfItsEventName() {
+        for (int i = 0; i < 4; i++) {
+            publish(QueueTestEvent.create("lane-" + i, 0, 100));
+        }
+
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .pollInterval(Duration.ofMillis(20))
+                .untilAsserted(() -> {
+                    eventQueueDispatcher.pollAndDispatch();
+                    assertThat(doneCount()).isEqualTo(4);
+                });
+
+        assertThat(probe.totalCompletions()).isEqualTo(4);
+        assertThat(probe.maxParallelism()).isEqualTo(1);
+    }
+
+    @Test
+    void fullLaneIsNotClaimedThroughDefaultLane() {
+        for (int i = 0; i < 3; i++) {
+            publish(QueueTestEvent.create("full-lane-" + i, 0, 500));
+        }
+
+        // The first poll fills the lane; the default lane still has capacity on the following ones.
+        for (int poll = 0; poll < 3; poll++) {
+            eventQueueDispatcher.pollAndDispatch();
+        }
+
+        assertThat(meterRegistry
+                        .get("app.event-queue.lane.in-flight")
+                        .tag("lane", QueueTestEvent.EVENT_NAME)
+                        .gauge()
+                        .value())
+                .isEqualTo(1.0);
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .pollInterval(Duration.ofMillis(20))
+                .untilAsserted(() -> {
+                    eventQueueDispatcher.pollAndDispatch();
+                    assertThat(doneCount()).isEqualTo(3);
+                });
+        assertThat(probe.maxParallelism()).isEqualTo(1);
+    }
+
+    @Test
+    void laneOccupancyIsReportedPerEventName() {
+        assertThat(meterRegistry
+                        .get("app.event-queue.lane.max-concurrency")
+                        .tag("lane", QueueTestEvent.EVENT_NAME)
+                        .gauge()
+                        .value())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry
+                        .get("app.event-queue.lane.in-flight")
+                        .tag("lane", QueueTestEvent.EVENT_NAME)
+                        .gauge()
+                        .value())
+                .isZero();
+    }
+}
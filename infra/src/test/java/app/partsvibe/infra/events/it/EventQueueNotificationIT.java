@@ -0,0 +1,68 @@
+package app.partsvibe.infra.events.it;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.infra.events.handling.EventQueueDispatchLoop;
+import app.partsvibe.infra.events.it.support.QueueTestEvent;
+import app.partsvibe.infra.events.jpa.EventQueueEntryStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class EventQueueNotificationIT extends AbstractEventQueueDatabaseIntegrationTest {
+    @Autowired
+    private EventQueueDispatchLoop eventQueueDispatchLoop;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void startDispatchLoop() {
+        eventQueueDispatchLoop.start();
+    }
+
+    @AfterEach
+    void stopDispatchLoop() {
+        eventQueueDispatchLoop.stop();
+    }
+
+    @Test
+    void publishedEventWakesUpDispatcherThroughNotification() {
+        double notificationsBefore = receivedNotifications();
+        QueueTestEvent event = QueueTestEvent.create("notified", 0, 0);
+
+        publish(event);
+
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(5))
+                .pollInterval(Duration.ofMillis(20))
+                .untilAsserted(() -> {
+                    assertThat(entryByEventId(event.eventId()).getStatus()).isEqualTo(EventQueueEntryStatus.DONE);
+                    assertThat(receivedNotifications()).isGreaterThan(notificationsBefore);
+                });
+        assertThat(probe.completions("notified")).isEqualTo(1);
+    }
+
+    @Test
+    void transactionPublishingSeveralEventsIsProcessedCompletely() {
+        inTx(() -> {
+            for (int i = 0; i < 5; i++) {
+                eventPublisher.publish(QueueTestEvent.create("batch-" + i, 0, 0));
+            }
+            return null;
+        });
+
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(5))
+                .pollInterval(Duration.ofMillis(20))
+                .untilAsserted(() -> assertThat(doneCount()).isEqualTo(5));
+    }
+
+    private double receivedNotifications() {
+        return meterRegistry.counter("app.event-queue.notifications.received").count();
+    }
+}
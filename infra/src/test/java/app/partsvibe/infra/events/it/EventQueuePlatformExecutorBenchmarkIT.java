@@ -0,0 +1,16 @@
+package app.partsvibe.infra.events.it;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+class EventQueuePlatformExecutorBenchmarkIT extends AbstractEventQueueExecutorBenchmarkIT {
+    @DynamicPropertySource
+    static void configureExecutor(DynamicPropertyRegistry registry) {
+        registry.add("app.events.dispatcher.executor", () -> "platform");
+    }
+
+    @Override
+    protected String executorMode() {
+        return "platform";
+    }
+}
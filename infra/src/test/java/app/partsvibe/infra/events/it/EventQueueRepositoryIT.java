@@ -5,12 +5,17 @@ import static org.assertj.core.api.Assertions.assertThat;
 import app.partsvibe.infra.events.it.support.QueueTestEvent;
 import app.partsvibe.infra.events.jpa.EventQueueEntry;
 import app.partsvibe.infra.events.jpa.EventQueueEntryStatus;
+import app.partsvibe.infra.events.jpa.FailedEntryTransition;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 
 class EventQueueRepositoryIT extends AbstractEventQueueDatabaseIntegrationTest {
+    private static final String OTHER_EVENT_NAME = "queue_other_event";
+
     @Test
     void claimEntriesForProcessingMarksRowsAsProcessingAndIncrementsAttemptCount() {
         UUID firstEventId = UUID.randomUUID();
@@ -36,7 +41,46 @@ class EventQueueRepositoryIT extends AbstractEventQueueDatabaseIntegrationTest {
     }
 
     @Test
-    void markEntryAsDoneTransitionsOnlyProcessingRows() {
+    void claimEntriesForProcessingPerLaneLimitsEachEventNameSeparately() {
+        inTx(() -> {
+            for (int i = 0; i < 3; i++) {
+                eventQueueRepository.save(newEntry(UUID.randomUUID(), "repo-lane-" + i));
+            }
+            for (int i = 0; i < 3; i++) {
+                eventQueueRepository.save(newEntry(UUID.randomUUID(), OTHER_EVENT_NAME, "repo-other-" + i));
+            }
+            return null;
+        });
+
+        List<app.partsvibe.infra.events.jpa.ClaimedEventQueueEntry> claimed = inTx(() -> eventQueueRepository
+                .claimEntriesForProcessing(Map.of(QueueTestEvent.EVENT_NAME, 2), 1, 3, "repo-worker", Instant.now()));
+
+        assertThat(claimed)
+                .extracting(app.partsvibe.infra.events.jpa.ClaimedEventQueueEntry::eventName)
+                .containsExactlyInAnyOrder(QueueTestEvent.EVENT_NAME, QueueTestEvent.EVENT_NAME, OTHER_EVENT_NAME);
+        assertThat(claimed).allSatisfy(entry -> assertThat(entry.attemptCount()).isEqualTo(1));
+    }
+
+    @Test
+    void claimEntriesForProcessingLeavesEntriesOfFullLaneToTheLane() {
+        inTx(() -> {
+            for (int i = 0; i < 3; i++) {
+                eventQueueRepository.save(newEntry(UUID.randomUUID(), "repo-full-lane-" + i));
+            }
+            eventQueueRepository.save(newEntry(UUID.randomUUID(), OTHER_EVENT_NAME, "repo-full-other"));
+            return null;
+        });
+
+        List<app.partsvibe.infra.events.jpa.ClaimedEventQueueEntry> claimed = inTx(() -> eventQueueRepository
+                .claimEntriesForProcessing(Map.of(QueueTestEvent.EVENT_NAME, 0), 10, 3, "repo-worker", Instant.now()));
+
+        assertThat(claimed)
+                .extracting(app.partsvibe.infra.events.jpa.ClaimedEventQueueEntry::eventName)
+                .containsExactly(OTHER_EVENT_NAME);
+    }
+
+    @Test
+    void markEntriesAsDoneTransitionsOnlyProcessingRows() {
         UUID eventId = UUID.randomUUID();
         EventQueueEntry entry = inTx(() -> eventQueueRepository.save(newEntry(eventId, "repo-done")));
         inTx(() -> {
@@ -44,12 +88,64 @@ class EventQueueRepositoryIT extends AbstractEventQueueDatabaseIntegrationTest {
             return null;
         });
 
-        int updated = inTx(() -> eventQueueRepository.markEntryAsDone(entry.getId(), Instant.now()));
-        assertThat(updated).isEqualTo(1);
+        Set<Long> updated = inTx(() -> eventQueueRepository.markEntriesAsDone(List.of(entry.getId()), Instant.now()));
+        assertThat(updated).containsExactly(entry.getId());
         assertThat(entryByEventId(eventId).getStatus()).isEqualTo(EventQueueEntryStatus.DONE);
 
-        int updatedAgain = inTx(() -> eventQueueRepository.markEntryAsDone(entry.getId(), Instant.now()));
-        assertThat(updatedAgain).isEqualTo(0);
+        Set<Long> updatedAgain =
+                inTx(() -> eventQueueRepository.markEntriesAsDone(List.of(entry.getId()), Instant.now()));
+        assertThat(updatedAgain).isEmpty();
+    }
+
+    @Test
+    void markEntriesAsDoneTransitionsBatchAndSkipsRowsNoLongerProcessing() {
+        UUID firstEventId = UUID.randomUUID();
+        UUID secondEventId = UUID.randomUUID();
+        EventQueueEntry first = inTx(() -> eventQueueRepository.save(newEntry(firstEventId, "repo-batch-done-1")));
+        EventQueueEntry second = inTx(() -> eventQueueRepository.save(newEntry(secondEventId, "repo-batch-done-2")));
+        inTx(() -> {
+            eventQueueRepository.claimEntriesForProcessing(10, 3, "repo-worker", Instant.now());
+            return null;
+        });
+        inTx(() -> eventQueueRepository.markEntriesAsDone(List.of(second.getId()), Instant.now()));
+
+        Set<Long> updated = inTx(
+                () -> eventQueueRepository.markEntriesAsDone(List.of(first.getId(), second.getId()), Instant.now()));
+
+        assertThat(updated).containsExactly(first.getId());
+        EventQueueEntry saved = entryByEventId(firstEventId);
+        assertThat(saved.getStatus()).isEqualTo(EventQueueEntryStatus.DONE);
+        assertThat(saved.getLockedBy()).isNull();
+    }
+
+    @Test
+    void markEntriesAsFailedStoresPerEntryRetryTimeAndError() {
+        UUID firstEventId = UUID.randomUUID();
+        UUID secondEventId = UUID.randomUUID();
+        EventQueueEntry first = inTx(() -> eventQueueRepository.save(newEntry(firstEventId, "repo-batch-failed-1")));
+        EventQueueEntry second =
+                inTx(() -> eventQueueRepository.save(newEntry(secondEventId, "repo-batch-failed-2")));
+        inTx(() -> {
+            eventQueueRepository.claimEntriesForProcessing(10, 3, "repo-worker", Instant.now());
+            return null;
+        });
+        Instant firstRetryAt = Instant.parse("2030-01-01T10:00:00Z");
+        Instant secondRetryAt = Instant.parse("2030-01-01T11:00:00Z");
+
+        Set<Long> updated = inTx(() -> eventQueueRepository.markEntriesAsFailed(
+                List.of(
+                        new FailedEntryTransition(first.getId(), firstRetryAt, "first error"),
+                        new FailedEntryTransition(second.getId(), secondRetryAt, "second error")),
+                Instant.now()));
+
+        assertThat(updated).containsExactlyInAnyOrder(first.getId(), second.getId());
+        EventQueueEntry savedFirst = entryByEventId(firstEventId);
+        EventQueueEntry savedSecond = entryByEventId(secondEventId);
+        assertThat(savedFirst.getStatus()).isEqualTo(EventQueueEntryStatus.FAILED);
+        assertThat(savedFirst.getNextAttemptAt()).isEqualTo(firstRetryAt);
+        assertThat(savedFirst.getLastError()).isEqualTo("first error");
+        assertThat(savedSecond.getNextAttemptAt()).isEqualTo(secondRetryAt);
+        assertThat(savedSecond.getLastError()).isEqualTo("second error");
     }
 
     @Test
@@ -72,9 +168,13 @@ class EventQueueRepositoryIT extends AbstractEventQueueDatabaseIntegrationTest {
     }
 
     private static EventQueueEntry newEntry(UUID eventId, String key) {
+        return newEntry(eventId, QueueTestEvent.EVENT_NAME, key);
+    }
+
+    private static EventQueueEntry newEntry(UUID eventId, String eventName, String key) {
         return EventQueueEntry.newEvent(
                 eventId,
-                QueueTestEvent.EVENT_NAME,
+                eventName,
                 1,
                 "req-repo",
                 Instant.now(),
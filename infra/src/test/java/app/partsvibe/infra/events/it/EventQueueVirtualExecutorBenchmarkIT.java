@@ -0,0 +1,16 @@
+package app.partsvibe.infra.events.it;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+class EventQueueVirtualExecutorBenchmarkIT extends AbstractEventQueueExecutorBenchmarkIT {
+    @DynamicPropertySource
+    static void configureExecutor(DynamicPropertyRegistry registry) {
+        registry.add("app.events.dispatcher.executor", () -> "virtual");
+    }
+
+    @Override
+    protected String executorMode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,57 @@
+package app.partsvibe.infra.events.it;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.infra.events.it.support.QueueTestEvent;
+import app.partsvibe.infra.events.jpa.EventQueueEntry;
+import app.partsvibe.infra.events.jpa.EventQueueEntryStatus;
+import java.time.Duration;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+class EventQueueVirtualExecutorIT extends AbstractEventQueueDatabaseIntegrationTest {
+    @DynamicPropertySource
+    static void configureExecutor(DynamicPropertyRegistry registry) {
+        registry.add("app.events.dispatcher.executor", () -> "virtual");
+        registry.add("app.events.dispatcher.virtual-thread-max-in-flight", () -> "16");
+    }
+
+    @Test
+    void dispatcherProcessesEventsConcurrentlyOnVirtualThreads() {
+        for (int i = 0; i < 12; i++) {
+            publish(QueueTestEvent.create("virtual-" + i, 0, 200));
+        }
+
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(12))
+                .pollInterval(Duration.ofMillis(20))
+                .untilAsserted(() -> {
+                    eventQueueDispatcher.pollAndDispatch();
+                    assertThat(doneCount()).isEqualTo(12);
+                });
+
+        assertThat(probe.totalCompletions()).isEqualTo(12);
+        // Platform mode would cap this at thread-pool-size (4 in tests).
+        assertThat(probe.maxParallelism()).isGreaterThan(4);
+    }
+
+    @Test
+    void timeoutWatchdogMarksTimedOutEventAsFailedOnVirtualThreads() {
+        QueueTestEvent event = QueueTestEvent.create("virtual-timeout", 0, 1_200);
+        publish(event);
+
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(8))
+                .pollInterval(Duration.ofMillis(20))
+                .untilAsserted(() -> {
+                    eventQueueDispatcher.pollAndDispatch();
+                    EventQueueEntry saved = entryByEventId(event.eventId());
+                    assertThat(saved.getStatus()).isEqualTo(EventQueueEntryStatus.FAILED);
+                    assertThat(saved.getAttemptCount()).isEqualTo(3);
+                });
+
+        assertThat(probe.completions("virtual-timeout")).isEqualTo(0);
+    }
+}
@@ -0,0 +1,17 @@
+package app.partsvibe.search.api;
+
+import java.time.Instant;
+import java.util.List;
+
+public record CatalogPartDocument(
+        long partId,
+        String name,
+        String description,
+        long categoryId,
+        String categoryName,
+        List<String> tags,
+        Instant updatedAt) {
+    public CatalogPartDocument {
+        tags = tags == null ? List.of() : List.copyOf(tags);
+    }
+}
@@ -0,0 +1,7 @@
+package app.partsvibe.search.api;
+
+public enum CatalogSearchFacet {
+    // Values are category ids.
+    CATEGORY,
+    TAG
+}
@@ -0,0 +1,3 @@
+package app.partsvibe.search.api;
+
+public record CatalogSearchFacetValue(String value, long count) {}
@@ -0,0 +1,10 @@
+package app.partsvibe.search.api;
+
+// Stored fields a search may ask for; the id and part id of a hit are always returned.
+public enum CatalogSearchField {
+    NAME,
+    DESCRIPTION,
+    CATEGORY,
+    TAGS,
+    UPDATED_AT
+}
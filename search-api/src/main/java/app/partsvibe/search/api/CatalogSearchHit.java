@@ -1,3 +1,28 @@
 package app.partsvibe.search.api;
 
-public record CatalogSearchHit(String id, String content) {}
+import java.time.Instant;
+import java.util.List;
+
+// Fields that were not requested are null. The highlight is the best matching fragment of the name or description,
+// split into plain and matched parts so it can be rendered without trusting markup from the index.
+public record CatalogSearchHit(
+        String id,
+        long partId,
+        String name,
+        String description,
+        Long categoryId,
+        String categoryName,
+        List<String> tags,
+        Instant updatedAt,
+        List<HighlightPart> highlight) {
+    public CatalogSearchHit {
+        tags = tags == null ? null : List.copyOf(tags);
+        highlight = highlight == null ? List.of() : List.copyOf(highlight);
+    }
+
+    public boolean hasHighlight() {
+        return !highlight.isEmpty();
+    }
+
+    public record HighlightPart(String text, boolean matched) {}
+}
@@ -0,0 +1,30 @@
+package app.partsvibe.search.api;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// A blank queryText matches every part, which lets filters and facets be browsed without a search term. The cursor is
+// the nextCursor of the previous page, null for the first page.
+public record CatalogSearchRequest(
+        String queryText,
+        Long categoryId,
+        List<String> tags,
+        CatalogSearchSort sort,
+        Set<CatalogSearchField> fields,
+        Set<CatalogSearchFacet> facets,
+        boolean highlight,
+        String cursor,
+        int pageSize) {
+    public CatalogSearchRequest {
+        tags = tags == null ? List.of() : List.copyOf(tags);
+        sort = sort == null ? CatalogSearchSort.RELEVANCE : sort;
+        fields = fields == null || fields.isEmpty()
+                ? Set.copyOf(EnumSet.allOf(CatalogSearchField.class))
+                : Set.copyOf(fields);
+        facets = facets == null ? Set.of() : Set.copyOf(facets);
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive. pageSize=" + pageSize);
+        }
+    }
+}
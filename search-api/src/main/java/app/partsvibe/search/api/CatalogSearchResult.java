@@ -1,25 +1,33 @@
 package app.partsvibe.search.api;
 
 import java.util.List;
+import java.util.Map;
 
-public record CatalogSearchResult(List<CatalogSearchHit> hits, long total, int page, int pageSize) {
+// nextCursor is null on the last page.
+public record CatalogSearchResult(
+        List<CatalogSearchHit> hits,
+        long total,
+        String cursor,
+        String nextCursor,
+        Map<CatalogSearchFacet, List<CatalogSearchFacetValue>> facets) {
     public CatalogSearchResult {
         hits = List.copyOf(hits);
+        facets = facets == null ? Map.of() : Map.copyOf(facets);
     }
 
-    public boolean hasNext() {
-        return (long) (page + 1) * pageSize < total;
+    public static CatalogSearchResult empty() {
+        return new CatalogSearchResult(List.of(), 0, null, null, Map.of());
     }
 
-    public boolean hasPrev() {
-        return page > 0;
+    public boolean hasNext() {
+        return nextCursor != null;
     }
 
-    public int nextPage() {
-        return page + 1;
+    public boolean isFirstPage() {
+        return cursor == null;
     }
 
-    public int prevPage() {
-        return page - 1;
+    public List<CatalogSearchFacetValue> facet(CatalogSearchFacet facet) {
+        return facets.getOrDefault(facet, List.of());
     }
 }
@@ -0,0 +1,7 @@
+package app.partsvibe.search.api;
+
+public enum CatalogSearchSort {
+    RELEVANCE,
+    NAME,
+    NEWEST
+}
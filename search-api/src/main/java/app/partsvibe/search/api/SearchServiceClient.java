@@ -1,7 +1,19 @@
 package app.partsvibe.search.api;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface SearchServiceClient {
     String indexText(String text);
 
-    CatalogSearchResult search(String queryText, int page, int pageSize);
+    // Documents are keyed by part id, so indexing a part again replaces its previous document. The generation is
+    // stored on every document and is what deleteStaleCatalogParts compares against.
+    void indexCatalogParts(long generation, List<CatalogPartDocument> parts);
+
+    // Removes part documents indexed before the given generation, limited to the given categories; an empty collection
+    // means the whole catalog. Documents of keptPartIds are never removed: the run that calls this indexed them, and a
+    // concurrent run with an older generation may have overwritten them since.
+    void deleteStaleCatalogParts(Collection<Long> categoryIds, Collection<Long> keptPartIds, long generation);
+
+    CatalogSearchResult search(CatalogSearchRequest request);
 }
@@ -0,0 +1,15 @@
+package app.partsvibe.search.api;
+
+import app.partsvibe.shared.error.ApplicationException;
+
+// Solr did not answer in time, failed, or is shielded by the circuit breaker. Callers are expected to degrade rather
+// than fail the page.
+public class SearchUnavailableException extends ApplicationException {
+    public SearchUnavailableException(String message) {
+        super(message);
+    }
+
+    public SearchUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
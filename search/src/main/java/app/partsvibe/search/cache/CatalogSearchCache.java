@@ -0,0 +1,109 @@
+package app.partsvibe.search.cache;
+
+import app.partsvibe.search.api.CatalogSearchFacet;
+import app.partsvibe.search.api.CatalogSearchField;
+import app.partsvibe.search.api.CatalogSearchRequest;
+import app.partsvibe.search.api.CatalogSearchResult;
+import app.partsvibe.search.api.CatalogSearchSort;
+import app.partsvibe.shared.cache.ExpiringCache;
+import app.partsvibe.shared.time.TimeProvider;
+import app.partsvibe.shared.utils.StringUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+// Catalog search pages, bounded by entry count and age. An entry is served only while the index generation it was read
+// at is still current, so this instance never shows results from before its own reindex; other instances catch up
+// within ttlMs.
+//
+// Query text is only trimmed and whitespace-collapsed for the key: tags and category names are matched as exact
+// strings, so case folding could merge searches with different results.
+@Component
+public class CatalogSearchCache {
+    private final SearchIndexGeneration indexGeneration;
+    private final ExpiringCache<Key, Entry> cache;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Timer savedLatency;
+
+    CatalogSearchCache(
+            SearchCacheProperties properties,
+            SearchIndexGeneration indexGeneration,
+            TimeProvider timeProvider,
+            MeterRegistry meterRegistry) {
+        this.indexGeneration = indexGeneration;
+        this.cache = new ExpiringCache<>(
+                "app.search.cache",
+                properties.ttlMs(),
+                properties.maxEntries(),
+                timeProvider,
+                meterRegistry,
+                (entry, now) -> entry.generation() != indexGeneration.current());
+        // The same counters ExpiringCache increments, read back for the hit ratio.
+        this.hitCounter = meterRegistry.counter("app.search.cache.requests", "result", "hit");
+        this.missCounter = meterRegistry.counter("app.search.cache.requests", "result", "miss");
+        // Time the hits would have spent in Solr, taken from the miss that filled the entry.
+        this.savedLatency = meterRegistry.timer("app.search.cache.saved-latency");
+        meterRegistry.gauge("app.search.cache.hit-ratio", this, CatalogSearchCache::hitRatio);
+    }
+
+    public CatalogSearchResult get(CatalogSearchRequest request, Supplier<CatalogSearchResult> loader) {
+        long generation = indexGeneration.current();
+        var loaded = new AtomicBoolean();
+        Entry entry = cache.get(
+                Key.of(request),
+                () -> {
+                    loaded.set(true);
+                    long startedAt = System.nanoTime();
+                    CatalogSearchResult result = loader.get();
+                    return new Entry(result, generation, System.nanoTime() - startedAt);
+                },
+                ignored -> indexGeneration.isSettled(generation));
+        if (!loaded.get()) {
+            savedLatency.record(entry.loadNanos(), TimeUnit.NANOSECONDS);
+        }
+        return entry.result();
+    }
+
+    private double hitRatio() {
+        double hits = hitCounter.count();
+        double total = hits + missCounter.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    private record Entry(CatalogSearchResult result, long generation, long loadNanos) {}
+
+    private record Key(
+            String queryText,
+            Long categoryId,
+            List<String> tags,
+            CatalogSearchSort sort,
+            Set<CatalogSearchField> fields,
+            Set<CatalogSearchFacet> facets,
+            boolean highlight,
+            String cursor,
+            int pageSize) {
+        // Filters are ANDed, so their order does not matter.
+        static Key of(CatalogSearchRequest request) {
+            String queryText = StringUtils.hasText(request.queryText())
+                    ? request.queryText().trim().replaceAll("\\s+", " ")
+                    : null;
+            return new Key(
+                    queryText,
+                    request.categoryId(),
+                    request.tags().stream().distinct().sorted().toList(),
+                    request.sort(),
+                    request.fields(),
+                    request.facets(),
+                    request.highlight(),
+                    request.cursor(),
+                    request.pageSize());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package app.partsvibe.search.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.search.cache")
+public record SearchCacheProperties(
+        // Upper bound on how long another instance may serve results from before a reindex it did not run itself.
+        @DefaultValue("30000") long ttlMs,
+        // Least recently used results are dropped beyond this many entries; 0 disables the cache.
+        @DefaultValue("1000") int maxEntries) {}
@@ -0,0 +1,37 @@
+package app.partsvibe.search.cache;
+
+import app.partsvibe.shared.time.TimeProvider;
+import java.time.Instant;
+import org.springframework.stereotype.Component;
+
+// Counts the index updates sent by this instance. Cached search results remember the generation they were read at and
+// are dropped once it moves on. Updates are committed by commitWithin, so for that long after an update Solr may still
+// answer from the old searcher; results read in that window are not cached at all.
+@Component
+public class SearchIndexGeneration {
+    private final TimeProvider timeProvider;
+
+    private long generation;
+    private Instant settledAt = Instant.MIN;
+
+    SearchIndexGeneration(TimeProvider timeProvider) {
+        this.timeProvider = timeProvider;
+    }
+
+    public synchronized long current() {
+        return generation;
+    }
+
+    public synchronized void bump(long visibleWithinMs) {
+        generation++;
+        Instant visibleAt = timeProvider.now().plusMillis(visibleWithinMs);
+        if (visibleAt.isAfter(settledAt)) {
+            settledAt = visibleAt;
+        }
+    }
+
+    // Whether results read at the given generation reflect every update sent so far.
+    public synchronized boolean isSettled(long readAt) {
+        return readAt == generation && !timeProvider.now().isBefore(settledAt);
+    }
+}
@@ -1,10 +1,16 @@
 package app.partsvibe.search.client;
 
+import app.partsvibe.search.api.CatalogPartDocument;
+import app.partsvibe.search.api.CatalogSearchRequest;
 import app.partsvibe.search.api.CatalogSearchResult;
 import app.partsvibe.search.api.SearchServiceClient;
+import app.partsvibe.search.commands.DeleteStaleCatalogPartsCommand;
+import app.partsvibe.search.commands.IndexCatalogPartsCommand;
 import app.partsvibe.search.commands.IndexTextCommand;
 import app.partsvibe.search.queries.SearchCatalogQuery;
 import app.partsvibe.shared.cqrs.Mediator;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -21,7 +27,18 @@ public class SearchServiceClientImpl implements SearchServiceClient {
     }
 
     @Override
-    public CatalogSearchResult search(String queryText, int page, int pageSize) {
-        return mediator.executeQuery(new SearchCatalogQuery(queryText, page, pageSize));
+    public void indexCatalogParts(long generation, List<CatalogPartDocument> parts) {
+        mediator.executeCommand(new IndexCatalogPartsCommand(generation, parts));
+    }
+
+    @Override
+    public void deleteStaleCatalogParts(Collection<Long> categoryIds, Collection<Long> keptPartIds, long generation) {
+        mediator.executeCommand(
+                new DeleteStaleCatalogPartsCommand(List.copyOf(categoryIds), List.copyOf(keptPartIds), generation));
+    }
+
+    @Override
+    public CatalogSearchResult search(CatalogSearchRequest request) {
+        return mediator.executeQuery(new SearchCatalogQuery(request));
     }
 }
@@ -0,0 +1,14 @@
+package app.partsvibe.search.commands;
+
+import app.partsvibe.shared.cqrs.Command;
+import app.partsvibe.shared.cqrs.NoResult;
+import java.util.List;
+
+// An empty categoryIds list covers the whole catalog. Parts of keptPartIds are never deleted.
+public record DeleteStaleCatalogPartsCommand(List<Long> categoryIds, List<Long> keptPartIds, long generation)
+        implements Command<NoResult> {
+    public DeleteStaleCatalogPartsCommand {
+        categoryIds = categoryIds == null ? List.of() : List.copyOf(categoryIds);
+        keptPartIds = keptPartIds == null ? List.of() : List.copyOf(keptPartIds);
+    }
+}
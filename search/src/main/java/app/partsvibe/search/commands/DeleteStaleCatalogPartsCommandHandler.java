@@ -0,0 +1,42 @@
+package app.partsvibe.search.commands;
+
+import static app.partsvibe.search.solr.schema.CatalogPartFields.*;
+
+import app.partsvibe.search.solr.SolrGateway;
+import app.partsvibe.shared.cqrs.BaseCommandHandler;
+import app.partsvibe.shared.cqrs.NoResult;
+import java.util.stream.Collectors;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.springframework.stereotype.Component;
+
+// Parts that were deleted or moved to another category are not touched by a reindex, so they keep the generation of
+// an earlier run and are removed here. The generation alone is not enough: a full reindex batch that started before an
+// incremental run may overwrite a part after the run indexed it, leaving an older generation on a live part. The run's
+// own parts are therefore excluded by id; the terms parser keeps that clear of the boolean clause limit.
+@Component
+class DeleteStaleCatalogPartsCommandHandler extends BaseCommandHandler<DeleteStaleCatalogPartsCommand, NoResult> {
+    private final SolrGateway solrGateway;
+
+    DeleteStaleCatalogPartsCommandHandler(SolrGateway solrGateway) {
+        this.solrGateway = solrGateway;
+    }
+
+    @Override
+    protected NoResult doHandle(DeleteStaleCatalogPartsCommand command) {
+        String query = DOC_TYPE + ":" + PART_DOC_TYPE + " AND " + INDEX_GENERATION + ":[* TO "
+                + (command.generation() - 1) + "]";
+        if (!command.categoryIds().isEmpty()) {
+            query += " AND " + CATEGORY_ID + ":("
+                    + command.categoryIds().stream().map(String::valueOf).collect(Collectors.joining(" OR ")) + ")";
+        }
+        if (!command.keptPartIds().isEmpty()) {
+            query += " AND NOT _query_:\"{!terms f=" + PART_ID + "}"
+                    + command.keptPartIds().stream().map(String::valueOf).collect(Collectors.joining(",")) + "\"";
+        }
+
+        var request = new UpdateRequest();
+        request.deleteByQuery(query);
+        solrGateway.update(request);
+        return NoResult.INSTANCE;
+    }
+}
@@ -0,0 +1,12 @@
+package app.partsvibe.search.commands;
+
+import app.partsvibe.search.api.CatalogPartDocument;
+import app.partsvibe.shared.cqrs.Command;
+import app.partsvibe.shared.cqrs.NoResult;
+import java.util.List;
+
+public record IndexCatalogPartsCommand(long generation, List<CatalogPartDocument> parts) implements Command<NoResult> {
+    public IndexCatalogPartsCommand {
+        parts = List.copyOf(parts);
+    }
+}
@@ -0,0 +1,59 @@
+package app.partsvibe.search.commands;
+
+import static app.partsvibe.search.solr.schema.CatalogPartFields.*;
+
+import app.partsvibe.search.api.CatalogPartDocument;
+import app.partsvibe.search.solr.SolrGateway;
+import app.partsvibe.shared.cqrs.BaseCommandHandler;
+import app.partsvibe.shared.cqrs.NoResult;
+import java.util.Date;
+import java.util.List;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.common.SolrInputDocument;
+import org.springframework.stereotype.Component;
+
+// One add request per batch. Visibility is left to commitWithin instead of a hard commit, which would open a new
+// searcher per request.
+@Component
+class IndexCatalogPartsCommandHandler extends BaseCommandHandler<IndexCatalogPartsCommand, NoResult> {
+    private final SolrGateway solrGateway;
+
+    IndexCatalogPartsCommandHandler(SolrGateway solrGateway) {
+        this.solrGateway = solrGateway;
+    }
+
+    @Override
+    protected NoResult doHandle(IndexCatalogPartsCommand command) {
+        if (command.parts().isEmpty()) {
+            return NoResult.INSTANCE;
+        }
+
+        List<SolrInputDocument> docs = command.parts().stream()
+                .map(part -> toDocument(part, command.generation()))
+                .toList();
+        var request = new UpdateRequest();
+        request.add(docs);
+        solrGateway.update(request);
+        return NoResult.INSTANCE;
+    }
+
+    private static SolrInputDocument toDocument(CatalogPartDocument part, long generation) {
+        var doc = new SolrInputDocument();
+        doc.addField(ID, documentId(part.partId()));
+        doc.addField(DOC_TYPE, PART_DOC_TYPE);
+        doc.addField(PART_ID, part.partId());
+        doc.addField(NAME, part.name());
+        doc.addField(NAME_EXACT, part.name());
+        doc.addField(DESCRIPTION, part.description());
+        doc.addField(CATEGORY_ID, part.categoryId());
+        doc.addField(CATEGORY_NAME, part.categoryName());
+        part.tags().forEach(tag -> doc.addField(TAGS, tag));
+        if (part.updatedAt() != null) {
+            doc.addField(UPDATED_AT, Date.from(part.updatedAt()));
+        }
+        doc.addField(INDEX_GENERATION, generation);
+        doc.addField(CONTENT, part.name());
+        doc.addField(CONTENT, part.description());
+        return doc;
+    }
+}
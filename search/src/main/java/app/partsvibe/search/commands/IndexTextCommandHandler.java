@@ -1,22 +1,18 @@
 package app.partsvibe.search.commands;
 
-import app.partsvibe.search.solr.config.SolrProperties;
+import app.partsvibe.search.solr.SolrGateway;
 import app.partsvibe.shared.cqrs.BaseCommandHandler;
-import java.io.IOException;
 import java.util.UUID;
-import org.apache.solr.client.solrj.SolrClient;
-import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.UpdateRequest;
 import org.apache.solr.common.SolrInputDocument;
 import org.springframework.stereotype.Component;
 
 @Component
 class IndexTextCommandHandler extends BaseCommandHandler<IndexTextCommand, IndexTextCommandResult> {
-    private final SolrClient solrClient;
-    private final SolrProperties solrProperties;
+    private final SolrGateway solrGateway;
 
-    IndexTextCommandHandler(SolrClient solrClient, SolrProperties solrProperties) {
-        this.solrClient = solrClient;
-        this.solrProperties = solrProperties;
+    IndexTextCommandHandler(SolrGateway solrGateway) {
+        this.solrGateway = solrGateway;
     }
 
     @Override
@@ -26,12 +22,9 @@ class IndexTextCommandHandler extends BaseCommandHandler<IndexTextCommand, Index
         doc.addField("id", id);
         doc.addField("content_txt", command.text());
 
-        try {
-            solrClient.add(solrProperties.core(), doc);
-            solrClient.commit(solrProperties.core());
-            return new IndexTextCommandResult(id);
-        } catch (SolrServerException | IOException e) {
-            throw new IllegalStateException("Failed to index text into Solr.", e);
-        }
+        var request = new UpdateRequest();
+        request.add(doc);
+        solrGateway.update(request);
+        return new IndexTextCommandResult(id);
     }
 }
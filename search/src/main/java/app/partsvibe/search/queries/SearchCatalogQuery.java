@@ -1,6 +1,7 @@
 package app.partsvibe.search.queries;
 
+import app.partsvibe.search.api.CatalogSearchRequest;
 import app.partsvibe.search.api.CatalogSearchResult;
 import app.partsvibe.shared.cqrs.Query;
 
-public record SearchCatalogQuery(String queryText, int page, int pageSize) implements Query<CatalogSearchResult> {}
+public record SearchCatalogQuery(CatalogSearchRequest request) implements Query<CatalogSearchResult> {}
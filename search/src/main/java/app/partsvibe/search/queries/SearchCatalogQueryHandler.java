@@ -1,73 +1,256 @@
 package app.partsvibe.search.queries;
 
+import static app.partsvibe.search.solr.schema.CatalogPartFields.*;
+
+import app.partsvibe.search.api.CatalogSearchFacet;
+import app.partsvibe.search.api.CatalogSearchFacetValue;
+import app.partsvibe.search.api.CatalogSearchField;
 import app.partsvibe.search.api.CatalogSearchHit;
+import app.partsvibe.search.api.CatalogSearchRequest;
 import app.partsvibe.search.api.CatalogSearchResult;
-import app.partsvibe.search.solr.config.SolrProperties;
+import app.partsvibe.search.cache.CatalogSearchCache;
+import app.partsvibe.search.solr.SolrGateway;
 import app.partsvibe.shared.cqrs.BaseQueryHandler;
-import java.io.IOException;
+import app.partsvibe.shared.utils.StringUtils;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import org.apache.solr.client.solrj.SolrClient;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.solr.client.solrj.SolrQuery;
-import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.FacetField;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.util.ClientUtils;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.springframework.stereotype.Component;
 
+// Pages with cursorMark rather than start/rows: Solr resumes after the sort values encoded in the cursor, so a deep
+// page costs the same as the first one. Every sort ends with the unique key, which cursorMark requires.
 @Component
 class SearchCatalogQueryHandler extends BaseQueryHandler<SearchCatalogQuery, CatalogSearchResult> {
-    private static final int MAX_RESULTS = 10;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int FACET_LIMIT = 20;
+    private static final int HIGHLIGHT_FRAGMENT_SIZE = 160;
+    private static final String CATEGORY_FILTER_TAG = "category";
+    // Private use characters cannot come from the catalog, so they mark matches without colliding with part text.
+    private static final String HIGHLIGHT_PRE = "\uE000";
+    private static final String HIGHLIGHT_POST = "\uE001";
 
-    private final SolrClient solrClient;
-    private final SolrProperties solrProperties;
+    private final SolrGateway solrGateway;
+    private final CatalogSearchCache cache;
 
-    SearchCatalogQueryHandler(SolrClient solrClient, SolrProperties solrProperties) {
-        this.solrClient = solrClient;
-        this.solrProperties = solrProperties;
+    SearchCatalogQueryHandler(SolrGateway solrGateway, CatalogSearchCache cache) {
+        this.solrGateway = solrGateway;
+        this.cache = cache;
     }
 
     @Override
-    protected CatalogSearchResult doHandle(SearchCatalogQuery queryRequest) {
-        if (queryRequest.queryText() == null || queryRequest.queryText().isBlank()) {
-            return new CatalogSearchResult(List.of(), 0, queryRequest.page(), queryRequest.pageSize());
+    protected CatalogSearchResult doHandle(SearchCatalogQuery searchQuery) {
+        CatalogSearchRequest request = searchQuery.request();
+        try {
+            return cache.get(request, () -> execute(request, request.cursor()));
+        } catch (SolrException e) {
+            // A malformed or outdated cursor is rejected as a bad request; serve the first page instead, cached as the
+            // first page rather than under the rejected cursor.
+            if (request.cursor() == null || e.code() != SolrException.ErrorCode.BAD_REQUEST.code) {
+                throw e;
+            }
+            log.debug("Catalog search cursor rejected, serving first page. error={}", e.getMessage());
+            CatalogSearchRequest firstPage = firstPage(request);
+            return cache.get(firstPage, () -> execute(firstPage, null));
         }
+    }
+
+    private static CatalogSearchRequest firstPage(CatalogSearchRequest request) {
+        return new CatalogSearchRequest(
+                request.queryText(),
+                request.categoryId(),
+                request.tags(),
+                request.sort(),
+                request.fields(),
+                request.facets(),
+                request.highlight(),
+                null,
+                request.pageSize());
+    }
 
-        int maxPage = Math.max(0, (MAX_RESULTS - 1) / queryRequest.pageSize());
-        int safePage = Math.max(0, Math.min(queryRequest.page(), maxPage));
-        int start = safePage * queryRequest.pageSize();
-        if (start >= MAX_RESULTS) {
-            return new CatalogSearchResult(List.of(), 0, safePage, queryRequest.pageSize());
+    private CatalogSearchResult execute(CatalogSearchRequest request, String cursor) {
+        String cursorMark = cursor == null ? CursorMarkParams.CURSOR_MARK_START : cursor;
+        SolrQuery query = buildQuery(request, cursorMark);
+
+        QueryResponse response = solrGateway.query(query);
+        List<CatalogSearchHit> hits = new ArrayList<>();
+        Map<String, Map<String, List<String>>> highlighting = response.getHighlighting();
+        for (SolrDocument doc : response.getResults()) {
+            hits.add(toHit(doc, request.fields(), highlighting));
         }
 
+        String nextCursorMark = response.getNextCursorMark();
+        boolean lastPage = hits.size() < query.getRows() || cursorMark.equals(nextCursorMark);
+        return new CatalogSearchResult(
+                hits,
+                response.getResults().getNumFound(),
+                cursor,
+                lastPage ? null : nextCursorMark,
+                toFacets(response, request.facets()));
+    }
+
+    private static SolrQuery buildQuery(CatalogSearchRequest request, String cursorMark) {
         var query = new SolrQuery();
-        query.setQuery("content_txt:"
-                + ClientUtils.escapeQueryChars(queryRequest.queryText().trim()));
-        query.setStart(start);
-        query.setRows(queryRequest.pageSize());
-        query.setFields("id", "content_txt");
+        boolean hasText = StringUtils.hasText(request.queryText());
+        if (hasText) {
+            query.setQuery(escapeTerms(request.queryText()));
+            query.set("defType", "edismax");
+            query.set("qf", NAME + "^4 " + TAGS + "^2 " + CATEGORY_NAME + " " + DESCRIPTION);
+            query.set("mm", "100%");
+        } else {
+            query.setQuery("*:*");
+        }
 
-        try {
-            QueryResponse response = solrClient.query(solrProperties.core(), query);
-            long totalFound = response.getResults().getNumFound();
-            long cappedTotal = Math.min(totalFound, MAX_RESULTS);
-            List<CatalogSearchHit> hits = new ArrayList<>();
-            response.getResults().forEach(doc -> {
-                String id = (String) doc.getFieldValue("id");
-                Object contentField = doc.getFieldValue("content_txt");
-                String content;
-                if (contentField instanceof List<?> list) {
-                    content = list.stream()
-                            .map(Object::toString)
-                            .reduce((left, right) -> left + "\n" + right)
-                            .orElse("");
-                } else {
-                    content = contentField == null ? "" : contentField.toString();
-                }
-                hits.add(new CatalogSearchHit(id, content));
-            });
-            return new CatalogSearchResult(hits, cappedTotal, safePage, queryRequest.pageSize());
-        } catch (SolrServerException | IOException e) {
-            throw new IllegalStateException("Failed to query Solr.", e);
+        query.addFilterQuery(DOC_TYPE + ":" + PART_DOC_TYPE);
+        if (request.categoryId() != null) {
+            query.addFilterQuery("{!tag=" + CATEGORY_FILTER_TAG + "}" + CATEGORY_ID + ":" + request.categoryId());
+        }
+        request.tags().forEach(tag -> query.addFilterQuery("{!term f=" + TAGS + "}" + tag));
+
+        switch (request.sort()) {
+            case NAME -> query.addSort(NAME_EXACT, SolrQuery.ORDER.asc);
+            case NEWEST -> query.addSort(UPDATED_AT, SolrQuery.ORDER.desc);
+            case RELEVANCE -> query.addSort("score", SolrQuery.ORDER.desc);
+        }
+        query.addSort(ID, SolrQuery.ORDER.asc);
+        query.setRows(Math.min(request.pageSize(), MAX_PAGE_SIZE));
+        query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+        query.setFields(fieldList(request.fields()));
+
+        if (!request.facets().isEmpty()) {
+            query.setFacet(true);
+            query.setFacetMinCount(1);
+            query.setFacetLimit(FACET_LIMIT);
+            // The category filter is excluded from its own facet so the other categories keep their counts.
+            if (request.facets().contains(CatalogSearchFacet.CATEGORY)) {
+                query.addFacetField("{!ex=" + CATEGORY_FILTER_TAG + "}" + CATEGORY_ID);
+            }
+            if (request.facets().contains(CatalogSearchFacet.TAG)) {
+                query.addFacetField(TAGS);
+            }
+        }
+
+        if (request.highlight() && hasText) {
+            query.setHighlight(true);
+            query.set("hl.method", "unified");
+            query.set("hl.fl", NAME + "," + DESCRIPTION);
+            query.set("hl.tag.pre", HIGHLIGHT_PRE);
+            query.set("hl.tag.post", HIGHLIGHT_POST);
+            query.setHighlightSnippets(1);
+            query.setHighlightFragsize(HIGHLIGHT_FRAGMENT_SIZE);
+        }
+        return query;
+    }
+
+    // Keeps the words of the query and drops its syntax: each word is escaped so that user input cannot form field
+    // queries, ranges or boosts.
+    private static String escapeTerms(String queryText) {
+        return Arrays.stream(queryText.trim().split("\\s+"))
+                .map(ClientUtils::escapeQueryChars)
+                .collect(Collectors.joining(" "));
+    }
+
+    private static String[] fieldList(Set<CatalogSearchField> fields) {
+        Set<String> fieldList = new LinkedHashSet<>(List.of(ID, PART_ID));
+        for (CatalogSearchField field : fields) {
+            switch (field) {
+                case NAME -> fieldList.add(NAME_EXACT);
+                case DESCRIPTION -> fieldList.add(DESCRIPTION);
+                case CATEGORY -> fieldList.addAll(List.of(CATEGORY_ID, CATEGORY_NAME));
+                case TAGS -> fieldList.add(TAGS);
+                case UPDATED_AT -> fieldList.add(UPDATED_AT);
+            }
+        }
+        return fieldList.toArray(String[]::new);
+    }
+
+    private static CatalogSearchHit toHit(
+            SolrDocument doc, Set<CatalogSearchField> fields, Map<String, Map<String, List<String>>> highlighting) {
+        String id = (String) doc.getFieldValue(ID);
+        Object updatedAt = doc.getFieldValue(UPDATED_AT);
+        Map<String, List<String>> highlights = highlighting == null ? null : highlighting.get(id);
+        return new CatalogSearchHit(
+                id,
+                ((Number) doc.getFieldValue(PART_ID)).longValue(),
+                (String) doc.getFieldValue(NAME_EXACT),
+                firstValue(doc, DESCRIPTION),
+                doc.getFieldValue(CATEGORY_ID) instanceof Number number ? number.longValue() : null,
+                (String) doc.getFieldValue(CATEGORY_NAME),
+                fields.contains(CatalogSearchField.TAGS) ? stringValues(doc.getFieldValues(TAGS)) : null,
+                updatedAt instanceof Date date ? date.toInstant() : null,
+                highlights == null ? List.of() : toHighlight(highlights));
+    }
+
+    private static String firstValue(SolrDocument doc, String field) {
+        Object value = doc.getFirstValue(field);
+        return value == null ? null : value.toString();
+    }
+
+    private static List<String> stringValues(Collection<Object> values) {
+        return values == null ? List.of() : values.stream().map(Object::toString).toList();
+    }
+
+    // A name fragment is preferred over a description fragment.
+    private static List<CatalogSearchHit.HighlightPart> toHighlight(Map<String, List<String>> highlights) {
+        for (String field : List.of(NAME, DESCRIPTION)) {
+            List<String> fragments = highlights.get(field);
+            if (fragments != null && !fragments.isEmpty() && fragments.getFirst().contains(HIGHLIGHT_PRE)) {
+                return splitHighlight(fragments.getFirst());
+            }
+        }
+        return List.of();
+    }
+
+    private static List<CatalogSearchHit.HighlightPart> splitHighlight(String fragment) {
+        List<CatalogSearchHit.HighlightPart> parts = new ArrayList<>();
+        int position = 0;
+        while (position < fragment.length()) {
+            int start = fragment.indexOf(HIGHLIGHT_PRE, position);
+            if (start < 0) {
+                parts.add(new CatalogSearchHit.HighlightPart(fragment.substring(position), false));
+                break;
+            }
+            if (start > position) {
+                parts.add(new CatalogSearchHit.HighlightPart(fragment.substring(position, start), false));
+            }
+            int end = fragment.indexOf(HIGHLIGHT_POST, start);
+            if (end < 0) {
+                end = fragment.length();
+            }
+            parts.add(new CatalogSearchHit.HighlightPart(
+                    fragment.substring(start + HIGHLIGHT_PRE.length(), end), true));
+            position = end + HIGHLIGHT_POST.length();
+        }
+        return parts;
+    }
+
+    private static Map<CatalogSearchFacet, List<CatalogSearchFacetValue>> toFacets(
+            QueryResponse response, Set<CatalogSearchFacet> facets) {
+        Map<CatalogSearchFacet, List<CatalogSearchFacetValue>> result = new EnumMap<>(CatalogSearchFacet.class);
+        for (CatalogSearchFacet facet : facets) {
+            FacetField facetField =
+                    response.getFacetField(facet == CatalogSearchFacet.CATEGORY ? CATEGORY_ID : TAGS);
+            result.put(
+                    facet,
+                    facetField == null || facetField.getValues() == null
+                            ? List.of()
+                            : facetField.getValues().stream()
+                                    .map(count -> new CatalogSearchFacetValue(count.getName(), count.getCount()))
+                                    .toList());
         }
+        return result;
     }
 }
@@ -0,0 +1,107 @@
+package app.partsvibe.search.solr;
+
+import app.partsvibe.search.solr.config.SolrProperties;
+import app.partsvibe.shared.time.TimeProvider;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+// Count-based breaker over the outcomes of the last windowSize calls. While open every call is rejected; once
+// openDurationMs passed a single trial call is let through and its outcome closes or re-opens the breaker.
+class SolrCircuitBreaker {
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final SolrProperties.CircuitBreaker settings;
+    private final TimeProvider timeProvider;
+    private final boolean[] failures;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failed;
+    private Instant openedAt;
+    private boolean trialInFlight;
+
+    SolrCircuitBreaker(SolrProperties.CircuitBreaker settings, TimeProvider timeProvider) {
+        this.settings = settings;
+        this.timeProvider = timeProvider;
+        this.failures = new boolean[settings.windowSize()];
+    }
+
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            Duration open = Duration.between(openedAt, timeProvider.now());
+            if (open.toMillis() < settings.openDurationMs()) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            close();
+            return;
+        }
+        record(false);
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED
+                && recorded >= settings.minimumCalls()
+                && failed >= settings.failureRateThreshold() * recorded) {
+            open();
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == failures.length) {
+            if (failures[next]) {
+                failed--;
+            }
+        } else {
+            recorded++;
+        }
+        failures[next] = failure;
+        if (failure) {
+            failed++;
+        }
+        next = (next + 1) % failures.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = timeProvider.now();
+        trialInFlight = false;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failed = 0;
+        trialInFlight = false;
+        Arrays.fill(failures, false);
+    }
+}
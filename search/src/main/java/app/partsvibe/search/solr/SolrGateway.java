@@ -0,0 +1,149 @@
+package app.partsvibe.search.solr;
+
+import app.partsvibe.search.api.SearchUnavailableException;
+import app.partsvibe.search.cache.SearchIndexGeneration;
+import app.partsvibe.search.solr.config.SolrProperties;
+import app.partsvibe.shared.time.TimeProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+// Single way into Solr for the search module. Searches run on the short-timeout client behind a bulkhead and are
+// retried on server failures; updates run on the update client once. Both go through the circuit breaker so that a
+// struggling Solr is given room instead of being hammered, and callers fail fast with SearchUnavailableException.
+//
+// Bad requests (4xx) are the caller's problem, not Solr's: they are passed through as SolrException and count as a
+// healthy response.
+@Component
+public class SolrGateway {
+    private static final Logger log = LoggerFactory.getLogger(SolrGateway.class);
+
+    private final SolrClient queryClient;
+    private final SolrClient updateClient;
+    private final SolrProperties properties;
+    private final SearchIndexGeneration indexGeneration;
+    private final SolrCircuitBreaker circuitBreaker;
+    private final Semaphore querySlots;
+    private final MeterRegistry meterRegistry;
+    private final Counter retryCounter;
+
+    SolrGateway(
+            @Qualifier("solrQueryClient") SolrClient queryClient,
+            @Qualifier("solrClient") SolrClient updateClient,
+            SolrProperties properties,
+            SearchIndexGeneration indexGeneration,
+            TimeProvider timeProvider,
+            MeterRegistry meterRegistry) {
+        this.queryClient = queryClient;
+        this.updateClient = updateClient;
+        this.properties = properties;
+        this.indexGeneration = indexGeneration;
+        this.circuitBreaker = new SolrCircuitBreaker(properties.circuitBreaker(), timeProvider);
+        this.querySlots = new Semaphore(properties.maxConcurrentQueries());
+        this.meterRegistry = meterRegistry;
+        this.retryCounter = meterRegistry.counter("app.search.solr.retries", "core", properties.core());
+        meterRegistry.gauge(
+                "app.search.solr.circuit.state",
+                Tags.of("core", properties.core()),
+                circuitBreaker,
+                breaker -> breaker.state().ordinal());
+    }
+
+    public QueryResponse query(SolrQuery query) {
+        if (!querySlots.tryAcquire()) {
+            reject("query", "bulkhead");
+        }
+        try {
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    return execute("query", () -> queryClient.query(properties.core(), query));
+                } catch (SearchUnavailableException e) {
+                    boolean breakerClosed = circuitBreaker.state() == SolrCircuitBreaker.State.CLOSED;
+                    if (attempt >= properties.queryRetries() || !breakerClosed) {
+                        throw e;
+                    }
+                    retryCounter.increment();
+                    log.debug(
+                            "Retrying Solr query. core={}, attempt={}, error={}",
+                            properties.core(),
+                            attempt + 1,
+                            e.getMessage());
+                }
+            }
+        } finally {
+            querySlots.release();
+        }
+    }
+
+    public void update(UpdateRequest request) {
+        request.setCommitWithin(properties.commitWithinMs());
+        try {
+            execute("update", () -> request.process(updateClient, properties.core()));
+        } finally {
+            // A failed update may still have reached the index.
+            indexGeneration.bump(properties.commitWithinMs());
+        }
+    }
+
+    private <T> T execute(String operation, SolrCall<T> call) {
+        if (!circuitBreaker.tryAcquire()) {
+            reject(operation, "circuit-open");
+        }
+
+        long startedAt = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = call.run();
+            outcome = "success";
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (SolrException e) {
+            if (e.code() >= 400 && e.code() < 500) {
+                outcome = "client-error";
+                circuitBreaker.onSuccess();
+                throw e;
+            }
+            circuitBreaker.onFailure();
+            throw new SearchUnavailableException("Solr " + operation + " failed. core=" + properties.core(), e);
+        } catch (SolrServerException | IOException | RuntimeException e) {
+            circuitBreaker.onFailure();
+            throw new SearchUnavailableException("Solr " + operation + " failed. core=" + properties.core(), e);
+        } finally {
+            Timer.builder("app.search.solr.requests")
+                    .tag("core", properties.core())
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void reject(String operation, String reason) {
+        meterRegistry
+                .counter(
+                        "app.search.solr.rejected", "core", properties.core(), "operation", operation, "reason", reason)
+                .increment();
+        throw new SearchUnavailableException(
+                "Solr " + operation + " rejected. core=" + properties.core() + ", reason=" + reason);
+    }
+
+    @FunctionalInterface
+    private interface SolrCall<T> {
+        T run() throws SolrServerException, IOException;
+    }
+}
@@ -1,14 +1,32 @@
 package app.partsvibe.search.solr.config;
 
-import org.apache.solr.client.solrj.SolrClient;
-import org.apache.solr.client.solrj.impl.HttpSolrClient;
+import java.util.concurrent.TimeUnit;
+import org.apache.solr.client.solrj.impl.Http2SolrClient;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 @Configuration
 public class SolrConfig {
     @Bean
-    public SolrClient solrClient(SolrProperties solrProperties) {
-        return new HttpSolrClient.Builder(solrProperties.baseUrl()).build();
+    @Primary
+    public Http2SolrClient solrClient(SolrProperties solrProperties) {
+        return new Http2SolrClient.Builder(solrProperties.baseUrl())
+                .withConnectionTimeout(solrProperties.connectTimeoutMs(), TimeUnit.MILLISECONDS)
+                .withIdleTimeout(solrProperties.idleTimeoutMs(), TimeUnit.MILLISECONDS)
+                .withRequestTimeout(solrProperties.updateTimeoutMs(), TimeUnit.MILLISECONDS)
+                .withMaxConnectionsPerHost(solrProperties.maxConnectionsPerHost())
+                .build();
+    }
+
+    // Shares the connection pool of solrClient and only differs in the request timeout.
+    @Bean
+    public Http2SolrClient solrQueryClient(
+            @Qualifier("solrClient") Http2SolrClient solrClient, SolrProperties solrProperties) {
+        return new Http2SolrClient.Builder(solrProperties.baseUrl())
+                .withHttpClient(solrClient)
+                .withRequestTimeout(solrProperties.queryTimeoutMs(), TimeUnit.MILLISECONDS)
+                .build();
     }
 }
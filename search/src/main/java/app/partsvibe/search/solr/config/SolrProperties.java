@@ -1,6 +1,29 @@
 package app.partsvibe.search.solr.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 @ConfigurationProperties(prefix = "app.solr")
-public record SolrProperties(String baseUrl, String core) {}
+public record SolrProperties(
+        String baseUrl,
+        String core,
+        @DefaultValue("1000") int commitWithinMs,
+        @DefaultValue("2000") long connectTimeoutMs,
+        @DefaultValue("30000") long idleTimeoutMs,
+        // Whole-request deadline of a search; updates get the longer update timeout.
+        @DefaultValue("2000") long queryTimeoutMs,
+        @DefaultValue("30000") long updateTimeoutMs,
+        @DefaultValue("32") int maxConnectionsPerHost,
+        // Searches in flight at once; further searches are rejected instead of waiting for a slow Solr.
+        @DefaultValue("32") int maxConcurrentQueries,
+        // Additional attempts of a failed search. Updates are not retried here, the event queue retries them.
+        @DefaultValue("1") int queryRetries,
+        @DefaultValue CircuitBreaker circuitBreaker) {
+    // Opens when at least failureRateThreshold of the last windowSize calls failed (once minimumCalls were made) and
+    // lets a single trial call through after openDurationMs.
+    public record CircuitBreaker(
+            @DefaultValue("20") int windowSize,
+            @DefaultValue("10") int minimumCalls,
+            @DefaultValue("0.5") double failureRateThreshold,
+            @DefaultValue("10000") long openDurationMs) {}
+}
@@ -0,0 +1,27 @@
+package app.partsvibe.search.solr.schema;
+
+// Fields of catalog part documents. The names rely on the dynamic field suffixes of the default Solr configset:
+// _txt is analyzed text, _s/_ss are exact strings, _l a long and _dt a date.
+public final class CatalogPartFields {
+    public static final String ID = "id";
+    public static final String DOC_TYPE = "doc_type_s";
+    public static final String PART_ID = "part_id_l";
+    public static final String NAME = "name_txt";
+    public static final String NAME_EXACT = "name_s";
+    public static final String DESCRIPTION = "description_txt";
+    public static final String CATEGORY_ID = "category_id_l";
+    public static final String CATEGORY_NAME = "category_name_s";
+    public static final String TAGS = "tags_ss";
+    public static final String UPDATED_AT = "updated_at_dt";
+    public static final String INDEX_GENERATION = "index_generation_l";
+    // Catch-all text field shared with free-text documents.
+    public static final String CONTENT = "content_txt";
+
+    public static final String PART_DOC_TYPE = "part";
+
+    private CatalogPartFields() {}
+
+    public static String documentId(long partId) {
+        return PART_DOC_TYPE + ":" + partId;
+    }
+}
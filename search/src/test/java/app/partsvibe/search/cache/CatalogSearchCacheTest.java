@@ -0,0 +1,129 @@
+package app.partsvibe.search.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import app.partsvibe.search.api.CatalogSearchRequest;
+import app.partsvibe.search.api.CatalogSearchResult;
+import app.partsvibe.search.api.CatalogSearchSort;
+import app.partsvibe.testsupport.fakes.ManuallySetTimeProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CatalogSearchCacheTest {
+    private static final long TTL_MS = 30_000;
+    private static final long COMMIT_WITHIN_MS = 1000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ManuallySetTimeProvider timeProvider = new ManuallySetTimeProvider();
+    private final SearchIndexGeneration indexGeneration = new SearchIndexGeneration(timeProvider);
+    private final CatalogSearchCache cache = new CatalogSearchCache(
+            new SearchCacheProperties(TTL_MS, 2), indexGeneration, timeProvider, meterRegistry);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesRepeatedSearchFromCache() {
+        CatalogSearchResult first = search(request("arduino", List.of("uno", "avr")));
+        CatalogSearchResult second = search(request("  arduino ", List.of("avr", "uno")));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(1);
+        assertThat(meterRegistry.get("app.search.cache.hit-ratio").gauge().value()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("app.search.cache.saved-latency").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void keysByFiltersAndPage() {
+        search(request("arduino", List.of()));
+        search(new CatalogSearchRequest("arduino", 7L, List.of(), null, null, null, false, null, 20));
+        search(new CatalogSearchRequest("arduino", null, List.of(), null, null, null, false, "cursor", 20));
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() {
+        search(request("arduino", List.of()));
+        timeProvider.move(Duration.ofMillis(TTL_MS));
+        search(request("arduino", List.of()));
+
+        assertThat(loads).hasValue(2);
+        assertThat(evictions("expired")).isEqualTo(1);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntryBeyondMaxEntries() {
+        search(request("arduino", List.of()));
+        search(request("raspberry", List.of()));
+        search(request("arduino", List.of()));
+        search(request("esp32", List.of()));
+
+        search(request("arduino", List.of()));
+        search(request("raspberry", List.of()));
+
+        assertThat(loads).hasValue(4);
+        assertThat(evictions("size")).isEqualTo(2);
+    }
+
+    @Test
+    void dropsEntriesWhenIndexChanges() {
+        search(request("arduino", List.of()));
+        indexGeneration.bump(COMMIT_WITHIN_MS);
+
+        search(request("arduino", List.of()));
+
+        assertThat(loads).hasValue(2);
+        assertThat(evictions("expired")).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheResultsReadBeforeUpdateBecameVisible() {
+        indexGeneration.bump(COMMIT_WITHIN_MS);
+        search(request("arduino", List.of()));
+        search(request("arduino", List.of()));
+        assertThat(loads).hasValue(2);
+
+        timeProvider.move(Duration.ofMillis(COMMIT_WITHIN_MS));
+        search(request("arduino", List.of()));
+        search(request("arduino", List.of()));
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void doesNotCacheFailedSearch() {
+        CatalogSearchRequest request = request("arduino", List.of());
+        assertThatThrownBy(() -> cache.get(request, () -> {
+                    throw new IllegalStateException("Solr unavailable");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+
+        search(request);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    private CatalogSearchResult search(CatalogSearchRequest request) {
+        return cache.get(request, () -> {
+            loads.incrementAndGet();
+            return CatalogSearchResult.empty();
+        });
+    }
+
+    private static CatalogSearchRequest request(String queryText, List<String> tags) {
+        return new CatalogSearchRequest(
+                queryText, null, tags, CatalogSearchSort.RELEVANCE, null, null, false, null, 20);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.counter("app.search.cache.requests", "result", result).count();
+    }
+
+    private double evictions(String cause) {
+        return meterRegistry.counter("app.search.cache.evictions", "cause", cause).count();
+    }
+}
@@ -0,0 +1,88 @@
+package app.partsvibe.search.solr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.search.solr.config.SolrProperties;
+import app.partsvibe.testsupport.fakes.ManuallySetTimeProvider;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class SolrCircuitBreakerTest {
+    private static final long OPEN_DURATION_MS = 10_000;
+
+    private final ManuallySetTimeProvider timeProvider = new ManuallySetTimeProvider();
+    private final SolrCircuitBreaker circuitBreaker = new SolrCircuitBreaker(
+            new SolrProperties.CircuitBreaker(4, 4, 0.5, OPEN_DURATION_MS), timeProvider);
+
+    @Test
+    void staysClosedUntilMinimumCallsWereMade() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.state()).isEqualTo(SolrCircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void opensWhenFailureRateOfWindowReachesThreshold() {
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.state()).isEqualTo(SolrCircuitBreaker.State.CLOSED);
+
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.state()).isEqualTo(SolrCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void forgetsOutcomesThatLeftTheWindow() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        // The first failure is pushed out, leaving one failure in four calls.
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.state()).isEqualTo(SolrCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void letsSingleTrialCallThroughAfterOpenDuration() {
+        open();
+        timeProvider.move(Duration.ofMillis(OPEN_DURATION_MS - 1));
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+
+        timeProvider.move(Duration.ofMillis(1));
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        assertThat(circuitBreaker.state()).isEqualTo(SolrCircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.state()).isEqualTo(SolrCircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void reopensWhenTrialCallFails() {
+        open();
+        timeProvider.move(Duration.ofMillis(OPEN_DURATION_MS));
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.state()).isEqualTo(SolrCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+        assertThat(circuitBreaker.state()).isEqualTo(SolrCircuitBreaker.State.OPEN);
+    }
+}
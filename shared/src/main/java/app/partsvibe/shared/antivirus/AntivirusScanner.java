@@ -1,7 +1,19 @@
 package app.partsvibe.shared.antivirus;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public interface AntivirusScanner {
     ScanResult scan(InputStream bytes);
+
+    // Implementations that can stream a file without going through an InputStream override this.
+    default ScanResult scan(Path file) {
+        try (InputStream bytes = Files.newInputStream(file)) {
+            return scan(bytes);
+        } catch (IOException e) {
+            throw new AntivirusScanException("Failed to read file for scanning. path=" + file, e);
+        }
+    }
 }
@@ -0,0 +1,163 @@
+package app.partsvibe.shared.cache;
+
+import app.partsvibe.shared.time.TimeProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// LRU map bounded by entry count and age, for per-instance caches of data whose source of truth is the database.
+// Values should be immutable, they are handed to every caller. Metrics are registered as <metricPrefix>.requests,
+// .evictions and .size.
+public final class ExpiringCache<K, V> {
+    private final long ttlMs;
+    private final int maxEntries;
+    private final TimeProvider timeProvider;
+    private final BiPredicate<V, Instant> expired;
+    private final Map<K, Entry<V>> entries;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter sizeEvictionCounter;
+    private final Counter expiredEvictionCounter;
+    private final Counter invalidatedEvictionCounter;
+    // Bumped by every invalidation. A miss stores what it loaded only if no invalidation happened meanwhile, since
+    // the load may have read the row before the invalidating transaction committed.
+    private long invalidations;
+
+    public ExpiringCache(
+            String metricPrefix, long ttlMs, int maxEntries, TimeProvider timeProvider, MeterRegistry meterRegistry) {
+        this(metricPrefix, ttlMs, maxEntries, timeProvider, meterRegistry, (value, now) -> false);
+    }
+
+    // expired drops values that have an expiry of their own before their ttlMs is up.
+    public ExpiringCache(
+            String metricPrefix,
+            long ttlMs,
+            int maxEntries,
+            TimeProvider timeProvider,
+            MeterRegistry meterRegistry,
+            BiPredicate<V, Instant> expired) {
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+        this.timeProvider = timeProvider;
+        this.expired = expired;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > maxEntries) {
+                    sizeEvictionCounter.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hitCounter = meterRegistry.counter(metricPrefix + ".requests", "result", "hit");
+        this.missCounter = meterRegistry.counter(metricPrefix + ".requests", "result", "miss");
+        this.sizeEvictionCounter = meterRegistry.counter(metricPrefix + ".evictions", "cause", "size");
+        this.expiredEvictionCounter = meterRegistry.counter(metricPrefix + ".evictions", "cause", "expired");
+        this.invalidatedEvictionCounter = meterRegistry.counter(metricPrefix + ".evictions", "cause", "invalidated");
+        meterRegistry.gauge(metricPrefix + ".size", this, ExpiringCache::size);
+    }
+
+    // A null load is returned but not cached.
+    public V get(K key, Supplier<V> loader) {
+        return get(key, loader, value -> true);
+    }
+
+    // cacheable keeps loads that are correct for this call but must not be served again, such as values read while
+    // the source was still catching up, out of the cache.
+    public V get(K key, Supplier<V> loader, Predicate<V> cacheable) {
+        if (maxEntries <= 0) {
+            return loader.get();
+        }
+
+        long invalidationsBefore;
+        synchronized (entries) {
+            Entry<V> cached = lookup(key);
+            if (cached != null) {
+                hitCounter.increment();
+                return cached.value();
+            }
+            invalidationsBefore = invalidations;
+        }
+
+        missCounter.increment();
+        V value = loader.get();
+        boolean store = value != null && cacheable.test(value);
+        synchronized (entries) {
+            if (store && invalidations == invalidationsBefore) {
+                entries.put(key, new Entry<>(value, timeProvider.now()));
+            }
+        }
+        return value;
+    }
+
+    // Replaces a cached value without restarting its ttlMs; for changes the cache itself may apply, such as a later
+    // access time.
+    public void update(K key, UnaryOperator<V> change) {
+        synchronized (entries) {
+            entries.computeIfPresent(
+                    key, (ignored, entry) -> new Entry<>(change.apply(entry.value()), entry.storedAt()));
+        }
+    }
+
+    // Invalidating before the commit would let a concurrent miss cache the row as it was before the change.
+    public void invalidateAfterCommit(K key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(key);
+            }
+        });
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            invalidations++;
+            if (entries.remove(key) != null) {
+                invalidatedEvictionCounter.increment();
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            invalidations++;
+            invalidatedEvictionCounter.increment(entries.size());
+            entries.clear();
+        }
+    }
+
+    private Entry<V> lookup(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        Instant now = timeProvider.now();
+        if (!now.isBefore(entry.storedAt().plusMillis(ttlMs)) || expired.test(entry.value(), now)) {
+            entries.remove(key);
+            expiredEvictionCounter.increment();
+            return null;
+        }
+        return entry;
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry<V>(V value, Instant storedAt) {}
+}
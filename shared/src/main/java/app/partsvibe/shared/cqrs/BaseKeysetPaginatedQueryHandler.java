@@ -0,0 +1,83 @@
+package app.partsvibe.shared.cqrs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+// Keyset (seek) pagination: pages are addressed by the sort key and id of a neighbouring row instead of an offset,
+// so every page costs the same index range scan no matter how deep it is.
+//
+// Handlers fetch up to pageSize + 1 rows in "navigation order": the query order for the first page and AFTER
+// cursors, the reversed query order for BEFORE cursors. toPage() turns them into a page in query order.
+public abstract class BaseKeysetPaginatedQueryHandler<Q extends KeysetPaginatedQuery<R>, R>
+        extends BaseQueryHandler<Q, R> {
+    private final KeysetCursorCodec cursorCodec;
+
+    protected BaseKeysetPaginatedQueryHandler(KeysetCursorCodec cursorCodec) {
+        this.cursorCodec = cursorCodec;
+    }
+
+    protected int resolvePageSize(Q query) {
+        if (query.pageSize() <= 0) {
+            return PaginationPolicy.DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(query.pageSize(), PaginationPolicy.MAX_PAGE_SIZE);
+    }
+
+    protected Optional<KeysetCursor> decodeCursor(Q query, String scope) {
+        return cursorCodec.decode(scope, query.cursor());
+    }
+
+    protected <T> KeysetPageResult<T> toPage(
+            List<T> fetched,
+            KeysetCursor cursor,
+            int pageSize,
+            String scope,
+            Function<T, String> sortKeyOf,
+            ToLongFunction<T> idOf,
+            Long totalRows,
+            boolean totalRowsEstimated) {
+        boolean hasMore = fetched.size() > pageSize;
+        List<T> items = new ArrayList<>(fetched.subList(0, Math.min(pageSize, fetched.size())));
+
+        boolean hasPrevious;
+        boolean hasNext;
+        if (cursor == null) {
+            hasPrevious = false;
+            hasNext = hasMore;
+        } else if (cursor.direction() == KeysetCursor.Direction.AFTER) {
+            hasPrevious = true;
+            hasNext = hasMore;
+        } else {
+            Collections.reverse(items);
+            hasPrevious = hasMore;
+            hasNext = !cursor.isLastPage();
+        }
+
+        // An empty page (rows deleted behind the cursor) has no neighbours to link to; the first page is still linked.
+        String previousCursor = null;
+        String nextCursor = null;
+        if (hasPrevious && !items.isEmpty()) {
+            T first = items.getFirst();
+            previousCursor =
+                    cursorCodec.encode(scope, KeysetCursor.before(sortKeyOf.apply(first), idOf.applyAsLong(first)));
+        }
+        if (hasNext && !items.isEmpty()) {
+            T last = items.getLast();
+            nextCursor = cursorCodec.encode(scope, KeysetCursor.after(sortKeyOf.apply(last), idOf.applyAsLong(last)));
+        }
+        String lastPageCursor = nextCursor != null ? cursorCodec.encode(scope, KeysetCursor.lastPage()) : null;
+
+        return new KeysetPageResult<>(
+                List.copyOf(items),
+                pageSize,
+                previousCursor,
+                nextCursor,
+                lastPageCursor,
+                totalRows,
+                totalRowsEstimated);
+    }
+}
@@ -0,0 +1,26 @@
+package app.partsvibe.shared.cqrs;
+
+// Position between two rows of a keyset paginated result: the sort key and id of the row next to it. A cursor
+// without id points past the last row, it is used to jump to the last page.
+public record KeysetCursor(Direction direction, String sortKey, Long id) {
+    public enum Direction {
+        AFTER,
+        BEFORE
+    }
+
+    public static KeysetCursor after(String sortKey, long id) {
+        return new KeysetCursor(Direction.AFTER, sortKey, id);
+    }
+
+    public static KeysetCursor before(String sortKey, long id) {
+        return new KeysetCursor(Direction.BEFORE, sortKey, id);
+    }
+
+    public static KeysetCursor lastPage() {
+        return new KeysetCursor(Direction.BEFORE, null, null);
+    }
+
+    public boolean isLastPage() {
+        return id == null;
+    }
+}
@@ -0,0 +1,77 @@
+package app.partsvibe.shared.cqrs;
+
+import app.partsvibe.shared.error.ApplicationException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+// Turns keyset cursors into opaque URL-safe tokens. Tokens are signed together with a scope (query and sort) so a
+// client can neither forge positions nor reuse a cursor with another sort order.
+public final class KeysetCursorCodec {
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 16;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+
+    public KeysetCursorCodec(byte[] secret) {
+        if (secret.length < 16) {
+            throw new IllegalArgumentException("Keyset cursor secret must have at least 16 bytes.");
+        }
+        this.key = new SecretKeySpec(secret.clone(), MAC_ALGORITHM);
+    }
+
+    public String encode(String scope, KeysetCursor cursor) {
+        // Null sort keys are encoded without the "v" prefix so they do not come back as empty strings.
+        String payload = cursor.direction().name() + "\n" + (cursor.id() == null ? "" : cursor.id()) + "\n"
+                + (cursor.sortKey() == null ? "" : "v" + cursor.sortKey());
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(scope, payloadBytes));
+    }
+
+    // Empty for missing, malformed, tampered or foreign-scope tokens; callers serve the first page instead.
+    public Optional<KeysetCursor> decode(String scope, String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        int separator = token.indexOf('.');
+        if (separator < 0) {
+            return Optional.empty();
+        }
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, separator));
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(signature, sign(scope, payloadBytes))) {
+                return Optional.empty();
+            }
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\n", 3);
+            if (parts.length != 3) {
+                return Optional.empty();
+            }
+            var direction = KeysetCursor.Direction.valueOf(parts[0]);
+            Long id = parts[1].isEmpty() ? null : Long.valueOf(parts[1]);
+            String sortKey = parts[2].isEmpty() ? null : parts[2].substring(1);
+            return Optional.of(new KeysetCursor(direction, sortKey, id));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String scope, byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            mac.update(scope.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Arrays.copyOf(mac.doFinal(payload), SIGNATURE_BYTES);
+        } catch (GeneralSecurityException ex) {
+            throw new ApplicationException("HmacSHA256 algorithm is not available.", ex);
+        }
+    }
+}
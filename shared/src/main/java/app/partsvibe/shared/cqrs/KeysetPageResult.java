@@ -0,0 +1,22 @@
+package app.partsvibe.shared.cqrs;
+
+import java.util.List;
+
+// totalRows is null when the handler did not count the rows. When totalRowsEstimated is set it comes from table
+// statistics and can be off by a few percent.
+public record KeysetPageResult<T>(
+        List<T> items,
+        int pageSize,
+        String previousCursor,
+        String nextCursor,
+        String lastPageCursor,
+        Long totalRows,
+        boolean totalRowsEstimated) {
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,9 @@
+package app.partsvibe.shared.cqrs;
+
+// Cursor paginated query. A null or blank cursor requests the first page; other cursors come from a previous
+// KeysetPageResult of the same query and are rejected (first page) when they were issued for a different sort.
+public interface KeysetPaginatedQuery<R> extends Query<R> {
+    String cursor();
+
+    int pageSize();
+}
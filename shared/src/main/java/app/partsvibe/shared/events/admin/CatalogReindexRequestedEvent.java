@@ -0,0 +1,14 @@
+package app.partsvibe.shared.events.admin;
+
+import app.partsvibe.shared.events.model.Event;
+import app.partsvibe.shared.events.model.IntegrationEvent;
+import java.util.UUID;
+
+@IntegrationEvent(name = CatalogReindexRequestedEvent.EVENT_NAME)
+public record CatalogReindexRequestedEvent(UUID eventId) implements Event {
+    public static final String EVENT_NAME = "catalog_reindex_requested";
+
+    public static CatalogReindexRequestedEvent create() {
+        return new CatalogReindexRequestedEvent(UUID.randomUUID());
+    }
+}
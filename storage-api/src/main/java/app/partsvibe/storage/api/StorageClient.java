@@ -5,5 +5,7 @@ import java.util.UUID;
 public interface StorageClient {
     StorageUploadResult upload(StorageUploadRequest request);
 
+    StorageUploadResult upload(StorageStreamUploadRequest request);
+
     DeleteFileResult delete(UUID fileId);
 }
@@ -0,0 +1,12 @@
+package app.partsvibe.storage.api;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.InputStream;
+
+// The caller owns the stream and closes it after upload returns.
+public record StorageStreamUploadRequest(
+        @NotNull StorageObjectType objectType,
+        @NotBlank @Size(max = 256) String originalFilename,
+        @NotNull InputStream content) {}
@@ -5,6 +5,7 @@ import app.partsvibe.shared.error.ApplicationException;
 import app.partsvibe.storage.api.DeleteFileResult.Status;
 import app.partsvibe.storage.commands.DeleteFileCommand;
 import app.partsvibe.storage.commands.UploadFileCommand;
+import java.io.ByteArrayInputStream;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +23,12 @@ class DefaultStorageClient implements StorageClient {
 
     @Override
     public StorageUploadResult upload(StorageUploadRequest request) {
+        return upload(new StorageStreamUploadRequest(
+                request.objectType(), request.originalFilename(), new ByteArrayInputStream(request.content())));
+    }
+
+    @Override
+    public StorageUploadResult upload(StorageStreamUploadRequest request) {
         try {
             return mediator.executeCommand(UploadFileCommand.builder()
                     .objectType(request.objectType())
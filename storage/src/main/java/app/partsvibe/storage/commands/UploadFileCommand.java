@@ -6,11 +6,12 @@ import app.partsvibe.storage.api.StorageUploadResult;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import java.io.InputStream;
 import lombok.Builder;
 
 @Builder
 public record UploadFileCommand(
         @NotNull StorageObjectType objectType,
         @NotBlank @Size(max = 256) String originalFilename,
-        @NotNull @Size(min = 1) byte[] content)
+        @NotNull InputStream content)
         implements Command<StorageUploadResult> {}
@@ -4,13 +4,16 @@ import app.partsvibe.shared.cqrs.BaseCommandHandler;
 import app.partsvibe.shared.events.publishing.EventPublisher;
 import app.partsvibe.shared.security.CurrentUserProvider;
 import app.partsvibe.shared.time.TimeProvider;
+import app.partsvibe.storage.api.StorageObjectType;
 import app.partsvibe.storage.api.StorageUploadResult;
+import app.partsvibe.storage.api.StorageValidationException;
 import app.partsvibe.storage.api.events.FileUploadedEvent;
 import app.partsvibe.storage.domain.StoredFile;
 import app.partsvibe.storage.domain.StoredFileKind;
 import app.partsvibe.storage.repo.StoredFileRepository;
 import app.partsvibe.storage.service.FilesystemStorage;
 import app.partsvibe.storage.service.StorageRules;
+import app.partsvibe.storage.service.StoredBlob;
 import java.util.UUID;
 import org.springframework.stereotype.Component;
 
@@ -43,27 +46,37 @@ class UploadFileCommandHandler extends BaseCommandHandler<UploadFileCommand, Sto
     @Override
     protected StorageUploadResult doHandle(UploadFileCommand command) {
         String originalFilename = command.originalFilename().trim();
-        byte[] content = command.content();
-        storageRules.validateUpload(command.objectType(), originalFilename, content.length);
+        StorageObjectType objectType = command.objectType();
+        storageRules.validateFilename(objectType, originalFilename);
 
         UUID fileId = UUID.randomUUID();
-        StoredFileKind kind = command.objectType().isImage() ? StoredFileKind.IMAGE : StoredFileKind.BLOB;
+        try {
+            StoredBlob blob = filesystemStorage.writeBlob(
+                    fileId, command.content(), sizeBytes -> storageRules.validateSize(objectType, sizeBytes));
+            if (blob.sizeBytes() == 0) {
+                throw new StorageValidationException("Uploaded file is empty. fileName=" + originalFilename);
+            }
 
-        StoredFile storedFile = new StoredFile(
-                fileId,
-                command.objectType(),
-                kind,
-                normalizeFilename(originalFilename),
-                content.length,
-                timeProvider.now(),
-                currentUserProvider.currentUsername().orElse(SYSTEM_UPLOADER));
-
-        storedFileRepository.save(storedFile);
-        filesystemStorage.writeBlob(fileId, content);
+            StoredFileKind kind = objectType.isImage() ? StoredFileKind.IMAGE : StoredFileKind.BLOB;
+            StoredFile storedFile = new StoredFile(
+                    fileId,
+                    objectType,
+                    kind,
+                    normalizeFilename(originalFilename),
+                    blob.sizeBytes(),
+                    timeProvider.now(),
+                    currentUserProvider.currentUsername().orElse(SYSTEM_UPLOADER));
+            storedFile.setSha256(blob.sha256());
+            storedFileRepository.save(storedFile);
+        } catch (RuntimeException ex) {
+            // Rejected or unsaved uploads must not leave a partial blob directory behind.
+            filesystemStorage.deleteFileDirectory(fileId);
+            throw ex;
+        }
 
         FileUploadedEvent event = FileUploadedEvent.builder()
                 .fileId(fileId)
-                .objectType(command.objectType())
+                .objectType(objectType)
                 .build();
         eventPublisher.publish(event);
 
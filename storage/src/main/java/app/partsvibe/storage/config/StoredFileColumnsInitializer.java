@@ -0,0 +1,50 @@
+package app.partsvibe.storage.config;
+
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.jpa.autoconfigure.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Adds the stored_files columns mapped after the table was first created. Production only validates the schema, so
+// they are added here, before the entity manager factory starts. The columns are nullable: rows stored before keep
+// null. A table Hibernate has yet to create is left to it.
+@Component
+public class StoredFileColumnsInitializer implements InitializingBean {
+    private static final List<String> COLUMNS =
+            List.of("sha256 varchar(64)", "thumbnails_attempted_at timestamp with time zone");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StoredFileColumnsInitializer(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!tableExists()) {
+            return;
+        }
+        COLUMNS.forEach(column -> jdbcTemplate.execute("ALTER TABLE stored_files ADD COLUMN IF NOT EXISTS " + column));
+    }
+
+    private boolean tableExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                """
+                SELECT EXISTS (
+                    SELECT 1 FROM information_schema.tables
+                    WHERE table_schema = current_schema() AND table_name = 'stored_files'
+                )
+                """,
+                Boolean.class));
+    }
+
+    // Hibernate validates the schema while the entity manager factory starts, so the columns must exist by then.
+    @Component
+    static class EntityManagerFactoryDependency extends EntityManagerFactoryDependsOnPostProcessor {
+        EntityManagerFactoryDependency() {
+            super(StoredFileColumnsInitializer.class);
+        }
+    }
+}
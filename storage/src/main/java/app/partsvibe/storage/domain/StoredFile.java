@@ -55,6 +55,10 @@ public class StoredFile extends BaseAuditableEntity {
     @Column(name = "size_bytes", nullable = false, updatable = false)
     private long sizeBytes;
 
+    @Size(max = 64)
+    @Column(name = "sha256", updatable = false, length = 64)
+    private String sha256;
+
     @NotNull
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false, length = 16)
@@ -85,6 +89,11 @@ public class StoredFile extends BaseAuditableEntity {
     @Column(name = "thumbnail_512_ready", nullable = false)
     private boolean thumbnail512Ready;
 
+    // When thumbnails were generated or found impossible to generate. Null on images ingested before it was recorded,
+    // the only ones the FileReadyEvent fallback still thumbnails.
+    @Column(name = "thumbnails_attempted_at", columnDefinition = "timestamp with time zone")
+    private Instant thumbnailsAttemptedAt;
+
     public StoredFile(
             UUID fileId,
             StorageObjectType objectType,
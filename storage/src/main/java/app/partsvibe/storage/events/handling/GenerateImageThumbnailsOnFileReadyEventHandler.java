@@ -2,14 +2,15 @@ package app.partsvibe.storage.events.handling;
 
 import app.partsvibe.shared.events.handling.BaseEventHandler;
 import app.partsvibe.shared.events.handling.HandlesEvent;
+import app.partsvibe.shared.time.TimeProvider;
+import app.partsvibe.storage.api.StorageValidationException;
 import app.partsvibe.storage.api.events.FileReadyEvent;
 import app.partsvibe.storage.domain.StoredFileKind;
 import app.partsvibe.storage.domain.StoredFileStatus;
 import app.partsvibe.storage.repo.StoredFileRepository;
 import app.partsvibe.storage.service.FilesystemStorage;
-import app.partsvibe.storage.service.StoragePathResolver;
+import app.partsvibe.storage.service.ImageThumbnails;
 import app.partsvibe.storage.service.ThumbnailImageService;
-import java.io.InputStream;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -17,18 +18,18 @@ import org.springframework.stereotype.Component;
 class GenerateImageThumbnailsOnFileReadyEventHandler extends BaseEventHandler<FileReadyEvent> {
     private final StoredFileRepository storedFileRepository;
     private final FilesystemStorage filesystemStorage;
-    private final StoragePathResolver storagePathResolver;
     private final ThumbnailImageService thumbnailImageService;
+    private final TimeProvider timeProvider;
 
     GenerateImageThumbnailsOnFileReadyEventHandler(
             StoredFileRepository storedFileRepository,
             FilesystemStorage filesystemStorage,
-            StoragePathResolver storagePathResolver,
-            ThumbnailImageService thumbnailImageService) {
+            ThumbnailImageService thumbnailImageService,
+            TimeProvider timeProvider) {
         this.storedFileRepository = storedFileRepository;
         this.filesystemStorage = filesystemStorage;
-        this.storagePathResolver = storagePathResolver;
         this.thumbnailImageService = thumbnailImageService;
+        this.timeProvider = timeProvider;
     }
 
     @Override
@@ -41,25 +42,33 @@ class GenerateImageThumbnailsOnFileReadyEventHandler extends BaseEventHandler<Fi
             return;
         }
 
-        byte[] bytes = readAllBytes(storagePathResolver.blobPath(event.fileId()));
-        String format = "image/png".equalsIgnoreCase(storedFile.getMimeType()) ? "png" : "jpg";
+        // Uploads are thumbnailed, or found impossible to thumbnail, while they are scanned. Only images ingested
+        // before that still need this.
+        if (storedFile.getThumbnailsAttemptedAt() != null
+                || (storedFile.isThumbnail128Ready() && storedFile.isThumbnail512Ready())) {
+            return;
+        }
 
-        byte[] thumb128 = thumbnailImageService.createThumbnail(bytes, 128, format);
-        byte[] thumb512 = thumbnailImageService.createThumbnail(bytes, 512, format);
-        filesystemStorage.writeThumbnail128(event.fileId(), thumb128);
-        filesystemStorage.writeThumbnail512(event.fileId(), thumb512);
+        storedFile.setThumbnailsAttemptedAt(timeProvider.now());
+        ImageThumbnails thumbnails;
+        try {
+            thumbnails = thumbnailImageService.createThumbnails(
+                    filesystemStorage.mapBlob(event.fileId()).content(),
+                    ThumbnailImageService.outputFormatFor(storedFile.getMimeType()));
+        } catch (StorageValidationException ex) {
+            // Decoding the same bytes again would fail the same way, so the attempt is recorded instead of retried.
+            log.warn(
+                    "Thumbnail generation failed, serving original only. fileId={}, reason={}",
+                    event.fileId(),
+                    ex.getMessage());
+            storedFileRepository.save(storedFile);
+            return;
+        }
+        filesystemStorage.writeThumbnail128(event.fileId(), thumbnails.thumbnail128());
+        filesystemStorage.writeThumbnail512(event.fileId(), thumbnails.thumbnail512());
 
         storedFile.setThumbnail128Ready(true);
         storedFile.setThumbnail512Ready(true);
         storedFileRepository.save(storedFile);
     }
-
-    private byte[] readAllBytes(java.nio.file.Path path) {
-        try (InputStream input = filesystemStorage.openForRead(path)) {
-            return input.readAllBytes();
-        } catch (java.io.IOException ex) {
-            throw new app.partsvibe.shared.error.ApplicationException(
-                    "Failed to read file for thumbnail generation.", ex);
-        }
-    }
 }
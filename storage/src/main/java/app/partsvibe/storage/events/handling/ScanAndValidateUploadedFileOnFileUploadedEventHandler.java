@@ -9,25 +9,33 @@ import app.partsvibe.shared.time.TimeProvider;
 import app.partsvibe.storage.api.StorageValidationException;
 import app.partsvibe.storage.api.events.FileReadyEvent;
 import app.partsvibe.storage.api.events.FileUploadedEvent;
+import app.partsvibe.storage.domain.StoredFile;
+import app.partsvibe.storage.domain.StoredFileKind;
 import app.partsvibe.storage.domain.StoredFileStatus;
 import app.partsvibe.storage.errors.StoredFileNotFoundException;
 import app.partsvibe.storage.repo.StoredFileRepository;
 import app.partsvibe.storage.service.FileMimeDetector;
 import app.partsvibe.storage.service.FilesystemStorage;
-import app.partsvibe.storage.service.StoragePathResolver;
+import app.partsvibe.storage.service.ImageThumbnails;
+import app.partsvibe.storage.service.MappedBlob;
+import app.partsvibe.storage.service.StorageIngestMetrics;
 import app.partsvibe.storage.service.StorageRules;
-import java.io.InputStream;
+import app.partsvibe.storage.service.ThumbnailImageService;
+import java.time.Instant;
 import org.springframework.stereotype.Component;
 
+// Scans, validates and, for images, thumbnails an upload from a single mapping of the blob, so the file is marked
+// READY together with its thumbnails.
 @Component
 @HandlesEvent(name = FileUploadedEvent.EVENT_NAME, version = 1)
 class ScanAndValidateUploadedFileOnFileUploadedEventHandler extends BaseEventHandler<FileUploadedEvent> {
     private final StoredFileRepository storedFileRepository;
     private final AntivirusScanner antivirusScanner;
     private final FilesystemStorage filesystemStorage;
-    private final StoragePathResolver storagePathResolver;
     private final FileMimeDetector fileMimeDetector;
     private final StorageRules storageRules;
+    private final ThumbnailImageService thumbnailImageService;
+    private final StorageIngestMetrics ingestMetrics;
     private final EventPublisher eventPublisher;
     private final TimeProvider timeProvider;
 
@@ -35,17 +43,19 @@ class ScanAndValidateUploadedFileOnFileUploadedEventHandler extends BaseEventHan
             StoredFileRepository storedFileRepository,
             AntivirusScanner antivirusScanner,
             FilesystemStorage filesystemStorage,
-            StoragePathResolver storagePathResolver,
             FileMimeDetector fileMimeDetector,
             StorageRules storageRules,
+            ThumbnailImageService thumbnailImageService,
+            StorageIngestMetrics ingestMetrics,
             EventPublisher eventPublisher,
             TimeProvider timeProvider) {
         this.storedFileRepository = storedFileRepository;
         this.antivirusScanner = antivirusScanner;
         this.filesystemStorage = filesystemStorage;
-        this.storagePathResolver = storagePathResolver;
         this.fileMimeDetector = fileMimeDetector;
         this.storageRules = storageRules;
+        this.thumbnailImageService = thumbnailImageService;
+        this.ingestMetrics = ingestMetrics;
         this.eventPublisher = eventPublisher;
         this.timeProvider = timeProvider;
     }
@@ -60,33 +70,34 @@ class ScanAndValidateUploadedFileOnFileUploadedEventHandler extends BaseEventHan
             return;
         }
 
-        byte[] bytes = readAllBytes(storagePathResolver.blobPath(event.fileId()));
-        ScanResult scanResult = antivirusScanner.scan(new java.io.ByteArrayInputStream(bytes));
+        long cpuClockStart = ingestMetrics.startCpuClock();
+        MappedBlob blob = filesystemStorage.mapBlob(event.fileId());
+        ScanResult scanResult = antivirusScanner.scan(blob.openStream());
 
         if (scanResult.status() != ScanResult.Status.OK) {
-            storedFile.setStatus(StoredFileStatus.REJECTED);
-            storedFile.setScannedAt(timeProvider.now());
-            storedFileRepository.save(storedFile);
-            filesystemStorage.deleteFileDirectory(storedFile.getFileId());
+            reject(storedFile);
             return;
         }
 
         String mimeType;
         try {
-            mimeType = fileMimeDetector.detect(bytes, storedFile.getOriginalFilename());
+            mimeType = fileMimeDetector.detect(blob.content(), storedFile.getOriginalFilename());
             storageRules.validateDetectedMimeType(storedFile.getObjectType(), mimeType);
         } catch (StorageValidationException ex) {
-            storedFile.setStatus(StoredFileStatus.REJECTED);
-            storedFile.setScannedAt(timeProvider.now());
-            storedFileRepository.save(storedFile);
-            filesystemStorage.deleteFileDirectory(storedFile.getFileId());
+            reject(storedFile);
             return;
         }
 
+        if (storedFile.getKind() == StoredFileKind.IMAGE) {
+            writeThumbnails(storedFile, blob, mimeType);
+        }
+
+        Instant readyAt = timeProvider.now();
         storedFile.setMimeType(mimeType);
         storedFile.setStatus(StoredFileStatus.READY);
-        storedFile.setScannedAt(timeProvider.now());
+        storedFile.setScannedAt(readyAt);
         storedFileRepository.save(storedFile);
+        ingestMetrics.recordReady(storedFile, readyAt, cpuClockStart);
 
         FileReadyEvent readyEvent = FileReadyEvent.builder()
                 .fileId(storedFile.getFileId())
@@ -95,11 +106,31 @@ class ScanAndValidateUploadedFileOnFileUploadedEventHandler extends BaseEventHan
         eventPublisher.publish(readyEvent);
     }
 
-    private byte[] readAllBytes(java.nio.file.Path path) {
-        try (InputStream input = filesystemStorage.openForRead(path)) {
-            return input.readAllBytes();
-        } catch (java.io.IOException ex) {
-            throw new app.partsvibe.shared.error.ApplicationException("Failed to read uploaded file for scanning.", ex);
+    private void writeThumbnails(StoredFile storedFile, MappedBlob blob, String mimeType) {
+        // Recorded on failure too, so the FileReadyEvent fallback does not retry it.
+        storedFile.setThumbnailsAttemptedAt(timeProvider.now());
+        ImageThumbnails thumbnails;
+        try {
+            thumbnails = thumbnailImageService.createThumbnails(
+                    blob.content(), ThumbnailImageService.outputFormatFor(mimeType));
+        } catch (StorageValidationException ex) {
+            // The image passed validation but cannot be thumbnailed; it is still served as the original.
+            log.warn(
+                    "Thumbnail generation failed, serving original only. fileId={}, reason={}",
+                    storedFile.getFileId(),
+                    ex.getMessage());
+            return;
         }
+        filesystemStorage.writeThumbnail128(storedFile.getFileId(), thumbnails.thumbnail128());
+        filesystemStorage.writeThumbnail512(storedFile.getFileId(), thumbnails.thumbnail512());
+        storedFile.setThumbnail128Ready(true);
+        storedFile.setThumbnail512Ready(true);
+    }
+
+    private void reject(StoredFile storedFile) {
+        storedFile.setStatus(StoredFileStatus.REJECTED);
+        storedFile.setScannedAt(timeProvider.now());
+        storedFileRepository.save(storedFile);
+        filesystemStorage.deleteFileDirectory(storedFile.getFileId());
     }
 }
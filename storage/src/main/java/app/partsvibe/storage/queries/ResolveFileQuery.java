@@ -4,9 +4,12 @@ import app.partsvibe.shared.cqrs.Query;
 import app.partsvibe.storage.api.StorageFileVariant;
 import jakarta.validation.constraints.NotNull;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.UUID;
 
 public record ResolveFileQuery(@NotNull UUID fileId, @NotNull StorageFileVariant variant)
         implements Query<ResolveFileQuery.FileResource> {
-    public record FileResource(Path path, String mimeType, long sizeBytes) {}
+    // variant is the one actually served; a thumbnail that is not generated yet falls back to the original.
+    public record FileResource(
+            Path path, String mimeType, long sizeBytes, StorageFileVariant variant, Instant lastModified) {}
 }
@@ -1,6 +1,7 @@
 package app.partsvibe.storage.queries;
 
 import app.partsvibe.shared.cqrs.BaseQueryHandler;
+import app.partsvibe.shared.error.ApplicationException;
 import app.partsvibe.storage.api.StorageFileVariant;
 import app.partsvibe.storage.domain.QStoredFile;
 import app.partsvibe.storage.domain.StoredFileStatus;
@@ -8,8 +9,11 @@ import app.partsvibe.storage.errors.StoredFileNotFoundException;
 import app.partsvibe.storage.service.FilesystemStorage;
 import app.partsvibe.storage.service.StoragePathResolver;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.UUID;
 import org.springframework.stereotype.Component;
 
@@ -49,11 +53,11 @@ class ResolveFileQueryHandler extends BaseQueryHandler<ResolveFileQuery, Resolve
             throw new StoredFileNotFoundException(query.fileId());
         }
 
-        Path targetPath = resolvePath(
-                query.fileId(),
+        StorageFileVariant variant = resolveVariant(
                 query.variant(),
                 Boolean.TRUE.equals(projection.get(storedFile.thumbnail128Ready)),
                 Boolean.TRUE.equals(projection.get(storedFile.thumbnail512Ready)));
+        Path targetPath = pathOf(query.fileId(), variant);
 
         if (!filesystemStorage.exists(targetPath)) {
             Path fallbackPath = pathResolver.blobPath(query.fileId());
@@ -61,32 +65,47 @@ class ResolveFileQueryHandler extends BaseQueryHandler<ResolveFileQuery, Resolve
                 throw new StoredFileNotFoundException(query.fileId());
             }
             targetPath = fallbackPath;
+            variant = StorageFileVariant.ORIGINAL;
         }
 
         String mimeType = projection.get(storedFile.mimeType);
-        long sizeBytes = fileSizeOf(targetPath);
+        BasicFileAttributes attributes = fileAttributesOf(query.fileId(), targetPath);
 
         return new ResolveFileQuery.FileResource(
-                targetPath, mimeType == null ? APPLICATION_OCTET_STREAM : mimeType, sizeBytes);
+                targetPath,
+                mimeType == null ? APPLICATION_OCTET_STREAM : mimeType,
+                attributes.size(),
+                variant,
+                attributes.lastModifiedTime().toInstant());
     }
 
-    private Path resolvePath(
-            UUID fileId, StorageFileVariant variant, boolean thumbnail128Ready, boolean thumbnail512Ready) {
+    private static StorageFileVariant resolveVariant(
+            StorageFileVariant variant, boolean thumbnail128Ready, boolean thumbnail512Ready) {
         if (variant == StorageFileVariant.THUMBNAIL_128 && thumbnail128Ready) {
-            return pathResolver.thumbnail128Path(fileId);
+            return StorageFileVariant.THUMBNAIL_128;
         }
         if (variant == StorageFileVariant.THUMBNAIL_512 && thumbnail512Ready) {
-            return pathResolver.thumbnail512Path(fileId);
+            return StorageFileVariant.THUMBNAIL_512;
         }
-        return pathResolver.blobPath(fileId);
+        return StorageFileVariant.ORIGINAL;
     }
 
-    private static long fileSizeOf(Path path) {
+    private Path pathOf(UUID fileId, StorageFileVariant variant) {
+        return switch (variant) {
+            case ORIGINAL -> pathResolver.blobPath(fileId);
+            case THUMBNAIL_128 -> pathResolver.thumbnail128Path(fileId);
+            case THUMBNAIL_512 -> pathResolver.thumbnail512Path(fileId);
+        };
+    }
+
+    private static BasicFileAttributes fileAttributesOf(UUID fileId, Path path) {
         try {
-            return Files.size(path);
-        } catch (java.io.IOException ex) {
-            throw new app.partsvibe.shared.error.ApplicationException(
-                    "Failed to read stored file size. path=" + path, ex);
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException ex) {
+            // Deleted after the exists check.
+            throw new StoredFileNotFoundException(fileId);
+        } catch (IOException ex) {
+            throw new ApplicationException("Failed to read stored file attributes. path=" + path, ex);
         }
     }
 }
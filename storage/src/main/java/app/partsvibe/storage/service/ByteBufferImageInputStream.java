@@ -0,0 +1,49 @@
+package app.partsvibe.storage.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import javax.imageio.stream.ImageInputStreamImpl;
+
+// Lets ImageIO decode straight from a (mapped) buffer. ImageIO.createImageInputStream(InputStream) would cache the
+// whole stream on the heap in order to support seeking.
+final class ByteBufferImageInputStream extends ImageInputStreamImpl {
+    private final ByteBuffer buffer;
+
+    ByteBufferImageInputStream(ByteBuffer buffer) {
+        this.buffer = buffer.slice();
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkClosed();
+        bitOffset = 0;
+        if (streamPos >= buffer.limit()) {
+            return -1;
+        }
+        return buffer.get((int) streamPos++) & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        checkClosed();
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        bitOffset = 0;
+        if (length == 0) {
+            return 0;
+        }
+        long remaining = buffer.limit() - streamPos;
+        if (remaining <= 0) {
+            return -1;
+        }
+        int count = (int) Math.min(length, remaining);
+        buffer.get((int) streamPos, bytes, offset, count);
+        streamPos += count;
+        return count;
+    }
+
+    @Override
+    public long length() {
+        return buffer.limit();
+    }
+}
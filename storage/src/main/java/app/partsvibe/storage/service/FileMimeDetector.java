@@ -1,5 +1,9 @@
 package app.partsvibe.storage.service;
 
+import java.nio.ByteBuffer;
+
 public interface FileMimeDetector {
     String detect(byte[] bytes, String originalFilename);
+
+    String detect(ByteBuffer content, String originalFilename);
 }
@@ -3,15 +3,25 @@ package app.partsvibe.storage.service;
 import app.partsvibe.storage.api.StorageException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.UUID;
+import java.util.function.LongConsumer;
 import org.springframework.stereotype.Component;
 
 @Component
 public class FilesystemStorage {
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+
     private final StoragePathResolver pathResolver;
 
     public FilesystemStorage(StoragePathResolver pathResolver) {
@@ -22,6 +32,26 @@ public class FilesystemStorage {
         return writeBytes(pathResolver.blobPath(fileId), bytes);
     }
 
+    // Copies the stream into a temp file next to the blob, hashing on the way, so an upload never holds more than one
+    // copy buffer on the heap. The size guard sees the running byte count and aborts the copy by throwing.
+    public StoredBlob writeBlob(UUID fileId, InputStream content, LongConsumer sizeGuard) {
+        Path targetPath = pathResolver.blobPath(fileId);
+        try {
+            Path directory = targetPath.getParent();
+            Files.createDirectories(directory);
+            Path tmpFile = Files.createTempFile(directory, "upload-", ".tmp");
+            try {
+                StoredBlob blob = copyToFile(content, tmpFile, targetPath, sizeGuard);
+                moveReplacing(tmpFile, targetPath);
+                return blob;
+            } finally {
+                Files.deleteIfExists(tmpFile);
+            }
+        } catch (IOException ex) {
+            throw new StorageException("Failed to write stored file. path=" + targetPath, ex);
+        }
+    }
+
     public Path writeThumbnail128(UUID fileId, byte[] bytes) {
         return writeBytes(pathResolver.thumbnail128Path(fileId), bytes);
     }
@@ -38,6 +68,18 @@ public class FilesystemStorage {
         }
     }
 
+    public MappedBlob mapBlob(UUID fileId) {
+        Path path = pathResolver.blobPath(fileId);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MappedBlob(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (UnsupportedOperationException ex) {
+            // Non-default file systems (e.g. in-memory ones) cannot map files.
+            return new MappedBlob(ByteBuffer.wrap(readAllBytes(path)));
+        } catch (IOException ex) {
+            throw new StorageException("Failed to map stored file. path=" + path, ex);
+        }
+    }
+
     public boolean exists(Path path) {
         return Files.exists(path);
     }
@@ -72,6 +114,39 @@ public class FilesystemStorage {
         }
     }
 
+    private static StoredBlob copyToFile(InputStream content, Path tmpFile, Path targetPath, LongConsumer sizeGuard)
+            throws IOException {
+        MessageDigest digest = sha256Digest();
+        byte[] buffer = new byte[COPY_BUFFER_BYTES];
+        long sizeBytes = 0;
+        try (OutputStream out = Files.newOutputStream(tmpFile)) {
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                sizeBytes += read;
+                sizeGuard.accept(sizeBytes);
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+        }
+        return new StoredBlob(targetPath, sizeBytes, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available.", ex);
+        }
+    }
+
+    private static byte[] readAllBytes(Path path) {
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException ex) {
+            throw new StorageException("Failed to read stored file. path=" + path, ex);
+        }
+    }
+
     private void deleteSinglePath(Path path) {
         try {
             Files.deleteIfExists(path);
@@ -0,0 +1,3 @@
+package app.partsvibe.storage.service;
+
+public record ImageThumbnails(byte[] thumbnail128, byte[] thumbnail512) {}
@@ -0,0 +1,27 @@
+package app.partsvibe.storage.service;
+
+import app.partsvibe.shared.utils.ByteBufferInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+// Read-only view of a stored blob, usually memory-mapped. Every consumer gets its own cursor over the same pages, so
+// scanning, MIME sniffing and image decoding do not read the file again or copy it onto the heap.
+public final class MappedBlob {
+    private final ByteBuffer content;
+
+    MappedBlob(ByteBuffer content) {
+        this.content = content.asReadOnlyBuffer();
+    }
+
+    public long sizeBytes() {
+        return content.limit();
+    }
+
+    public ByteBuffer content() {
+        return content.duplicate();
+    }
+
+    public InputStream openStream() {
+        return new ByteBufferInputStream(content());
+    }
+}
@@ -0,0 +1,39 @@
+package app.partsvibe.storage.service;
+
+import app.partsvibe.storage.domain.StoredFile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StorageIngestMetrics {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final MeterRegistry meterRegistry;
+
+    public StorageIngestMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Thread CPU clock of the ingesting thread, pass the value back to recordReady.
+    public long startCpuClock() {
+        return THREADS.getCurrentThreadCpuTime();
+    }
+
+    public void recordReady(StoredFile storedFile, Instant readyAt, long cpuClockStart) {
+        String kind = storedFile.getKind().name().toLowerCase(Locale.ROOT);
+        Timer.builder("app.storage.ingest.time-to-ready")
+                .tag("kind", kind)
+                .register(meterRegistry)
+                .record(Duration.between(storedFile.getUploadedAt(), readyAt));
+        Timer.builder("app.storage.ingest.cpu")
+                .tag("kind", kind)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(THREADS.getCurrentThreadCpuTime() - cpuClockStart));
+    }
+}
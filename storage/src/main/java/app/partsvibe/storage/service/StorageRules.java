@@ -21,6 +21,10 @@ public class StorageRules {
 
     public void validateUpload(StorageObjectType objectType, String originalFilename, long sizeBytes) {
         validateSize(objectType, sizeBytes);
+        validateFilename(objectType, originalFilename);
+    }
+
+    public void validateFilename(StorageObjectType objectType, String originalFilename) {
         if (objectType.isImage()) {
             validateImageExtension(originalFilename);
         }
@@ -32,7 +36,7 @@ public class StorageRules {
         }
     }
 
-    private void validateSize(StorageObjectType objectType, long sizeBytes) {
+    public void validateSize(StorageObjectType objectType, long sizeBytes) {
         long maxSize = maxAllowedSize(objectType);
         if (sizeBytes > maxSize) {
             throw new StorageFileSizeLimitExceededException(objectType, maxSize, sizeBytes);
@@ -0,0 +1,5 @@
+package app.partsvibe.storage.service;
+
+import java.nio.file.Path;
+
+public record StoredBlob(Path path, long sizeBytes, String sha256) {}
@@ -6,9 +6,9 @@ import app.partsvibe.storage.config.StorageProperties;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Iterator;
 import javax.imageio.ImageIO;
 import javax.imageio.ImageReadParam;
@@ -18,6 +18,9 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class ThumbnailImageService {
+    public static final int SMALL_THUMBNAIL_PX = 128;
+    public static final int LARGE_THUMBNAIL_PX = 512;
+
     private final StorageProperties properties;
 
     public ThumbnailImageService(StorageProperties properties) {
@@ -31,9 +34,24 @@ public class ThumbnailImageService {
             throw new StorageValidationException("Thumbnail size must be greater than zero.");
         }
 
-        ImageMetadata metadata = readImageMetadata(sourceImage);
-        validateImageMetadata(metadata.width(), metadata.height());
-        BufferedImage input = readImage(sourceImage, boxSize, metadata);
+        BufferedImage input = decode(ByteBuffer.wrap(sourceImage), boxSize);
+        return writeImage(fitIntoBox(input, boxSize), outputFormat);
+    }
+
+    // Decodes the source once, at the subsampling suited for the 512 px box, and derives the 128 px thumbnail from
+    // the 512 px raster instead of decoding the source again.
+    public ImageThumbnails createThumbnails(ByteBuffer sourceImage, String outputFormat) {
+        BufferedImage input = decode(sourceImage, LARGE_THUMBNAIL_PX);
+        BufferedImage thumbnail512 = fitIntoBox(input, LARGE_THUMBNAIL_PX);
+        BufferedImage thumbnail128 = fitIntoBox(thumbnail512, SMALL_THUMBNAIL_PX);
+        return new ImageThumbnails(writeImage(thumbnail128, outputFormat), writeImage(thumbnail512, outputFormat));
+    }
+
+    public static String outputFormatFor(String mimeType) {
+        return "image/png".equalsIgnoreCase(mimeType) ? "png" : "jpg";
+    }
+
+    private static BufferedImage fitIntoBox(BufferedImage input, int boxSize) {
         int width = input.getWidth();
         int height = input.getHeight();
 
@@ -54,34 +72,22 @@ public class ThumbnailImageService {
         } finally {
             graphics.dispose();
         }
-
-        return writeImage(thumbnail, outputFormat);
+        return thumbnail;
     }
 
-    private ImageMetadata readImageMetadata(byte[] sourceImage) {
-        // Read only dimensions first. This avoids full raster allocation for decompression-bomb inputs.
-        try (ImageInputStream stream = ImageIO.createImageInputStream(new ByteArrayInputStream(sourceImage))) {
+    private BufferedImage decode(ByteBuffer sourceImage, int boxSize) {
+        // One reader reads the dimensions first and only then the raster. Checking dimensions before the raster is
+        // allocated protects against decompression-bomb inputs.
+        try (ImageInputStream stream = new ByteBufferImageInputStream(sourceImage)) {
             ImageReader reader = firstReader(stream);
             try {
                 reader.setInput(stream, true, true);
-                return new ImageMetadata(reader.getWidth(0), reader.getHeight(0));
-            } finally {
-                reader.dispose();
-            }
-        } catch (IOException ex) {
-            throw new ApplicationException("Failed to decode image for thumbnail generation.", ex);
-        } catch (RuntimeException ex) {
-            throw new StorageValidationException("Uploaded image cannot be parsed for thumbnail generation.");
-        }
-    }
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                validateImageMetadata(width, height);
 
-    private BufferedImage readImage(byte[] sourceImage, int boxSize, ImageMetadata metadata) {
-        try (ImageInputStream stream = ImageIO.createImageInputStream(new ByteArrayInputStream(sourceImage))) {
-            ImageReader reader = firstReader(stream);
-            try {
-                reader.setInput(stream, true, true);
                 ImageReadParam param = reader.getDefaultReadParam();
-                int subsampling = calculateSubsampling(metadata.width(), metadata.height(), boxSize);
+                int subsampling = calculateSubsampling(width, height, boxSize);
                 if (subsampling > 1) {
                     // Decode a downsampled raster directly from source to reduce peak memory usage.
                     param.setSourceSubsampling(subsampling, subsampling, 0, 0);
@@ -95,6 +101,8 @@ public class ThumbnailImageService {
             } finally {
                 reader.dispose();
             }
+        } catch (StorageValidationException ex) {
+            throw ex;
         } catch (IOException ex) {
             throw new ApplicationException("Failed to decode image for thumbnail generation.", ex);
         } catch (RuntimeException ex) {
@@ -103,9 +111,6 @@ public class ThumbnailImageService {
     }
 
     private ImageReader firstReader(ImageInputStream stream) {
-        if (stream == null) {
-            throw new StorageValidationException("Uploaded image cannot be parsed for thumbnail generation.");
-        }
         Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
         if (!readers.hasNext()) {
             throw new StorageValidationException("Uploaded image format is not supported for thumbnail generation.");
@@ -162,6 +167,4 @@ public class ThumbnailImageService {
             throw new ApplicationException("Failed to encode thumbnail image.", ex);
         }
     }
-
-    private record ImageMetadata(int width, int height) {}
 }
@@ -2,6 +2,7 @@ package app.partsvibe.storage.service;
 
 import app.partsvibe.storage.api.StorageValidationException;
 import app.partsvibe.storage.config.StorageProperties;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Locale;
 import org.apache.tika.Tika;
@@ -27,6 +28,15 @@ public class TikaFileMimeDetector implements FileMimeDetector {
         return mimeType.toLowerCase(Locale.ROOT);
     }
 
+    @Override
+    public String detect(ByteBuffer content, String originalFilename) {
+        // Copy only the sniffed prefix, the rest of the (mapped) content is never touched.
+        int sniffLength = Math.min(content.remaining(), properties.getMimeDetection().getMaxSniffBytes());
+        byte[] sniffBytes = new byte[sniffLength];
+        content.get(content.position(), sniffBytes);
+        return detect(sniffBytes, originalFilename);
+    }
+
     private byte[] boundedSniffBytes(byte[] bytes) {
         int maxSniffBytes = properties.getMimeDetection().getMaxSniffBytes();
         if (bytes.length <= maxSniffBytes) {
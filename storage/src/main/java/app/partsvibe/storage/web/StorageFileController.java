@@ -4,18 +4,49 @@ import app.partsvibe.shared.cqrs.Mediator;
 import app.partsvibe.storage.api.StorageFileVariant;
 import app.partsvibe.storage.errors.StoredFileNotFoundException;
 import app.partsvibe.storage.queries.ResolveFileQuery;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @Controller
 @PreAuthorize("isAuthenticated()")
 public class StorageFileController {
+    // Stored files never change under their file id, so a served variant can be cached for as long as clients want.
+    // Files are only readable by authenticated users, hence private.
+    private static final CacheControl IMMUTABLE =
+            CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+    // A thumbnail that is not generated yet is answered with the original, which must be revalidated.
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    // With these request attributes Tomcat serves the body itself via sendfile (FileChannel.transferTo into the
+    // socket), so the bytes never enter the heap. Other containers get FileChannel.transferTo into the response.
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
     private final Mediator mediator;
 
     public StorageFileController(Mediator mediator) {
@@ -23,12 +54,18 @@ public class StorageFileController {
     }
 
     @GetMapping("/storage/files/{fileId}")
-    public ResponseEntity<InputStreamResource> readOriginal(@PathVariable UUID fileId) {
-        return read(fileId, StorageFileVariant.ORIGINAL);
+    public ResponseEntity<Void> readOriginal(
+            @PathVariable UUID fileId, ServletWebRequest webRequest, HttpServletResponse response) throws IOException {
+        return read(fileId, StorageFileVariant.ORIGINAL, webRequest, response);
     }
 
     @GetMapping("/storage/files/{fileId}/thumbnail/{size}")
-    public ResponseEntity<InputStreamResource> readThumbnail(@PathVariable UUID fileId, @PathVariable int size) {
+    public ResponseEntity<Void> readThumbnail(
+            @PathVariable UUID fileId,
+            @PathVariable int size,
+            ServletWebRequest webRequest,
+            HttpServletResponse response)
+            throws IOException {
         StorageFileVariant variant =
                 switch (size) {
                     case 128 -> StorageFileVariant.THUMBNAIL_128;
@@ -38,20 +75,113 @@ public class StorageFileController {
         if (variant == null) {
             return ResponseEntity.notFound().build();
         }
-        return read(fileId, variant);
+        return read(fileId, variant, webRequest, response);
     }
 
-    private ResponseEntity<InputStreamResource> read(UUID fileId, StorageFileVariant variant) {
+    // Returns null once the response has been written directly.
+    private ResponseEntity<Void> read(
+            UUID fileId, StorageFileVariant variant, ServletWebRequest webRequest, HttpServletResponse response)
+            throws IOException {
+        ResolveFileQuery.FileResource resource;
         try {
-            ResolveFileQuery.FileResource resource = mediator.executeQuery(new ResolveFileQuery(fileId, variant));
-            InputStreamResource body = new InputStreamResource(java.nio.file.Files.newInputStream(resource.path()));
-            return ResponseEntity.ok()
-                    .contentLength(resource.sizeBytes())
-                    .contentType(parseMediaType(resource.mimeType()))
-                    .body(body);
-        } catch (StoredFileNotFoundException | java.io.IOException ex) {
+            resource = mediator.executeQuery(new ResolveFileQuery(fileId, variant));
+        } catch (StoredFileNotFoundException ex) {
             return ResponseEntity.notFound().build();
         }
+
+        HttpServletRequest request = webRequest.getRequest();
+        String etag = etagOf(fileId, resource.variant());
+        CacheControl cacheControl = resource.variant() == variant ? IMMUTABLE : REVALIDATE;
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (webRequest.checkNotModified(etag, resource.lastModified().toEpochMilli())) {
+            return null;
+        }
+
+        long sizeBytes = resource.sizeBytes();
+        long start = 0;
+        long length = sizeBytes;
+        HttpRange range = requestedRange(request, etag);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(sizeBytes);
+                length = range.getRangeEnd(sizeBytes) - start + 1;
+            } catch (IllegalArgumentException ex) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + sizeBytes);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return null;
+            }
+        }
+
+        if (range != null) {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(
+                    HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + length - 1) + "/" + sizeBytes);
+        }
+        response.setContentType(parseMediaType(resource.mimeType()).toString());
+        response.setContentLengthLong(length);
+
+        try {
+            if (isSendfileSupported(request, resource.path())) {
+                request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, resource.path().toRealPath().toString());
+                request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+                request.setAttribute(SENDFILE_END_ATTRIBUTE, start + length);
+                return null;
+            }
+            try (FileChannel channel = FileChannel.open(resource.path(), StandardOpenOption.READ)) {
+                transfer(channel, start, length, response);
+            }
+        } catch (NoSuchFileException ex) {
+            response.reset();
+            return ResponseEntity.notFound().build();
+        }
+        return null;
+    }
+
+    private static boolean isSendfileSupported(HttpServletRequest request, Path path) {
+        return Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))
+                && path.getFileSystem() == FileSystems.getDefault();
+    }
+
+    private static void transfer(FileChannel channel, long start, long length, HttpServletResponse response)
+            throws IOException {
+        WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+        long position = start;
+        long remaining = length;
+        while (remaining > 0) {
+            long transferred = channel.transferTo(position, remaining, target);
+            if (transferred <= 0) {
+                // The file was truncated after Content-Length was sent; the client sees a short body.
+                break;
+            }
+            position += transferred;
+            remaining -= transferred;
+        }
+    }
+
+    // Only a single range is served. Multiple ranges and ranges guarded by a stale If-Range get the full body,
+    // which is what RFC 9110 allows a server to do.
+    private static HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.getFirst() : null;
+    }
+
+    // Strong ETag: the bytes behind a file id and variant never change.
+    private static String etagOf(UUID fileId, StorageFileVariant variant) {
+        return "\"" + fileId + "-" + variant.name().toLowerCase(Locale.ROOT) + "\"";
     }
 
     private static MediaType parseMediaType(String mimeType) {
@@ -4,11 +4,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import app.partsvibe.shared.cqrs.Mediator;
 import app.partsvibe.shared.error.ApplicationException;
+import app.partsvibe.storage.commands.UploadFileCommand;
+import java.io.ByteArrayInputStream;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 class DefaultStorageClientTest {
     private final Mediator mediator = mock(Mediator.class);
@@ -34,6 +39,22 @@ class DefaultStorageClientTest {
                 .hasMessageContaining("storage failed");
     }
 
+    @Test
+    void uploadPassesStreamToUploadCommand() {
+        var content = new ByteArrayInputStream(new byte[] {1, 2, 3});
+        var expected = new StorageUploadResult(UUID.randomUUID());
+        when(mediator.executeCommand(any())).thenReturn(expected);
+
+        var result = client.upload(
+                new StorageStreamUploadRequest(StorageObjectType.PART_ATTACHMENT, "manual.pdf", content));
+
+        assertThat(result).isEqualTo(expected);
+        var captor = ArgumentCaptor.forClass(UploadFileCommand.class);
+        verify(mediator).executeCommand(captor.capture());
+        assertThat(captor.getValue().content()).isSameAs(content);
+        assertThat(captor.getValue().originalFilename()).isEqualTo("manual.pdf");
+    }
+
     @Test
     void deleteReturnsFailedWhenMediatorThrowsApplicationException() {
         when(mediator.executeCommand(any())).thenThrow(new ApplicationException("boom"));
@@ -3,16 +3,23 @@ package app.partsvibe.storage.commands;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import app.partsvibe.storage.api.StorageFileSizeLimitExceededException;
 import app.partsvibe.storage.api.StorageObjectType;
 import app.partsvibe.storage.api.StorageValidationException;
 import app.partsvibe.storage.api.events.FileUploadedEvent;
+import app.partsvibe.storage.config.StorageProperties;
 import app.partsvibe.storage.domain.StoredFileStatus;
 import app.partsvibe.storage.repo.StoredFileRepository;
 import app.partsvibe.storage.service.FilesystemStorage;
 import app.partsvibe.storage.service.StoragePathResolver;
 import app.partsvibe.storage.test.it.AbstractStorageIntegrationTest;
 import app.partsvibe.storage.test.support.StorageTestData;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -29,6 +36,9 @@ class UploadFileCommandHandlerIT extends AbstractStorageIntegrationTest {
     @Autowired
     private FilesystemStorage filesystemStorage;
 
+    @Autowired
+    private StorageProperties storageProperties;
+
     @Test
     void uploadStoresPendingFileWritesBlobAndPublishesFileUploadedEvent() throws Exception {
         byte[] content = StorageTestData.pngBytes(8, 8);
@@ -36,7 +46,7 @@ class UploadFileCommandHandlerIT extends AbstractStorageIntegrationTest {
         var result = commandHandler.handle(UploadFileCommand.builder()
                 .objectType(StorageObjectType.USER_AVATAR_IMAGE)
                 .originalFilename("avatar.png")
-                .content(content)
+                .content(new ByteArrayInputStream(content))
                 .build());
 
         var saved = storedFileRepository.findByFileId(result.fileId()).orElseThrow();
@@ -44,6 +54,8 @@ class UploadFileCommandHandlerIT extends AbstractStorageIntegrationTest {
         assertThat(saved.getMimeType()).isNull();
         assertThat(saved.getSizeBytes()).isEqualTo(content.length);
         assertThat(saved.getOriginalFilename()).isEqualTo("avatar.png");
+        assertThat(saved.getSha256())
+                .isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)));
         assertThat(saved.getUploadedBy())
                 .isEqualTo(currentUserProvider.currentUsername().orElseThrow());
 
@@ -66,11 +78,52 @@ class UploadFileCommandHandlerIT extends AbstractStorageIntegrationTest {
         assertThatThrownBy(() -> commandHandler.handle(UploadFileCommand.builder()
                         .objectType(StorageObjectType.USER_AVATAR_IMAGE)
                         .originalFilename("avatar.gif")
-                        .content(content)
+                        .content(new ByteArrayInputStream(content))
                         .build()))
                 .isInstanceOf(StorageValidationException.class);
 
         assertThat(storedFileRepository.count()).isZero();
         assertThat(eventPublisher.publishedEvents()).isEmpty();
     }
+
+    @Test
+    void uploadRejectsFileAboveSizeLimitWithoutLeavingBlobBehind() throws Exception {
+        long limit = storageProperties.getLimits().getAvatarBytes();
+        byte[] content = new byte[(int) limit + 1];
+        long storedFilesBefore = countStoredFiles();
+
+        assertThatThrownBy(() -> commandHandler.handle(UploadFileCommand.builder()
+                        .objectType(StorageObjectType.USER_AVATAR_IMAGE)
+                        .originalFilename("avatar.png")
+                        .content(new ByteArrayInputStream(content))
+                        .build()))
+                .isInstanceOf(StorageFileSizeLimitExceededException.class);
+
+        assertThat(storedFileRepository.count()).isZero();
+        assertThat(eventPublisher.publishedEvents()).isEmpty();
+        assertThat(countStoredFiles()).isEqualTo(storedFilesBefore);
+    }
+
+    @Test
+    void uploadRejectsEmptyContent() {
+        assertThatThrownBy(() -> commandHandler.handle(UploadFileCommand.builder()
+                        .objectType(StorageObjectType.PART_ATTACHMENT)
+                        .originalFilename("manual.pdf")
+                        .content(new ByteArrayInputStream(new byte[0]))
+                        .build()))
+                .isInstanceOf(StorageValidationException.class)
+                .hasMessageContaining("Uploaded file is empty");
+
+        assertThat(storedFileRepository.count()).isZero();
+    }
+
+    private long countStoredFiles() throws IOException {
+        Path root = Path.of(storageProperties.getRootDir());
+        if (!Files.exists(root)) {
+            return 0;
+        }
+        try (var files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
 }
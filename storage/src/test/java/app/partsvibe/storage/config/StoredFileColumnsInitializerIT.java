@@ -0,0 +1,34 @@
+package app.partsvibe.storage.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.storage.test.it.AbstractStorageIntegrationTest;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class StoredFileColumnsInitializerIT extends AbstractStorageIntegrationTest {
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void addsColumnsMissingFromExistingTable() {
+        // given
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        // The schema as it was before the columns were mapped; the rollback of the test restores it.
+        jdbcTemplate.execute("ALTER TABLE stored_files DROP COLUMN sha256, DROP COLUMN thumbnails_attempted_at");
+
+        // when
+        new StoredFileColumnsInitializer(dataSource).afterPropertiesSet();
+
+        // then
+        assertThat(jdbcTemplate.queryForList(
+                        """
+                        SELECT column_name FROM information_schema.columns
+                        WHERE table_schema = current_schema() AND table_name = 'stored_files'
+                        """,
+                        String.class))
+                .contains("sha256", "thumbnails_attempted_at");
+    }
+}
@@ -11,6 +11,7 @@ import app.partsvibe.storage.service.FilesystemStorage;
 import app.partsvibe.storage.service.StoragePathResolver;
 import app.partsvibe.storage.test.it.AbstractStorageIntegrationTest;
 import app.partsvibe.storage.test.support.StorageTestData;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -56,10 +57,84 @@ class GenerateImageThumbnailsOnFileReadyEventHandlerIT extends AbstractStorageIn
                 .isTrue();
     }
 
+    @Test
+    void skipsImagesWhoseThumbnailsWereGeneratedDuringIngest() {
+        UUID fileId = UUID.randomUUID();
+        byte[] png = StorageTestData.pngBytes(30, 10);
+
+        var stored =
+                StorageTestData.pendingImageFile(fileId, StorageObjectType.USER_AVATAR_IMAGE, "ok.png", png.length);
+        stored.setStatus(StoredFileStatus.READY);
+        stored.setMimeType("image/png");
+        stored.setScannedAt(Instant.now());
+        stored.setThumbnail128Ready(true);
+        stored.setThumbnail512Ready(true);
+        storedFileRepository.save(stored);
+        filesystemStorage.writeBlob(fileId, png);
+
+        handler.handle(FileReadyEvent.builder()
+                .fileId(fileId)
+                .objectType(StorageObjectType.USER_AVATAR_IMAGE)
+                .build());
+
+        assertThat(filesystemStorage.exists(pathResolver.thumbnail128Path(fileId)))
+                .isFalse();
+    }
+
+    @Test
+    void skipsImagesWhoseThumbnailingFailedDuringIngest() {
+        UUID fileId = UUID.randomUUID();
+        byte[] png = StorageTestData.pngBytes(30, 10);
+
+        var stored =
+                StorageTestData.pendingImageFile(fileId, StorageObjectType.USER_AVATAR_IMAGE, "ok.png", png.length);
+        stored.setStatus(StoredFileStatus.READY);
+        stored.setMimeType("image/png");
+        stored.setScannedAt(Instant.now());
+        stored.setThumbnailsAttemptedAt(Instant.now());
+        storedFileRepository.save(stored);
+        filesystemStorage.writeBlob(fileId, png);
+
+        handler.handle(FileReadyEvent.builder()
+                .fileId(fileId)
+                .objectType(StorageObjectType.USER_AVATAR_IMAGE)
+                .build());
+
+        var saved = storedFileRepository.findByFileId(fileId).orElseThrow();
+        assertThat(saved.isThumbnail128Ready()).isFalse();
+        assertThat(filesystemStorage.exists(pathResolver.thumbnail128Path(fileId)))
+                .isFalse();
+    }
+
+    @Test
+    void recordsFailedAttemptInsteadOfRetryingUnreadableImage() {
+        UUID fileId = UUID.randomUUID();
+        byte[] payload = "not-an-image".getBytes(StandardCharsets.UTF_8);
+
+        var stored = StorageTestData.pendingImageFile(
+                fileId, StorageObjectType.USER_AVATAR_IMAGE, "broken.png", payload.length);
+        stored.setStatus(StoredFileStatus.READY);
+        stored.setMimeType("image/png");
+        stored.setScannedAt(Instant.now());
+        storedFileRepository.save(stored);
+        filesystemStorage.writeBlob(fileId, payload);
+
+        assertThatCode(() -> handler.handle(FileReadyEvent.builder()
+                        .fileId(fileId)
+                        .objectType(StorageObjectType.USER_AVATAR_IMAGE)
+                        .build()))
+                .doesNotThrowAnyException();
+
+        var saved = storedFileRepository.findByFileId(fileId).orElseThrow();
+        assertThat(saved.getThumbnailsAttemptedAt()).isNotNull();
+        assertThat(saved.isThumbnail128Ready()).isFalse();
+        assertThat(saved.isThumbnail512Ready()).isFalse();
+    }
+
     @Test
     void skipsNonImageFiles() {
         UUID fileId = UUID.randomUUID();
-        byte[] payload = "pdf-bytes".getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        byte[] payload = "pdf-bytes".getBytes(StandardCharsets.UTF_8);
 
         var stored =
                 StorageTestData.pendingBlobFile(fileId, StorageObjectType.PART_ATTACHMENT, "doc.pdf", payload.length);
@@ -14,6 +14,7 @@ import app.partsvibe.storage.service.FilesystemStorage;
 import app.partsvibe.storage.service.StoragePathResolver;
 import app.partsvibe.storage.test.it.AbstractStorageIntegrationTest;
 import app.partsvibe.storage.test.support.StorageTestData;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
@@ -33,6 +34,9 @@ class ScanAndValidateUploadedFileOnFileUploadedEventHandlerIT extends AbstractSt
     @Autowired
     private StoragePathResolver pathResolver;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void marksFileReadyAndPublishesFileReadyEventWhenScanAndMimeValidationPass() {
         UUID fileId = UUID.randomUUID();
@@ -50,6 +54,13 @@ class ScanAndValidateUploadedFileOnFileUploadedEventHandlerIT extends AbstractSt
         assertThat(saved.getStatus()).isEqualTo(StoredFileStatus.READY);
         assertThat(saved.getScannedAt()).isNotNull();
         assertThat(saved.getMimeType()).isEqualTo("image/png");
+        assertThat(saved.isThumbnail128Ready()).isTrue();
+        assertThat(saved.isThumbnail512Ready()).isTrue();
+        assertThat(saved.getThumbnailsAttemptedAt()).isNotNull();
+        assertThat(filesystemStorage.exists(pathResolver.thumbnail128Path(fileId)))
+                .isTrue();
+        assertThat(filesystemStorage.exists(pathResolver.thumbnail512Path(fileId)))
+                .isTrue();
 
         assertThat(eventPublisher.publishedEvents()).hasSize(1);
         assertThat(eventPublisher.publishedEvents().getFirst()).isInstanceOf(FileReadyEvent.class);
@@ -58,6 +69,34 @@ class ScanAndValidateUploadedFileOnFileUploadedEventHandlerIT extends AbstractSt
         assertThat(readyEvent.fileId()).isEqualTo(fileId);
     }
 
+    @Test
+    void marksAttachmentReadyWithoutThumbnailsAndRecordsIngestMetrics() {
+        UUID fileId = UUID.randomUUID();
+        byte[] payload = "%PDF-1.4\n%%EOF\n".getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+        storedFileRepository.save(
+                StorageTestData.pendingBlobFile(fileId, StorageObjectType.PART_ATTACHMENT, "doc.pdf", payload.length));
+        filesystemStorage.writeBlob(fileId, payload);
+        long readyBefore = timeToReadyCount("blob");
+
+        handler.handle(FileUploadedEvent.builder()
+                .fileId(fileId)
+                .objectType(StorageObjectType.PART_ATTACHMENT)
+                .build());
+
+        var saved = storedFileRepository.findByFileId(fileId).orElseThrow();
+        assertThat(saved.getStatus()).isEqualTo(StoredFileStatus.READY);
+        assertThat(saved.isThumbnail128Ready()).isFalse();
+        assertThat(filesystemStorage.exists(pathResolver.thumbnail128Path(fileId)))
+                .isFalse();
+        assertThat(timeToReadyCount("blob")).isEqualTo(readyBefore + 1);
+        assertThat(meterRegistry
+                        .get("app.storage.ingest.cpu")
+                        .tag("kind", "blob")
+                        .timer()
+                        .count())
+                .isPositive();
+    }
+
     @Test
     void rejectsFileAndDeletesDirectoryWhenAntivirusReportsMalware() {
         UUID fileId = UUID.randomUUID();
@@ -131,4 +170,12 @@ class ScanAndValidateUploadedFileOnFileUploadedEventHandlerIT extends AbstractSt
                         .build()))
                 .isInstanceOf(StoredFileNotFoundException.class);
     }
+
+    private long timeToReadyCount(String kind) {
+        var timer = meterRegistry
+                .find("app.storage.ingest.time-to-ready")
+                .tag("kind", kind)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
 }
@@ -49,6 +49,8 @@ class ResolveFileQueryHandlerIT extends AbstractStorageIntegrationTest {
         assertThat(result.path()).isEqualTo(pathResolver.thumbnail128Path(fileId));
         assertThat(result.mimeType()).isEqualTo("image/png");
         assertThat(result.sizeBytes()).isEqualTo(thumb128.length);
+        assertThat(result.variant()).isEqualTo(StorageFileVariant.THUMBNAIL_128);
+        assertThat(result.lastModified()).isNotNull();
     }
 
     @Test
@@ -68,6 +70,7 @@ class ResolveFileQueryHandlerIT extends AbstractStorageIntegrationTest {
 
         assertThat(result.path()).isEqualTo(pathResolver.blobPath(fileId));
         assertThat(result.sizeBytes()).isEqualTo(original.length);
+        assertThat(result.variant()).isEqualTo(StorageFileVariant.ORIGINAL);
     }
 
     @Test
@@ -2,16 +2,24 @@ package app.partsvibe.storage.service;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import app.partsvibe.storage.api.StorageException;
+import app.partsvibe.storage.api.StorageValidationException;
 import com.google.common.jimfs.Configuration;
 import com.google.common.jimfs.Jimfs;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 
@@ -35,6 +43,67 @@ class FilesystemStorageTest {
         }
     }
 
+    @Test
+    void shouldStreamBlobComputingSizeAndSha256() throws Exception {
+        try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+            StoragePathResolver pathResolver = new StoragePathResolver(fs.getPath("/storage"));
+            FilesystemStorage storage = new FilesystemStorage(pathResolver);
+            UUID fileId = UUID.randomUUID();
+            byte[] content = new byte[200_000];
+            new Random(42).nextBytes(content);
+            List<Long> observedSizes = new ArrayList<>();
+
+            StoredBlob blob = storage.writeBlob(fileId, new ByteArrayInputStream(content), observedSizes::add);
+
+            assertEquals(pathResolver.blobPath(fileId), blob.path());
+            assertEquals(content.length, blob.sizeBytes());
+            assertEquals(
+                    HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)), blob.sha256());
+            assertArrayEquals(content, Files.readAllBytes(pathResolver.blobPath(fileId)));
+            assertEquals(content.length, (long) observedSizes.getLast());
+            assertTrue(observedSizes.size() > 1);
+        }
+    }
+
+    @Test
+    void shouldStopStreamingAndRemoveTempFileWhenSizeGuardRejects() throws IOException {
+        try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+            StoragePathResolver pathResolver = new StoragePathResolver(fs.getPath("/storage"));
+            FilesystemStorage storage = new FilesystemStorage(pathResolver);
+            UUID fileId = UUID.randomUUID();
+
+            assertThrows(
+                    StorageValidationException.class,
+                    () -> storage.writeBlob(fileId, new ByteArrayInputStream(new byte[200_000]), sizeBytes -> {
+                        if (sizeBytes > 100_000) {
+                            throw new StorageValidationException("too large");
+                        }
+                    }));
+
+            assertFalse(Files.exists(pathResolver.blobPath(fileId)));
+            try (var files = Files.list(pathResolver.fileDirectory(fileId))) {
+                assertEquals(0, files.count());
+            }
+        }
+    }
+
+    @Test
+    void mapBlobShouldExposeContentAsIndependentStreams() throws IOException {
+        try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+            StoragePathResolver pathResolver = new StoragePathResolver(fs.getPath("/storage"));
+            FilesystemStorage storage = new FilesystemStorage(pathResolver);
+            UUID fileId = UUID.randomUUID();
+            storage.writeBlob(fileId, "hello".getBytes());
+
+            MappedBlob blob = storage.mapBlob(fileId);
+
+            assertEquals(5, blob.sizeBytes());
+            assertArrayEquals("hello".getBytes(), blob.openStream().readAllBytes());
+            assertArrayEquals("hello".getBytes(), blob.openStream().readAllBytes());
+            assertEquals(0, blob.content().position());
+        }
+    }
+
     @Test
     void deleteFileDirectoryShouldIgnoreMissingDirectory() throws IOException {
         try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
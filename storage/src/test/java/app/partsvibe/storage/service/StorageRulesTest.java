@@ -43,6 +43,21 @@ class StorageRulesTest {
                 .hasMessageContaining("must include an extension");
     }
 
+    @Test
+    void validateSizeRejectsAttachmentAboveLimitReportingLimit() {
+        long limit = properties.getLimits().getAttachmentBytes();
+
+        assertThatThrownBy(() -> rules.validateSize(StorageObjectType.PART_ATTACHMENT, limit + 1))
+                .isInstanceOf(StorageFileSizeLimitExceededException.class)
+                .hasMessageContaining("maxBytes=" + limit);
+    }
+
+    @Test
+    void validateFilenameDoesNotRequireExtensionForAttachments() {
+        assertThatCode(() -> rules.validateFilename(StorageObjectType.PART_ATTACHMENT, "README"))
+                .doesNotThrowAnyException();
+    }
+
     @Test
     void validateDetectedMimeTypeAcceptsImagePngAndJpegCaseInsensitive() {
         assertThatCode(() -> rules.validateDetectedMimeType(StorageObjectType.USER_AVATAR_IMAGE, "image/png"))
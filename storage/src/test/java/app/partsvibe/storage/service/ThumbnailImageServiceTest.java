@@ -7,6 +7,7 @@ import app.partsvibe.storage.api.StorageValidationException;
 import app.partsvibe.storage.config.StorageProperties;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import javax.imageio.ImageIO;
 import org.junit.jupiter.api.Test;
 
@@ -73,6 +74,39 @@ class ThumbnailImageServiceTest {
         assertThrows(StorageValidationException.class, () -> service.createThumbnail(source, 128, "png"));
     }
 
+    @Test
+    void createThumbnailsProducesBothSizesFromSingleDecode() throws Exception {
+        ThumbnailImageService service = new ThumbnailImageService(defaultProperties());
+        byte[] source = toPngBytes(2000, 1000);
+
+        ImageThumbnails thumbnails = service.createThumbnails(ByteBuffer.wrap(source), "png");
+
+        BufferedImage small = ImageIO.read(new java.io.ByteArrayInputStream(thumbnails.thumbnail128()));
+        BufferedImage large = ImageIO.read(new java.io.ByteArrayInputStream(thumbnails.thumbnail512()));
+        assertArrayEquals(new int[] {128, 128}, new int[] {small.getWidth(), small.getHeight()});
+        assertArrayEquals(new int[] {512, 512}, new int[] {large.getWidth(), large.getHeight()});
+    }
+
+    @Test
+    void createThumbnailsRejectsImageExceedingConfiguredDimensions() throws Exception {
+        StorageProperties properties = defaultProperties();
+        properties.getImageProcessing().setMaxDimensionPx(5);
+        ThumbnailImageService service = new ThumbnailImageService(properties);
+        byte[] source = toPngBytes(10, 10);
+
+        assertThrows(
+                StorageValidationException.class, () -> service.createThumbnails(ByteBuffer.wrap(source), "png"));
+    }
+
+    @Test
+    void createThumbnailsRejectsUnparseableInput() {
+        ThumbnailImageService service = new ThumbnailImageService(defaultProperties());
+        byte[] source = "not-an-image".getBytes(java.nio.charset.StandardCharsets.UTF_8);
+
+        assertThrows(
+                StorageValidationException.class, () -> service.createThumbnails(ByteBuffer.wrap(source), "png"));
+    }
+
     private static StorageProperties defaultProperties() {
         return new StorageProperties();
     }
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import app.partsvibe.storage.config.StorageProperties;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import javax.imageio.ImageIO;
 import org.junit.jupiter.api.Test;
 
@@ -36,6 +37,20 @@ class TikaFileMimeDetectorTest {
         assertFalse(mimeType.isBlank());
     }
 
+    @Test
+    void detectFromBufferSniffsOnlyPrefixAndLeavesBufferPositionUntouched() throws Exception {
+        StorageProperties properties = new StorageProperties();
+        properties.getMimeDetection().setMaxSniffBytes(256);
+        TikaFileMimeDetector detector = new TikaFileMimeDetector(properties);
+
+        byte[] pngBytes = toPngBytes(8, 8);
+        ByteBuffer content = ByteBuffer.allocate(pngBytes.length + 10_000).put(pngBytes).flip();
+        content.limit(content.capacity());
+
+        assertEquals("image/png", detector.detect(content, "sample.png"));
+        assertEquals(0, content.position());
+    }
+
     private static byte[] toPngBytes(int width, int height) throws Exception {
         BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
         try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
@@ -1,6 +1,7 @@
 package app.partsvibe.storage.test.it;
 
 import app.partsvibe.storage.config.StorageModuleConfig;
+import app.partsvibe.storage.config.StoredFileColumnsInitializer;
 import app.partsvibe.testsupport.fakes.TestFakesConfiguration;
 import app.partsvibe.testsupport.it.CommonJpaTestConfiguration;
 import org.springframework.boot.SpringBootConfiguration;
@@ -26,9 +27,10 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
         includeFilters =
                 @ComponentScan.Filter(
                         type = FilterType.REGEX,
-                        pattern = ".*(Handler|Service|Storage|Detector|Rules|Resolver)$"))
+                        pattern = ".*(Handler|Service|Storage|Detector|Rules|Resolver|Metrics)$"))
 @Import({
     StorageModuleConfig.class,
+    StoredFileColumnsInitializer.class,
     CommonJpaTestConfiguration.class,
     TestFakesConfiguration.class,
     StorageItTestConfiguration.class
@@ -2,6 +2,8 @@ package app.partsvibe.storage.test.it;
 
 import app.partsvibe.shared.antivirus.AntivirusScanner;
 import app.partsvibe.storage.test.support.FakeAntivirusScanner;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 
@@ -16,4 +18,9 @@ public class StorageItTestConfiguration {
     AntivirusScanner antivirusScanner(FakeAntivirusScanner scanner) {
         return scanner;
     }
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
 }
@@ -9,13 +9,17 @@ import app.partsvibe.storage.api.StorageFileVariant;
 import app.partsvibe.storage.errors.StoredFileNotFoundException;
 import app.partsvibe.storage.queries.ResolveFileQuery;
 import app.partsvibe.storage.test.web.AbstractStorageWebIntegrationTest;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.test.context.support.WithMockUser;
 
 class StorageFileControllerIT extends AbstractStorageWebIntegrationTest {
+    private static final Instant LAST_MODIFIED = Instant.parse("2026-01-15T10:00:00Z");
+
     @Test
     @WithMockUser
     void readOriginalReturnsFileBodyAndHeaders() throws Exception {
@@ -28,7 +32,8 @@ class StorageFileControllerIT extends AbstractStorageWebIntegrationTest {
             if (!query.fileId().equals(fileId) || query.variant() != StorageFileVariant.ORIGINAL) {
                 throw new IllegalStateException("Unexpected query arguments.");
             }
-            return new ResolveFileQuery.FileResource(file, "image/png", payload.length);
+            return new ResolveFileQuery.FileResource(
+                    file, "image/png", payload.length, StorageFileVariant.ORIGINAL, LAST_MODIFIED);
         });
 
         mockMvc.perform(get("/storage/files/{fileId}", fileId))
@@ -66,10 +71,96 @@ class StorageFileControllerIT extends AbstractStorageWebIntegrationTest {
 
         mediator.onQuery(
                 ResolveFileQuery.class,
-                query -> new ResolveFileQuery.FileResource(file, "invalid-mime", payload.length));
+                query -> new ResolveFileQuery.FileResource(
+                        file, "invalid-mime", payload.length, StorageFileVariant.ORIGINAL, LAST_MODIFIED));
 
         mockMvc.perform(get("/storage/files/{fileId}", fileId))
                 .andExpect(status().isOk())
                 .andExpect(header().string("Content-Type", "application/octet-stream"));
     }
+
+    @Test
+    @WithMockUser
+    void readReturnsStrongEtagAndImmutableCacheControl() throws Exception {
+        UUID fileId = UUID.randomUUID();
+        givenStoredFile(fileId, "0123456789", StorageFileVariant.THUMBNAIL_128);
+
+        mockMvc.perform(get("/storage/files/{fileId}/thumbnail/{size}", fileId, 128))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + fileId + "-thumbnail_128\""))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, private, immutable"))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().dateValue("Last-Modified", LAST_MODIFIED.toEpochMilli()));
+    }
+
+    @Test
+    @WithMockUser
+    void readRequiresRevalidationWhenThumbnailFallsBackToOriginal() throws Exception {
+        UUID fileId = UUID.randomUUID();
+        givenStoredFile(fileId, "0123456789", StorageFileVariant.ORIGINAL);
+
+        mockMvc.perform(get("/storage/files/{fileId}/thumbnail/{size}", fileId, 128))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + fileId + "-original\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+    }
+
+    @Test
+    @WithMockUser
+    void readReturnsNotModifiedForMatchingEtagWithoutBody() throws Exception {
+        UUID fileId = UUID.randomUUID();
+        givenStoredFile(fileId, "0123456789", StorageFileVariant.ORIGINAL);
+
+        mockMvc.perform(get("/storage/files/{fileId}", fileId).header("If-None-Match", "\"" + fileId + "-original\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + fileId + "-original\""))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @WithMockUser
+    void readReturnsPartialContentForSingleRange() throws Exception {
+        UUID fileId = UUID.randomUUID();
+        givenStoredFile(fileId, "0123456789", StorageFileVariant.ORIGINAL);
+
+        mockMvc.perform(get("/storage/files/{fileId}", fileId).header("Range", "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-5/10"))
+                .andExpect(header().string("Content-Length", "4"))
+                .andExpect(content().bytes("2345".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @WithMockUser
+    void readIgnoresRangeWhenIfRangeDoesNotMatch() throws Exception {
+        UUID fileId = UUID.randomUUID();
+        givenStoredFile(fileId, "0123456789", StorageFileVariant.ORIGINAL);
+
+        mockMvc.perform(get("/storage/files/{fileId}", fileId)
+                        .header("Range", "bytes=2-5")
+                        .header("If-Range", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes("0123456789".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @WithMockUser
+    void readReturnsRangeNotSatisfiableForRangeBeyondFile() throws Exception {
+        UUID fileId = UUID.randomUUID();
+        givenStoredFile(fileId, "0123456789", StorageFileVariant.ORIGINAL);
+
+        mockMvc.perform(get("/storage/files/{fileId}", fileId).header("Range", "bytes=20-30"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */10"));
+    }
+
+    private void givenStoredFile(UUID fileId, String payload, StorageFileVariant servedVariant) throws Exception {
+        Path file = Files.createTempFile("storage-controller-it-", ".bin");
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        Files.write(file, bytes);
+        mediator.onQuery(
+                ResolveFileQuery.class,
+                query -> new ResolveFileQuery.FileResource(
+                        file, "application/octet-stream", bytes.length, servedVariant, LAST_MODIFIED));
+    }
 }
@@ -7,6 +7,7 @@ import app.partsvibe.storage.queries.ResolveFileQuery;
 import app.partsvibe.storage.test.web.AbstractStorageWebIntegrationTest;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,7 +21,8 @@ class StorageFileControllerSecurityIT extends AbstractStorageWebIntegrationTest
         Files.write(file, payload);
         mediator.onQuery(
                 ResolveFileQuery.class,
-                query -> new ResolveFileQuery.FileResource(file, "application/octet-stream", payload.length));
+                query -> new ResolveFileQuery.FileResource(
+                        file, "application/octet-stream", payload.length, query.variant(), Instant.now()));
     }
 
     @Test
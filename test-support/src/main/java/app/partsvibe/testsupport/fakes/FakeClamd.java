@@ -0,0 +1,174 @@
+package app.partsvibe.testsupport.fakes;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Loopback stand-in for clamd covering what the scanner uses: zIDSESSION/zEND sessions, zINSTREAM and zPING. A stream
+// containing EICAR_SIGNATURE is reported as FOUND, anything else as OK. Streams are inspected chunk by chunk and never
+// held in memory, so it can be driven at full speed by throughput tests.
+public class FakeClamd implements AutoCloseable {
+    public static final String EICAR_SIGNATURE = "EICAR-STANDARD-ANTIVIRUS-TEST-FILE";
+    public static final String EICAR_VIRUS_NAME = "Eicar-Signature";
+
+    private static final byte[] SIGNATURE = EICAR_SIGNATURE.getBytes(StandardCharsets.US_ASCII);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ServerSocket server;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger acceptedConnections = new AtomicInteger();
+    private final AtomicInteger scans = new AtomicInteger();
+
+    private FakeClamd(ServerSocket server) {
+        this.server = server;
+    }
+
+    public static FakeClamd start() throws IOException {
+        var fakeClamd = new FakeClamd(new ServerSocket(0, 50, InetAddress.getLoopbackAddress()));
+        Thread.ofPlatform().name("fake-clamd-accept").daemon(true).start(fakeClamd::acceptLoop);
+        return fakeClamd;
+    }
+
+    public String host() {
+        return server.getInetAddress().getHostAddress();
+    }
+
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    public int acceptedConnections() {
+        return acceptedConnections.get();
+    }
+
+    public int scans() {
+        return scans.get();
+    }
+
+    // Closes every open connection, as clamd does with sessions that stay idle past its IdleTimeout.
+    public void dropConnections() {
+        connections.forEach(FakeClamd::closeQuietly);
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(server);
+        dropConnections();
+    }
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                acceptedConnections.incrementAndGet();
+                connections.add(socket);
+                Thread.ofVirtual().start(() -> serve(socket));
+            } catch (IOException e) {
+                // Server socket closed.
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+                var in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+                var out = new BufferedOutputStream(socket.getOutputStream())) {
+            boolean session = false;
+            int requestId = 0;
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (true) {
+                String command = readCommand(in);
+                if (command == null || command.equals("zEND")) {
+                    return;
+                }
+                String reply;
+                switch (command) {
+                    case "zIDSESSION" -> {
+                        session = true;
+                        continue;
+                    }
+                    case "zPING" -> reply = "PONG";
+                    case "zINSTREAM" -> {
+                        reply = "stream: " + (containsSignature(in, buffer) ? EICAR_VIRUS_NAME + " FOUND" : "OK");
+                        scans.incrementAndGet();
+                    }
+                    default -> {
+                        reply(out, "UNKNOWN COMMAND");
+                        return;
+                    }
+                }
+                reply(out, session ? ++requestId + ": " + reply : reply);
+                if (!session) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // Client went away or the connection was dropped.
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    // Commands are z-prefixed and NUL-terminated. Returns null at end of stream.
+    private static String readCommand(DataInputStream in) throws IOException {
+        var command = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) > 0) {
+            command.write(b);
+        }
+        if (b == -1) {
+            return null;
+        }
+        return command.toString(StandardCharsets.US_ASCII);
+    }
+
+    // Reads the length-prefixed chunks up to the zero-length terminator, tracking how much of the signature the bytes
+    // seen so far end with.
+    private static boolean containsSignature(DataInputStream in, byte[] buffer) throws IOException {
+        boolean found = false;
+        int matched = 0;
+        int length;
+        while ((length = in.readInt()) != 0) {
+            if (length < 0) {
+                throw new EOFException("Negative INSTREAM chunk length.");
+            }
+            while (length > 0) {
+                int read = in.read(buffer, 0, Math.min(length, buffer.length));
+                if (read == -1) {
+                    throw new EOFException("INSTREAM chunk truncated.");
+                }
+                for (int i = 0; i < read && !found; i++) {
+                    matched = buffer[i] == SIGNATURE[matched] ? matched + 1 : buffer[i] == SIGNATURE[0] ? 1 : 0;
+                    found = matched == SIGNATURE.length;
+                }
+                length -= read;
+            }
+        }
+        return found;
+    }
+
+    private static void reply(OutputStream out, String reply) throws IOException {
+        out.write(reply.getBytes(StandardCharsets.US_ASCII));
+        out.write(0);
+        out.flush();
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // Already closed.
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package app.partsvibe.testsupport.fakes;
 
+import app.partsvibe.shared.cqrs.KeysetCursorCodec;
 import app.partsvibe.shared.cqrs.Mediator;
 import app.partsvibe.shared.events.publishing.EventPublisher;
 import app.partsvibe.shared.request.RequestIdProvider;
 import app.partsvibe.shared.security.CurrentUserProvider;
 import app.partsvibe.shared.time.TimeProvider;
 import org.springframework.boot.test.context.TestConfiguration;
+import java.nio.charset.StandardCharsets;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -66,4 +68,9 @@ public class TestFakesConfiguration {
     PasswordEncoder passwordEncoder() {
         return NoOpPasswordEncoder.getInstance();
     }
+
+    @Bean
+    KeysetCursorCodec keysetCursorCodec() {
+        return new KeysetCursorCodec("test-keyset-cursor-secret".getBytes(StandardCharsets.UTF_8));
+    }
 }
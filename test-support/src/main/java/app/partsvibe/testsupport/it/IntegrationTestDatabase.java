@@ -41,9 +41,10 @@ public final class IntegrationTestDatabase {
         registry.add("app.datasource.write.username", POSTGRES::getUsername);
         registry.add("app.datasource.write.password", POSTGRES::getPassword);
 
-        registry.add("app.datasource.read.jdbc-url", () -> schemaJdbcUrl);
-        registry.add("app.datasource.read.username", POSTGRES::getUsername);
-        registry.add("app.datasource.read.password", POSTGRES::getPassword);
+        registry.add("app.datasource.replicas[0].name", () -> "read");
+        registry.add("app.datasource.replicas[0].jdbc-url", () -> schemaJdbcUrl);
+        registry.add("app.datasource.replicas[0].username", POSTGRES::getUsername);
+        registry.add("app.datasource.replicas[0].password", POSTGRES::getPassword);
 
         registry.add("spring.jpa.properties.hibernate.default_schema", () -> SHARED_SCHEMA);
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
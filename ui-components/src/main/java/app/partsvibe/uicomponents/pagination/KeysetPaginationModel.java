@@ -0,0 +1,19 @@
+package app.partsvibe.uicomponents.pagination;
+
+// Pagination without page numbers: keyset paginated lists only know their neighbours. URLs of pages that do not
+// exist are null. totalRows is null when the list was not counted.
+public interface KeysetPaginationModel {
+    String firstUrl();
+
+    String previousUrl();
+
+    String nextUrl();
+
+    String lastUrl();
+
+    int itemCount();
+
+    Long totalRows();
+
+    boolean totalRowsEstimated();
+}
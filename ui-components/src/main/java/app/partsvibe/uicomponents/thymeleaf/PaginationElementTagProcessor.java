@@ -3,6 +3,7 @@ package app.partsvibe.uicomponents.thymeleaf;
 import static java.util.Collections.emptySet;
 import static org.thymeleaf.standard.processor.StandardReplaceTagProcessor.PRECEDENCE;
 
+import app.partsvibe.uicomponents.pagination.KeysetPaginationModel;
 import app.partsvibe.uicomponents.pagination.PaginationModel;
 import org.thymeleaf.context.ITemplateContext;
 import org.thymeleaf.engine.TemplateManager;
@@ -20,6 +21,7 @@ class PaginationElementTagProcessor extends AbstractElementModelProcessor {
     // Keep precedence aligned with standard replacement processors.
     private static final String TAG_NAME = "pagination";
     private static final String TEMPLATE_NAME = "ui/components/pagination";
+    private static final String KEYSET_TEMPLATE_NAME = "ui/components/keyset-pagination";
     private static final String DATA_VARIABLE = "data";
     private final String dialectPrefix;
 
@@ -41,14 +43,20 @@ class PaginationElementTagProcessor extends AbstractElementModelProcessor {
             throw new TemplateProcessingException(
                     "Attribute '" + dialectPrefix + ":data' on <app:pagination> resolved to null");
         }
-        if (!(data instanceof PaginationModel)) {
+        String templateName;
+        if (data instanceof PaginationModel) {
+            templateName = TEMPLATE_NAME;
+        } else if (data instanceof KeysetPaginationModel) {
+            templateName = KEYSET_TEMPLATE_NAME;
+        } else {
             throw new TemplateProcessingException("Attribute '" + dialectPrefix
                     + ":data' on <app:pagination> must resolve to " + PaginationModel.class.getSimpleName()
-                    + ", got: " + data.getClass().getName());
+                    + " or " + KeysetPaginationModel.class.getSimpleName() + ", got: "
+                    + data.getClass().getName());
         }
         structureHandler.setLocalVariable(DATA_VARIABLE, data);
 
-        IModel componentModel = parseTemplateModel(context, TEMPLATE_NAME);
+        IModel componentModel = parseTemplateModel(context, templateName);
         model.reset();
         model.addModel(componentModel);
     }
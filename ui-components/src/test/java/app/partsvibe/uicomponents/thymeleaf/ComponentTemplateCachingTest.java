@@ -0,0 +1,113 @@
+package app.partsvibe.uicomponents.thymeleaf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.uicomponents.pagination.KeysetPaginationModel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.IEngineConfiguration;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.templateresource.ITemplateResource;
+
+class ComponentTemplateCachingTest {
+    private static final String COMPONENT_TEMPLATE = "ui/components/keyset-pagination";
+
+    @Test
+    void cacheableComponentTemplateIsParsedOnce() {
+        CountingTemplateResolver resolver = new CountingTemplateResolver(true);
+        TemplateEngine templateEngine = templateEngine(resolver);
+
+        render(templateEngine);
+        render(templateEngine);
+
+        assertThat(resolver.resolutions(COMPONENT_TEMPLATE)).isEqualTo(1);
+    }
+
+    @Test
+    void componentTemplateIsParsedAgainAfterEngineCacheIsCleared() {
+        CountingTemplateResolver resolver = new CountingTemplateResolver(true);
+        TemplateEngine templateEngine = templateEngine(resolver);
+
+        render(templateEngine);
+        templateEngine.clearTemplateCache();
+        render(templateEngine);
+
+        assertThat(resolver.resolutions(COMPONENT_TEMPLATE)).isEqualTo(2);
+    }
+
+    @Test
+    void nonCacheableComponentTemplateIsParsedOnEveryUse() {
+        CountingTemplateResolver resolver = new CountingTemplateResolver(false);
+        TemplateEngine templateEngine = templateEngine(resolver);
+
+        String first = render(templateEngine);
+        String second = render(templateEngine);
+
+        assertThat(resolver.resolutions(COMPONENT_TEMPLATE)).isEqualTo(2);
+        assertThat(second).isEqualTo(first);
+    }
+
+    private static TemplateEngine templateEngine(CountingTemplateResolver resolver) {
+        TemplateEngine templateEngine = new TemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        templateEngine.addDialect(new UiComponentsDialect());
+        return templateEngine;
+    }
+
+    private static String render(TemplateEngine templateEngine) {
+        Context context = new Context();
+        context.setVariable(
+                "pageInfo",
+                new TestKeysetPaginationData(
+                        "/admin/users", null, "/admin/users?cursor=next", "/admin/users?cursor=last", 10, null, false));
+        return templateEngine.process("test/pagination-host", context);
+    }
+
+    private static class CountingTemplateResolver extends ClassLoaderTemplateResolver {
+        private final Map<String, Integer> resolutions = new ConcurrentHashMap<>();
+
+        CountingTemplateResolver(boolean cacheable) {
+            setPrefix("/templates/");
+            setSuffix(".html");
+            setTemplateMode(TemplateMode.HTML);
+            setCharacterEncoding("UTF-8");
+            setCacheable(cacheable);
+        }
+
+        int resolutions(String template) {
+            return resolutions.getOrDefault(template, 0);
+        }
+
+        @Override
+        protected ITemplateResource computeTemplateResource(
+                IEngineConfiguration configuration,
+                String ownerTemplate,
+                String template,
+                String resourceName,
+                String characterEncoding,
+                Map<String, Object> templateResolutionAttributes) {
+            resolutions.merge(template, 1, Integer::sum);
+            return super.computeTemplateResource(
+                    configuration,
+                    ownerTemplate,
+                    template,
+                    resourceName,
+                    characterEncoding,
+                    templateResolutionAttributes);
+        }
+    }
+
+    private record TestKeysetPaginationData(
+            String firstUrl,
+            String previousUrl,
+            String nextUrl,
+            String lastUrl,
+            int itemCount,
+            Long totalRows,
+            boolean totalRowsEstimated)
+            implements KeysetPaginationModel {}
+}
@@ -3,6 +3,7 @@ package app.partsvibe.uicomponents.thymeleaf;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import app.partsvibe.uicomponents.pagination.KeysetPaginationModel;
 import app.partsvibe.uicomponents.pagination.PaginationLinkModel;
 import app.partsvibe.uicomponents.pagination.PaginationModel;
 import java.util.List;
@@ -58,6 +59,34 @@ class PaginationElementTagProcessorTest {
         assertThat(document.select("app\\:pagination")).isEmpty();
     }
 
+    @Test
+    void shouldRenderKeysetPaginationFromComponentTemplate() {
+        Context context = new Context();
+        context.setVariable(
+                "pageInfo",
+                new TestKeysetPaginationData(
+                        "/admin/users", null, "/admin/users?cursor=next", "/admin/users?cursor=last", 10, null, false));
+
+        String html = templateEngine.process("test/pagination-host", context);
+        Document document = Jsoup.parse(html);
+
+        assertThat(document.select("ul.pagination.mb-0")).hasSize(1);
+        assertThat(document.select("a.page-link[href=/admin/users?cursor=next]")).hasSize(1);
+        assertThat(document.select("a.page-link[href=/admin/users?cursor=last]")).hasSize(1);
+        assertThat(document.select("li.page-item.disabled")).hasSize(2);
+        assertThat(document.select("app\\:pagination")).isEmpty();
+    }
+
+    @Test
+    void shouldNotRenderKeysetPaginationForSinglePage() {
+        Context context = new Context();
+        context.setVariable("pageInfo", new TestKeysetPaginationData("/admin/users", null, null, null, 3, 3L, false));
+
+        String html = templateEngine.process("test/pagination-host", context);
+
+        assertThat(Jsoup.parse(html).select("ul.pagination")).isEmpty();
+    }
+
     @Test
     void shouldFailWhenDataAttributeMissing() {
         Context context = new Context();
@@ -103,5 +132,15 @@ class PaginationElementTagProcessorTest {
             long totalRows)
             implements PaginationModel {}
 
+    private record TestKeysetPaginationData(
+            String firstUrl,
+            String previousUrl,
+            String nextUrl,
+            String lastUrl,
+            int itemCount,
+            Long totalRows,
+            boolean totalRowsEstimated)
+            implements KeysetPaginationModel {}
+
     private record TestPageLink(int pageNumber, String url) implements PaginationLinkModel {}
 }
@@ -0,0 +1,5 @@
+package app.partsvibe.users.commands.admin;
+
+import app.partsvibe.shared.cqrs.Command;
+
+public record TriggerCatalogReindexCommand() implements Command<TriggerCatalogReindexCommandResult> {}
@@ -0,0 +1,23 @@
+package app.partsvibe.users.commands.admin;
+
+import app.partsvibe.shared.cqrs.BaseCommandHandler;
+import app.partsvibe.shared.events.admin.CatalogReindexRequestedEvent;
+import app.partsvibe.shared.events.publishing.EventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+class TriggerCatalogReindexCommandHandler
+        extends BaseCommandHandler<TriggerCatalogReindexCommand, TriggerCatalogReindexCommandResult> {
+    private final EventPublisher eventPublisher;
+
+    TriggerCatalogReindexCommandHandler(EventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    protected TriggerCatalogReindexCommandResult doHandle(TriggerCatalogReindexCommand command) {
+        var event = CatalogReindexRequestedEvent.create();
+        eventPublisher.publish(event);
+        return new TriggerCatalogReindexCommandResult(event.eventId());
+    }
+}
@@ -0,0 +1,5 @@
+package app.partsvibe.users.commands.admin;
+
+import java.util.UUID;
+
+public record TriggerCatalogReindexCommandResult(UUID eventId) {}
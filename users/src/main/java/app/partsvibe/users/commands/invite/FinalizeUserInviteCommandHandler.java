@@ -54,7 +54,7 @@ class FinalizeUserInviteCommandHandler extends BaseCommandHandler<FinalizeUserIn
             throw new InvalidOrExpiredCredentialTokenException();
         }
 
-        if (userRepository.findByUsernameIgnoreCase(invite.getEmail()).isPresent()) {
+        if (userRepository.findByUsernameNormalized(invite.getEmailNormalized()).isPresent()) {
             invite.setRevokedAt(now);
             userInviteRepository.save(invite);
             throw new InvalidOrExpiredCredentialTokenException();
@@ -73,7 +73,8 @@ class FinalizeUserInviteCommandHandler extends BaseCommandHandler<FinalizeUserIn
 
         invite.setUsedAt(now);
         userInviteRepository.save(invite);
-        userInviteRepository.revokeUnconsumedInvitesByEmailExcludingId(invite.getEmail(), invite.getId(), now);
+        userInviteRepository.revokeUnconsumedInvitesByEmailExcludingId(
+                invite.getEmailNormalized(), invite.getId(), now);
 
         return NoResult.INSTANCE;
     }
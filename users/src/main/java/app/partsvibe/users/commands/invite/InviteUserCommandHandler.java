@@ -48,7 +48,7 @@ class InviteUserCommandHandler extends BaseCommandHandler<InviteUserCommand, Inv
 
         Role role = roleRepository.findByName(roleName).orElseThrow(() -> new InvalidInviteRoleException(roleName));
 
-        var existingOpt = userRepository.findByUsernameIgnoreCase(email);
+        var existingOpt = userRepository.findByUsernameNormalized(User.normalizeUsername(email));
         if (existingOpt.isPresent()) {
             User existing = existingOpt.get();
             if (!existing.isEnabled()) {
@@ -59,7 +59,7 @@ class InviteUserCommandHandler extends BaseCommandHandler<InviteUserCommand, Inv
                     existing.getUsername(), null, InviteUserCommandResult.InviteOutcome.ALREADY_ONBOARDED);
         }
 
-        boolean hasInviteHistory = userInviteRepository.existsByEmailIgnoreCase(email);
+        boolean hasInviteHistory = userInviteRepository.existsByEmailNormalized(User.normalizeUsername(email));
         Instant expiresAt = publishInvite(email, role.getName(), command.validityHours(), inviteMessage);
         return new InviteUserCommandResult(
                 email,
@@ -71,7 +71,7 @@ class InviteUserCommandHandler extends BaseCommandHandler<InviteUserCommand, Inv
 
     private Instant publishInvite(String email, String roleName, int validityHours, String inviteMessage) {
         Instant now = timeProvider.now();
-        userInviteRepository.revokeUnconsumedInvitesByEmail(email, now);
+        userInviteRepository.revokeUnconsumedInvitesByEmail(User.normalizeUsername(email), now);
         Instant expiresAt = now.plusSeconds(validityHours * 3600L);
         String rawToken = tokenCodec.newRawToken();
         String tokenHash = tokenCodec.hash(rawToken);
@@ -4,13 +4,13 @@ import app.partsvibe.shared.cqrs.BaseCommandHandler;
 import app.partsvibe.shared.cqrs.NoResult;
 import app.partsvibe.shared.events.publishing.EventPublisher;
 import app.partsvibe.shared.time.TimeProvider;
+import app.partsvibe.users.domain.User;
 import app.partsvibe.users.domain.security.UserPasswordResetToken;
 import app.partsvibe.users.events.PasswordResetRequestedEvent;
 import app.partsvibe.users.repo.UserRepository;
 import app.partsvibe.users.repo.security.UserPasswordResetTokenRepository;
 import app.partsvibe.users.security.tokens.CredentialTokenCodec;
 import java.time.Instant;
-import java.util.Locale;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -38,9 +38,7 @@ class RequestPasswordResetCommandHandler extends BaseCommandHandler<RequestPassw
 
     @Override
     protected NoResult doHandle(RequestPasswordResetCommand command) {
-        String email = command.email().trim().toLowerCase(Locale.ROOT);
-
-        var userOpt = userRepository.findByUsernameIgnoreCase(email);
+        var userOpt = userRepository.findByUsernameNormalized(User.normalizeUsername(command.email()));
         if (userOpt.isEmpty()) {
             return NoResult.INSTANCE;
         }
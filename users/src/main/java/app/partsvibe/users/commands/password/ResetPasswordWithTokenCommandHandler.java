@@ -5,6 +5,7 @@ import app.partsvibe.shared.cqrs.NoResult;
 import app.partsvibe.shared.time.TimeProvider;
 import app.partsvibe.users.errors.InvalidOrExpiredCredentialTokenException;
 import app.partsvibe.users.errors.PasswordsDoNotMatchException;
+import app.partsvibe.users.queries.auth.UserDetailsCache;
 import app.partsvibe.users.repo.UserRepository;
 import app.partsvibe.users.repo.security.UserPasswordResetTokenRepository;
 import app.partsvibe.users.security.password.PasswordPolicyValidator;
@@ -19,18 +20,21 @@ class ResetPasswordWithTokenCommandHandler extends BaseCommandHandler<ResetPassw
     private final CredentialTokenCodec tokenCodec;
     private final PasswordEncoder passwordEncoder;
     private final TimeProvider timeProvider;
+    private final UserDetailsCache userDetailsCache;
 
     ResetPasswordWithTokenCommandHandler(
             UserPasswordResetTokenRepository tokenRepository,
             UserRepository userRepository,
             CredentialTokenCodec tokenCodec,
             PasswordEncoder passwordEncoder,
-            TimeProvider timeProvider) {
+            TimeProvider timeProvider,
+            UserDetailsCache userDetailsCache) {
         this.tokenRepository = tokenRepository;
         this.userRepository = userRepository;
         this.tokenCodec = tokenCodec;
         this.passwordEncoder = passwordEncoder;
         this.timeProvider = timeProvider;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
@@ -52,6 +56,7 @@ class ResetPasswordWithTokenCommandHandler extends BaseCommandHandler<ResetPassw
 
         user.setPasswordHash(passwordEncoder.encode(command.password()));
         userRepository.save(user);
+        userDetailsCache.invalidateAfterCommit(user.getUsername());
 
         token.setUsedAt(now);
         tokenRepository.save(token);
@@ -0,0 +1,12 @@
+package app.partsvibe.users.commands.password;
+
+import app.partsvibe.shared.cqrs.Command;
+import app.partsvibe.shared.cqrs.NoResult;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+// Replaces a password hash that was just verified at login with one of the current encoding.
+public record UpgradePasswordHashCommand(
+        @NotNull @Positive Long userId, @NotBlank String verifiedHash, @NotBlank String upgradedHash)
+        implements Command<NoResult> {}
@@ -0,0 +1,38 @@
+package app.partsvibe.users.commands.password;
+
+import app.partsvibe.shared.cqrs.BaseCommandHandler;
+import app.partsvibe.shared.cqrs.NoResult;
+import app.partsvibe.users.errors.UserNotFoundException;
+import app.partsvibe.users.queries.auth.UserDetailsCache;
+import app.partsvibe.users.repo.UserRepository;
+import org.springframework.stereotype.Component;
+
+@Component
+class UpgradePasswordHashCommandHandler extends BaseCommandHandler<UpgradePasswordHashCommand, NoResult> {
+    private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+
+    UpgradePasswordHashCommandHandler(UserRepository userRepository, UserDetailsCache userDetailsCache) {
+        this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
+    }
+
+    @Override
+    protected NoResult doHandle(UpgradePasswordHashCommand command) {
+        var user = userRepository
+                .findById(command.userId())
+                .orElseThrow(() -> new UserNotFoundException(command.userId()));
+
+        // The login verified a cached hash; a password change since then wins over the upgrade.
+        if (!user.getPasswordHash().equals(command.verifiedHash())) {
+            log.info("Password hash upgrade skipped, password changed meanwhile. userId={}", user.getId());
+            return NoResult.INSTANCE;
+        }
+
+        user.setPasswordHash(command.upgradedHash());
+        userRepository.save(user);
+        userDetailsCache.invalidateAfterCommit(user.getUsername());
+        log.info("Password hash upgraded. userId={}", user.getId());
+        return NoResult.INSTANCE;
+    }
+}
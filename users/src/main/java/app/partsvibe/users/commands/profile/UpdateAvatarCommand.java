@@ -6,11 +6,12 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
+import java.io.InputStream;
 import lombok.Builder;
 
 @Builder
 public record UpdateAvatarCommand(
         @NotNull @Positive Long userId,
         @NotBlank @Size(max = 256) String originalFilename,
-        @NotNull @Size(min = 1) byte[] content)
+        @NotNull InputStream content)
         implements Command<NoResult> {}
@@ -6,7 +6,7 @@ import app.partsvibe.shared.security.AuthorizationService;
 import app.partsvibe.shared.time.TimeProvider;
 import app.partsvibe.storage.api.StorageClient;
 import app.partsvibe.storage.api.StorageObjectType;
-import app.partsvibe.storage.api.StorageUploadRequest;
+import app.partsvibe.storage.api.StorageStreamUploadRequest;
 import app.partsvibe.users.domain.avatar.UserAvatarChangeRequest;
 import app.partsvibe.users.domain.avatar.UserAvatarChangeRequestStatus;
 import app.partsvibe.users.errors.CurrentUserMismatchException;
@@ -45,7 +45,7 @@ class UpdateAvatarCommandHandler extends BaseCommandHandler<UpdateAvatarCommand,
                 .findById(command.userId())
                 .orElseThrow(() -> new UserNotFoundException(command.userId()));
 
-        var uploadResult = storageClient.upload(new StorageUploadRequest(
+        var uploadResult = storageClient.upload(new StorageStreamUploadRequest(
                 StorageObjectType.USER_AVATAR_IMAGE, command.originalFilename(), command.content()));
 
         var pendingRequests = avatarChangeRequestRepository.findByUserIdAndStatus(
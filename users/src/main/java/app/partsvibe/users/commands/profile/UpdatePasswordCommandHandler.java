@@ -7,6 +7,7 @@ import app.partsvibe.users.errors.CurrentUserMismatchException;
 import app.partsvibe.users.errors.InvalidCurrentPasswordException;
 import app.partsvibe.users.errors.PasswordsDoNotMatchException;
 import app.partsvibe.users.errors.UserNotFoundException;
+import app.partsvibe.users.queries.auth.UserDetailsCache;
 import app.partsvibe.users.repo.UserRepository;
 import app.partsvibe.users.security.password.PasswordPolicyValidator;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -17,12 +18,17 @@ class UpdatePasswordCommandHandler extends BaseCommandHandler<UpdatePasswordComm
     private final UserRepository userRepository;
     private final AuthorizationService authorizationService;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
 
     UpdatePasswordCommandHandler(
-            UserRepository userRepository, AuthorizationService authorizationService, PasswordEncoder passwordEncoder) {
+            UserRepository userRepository,
+            AuthorizationService authorizationService,
+            PasswordEncoder passwordEncoder,
+            UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
         this.authorizationService = authorizationService;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
@@ -44,6 +50,7 @@ class UpdatePasswordCommandHandler extends BaseCommandHandler<UpdatePasswordComm
         PasswordPolicyValidator.validate(command.newPassword(), user.getUsername());
         user.setPasswordHash(passwordEncoder.encode(command.newPassword()));
         userRepository.save(user);
+        userDetailsCache.invalidateAfterCommit(user.getUsername());
 
         return NoResult.INSTANCE;
     }
@@ -5,6 +5,7 @@ import app.partsvibe.shared.cqrs.NoResult;
 import app.partsvibe.shared.security.AuthorizationService;
 import app.partsvibe.users.errors.CurrentUserMismatchException;
 import app.partsvibe.users.errors.UserNotFoundException;
+import app.partsvibe.users.queries.auth.UserMenuCache;
 import app.partsvibe.users.repo.UserRepository;
 import org.springframework.stereotype.Component;
 
@@ -12,10 +13,13 @@ import org.springframework.stereotype.Component;
 class UpdateProfileCommandHandler extends BaseCommandHandler<UpdateProfileCommand, NoResult> {
     private final UserRepository userRepository;
     private final AuthorizationService authorizationService;
+    private final UserMenuCache userMenuCache;
 
-    UpdateProfileCommandHandler(UserRepository userRepository, AuthorizationService authorizationService) {
+    UpdateProfileCommandHandler(
+            UserRepository userRepository, AuthorizationService authorizationService, UserMenuCache userMenuCache) {
         this.userRepository = userRepository;
         this.authorizationService = authorizationService;
+        this.userMenuCache = userMenuCache;
     }
 
     @Override
@@ -29,6 +33,7 @@ class UpdateProfileCommandHandler extends BaseCommandHandler<UpdateProfileComman
         user.setBio(normalizeNullable(command.bio()));
         user.setWebsite(normalizeNullable(command.website()));
         userRepository.save(user);
+        userMenuCache.invalidateAfterCommit(user.getId());
         return NoResult.INSTANCE;
     }
 
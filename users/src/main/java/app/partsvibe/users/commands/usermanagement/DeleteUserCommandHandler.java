@@ -5,6 +5,8 @@ import app.partsvibe.shared.security.CurrentUserProvider;
 import app.partsvibe.users.domain.Role;
 import app.partsvibe.users.domain.RoleNames;
 import app.partsvibe.users.domain.User;
+import app.partsvibe.users.queries.auth.UserDetailsCache;
+import app.partsvibe.users.queries.auth.UserMenuCache;
 import app.partsvibe.users.repo.UserRepository;
 import app.partsvibe.users.repo.avatar.UserAvatarChangeRequestRepository;
 import app.partsvibe.users.repo.security.UserPasswordResetTokenRepository;
@@ -16,16 +18,22 @@ class DeleteUserCommandHandler extends BaseCommandHandler<DeleteUserCommand, Del
     private final UserAvatarChangeRequestRepository userAvatarChangeRequestRepository;
     private final UserPasswordResetTokenRepository userPasswordResetTokenRepository;
     private final CurrentUserProvider currentUserProvider;
+    private final UserMenuCache userMenuCache;
+    private final UserDetailsCache userDetailsCache;
 
     DeleteUserCommandHandler(
             UserRepository userRepository,
             UserAvatarChangeRequestRepository userAvatarChangeRequestRepository,
             UserPasswordResetTokenRepository userPasswordResetTokenRepository,
-            CurrentUserProvider currentUserProvider) {
+            CurrentUserProvider currentUserProvider,
+            UserMenuCache userMenuCache,
+            UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
         this.userAvatarChangeRequestRepository = userAvatarChangeRequestRepository;
         this.userPasswordResetTokenRepository = userPasswordResetTokenRepository;
         this.currentUserProvider = currentUserProvider;
+        this.userMenuCache = userMenuCache;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
@@ -51,6 +59,8 @@ class DeleteUserCommandHandler extends BaseCommandHandler<DeleteUserCommand, Del
         userAvatarChangeRequestRepository.deleteByUserId(user.getId());
         userPasswordResetTokenRepository.deleteByUserId(user.getId());
         userRepository.delete(user);
+        userMenuCache.invalidateAfterCommit(user.getId());
+        userDetailsCache.invalidateAfterCommit(user.getUsername());
         log.info("User deleted. userId={}, username={}", user.getId(), user.getUsername());
         return new DeleteUserCommandResult(user.getUsername());
     }
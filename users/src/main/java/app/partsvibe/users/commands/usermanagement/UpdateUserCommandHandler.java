@@ -8,16 +8,22 @@ import app.partsvibe.users.domain.User;
 import app.partsvibe.users.errors.UserNotFoundException;
 import app.partsvibe.users.errors.UsernameAlreadyExistsException;
 import app.partsvibe.users.models.UserDetailsModel;
+import app.partsvibe.users.queries.auth.UserDetailsCache;
+import app.partsvibe.users.queries.auth.UserMenuCache;
 import app.partsvibe.users.repo.UserRepository;
-import java.util.Locale;
 import org.springframework.stereotype.Component;
 
 @Component
 class UpdateUserCommandHandler extends BaseCommandHandler<UpdateUserCommand, UserDetailsModel> {
     private final UserRepository userRepository;
+    private final UserMenuCache userMenuCache;
+    private final UserDetailsCache userDetailsCache;
 
-    UpdateUserCommandHandler(UserRepository userRepository) {
+    UpdateUserCommandHandler(
+            UserRepository userRepository, UserMenuCache userMenuCache, UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
+        this.userMenuCache = userMenuCache;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
@@ -26,14 +32,18 @@ class UpdateUserCommandHandler extends BaseCommandHandler<UpdateUserCommand, Use
                 .findById(command.userId())
                 .orElseThrow(() -> new UserNotFoundException(command.userId()));
 
-        String canonicalUsername = canonicalizeUsername(command.username());
-        if (userRepository.existsByUsernameIgnoreCaseAndIdNot(canonicalUsername, user.getId())) {
+        String canonicalUsername = User.normalizeUsername(command.username());
+        if (userRepository.existsByUsernameNormalizedAndIdNot(canonicalUsername, user.getId())) {
             throw new UsernameAlreadyExistsException(canonicalUsername);
         }
 
+        // Logins under the previous username must stop resolving to this user as well.
+        userDetailsCache.invalidateAfterCommit(user.getUsername());
         user.setUsername(canonicalUsername);
         user.setEnabled(command.enabled());
         User saved = userRepository.save(user);
+        userMenuCache.invalidateAfterCommit(saved.getId());
+        userDetailsCache.invalidateAfterCommit(saved.getUsername());
 
         return new UserDetailsModel(
                 saved.getId(),
@@ -44,8 +54,4 @@ class UpdateUserCommandHandler extends BaseCommandHandler<UpdateUserCommand, Use
                         .sorted(naturalOrder())
                         .toList());
     }
-
-    private String canonicalizeUsername(String username) {
-        return username.trim().toLowerCase(Locale.ROOT);
-    }
 }
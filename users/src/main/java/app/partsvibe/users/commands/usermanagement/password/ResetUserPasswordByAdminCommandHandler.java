@@ -8,6 +8,7 @@ import app.partsvibe.users.errors.AdminPrivilegesRequiredException;
 import app.partsvibe.users.errors.AdminReauthenticationFailedException;
 import app.partsvibe.users.errors.UserNotFoundException;
 import app.partsvibe.users.errors.WeakPasswordException;
+import app.partsvibe.users.queries.auth.UserDetailsCache;
 import app.partsvibe.users.repo.UserRepository;
 import app.partsvibe.users.security.password.PasswordPolicyValidator;
 import java.security.SecureRandom;
@@ -24,13 +25,18 @@ class ResetUserPasswordByAdminCommandHandler
     private final UserRepository userRepository;
     private final AuthorizationService authorizationService;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
     private final SecureRandom secureRandom = new SecureRandom();
 
     ResetUserPasswordByAdminCommandHandler(
-            UserRepository userRepository, AuthorizationService authorizationService, PasswordEncoder passwordEncoder) {
+            UserRepository userRepository,
+            AuthorizationService authorizationService,
+            PasswordEncoder passwordEncoder,
+            UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
         this.authorizationService = authorizationService;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
@@ -55,6 +61,7 @@ class ResetUserPasswordByAdminCommandHandler
         String temporaryPassword = generateTemporaryPasswordFor(targetUser);
         targetUser.setPasswordHash(passwordEncoder.encode(temporaryPassword));
         userRepository.save(targetUser);
+        userDetailsCache.invalidateAfterCommit(targetUser.getUsername());
 
         return new ResetUserPasswordByAdminCommandResult(
                 targetUser.getId(), targetUser.getUsername(), temporaryPassword);
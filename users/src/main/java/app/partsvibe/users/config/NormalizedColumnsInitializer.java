@@ -0,0 +1,108 @@
+package app.partsvibe.users.config;
+
+import java.util.List;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.jpa.autoconfigure.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Adds the normalized username and invite e-mail columns to databases created before they were mapped. Production
+// only validates the schema, so the columns are added, backfilled with the same lower(trim(...)) normalization the
+// entities apply and indexed here, before the entity manager factory starts. Tables Hibernate has yet to create are
+// left to it.
+//
+// Instances of the previous release do not write the columns, so they must be stopped before the first start of
+// this one; every later start only checks the columns and indexes.
+@Component
+public class NormalizedColumnsInitializer implements InitializingBean {
+    private static final Logger log = LoggerFactory.getLogger(NormalizedColumnsInitializer.class);
+
+    private static final List<NormalizedColumn> COLUMNS = List.of(
+            new NormalizedColumn(
+                    "users",
+                    "username",
+                    "username_normalized",
+                    "CREATE UNIQUE INDEX IF NOT EXISTS uk_users_username_normalized ON users (username_normalized)"),
+            new NormalizedColumn(
+                    "user_invites",
+                    "email",
+                    "email_normalized",
+                    "CREATE INDEX IF NOT EXISTS idx_user_invites_email_normalized ON user_invites (email_normalized)"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NormalizedColumnsInitializer(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        COLUMNS.forEach(this::ensureColumn);
+    }
+
+    private void ensureColumn(NormalizedColumn column) {
+        if (!tableExists(column.table())) {
+            return;
+        }
+        if (!columnIsNotNull(column)) {
+            jdbcTemplate.execute(
+                    "ALTER TABLE %s ADD COLUMN IF NOT EXISTS %s varchar(64)".formatted(column.table(), column.name()));
+            int backfilled = jdbcTemplate.update("UPDATE %s SET %s = lower(trim(%s)) WHERE %s IS NULL"
+                    .formatted(column.table(), column.name(), column.source(), column.name()));
+            jdbcTemplate.execute(
+                    "ALTER TABLE %s ALTER COLUMN %s SET NOT NULL".formatted(column.table(), column.name()));
+            log.info(
+                    "Backfilled normalized column. table={}, column={}, rows={}",
+                    column.table(),
+                    column.name(),
+                    backfilled);
+        }
+        try {
+            jdbcTemplate.execute(column.index());
+        } catch (DuplicateKeyException ex) {
+            throw new IllegalStateException(
+                    ("Cannot index %s.%s. Rows whose %s differ only in case or surrounding spaces must be merged "
+                                    + "before the application can start.")
+                            .formatted(column.table(), column.name(), column.source()),
+                    ex);
+        }
+    }
+
+    private boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                """
+                SELECT EXISTS (
+                    SELECT 1 FROM information_schema.tables
+                    WHERE table_schema = current_schema() AND table_name = ?
+                )
+                """,
+                Boolean.class,
+                table));
+    }
+
+    private boolean columnIsNotNull(NormalizedColumn column) {
+        List<String> nullable = jdbcTemplate.queryForList(
+                """
+                SELECT is_nullable FROM information_schema.columns
+                WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?
+                """,
+                String.class,
+                column.table(),
+                column.name());
+        return !nullable.isEmpty() && "NO".equals(nullable.getFirst());
+    }
+
+    private record NormalizedColumn(String table, String source, String name, String index) {}
+
+    // Hibernate validates the schema while the entity manager factory starts, so the columns must exist by then.
+    @Component
+    static class EntityManagerFactoryDependency extends EntityManagerFactoryDependsOnPostProcessor {
+        EntityManagerFactoryDependency() {
+            super(NormalizedColumnsInitializer.class);
+        }
+    }
+}
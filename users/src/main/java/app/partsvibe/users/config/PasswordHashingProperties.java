@@ -0,0 +1,27 @@
+package app.partsvibe.users.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("app.users.password-hashing")
+@Validated
+@Data
+public class PasswordHashingProperties {
+    // BCrypt work factor of new hashes. Stored hashes with a lower one are rehashed on the next successful login.
+    @Min(4)
+    @Max(31)
+    private int bcryptStrength = 10;
+
+    // Each hash keeps a core busy for tens of milliseconds; keep this below the core count so that a login storm
+    // cannot starve other requests.
+    @Min(1)
+    private int threads = 2;
+
+    // Hashes waiting for a thread. Beyond this, logins and password changes are rejected at once instead of queueing
+    // up behind each other.
+    @Min(0)
+    private int queueCapacity = 32;
+}
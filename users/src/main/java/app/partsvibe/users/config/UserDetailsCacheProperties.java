@@ -0,0 +1,19 @@
+package app.partsvibe.users.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("app.users.details-cache")
+@Validated
+@Data
+public class UserDetailsCacheProperties {
+    // Upper bound on how long another instance may accept a password, role or status that was changed elsewhere.
+    @Min(1)
+    private long ttlMs = 10_000;
+
+    // 0 disables the cache.
+    @Min(0)
+    private int maxEntries = 10_000;
+}
@@ -0,0 +1,49 @@
+package app.partsvibe.users.config;
+
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.jpa.autoconfigure.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Indexes declared on User after the users table was first created. Hibernate creates them only together with the
+// table and schema validation does not check indexes, so databases that predate them get them here. A missing table
+// is left to Hibernate.
+@Component
+public class UserIndexesInitializer implements InitializingBean {
+    private static final List<String> INDEXES =
+            List.of("CREATE INDEX IF NOT EXISTS idx_users_enabled_id ON users (enabled, id)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserIndexesInitializer(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (tableExists()) {
+            INDEXES.forEach(jdbcTemplate::execute);
+        }
+    }
+
+    private boolean tableExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                """
+                SELECT EXISTS (
+                    SELECT 1 FROM information_schema.tables
+                    WHERE table_schema = current_schema() AND table_name = 'users'
+                )
+                """,
+                Boolean.class));
+    }
+
+    // Started next to NormalizedColumnsInitializer, before the application serves the user list.
+    @Component
+    static class EntityManagerFactoryDependency extends EntityManagerFactoryDependsOnPostProcessor {
+        EntityManagerFactoryDependency() {
+            super(UserIndexesInitializer.class);
+        }
+    }
+}
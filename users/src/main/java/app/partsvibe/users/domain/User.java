@@ -4,13 +4,18 @@ import app.partsvibe.shared.persistence.BaseAuditableEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Size;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
 import lombok.AccessLevel;
@@ -19,7 +24,14 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "users")
+@Table(
+        name = "users",
+        // Logins and uniqueness checks look users up by username_normalized, which this constraint indexes.
+        uniqueConstraints = {
+            @UniqueConstraint(name = "uk_users_username_normalized", columnNames = "username_normalized")
+        },
+        // Keyset pagination of the user list sorted by enabled flag; the username sort uses the unique index.
+        indexes = {@Index(name = "idx_users_enabled_id", columnList = "enabled,id")})
 @SequenceGenerator(
         name = BaseAuditableEntity.ID_GENERATOR_NAME,
         sequenceName = "users_id_seq",
@@ -31,6 +43,10 @@ public class User extends BaseAuditableEntity {
     @Column(nullable = false, unique = true, length = 64)
     private String username;
 
+    @Column(name = "username_normalized", nullable = false, length = 64)
+    @Setter(AccessLevel.NONE)
+    private String usernameNormalized;
+
     @Column(nullable = false)
     private String passwordHash;
 
@@ -60,4 +76,16 @@ public class User extends BaseAuditableEntity {
         this.username = username;
         this.passwordHash = passwordHash;
     }
+
+    public static String normalizeUsername(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeUsername() {
+        if (username != null) {
+            usernameNormalized = normalizeUsername(username);
+        }
+    }
 }
@@ -1,8 +1,12 @@
 package app.partsvibe.users.domain.invite;
 
 import app.partsvibe.shared.persistence.BaseAuditableEntity;
+import app.partsvibe.users.domain.User;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
@@ -19,7 +23,8 @@ import lombok.Setter;
 @Entity
 @Table(
         name = "user_invites",
-        uniqueConstraints = {@UniqueConstraint(name = "uk_user_invites_token_hash", columnNames = "token_hash")})
+        uniqueConstraints = {@UniqueConstraint(name = "uk_user_invites_token_hash", columnNames = "token_hash")},
+        indexes = {@Index(name = "idx_user_invites_email_normalized", columnList = "email_normalized")})
 @SequenceGenerator(
         name = BaseAuditableEntity.ID_GENERATOR_NAME,
         sequenceName = "user_invites_id_seq",
@@ -34,6 +39,10 @@ public class UserInvite extends BaseAuditableEntity {
     @Column(nullable = false, length = 64)
     private String email;
 
+    @Column(name = "email_normalized", nullable = false, length = 64)
+    @Setter(AccessLevel.NONE)
+    private String emailNormalized;
+
     @NotBlank
     @Size(max = 32)
     @Column(name = "role_name", nullable = false, length = 32)
@@ -68,4 +77,12 @@ public class UserInvite extends BaseAuditableEntity {
     public boolean isActiveAt(Instant now) {
         return usedAt == null && revokedAt == null && expiresAt.isAfter(now);
     }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeEmail() {
+        if (email != null) {
+            emailNormalized = User.normalizeUsername(email);
+        }
+    }
 }
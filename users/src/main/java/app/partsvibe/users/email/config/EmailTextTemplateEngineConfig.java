@@ -1,6 +1,7 @@
 package app.partsvibe.users.email.config;
 
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.thymeleaf.TemplateEngine;
@@ -11,13 +12,13 @@ import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 public class EmailTextTemplateEngineConfig {
     @Bean
     @Qualifier("emailTextTemplateEngine")
-    public TemplateEngine emailTextTemplateEngine() {
+    public TemplateEngine emailTextTemplateEngine(@Value("${spring.thymeleaf.cache:true}") boolean cacheable) {
         ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
         resolver.setPrefix("templates/");
         resolver.setSuffix(".txt");
         resolver.setCharacterEncoding("UTF-8");
         resolver.setTemplateMode(TemplateMode.TEXT);
-        resolver.setCacheable(false);
+        resolver.setCacheable(cacheable);
 
         TemplateEngine engine = new TemplateEngine();
         engine.setTemplateResolver(resolver);
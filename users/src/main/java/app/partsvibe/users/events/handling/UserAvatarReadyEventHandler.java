@@ -7,6 +7,7 @@ import app.partsvibe.storage.api.StorageClient;
 import app.partsvibe.storage.api.StorageObjectType;
 import app.partsvibe.storage.api.events.FileReadyEvent;
 import app.partsvibe.users.domain.avatar.UserAvatarChangeRequestStatus;
+import app.partsvibe.users.queries.auth.UserMenuCache;
 import app.partsvibe.users.repo.UserRepository;
 import app.partsvibe.users.repo.avatar.UserAvatarChangeRequestRepository;
 import java.util.UUID;
@@ -19,16 +20,19 @@ class UserAvatarReadyEventHandler extends BaseEventHandler<FileReadyEvent> {
     private final UserRepository userRepository;
     private final StorageClient storageClient;
     private final TimeProvider timeProvider;
+    private final UserMenuCache userMenuCache;
 
     UserAvatarReadyEventHandler(
             UserAvatarChangeRequestRepository avatarChangeRequestRepository,
             UserRepository userRepository,
             StorageClient storageClient,
-            TimeProvider timeProvider) {
+            TimeProvider timeProvider,
+            UserMenuCache userMenuCache) {
         this.avatarChangeRequestRepository = avatarChangeRequestRepository;
         this.userRepository = userRepository;
         this.storageClient = storageClient;
         this.timeProvider = timeProvider;
+        this.userMenuCache = userMenuCache;
     }
 
     @Override
@@ -50,6 +54,7 @@ class UserAvatarReadyEventHandler extends BaseEventHandler<FileReadyEvent> {
         var user = request.getUser();
         user.setAvatarId(request.getNewAvatarFileId());
         userRepository.save(user);
+        userMenuCache.invalidateAfterCommit(user.getId());
 
         request.setStatus(UserAvatarChangeRequestStatus.APPLIED);
         request.setResolvedAt(timeProvider.now());
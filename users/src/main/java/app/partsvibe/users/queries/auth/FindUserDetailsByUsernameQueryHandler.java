@@ -1,40 +1,59 @@
 package app.partsvibe.users.queries.auth;
 
 import app.partsvibe.shared.cqrs.BaseQueryHandler;
+import app.partsvibe.users.domain.QRole;
 import app.partsvibe.users.domain.QUser;
 import app.partsvibe.users.domain.User;
 import app.partsvibe.users.security.UserPrincipal;
+import com.querydsl.core.Tuple;
 import com.querydsl.jpa.impl.JPAQueryFactory;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 
 @Component
 class FindUserDetailsByUsernameQueryHandler extends BaseQueryHandler<FindUserDetailsByUsernameQuery, UserDetails> {
-    private static final Logger log = LoggerFactory.getLogger(FindUserDetailsByUsernameQueryHandler.class);
-
     private final JPAQueryFactory queryFactory;
 
     FindUserDetailsByUsernameQueryHandler(JPAQueryFactory queryFactory) {
         this.queryFactory = queryFactory;
     }
 
+    // One row per role of the user, looked up through the unique index on username_normalized. Loading the User entity
+    // instead would cost a second query for its EAGER roles.
     @Override
     protected UserDetails doHandle(FindUserDetailsByUsernameQuery query) {
         QUser user = QUser.user;
-        log.info("Loading user details for username={}", query.username());
-        User userDetails = queryFactory
-                .selectFrom(user)
-                .where(user.username.equalsIgnoreCase(query.username()))
-                .fetchOne();
+        QRole role = QRole.role;
+        List<Tuple> rows = queryFactory
+                .select(user.id, user.username, user.passwordHash, user.enabled, role.name)
+                .from(user)
+                .leftJoin(user.roles, role)
+                .where(user.usernameNormalized.eq(User.normalizeUsername(query.username())))
+                .fetch();
 
-        if (userDetails == null) {
-            log.warn("User not found: {}", query.username());
+        // Logins with unknown usernames are routine (typos, credential stuffing), so they are not logged here.
+        if (rows.isEmpty()) {
             throw new UsernameNotFoundException("User not found: " + query.username());
         }
 
-        return new UserPrincipal(userDetails);
+        Tuple first = rows.getFirst();
+        Set<String> roleNames = new HashSet<>();
+        for (Tuple row : rows) {
+            String roleName = row.get(role.name);
+            if (roleName != null) {
+                roleNames.add(roleName);
+            }
+        }
+        log.debug("User details loaded. userId={}, roles={}", first.get(user.id), roleNames);
+        return new UserPrincipal(
+                first.get(user.id),
+                first.get(user.username),
+                first.get(user.passwordHash),
+                Boolean.TRUE.equals(first.get(user.enabled)),
+                roleNames);
     }
 }
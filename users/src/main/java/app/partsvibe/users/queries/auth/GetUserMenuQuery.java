@@ -6,5 +6,5 @@ import jakarta.validation.constraints.Positive;
 import java.util.UUID;
 
 public record GetUserMenuQuery(@NotNull @Positive Long userId) implements Query<GetUserMenuQuery.UserMenuData> {
-    public record UserMenuData(UUID avatarId) {}
+    public record UserMenuData(UUID avatarId, String displayName) {}
 }
@@ -18,7 +18,7 @@ class GetUserMenuQueryHandler extends BaseQueryHandler<GetUserMenuQuery, GetUser
     protected GetUserMenuQuery.UserMenuData doHandle(GetUserMenuQuery query) {
         QUser user = QUser.user;
         var tuple = queryFactory
-                .select(user.id, user.avatarId)
+                .select(user.id, user.avatarId, user.username)
                 .from(user)
                 .where(user.id.eq(query.userId()))
                 .fetchOne();
@@ -26,6 +26,6 @@ class GetUserMenuQueryHandler extends BaseQueryHandler<GetUserMenuQuery, GetUser
             throw new UserNotFoundException(query.userId());
         }
 
-        return new GetUserMenuQuery.UserMenuData(tuple.get(user.avatarId));
+        return new GetUserMenuQuery.UserMenuData(tuple.get(user.avatarId), tuple.get(user.username));
     }
 }
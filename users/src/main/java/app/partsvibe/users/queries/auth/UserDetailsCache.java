@@ -0,0 +1,51 @@
+package app.partsvibe.users.queries.auth;
+
+import app.partsvibe.shared.cache.ExpiringCache;
+import app.partsvibe.shared.cqrs.Mediator;
+import app.partsvibe.shared.time.TimeProvider;
+import app.partsvibe.users.config.UserDetailsCacheProperties;
+import app.partsvibe.users.domain.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+// Principals of recent logins, keyed by normalized username and kept briefly. Unknown usernames are not cached, so
+// credential stuffing with made-up names cannot fill the cache. Commands that change a password, the enabled flag or
+// the username invalidate the entry on this instance once they commit; other instances catch up within ttlMs.
+// The cached UserPrincipal is immutable and does not erase its credentials, so it can be handed out repeatedly.
+@Component
+public class UserDetailsCache {
+    private final Mediator mediator;
+    private final TransactionOperations transactionOperations;
+    private final ExpiringCache<String, UserDetails> cache;
+
+    UserDetailsCache(
+            UserDetailsCacheProperties properties,
+            Mediator mediator,
+            TransactionOperations transactionOperations,
+            TimeProvider timeProvider,
+            MeterRegistry meterRegistry) {
+        this.mediator = mediator;
+        this.transactionOperations = transactionOperations;
+        this.cache = new ExpiringCache<>(
+                "app.users.details-cache",
+                properties.getTtlMs(),
+                properties.getMaxEntries(),
+                timeProvider,
+                meterRegistry);
+    }
+
+    public UserDetails get(String username) {
+        // The query handler joins a read-write transaction, which is routed to the primary. A replica may not have
+        // replayed a password change or a disabled account yet, and whatever is loaded here is served for ttlMs.
+        return cache.get(
+                User.normalizeUsername(username),
+                () -> transactionOperations.execute(
+                        status -> mediator.executeQuery(new FindUserDetailsByUsernameQuery(username))));
+    }
+
+    public void invalidateAfterCommit(String username) {
+        cache.invalidateAfterCommit(User.normalizeUsername(username));
+    }
+}
@@ -0,0 +1,47 @@
+package app.partsvibe.users.queries.auth;
+
+import app.partsvibe.shared.cache.ExpiringCache;
+import app.partsvibe.shared.cqrs.Mediator;
+import app.partsvibe.shared.time.TimeProvider;
+import app.partsvibe.users.config.UserMenuCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+// Menu data rendered in the chrome of every page, kept per user so a page view does not cost a query. Commands that
+// change the data invalidate the entry on this instance once they commit; other instances catch up within ttlMs.
+@Component
+public class UserMenuCache {
+    private final Mediator mediator;
+    private final TransactionOperations transactionOperations;
+    private final ExpiringCache<Long, GetUserMenuQuery.UserMenuData> cache;
+
+    UserMenuCache(
+            UserMenuCacheProperties properties,
+            Mediator mediator,
+            TransactionOperations transactionOperations,
+            TimeProvider timeProvider,
+            MeterRegistry meterRegistry) {
+        this.mediator = mediator;
+        this.transactionOperations = transactionOperations;
+        this.cache = new ExpiringCache<>(
+                "app.users.menu-cache", properties.getTtlMs(), properties.getMaxEntries(), timeProvider, meterRegistry);
+    }
+
+    public GetUserMenuQuery.UserMenuData get(Long userId) {
+        // Read on the primary through a read-write transaction the query handler joins. Avatar changes are committed
+        // by an event handler, outside the session of the user, so no read-your-writes stickiness covers a replica
+        // that has yet to replay them, and the cache would keep the old avatar for ttlMs.
+        return cache.get(
+                userId,
+                () -> transactionOperations.execute(status -> mediator.executeQuery(new GetUserMenuQuery(userId))));
+    }
+
+    public void invalidateAfterCommit(Long userId) {
+        cache.invalidateAfterCommit(userId);
+    }
+
+    void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+}
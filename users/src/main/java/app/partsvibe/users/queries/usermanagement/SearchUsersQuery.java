@@ -1,7 +1,7 @@
 package app.partsvibe.users.queries.usermanagement;
 
-import app.partsvibe.shared.cqrs.PageResult;
-import app.partsvibe.shared.cqrs.PaginatedQuery;
+import app.partsvibe.shared.cqrs.KeysetPageResult;
+import app.partsvibe.shared.cqrs.KeysetPaginatedQuery;
 import java.util.List;
 import lombok.Builder;
 
@@ -10,11 +10,11 @@ public record SearchUsersQuery(
         String usernameContains,
         Boolean enabledIs,
         List<String> rolesContainAll,
-        int currentPage,
+        String cursor,
         int pageSize,
         String sortBy,
         String sortDir)
-        implements PaginatedQuery<PageResult<SearchUsersQuery.UserRow>> {
+        implements KeysetPaginatedQuery<KeysetPageResult<SearchUsersQuery.UserRow>> {
 
     public static final String SORT_NONE = "none";
     public static final String SORT_ASC = "asc";
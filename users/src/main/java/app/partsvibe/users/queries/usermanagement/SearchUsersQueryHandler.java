@@ -1,61 +1,106 @@
 package app.partsvibe.users.queries.usermanagement;
 
 import static app.partsvibe.users.queries.usermanagement.SearchUsersQuery.*;
-import static java.util.Comparator.naturalOrder;
 
-import app.partsvibe.shared.cqrs.BasePaginatedQueryHandler;
-import app.partsvibe.shared.cqrs.PageResult;
+import app.partsvibe.shared.cqrs.BaseKeysetPaginatedQueryHandler;
+import app.partsvibe.shared.cqrs.KeysetCursor;
+import app.partsvibe.shared.cqrs.KeysetCursorCodec;
+import app.partsvibe.shared.cqrs.KeysetPageResult;
 import app.partsvibe.shared.utils.StringUtils;
+import app.partsvibe.users.domain.QRole;
 import app.partsvibe.users.domain.QUser;
-import app.partsvibe.users.domain.Role;
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.Order;
 import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import org.springframework.stereotype.Component;
 
 @Component
-class SearchUsersQueryHandler extends BasePaginatedQueryHandler<SearchUsersQuery, PageResult<UserRow>> {
+class SearchUsersQueryHandler extends BaseKeysetPaginatedQueryHandler<SearchUsersQuery, KeysetPageResult<UserRow>> {
+    // Up to this many users an exact COUNT(*) of the unfiltered list is cheap; above it planner statistics are used.
+    private static final long EXACT_COUNT_THRESHOLD = 10_000;
+    private static final String ESTIMATED_ROWS_SQL =
+            "SELECT reltuples::bigint FROM pg_class WHERE oid = 'users'::regclass";
+
     private final JPAQueryFactory queryFactory;
+    private final EntityManager entityManager;
 
-    SearchUsersQueryHandler(JPAQueryFactory queryFactory) {
+    SearchUsersQueryHandler(
+            JPAQueryFactory queryFactory, EntityManager entityManager, KeysetCursorCodec keysetCursorCodec) {
+        super(keysetCursorCodec);
         this.queryFactory = queryFactory;
+        this.entityManager = entityManager;
     }
 
     @Override
-    protected PageResult<UserRow> doHandle(SearchUsersQuery query) {
+    protected KeysetPageResult<UserRow> doHandle(SearchUsersQuery query) {
         QUser user = QUser.user;
-        BooleanBuilder predicate = buildPredicate(query, user);
-        int safeSize = resolvePageSize(query);
-
-        Long totalRowsValue =
-                queryFactory.select(user.id.count()).from(user).where(predicate).fetchOne();
-        long totalRows = totalRowsValue == null ? 0L : totalRowsValue;
-        int totalPages = computeTotalPages(totalRows, safeSize);
-        int safePage = resolvePageNumber(query, totalPages);
+        String sortBy = resolveSortBy(query);
+        Order direction = resolveDirection(query);
+        // Cursors are bound to the sort: a cursor of another sort order is ignored and the first page is served.
+        String scope = "users:" + sortBy + ":" + direction.name().toLowerCase(Locale.ROOT);
+        int pageSize = resolvePageSize(query);
+        KeysetCursor cursor = decodeCursor(query, scope).orElse(null);
+        boolean backwards = cursor != null && cursor.direction() == KeysetCursor.Direction.BEFORE;
+
+        BooleanBuilder filters = buildPredicate(query, user);
+        BooleanBuilder predicate = new BooleanBuilder(filters);
+        if (cursor != null && !cursor.isLastPage()) {
+            predicate.and(seekPredicate(sortBy, direction, cursor, user));
+        }
 
-        List<UserRow> rows = queryFactory
-                .selectFrom(user)
+        // Phase 1 pages over the user columns only, phase 2 loads the roles of that page in one query. Selecting User
+        // entities would load the EAGER roles collection once per row.
+        List<Tuple> page = queryFactory
+                .select(user.id, user.username, user.enabled)
+                .from(user)
                 .where(predicate)
-                .orderBy(orderBy(query, user))
-                .offset((long) (safePage - 1) * safeSize)
-                .limit(safeSize)
-                .fetch()
-                .stream()
-                // TODO: Avoid potential N+1 on roles by switching to a paged-id + batched roles projection query.
-                .map(userAccount -> new UserRow(
-                        userAccount.getId(),
-                        userAccount.getUsername(),
-                        userAccount.isEnabled(),
-                        userAccount.getRoles().stream()
-                                .map(Role::getName)
-                                .sorted(naturalOrder())
-                                .toList()))
+                .orderBy(orderBy(sortBy, direction, backwards, user))
+                .limit(pageSize + 1L)
+                .fetch();
+        Map<Long, List<String>> rolesByUserId =
+                rolesByUserId(page.stream().map(row -> row.get(user.id)).toList());
+        List<UserRow> rows = page.stream()
+                .map(row -> {
+                    Long userId = row.get(user.id);
+                    return new UserRow(
+                            userId,
+                            row.get(user.username),
+                            Boolean.TRUE.equals(row.get(user.enabled)),
+                            rolesByUserId.getOrDefault(userId, List.of()));
+                })
                 .toList();
 
-        return new PageResult<>(rows, totalRows, totalPages, safePage, safeSize);
+        // Filtered lists are not counted: a count would scan every match while the page itself stops after
+        // pageSize + 1 rows.
+        Long totalRows = null;
+        boolean totalRowsEstimated = false;
+        if (!filters.hasValue()) {
+            long estimatedRows = estimatedUserCount();
+            totalRowsEstimated = estimatedRows >= EXACT_COUNT_THRESHOLD;
+            totalRows = totalRowsEstimated ? estimatedRows : exactUserCount(user);
+        }
+
+        return toPage(
+                rows,
+                cursor,
+                pageSize,
+                scope,
+                row -> sortKeyOf(sortBy, row),
+                UserRow::id,
+                totalRows,
+                totalRowsEstimated);
     }
 
     private BooleanBuilder buildPredicate(SearchUsersQuery query, QUser user) {
@@ -70,30 +115,127 @@ class SearchUsersQueryHandler extends BasePaginatedQueryHandler<SearchUsersQuery
             predicate.and(user.enabled.eq(query.enabledIs()));
         }
 
-        List<String> requiredRoles = query.rolesContainAll() == null ? List.of() : query.rolesContainAll();
-        for (String role : requiredRoles) {
-            predicate.and(user.roles.any().name.eq(role));
+        List<String> requiredRoles = query.rolesContainAll() == null
+                ? List.of()
+                : query.rolesContainAll().stream().distinct().toList();
+        if (!requiredRoles.isEmpty()) {
+            // One grouped subquery over user_roles instead of a correlated EXISTS per required role.
+            QUser roleOwner = new QUser("roleOwner");
+            QRole role = QRole.role;
+            predicate.and(user.id.in(JPAExpressions.select(roleOwner.id)
+                    .from(roleOwner)
+                    .join(roleOwner.roles, role)
+                    .where(role.name.in(requiredRoles))
+                    .groupBy(roleOwner.id)
+                    .having(role.name.countDistinct().eq((long) requiredRoles.size()))));
         }
 
         return predicate;
     }
 
-    private OrderSpecifier<?>[] orderBy(SearchUsersQuery query, QUser user) {
-        String sortBy = query.sortBy() == null ? SORT_NONE : query.sortBy();
-        String sortDir = query.sortDir() == null ? SORT_ASC : query.sortDir().toLowerCase(Locale.ROOT);
-        Order direction = SORT_DESC.equals(sortDir) ? Order.DESC : Order.ASC;
+    // Rows strictly beyond the cursor in navigation order, (sort key, id) compared as a tuple.
+    private static BooleanExpression seekPredicate(String sortBy, Order direction, KeysetCursor cursor, QUser user) {
+        boolean forward = cursor.direction() == KeysetCursor.Direction.AFTER;
+        boolean keyGreater = (direction == Order.ASC) == forward;
+
+        if (SORT_BY_USERNAME.equals(sortBy)) {
+            return beyond(user.username, cursor.sortKey(), keyGreater, forward, cursor.id(), user);
+        }
+        if (SORT_BY_ENABLED.equals(sortBy)) {
+            return beyond(
+                    user.enabled, Boolean.parseBoolean(cursor.sortKey()), keyGreater, forward, cursor.id(), user);
+        }
+        return forward ? user.id.gt(cursor.id()) : user.id.lt(cursor.id());
+    }
+
+    // PostgreSQL turns a row value comparison into a single index range, while key > k OR (key = k AND id > i)
+    // makes it scan the index from its start. Ids ascend within a key even in a descending sort, which no single row
+    // comparison expresses; there the redundant bound on the key alone limits the range.
+    private static <T extends Comparable<?>> BooleanExpression beyond(
+            ComparableExpression<T> key, T sortKey, boolean keyGreater, boolean idGreater, long id, QUser user) {
+        if (keyGreater == idGreater) {
+            return Expressions.booleanTemplate(
+                    keyGreater ? "({0}, {1}) > ({2}, {3})" : "({0}, {1}) < ({2}, {3})", key, user.id, sortKey, id);
+        }
+        BooleanExpression idBeyond = idGreater ? user.id.gt(id) : user.id.lt(id);
+        return (keyGreater ? key.goe(sortKey) : key.loe(sortKey))
+                .and((keyGreater ? key.gt(sortKey) : key.lt(sortKey)).or(key.eq(sortKey).and(idBeyond)));
+    }
+
+    private Map<Long, List<String>> rolesByUserId(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        QUser user = QUser.user;
+        QRole role = QRole.role;
+        Map<Long, List<String>> rolesByUserId = new HashMap<>();
+        queryFactory
+                .select(user.id, role.name)
+                .from(user)
+                .join(user.roles, role)
+                .where(user.id.in(userIds))
+                .orderBy(role.name.asc())
+                .fetch()
+                .forEach(row -> rolesByUserId
+                        .computeIfAbsent(row.get(user.id), ignored -> new ArrayList<>())
+                        .add(row.get(role.name)));
+        return rolesByUserId;
+    }
+
+    private static OrderSpecifier<?>[] orderBy(String sortBy, Order direction, boolean backwards, QUser user) {
+        Order keyOrder = backwards ? reverse(direction) : direction;
+        Order idOrder = backwards ? Order.DESC : Order.ASC;
 
         if (SORT_BY_USERNAME.equals(sortBy)) {
             return new OrderSpecifier[] {
-                new OrderSpecifier<>(direction, user.username), new OrderSpecifier<>(Order.ASC, user.id)
+                new OrderSpecifier<>(keyOrder, user.username), new OrderSpecifier<>(idOrder, user.id)
             };
         }
         if (SORT_BY_ENABLED.equals(sortBy)) {
             return new OrderSpecifier[] {
-                new OrderSpecifier<>(direction, user.enabled), new OrderSpecifier<>(Order.ASC, user.id)
+                new OrderSpecifier<>(keyOrder, user.enabled), new OrderSpecifier<>(idOrder, user.id)
             };
         }
 
-        return new OrderSpecifier[] {new OrderSpecifier<>(Order.ASC, user.id)};
+        return new OrderSpecifier[] {new OrderSpecifier<>(idOrder, user.id)};
+    }
+
+    private static String sortKeyOf(String sortBy, UserRow row) {
+        if (SORT_BY_USERNAME.equals(sortBy)) {
+            return row.username();
+        }
+        if (SORT_BY_ENABLED.equals(sortBy)) {
+            return String.valueOf(row.enabled());
+        }
+        return null;
+    }
+
+    private static String resolveSortBy(SearchUsersQuery query) {
+        String sortBy = query.sortBy() == null ? SORT_NONE : query.sortBy();
+        return SORT_BY_USERNAME.equals(sortBy) || SORT_BY_ENABLED.equals(sortBy) ? sortBy : SORT_NONE;
+    }
+
+    // Without a sort column the list is ordered by id ascending and the direction is ignored.
+    private static Order resolveDirection(SearchUsersQuery query) {
+        if (SORT_NONE.equals(resolveSortBy(query))) {
+            return Order.ASC;
+        }
+        String sortDir = query.sortDir() == null ? SORT_ASC : query.sortDir().toLowerCase(Locale.ROOT);
+        return SORT_DESC.equals(sortDir) ? Order.DESC : Order.ASC;
+    }
+
+    private static Order reverse(Order order) {
+        return order == Order.ASC ? Order.DESC : Order.ASC;
+    }
+
+    // reltuples is -1 for a table that was never analyzed, which falls through to the exact count.
+    private long estimatedUserCount() {
+        Object estimate = entityManager.createNativeQuery(ESTIMATED_ROWS_SQL).getSingleResult();
+        return estimate instanceof Number number ? number.longValue() : -1;
+    }
+
+    private long exactUserCount(QUser user) {
+        Long count = queryFactory.select(user.id.count()).from(user).fetchOne();
+        return count == null ? 0L : count;
     }
 }
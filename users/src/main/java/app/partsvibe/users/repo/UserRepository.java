@@ -7,9 +7,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsernameIgnoreCase(String username);
+    // Callers pass User.normalizeUsername(username).
+    Optional<User> findByUsernameNormalized(String usernameNormalized);
 
-    boolean existsByUsernameIgnoreCaseAndIdNot(String username, Long id);
+    boolean existsByUsernameNormalizedAndIdNot(String usernameNormalized, Long id);
 
     @Query(
             """
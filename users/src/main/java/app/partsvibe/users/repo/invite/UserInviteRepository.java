@@ -11,29 +11,32 @@ import org.springframework.data.repository.query.Param;
 public interface UserInviteRepository extends JpaRepository<UserInvite, Long> {
     Optional<UserInvite> findByTokenHash(String tokenHash);
 
-    boolean existsByEmailIgnoreCase(String email);
+    // Callers pass User.normalizeUsername(email).
+    boolean existsByEmailNormalized(String emailNormalized);
 
     @Modifying
     @Query(
             """
             update UserInvite i
             set i.revokedAt = :now
-            where lower(i.email) = lower(:email)
+            where i.emailNormalized = :emailNormalized
               and i.usedAt is null
               and i.revokedAt is null
             """)
-    int revokeUnconsumedInvitesByEmail(@Param("email") String email, @Param("now") Instant now);
+    int revokeUnconsumedInvitesByEmail(@Param("emailNormalized") String emailNormalized, @Param("now") Instant now);
 
     @Modifying
     @Query(
             """
             update UserInvite i
             set i.revokedAt = :now
-            where lower(i.email) = lower(:email)
+            where i.emailNormalized = :emailNormalized
               and i.id <> :excludeInviteId
               and i.usedAt is null
               and i.revokedAt is null
             """)
     int revokeUnconsumedInvitesByEmailExcludingId(
-            @Param("email") String email, @Param("excludeInviteId") Long excludeInviteId, @Param("now") Instant now);
+            @Param("emailNormalized") String emailNormalized,
+            @Param("excludeInviteId") Long excludeInviteId,
+            @Param("now") Instant now);
 }
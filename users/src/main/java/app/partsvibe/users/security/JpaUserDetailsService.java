@@ -1,21 +1,34 @@
 package app.partsvibe.users.security;
 
 import app.partsvibe.shared.cqrs.Mediator;
-import app.partsvibe.users.queries.auth.FindUserDetailsByUsernameQuery;
+import app.partsvibe.users.commands.password.UpgradePasswordHashCommand;
+import app.partsvibe.users.queries.auth.UserDetailsCache;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 
 @Service
-public class JpaUserDetailsService implements UserDetailsService {
+public class JpaUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+    private final UserDetailsCache userDetailsCache;
     private final Mediator mediator;
 
-    public JpaUserDetailsService(Mediator mediator) {
+    public JpaUserDetailsService(UserDetailsCache userDetailsCache, Mediator mediator) {
+        this.userDetailsCache = userDetailsCache;
         this.mediator = mediator;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) {
-        return mediator.executeQuery(new FindUserDetailsByUsernameQuery(username));
+        return userDetailsCache.get(username);
+    }
+
+    // Called by the authentication provider after a successful login whose stored hash reports upgradeEncoding().
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserPrincipal principal = (UserPrincipal) user;
+        mediator.executeCommand(
+                new UpgradePasswordHashCommand(principal.getUserId(), principal.getPassword(), newPassword));
+        return principal.withPasswordHash(newPassword);
     }
 }
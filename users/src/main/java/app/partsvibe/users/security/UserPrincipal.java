@@ -22,17 +22,30 @@ public class UserPrincipal implements UserDetails, Serializable {
     private final Set<String> roleNames;
 
     public UserPrincipal(User user) {
-        this.userId = user.getId();
-        this.username = user.getUsername();
-        this.passwordHash = user.getPasswordHash();
-        this.enabled = user.isEnabled();
-        this.roleNames = user.getRoles().stream().map(Role::getName).collect(Collectors.toUnmodifiableSet());
+        this(
+                user.getId(),
+                user.getUsername(),
+                user.getPasswordHash(),
+                user.isEnabled(),
+                user.getRoles().stream().map(Role::getName).collect(Collectors.toUnmodifiableSet()));
+    }
+
+    public UserPrincipal(Long userId, String username, String passwordHash, boolean enabled, Set<String> roleNames) {
+        this.userId = userId;
+        this.username = username;
+        this.passwordHash = passwordHash;
+        this.enabled = enabled;
+        this.roleNames = Set.copyOf(roleNames);
     }
 
     public Long getUserId() {
         return userId;
     }
 
+    public UserPrincipal withPasswordHash(String passwordHash) {
+        return new UserPrincipal(userId, username, passwordHash, enabled, roleNames);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return roleNames.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toSet());
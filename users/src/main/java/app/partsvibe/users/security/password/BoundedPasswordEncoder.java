@@ -0,0 +1,121 @@
+package app.partsvibe.users.security.password;
+
+import app.partsvibe.users.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Runs encode and matches on a small dedicated pool instead of the calling request thread, so that hashing can never
+// take more than app.users.password-hashing.threads cores. The request thread still waits for its hash, but once
+// queue-capacity hashes are waiting further calls fail at once with PasswordHashingRejectedException.
+//
+// Hashes are stored with an {id} prefix; hashes from before the prefix are plain bcrypt. Both, and bcrypt hashes with
+// a lower work factor than configured, report upgradeEncoding() so that the login rehashes them.
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+    private static final String BCRYPT_ID = "bcrypt";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+
+    public BoundedPasswordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this(delegatingEncoder(properties.getBcryptStrength()), properties, meterRegistry);
+    }
+
+    BoundedPasswordEncoder(
+            PasswordEncoder delegate, PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        var threadFactory = Thread.ofPlatform()
+                .name("password-hashing-", 1)
+                .daemon(true)
+                .factory();
+        BlockingQueue<Runnable> queue = properties.getQueueCapacity() > 0
+                ? new LinkedBlockingQueue<>(properties.getQueueCapacity())
+                : new SynchronousQueue<>();
+        this.executor = new ThreadPoolExecutor(
+                properties.getThreads(), properties.getThreads(), 0L, TimeUnit.MILLISECONDS, queue, threadFactory);
+        meterRegistry.gauge("app.users.password-hashing.queue.depth", executor, pool -> pool.getQueue().size());
+        meterRegistry.gauge("app.users.password-hashing.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T hash(String operation, Callable<T> task) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                timer("app.users.password-hashing.queue.wait", operation)
+                        .record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    timer("app.users.password-hashing.duration", operation)
+                            .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("app.users.password-hashing.rejected", "operation", operation).increment();
+            throw new PasswordHashingRejectedException(operation);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException(operation);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed. operation=" + operation, e.getCause());
+        }
+    }
+
+    private Timer timer(String name, String operation) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    static PasswordEncoder delegatingEncoder(int bcryptStrength) {
+        var bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        var encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+}
@@ -0,0 +1,10 @@
+package app.partsvibe.users.security.password;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+// An AuthenticationServiceException so that a rejected login ends on the login page instead of an error page.
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+    public PasswordHashingRejectedException(String operation) {
+        super("Password hashing is at capacity. operation=" + operation);
+    }
+}
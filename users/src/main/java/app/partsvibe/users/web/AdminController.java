@@ -1,6 +1,7 @@
 package app.partsvibe.users.web;
 
 import app.partsvibe.shared.cqrs.Mediator;
+import app.partsvibe.users.commands.admin.TriggerCatalogReindexCommand;
 import app.partsvibe.users.commands.admin.TriggerRetentionCleanupCommand;
 import java.util.UUID;
 import org.slf4j.Logger;
@@ -47,4 +48,15 @@ public class AdminController {
 
         return "redirect:/admin/maintenance";
     }
+
+    @PostMapping("/catalog/reindex")
+    public String triggerCatalogReindex(RedirectAttributes redirectAttributes) {
+        UUID eventId = mediator.executeCommand(new TriggerCatalogReindexCommand()).eventId();
+
+        log.info("Catalog reindex trigger event published from admin page. eventId={}", eventId);
+        redirectAttributes.addFlashAttribute("catalogReindexTriggered", true);
+        redirectAttributes.addFlashAttribute("catalogReindexEventId", eventId);
+
+        return "redirect:/admin/maintenance";
+    }
 }
@@ -18,6 +18,7 @@ import app.partsvibe.users.web.form.ProfileForm;
 import app.partsvibe.users.web.form.ProfilePasswordForm;
 import jakarta.validation.Valid;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
@@ -107,11 +108,13 @@ public class ProfileController {
                     avatarFile.getContentType(),
                     avatarFile.getSize());
 
-            mediator.executeCommand(UpdateAvatarCommand.builder()
-                    .userId(userId)
-                    .originalFilename(originalFilename)
-                    .content(readFileBytes(avatarFile))
-                    .build());
+            try (InputStream content = avatarFile.getInputStream()) {
+                mediator.executeCommand(UpdateAvatarCommand.builder()
+                        .userId(userId)
+                        .originalFilename(originalFilename)
+                        .content(content)
+                        .build());
+            }
             log.info("Profile avatar upload completed. userId={}", userId);
             redirectAttributes.addFlashAttribute("profileMessageCode", "profile.avatar.updated");
             redirectAttributes.addFlashAttribute("profileMessageLevel", "alert-success");
@@ -132,7 +135,7 @@ public class ProfileController {
             return "redirect:/profile";
         } catch (IOException ex) {
             log.error(
-                    "Profile avatar upload failed while reading multipart bytes. userId={}, originalFilename={}, contentType={}, sizeBytes={}",
+                    "Profile avatar upload failed while reading multipart content. userId={}, originalFilename={}, contentType={}, sizeBytes={}",
                     userId,
                     originalFilename,
                     avatarFile.getContentType(),
@@ -215,10 +218,6 @@ public class ProfileController {
         return avatarId == null ? PLACEHOLDER_IMAGE_URL : "/storage/files/" + avatarId + "/thumbnail/128";
     }
 
-    private byte[] readFileBytes(MultipartFile avatarFile) throws IOException {
-        return avatarFile.getBytes();
-    }
-
     private BreadcrumbsData breadcrumbs(Locale locale) {
         return new BreadcrumbsData(
                 List.of(new BreadcrumbItemData(messageSource.getMessage("nav.profile", null, locale), null, true)));
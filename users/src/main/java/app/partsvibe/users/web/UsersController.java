@@ -1,7 +1,7 @@
 package app.partsvibe.users.web;
 
+import app.partsvibe.shared.cqrs.KeysetPageResult;
 import app.partsvibe.shared.cqrs.Mediator;
-import app.partsvibe.shared.cqrs.PageResult;
 import app.partsvibe.shared.security.CurrentUserProvider;
 import app.partsvibe.shared.utils.StringUtils;
 import app.partsvibe.uicomponents.breadcrumbs.BreadcrumbItemData;
@@ -26,7 +26,6 @@ import app.partsvibe.users.web.form.AdminResetUserPasswordForm;
 import app.partsvibe.users.web.form.ConfirmationDialogData;
 import app.partsvibe.users.web.form.HiddenField;
 import app.partsvibe.users.web.form.InviteUserForm;
-import app.partsvibe.users.web.form.PageLink;
 import app.partsvibe.users.web.form.PaginationData;
 import app.partsvibe.users.web.form.UserFilters;
 import app.partsvibe.users.web.form.UserForm;
@@ -39,7 +38,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
@@ -93,26 +91,22 @@ public class UsersController {
                 .usernameContains(filters.getUsernameContains())
                 .enabledIs(filters.getEnabledIs())
                 .rolesContainAll(List.copyOf(filters.getRolesContainAll()))
-                .currentPage(filters.getPage())
+                .cursor(filters.getCursor())
                 .pageSize(filters.getSize())
                 .sortBy(filters.getSortBy())
                 .sortDir(filters.getSortDir())
                 .build();
 
-        PageResult<SearchUsersQuery.UserRow> result = mediator.executeQuery(query);
+        KeysetPageResult<SearchUsersQuery.UserRow> result = mediator.executeQuery(query);
 
         List<UserRow> pagedUsers = userWebMapper.toRows(result.items());
 
-        int totalPages = result.totalPages();
-        filters.setPage(result.currentPage());
-        List<Integer> pageNumbers = buildPageNumbers(totalPages);
-
         model.addAttribute("users", pagedUsers);
         model.addAttribute("availableRoles", availableRoleNames());
         model.addAttribute("pageSizes", UserFilters.allowedPageSizes());
         model.addAttribute("sortUsername", filters.buildSortLink(SearchUsersQuery.SORT_BY_USERNAME));
         model.addAttribute("sortEnabled", filters.buildSortLink(SearchUsersQuery.SORT_BY_ENABLED));
-        model.addAttribute("pageInfo", buildPaginationData(filters, totalPages, pageNumbers, result));
+        model.addAttribute("pageInfo", buildPaginationData(filters, result));
         model.addAttribute("deleteDialogsByUserId", buildDeleteDialogsByUserId(pagedUsers));
         model.addAttribute("hiddenFieldsForActions", buildHiddenFieldsForActions(filters));
         model.addAttribute("hiddenFieldsForPageSize", buildHiddenFieldsForPageSize(filters));
@@ -448,33 +442,15 @@ public class UsersController {
                 new BreadcrumbItemData(currentLabel, null, true)));
     }
 
-    private List<Integer> buildPageNumbers(int totalPages) {
-        int pageCount = Math.min(totalPages, 10);
-        return IntStream.rangeClosed(1, pageCount).boxed().toList();
-    }
-
-    private List<PageLink> buildPaginationPageLinks(UserFilters filters, List<Integer> pageNumbers) {
-        List<PageLink> links = new ArrayList<>();
-        for (Integer pageNumber : pageNumbers) {
-            links.add(new PageLink(pageNumber, buildPageUrl(filters, pageNumber)));
-        }
-        return links;
-    }
-
-    private PaginationData buildPaginationData(
-            UserFilters filters,
-            int totalPages,
-            List<Integer> pageNumbers,
-            PageResult<SearchUsersQuery.UserRow> result) {
+    private PaginationData buildPaginationData(UserFilters filters, KeysetPageResult<SearchUsersQuery.UserRow> result) {
         return new PaginationData(
-                buildPageUrl(filters, 1),
-                buildPageUrl(filters, totalPages),
-                buildPaginationPageLinks(filters, pageNumbers),
-                totalPages,
-                filters.getPage(),
-                result.startRow(),
-                result.endRow(),
-                result.totalRows());
+                buildPageUrl(filters, ""),
+                result.hasPrevious() ? buildPageUrl(filters, result.previousCursor()) : null,
+                result.hasNext() ? buildPageUrl(filters, result.nextCursor()) : null,
+                result.lastPageCursor() == null ? null : buildPageUrl(filters, result.lastPageCursor()),
+                result.items().size(),
+                result.totalRows(),
+                result.totalRowsEstimated());
     }
 
     private Map<Long, ConfirmationDialogData> buildDeleteDialogsByUserId(List<UserRow> users) {
@@ -491,15 +467,15 @@ public class UsersController {
                                 null)));
     }
 
-    private String buildPageUrl(UserFilters filters, int page) {
+    private String buildPageUrl(UserFilters filters, String cursor) {
         UserFilters pageState = UserFilters.copyOf(filters);
-        pageState.setPage(page);
+        pageState.setCursor(cursor);
         return pageState.toUserManagementUrl();
     }
 
     private List<HiddenField> buildHiddenFieldsForActions(UserFilters filters) {
         List<HiddenField> fields = buildHiddenFieldsBase(filters);
-        fields.add(new HiddenField("page", String.valueOf(filters.getPage())));
+        fields.add(new HiddenField("cursor", filters.getCursor()));
         fields.add(new HiddenField("size", String.valueOf(filters.getSize())));
         return fields;
     }
@@ -1,15 +1,13 @@
 package app.partsvibe.users.web.form;
 
-import app.partsvibe.uicomponents.pagination.PaginationModel;
-import java.util.List;
+import app.partsvibe.uicomponents.pagination.KeysetPaginationModel;
 
 public record PaginationData(
         String firstUrl,
+        String previousUrl,
+        String nextUrl,
         String lastUrl,
-        List<PageLink> pageLinks,
-        int totalPages,
-        int currentPage,
-        int startRow,
-        int endRow,
-        long totalRows)
-        implements PaginationModel {}
+        int itemCount,
+        Long totalRows,
+        boolean totalRowsEstimated)
+        implements KeysetPaginationModel {}
@@ -22,7 +22,8 @@ public class UserFilters {
     private String usernameContains = "";
     private Boolean enabledIs = null;
     private List<String> rolesContainAll = new ArrayList<>();
-    private int page = 1;
+    // Opaque keyset cursor of the current page; empty for the first page.
+    private String cursor = "";
     private int size = PaginationPolicy.DEFAULT_PAGE_SIZE;
     private String sortBy = SearchUsersQuery.SORT_NONE;
     private String sortDir = SearchUsersQuery.SORT_ASC;
@@ -36,7 +37,7 @@ public class UserFilters {
         copy.setUsernameContains(source.getUsernameContains());
         copy.setEnabledIs(source.getEnabledIs());
         copy.setRolesContainAll(new ArrayList<>(source.getRolesContainAll()));
-        copy.setPage(source.getPage());
+        copy.setCursor(source.getCursor());
         copy.setSize(source.getSize());
         copy.setSortBy(source.getSortBy());
         copy.setSortDir(source.getSortDir());
@@ -74,11 +75,13 @@ public class UserFilters {
 
     private UriComponentsBuilder managementUrlBuilder() {
         UriComponentsBuilder builder = UriComponentsBuilder.fromPath("/admin/users")
-                .queryParam("page", page)
                 .queryParam("size", size)
                 .queryParam("sortBy", sortBy)
                 .queryParam("sortDir", sortDir);
 
+        if (StringUtils.hasText(cursor)) {
+            builder.queryParam("cursor", cursor);
+        }
         if (StringUtils.hasText(usernameContains)) {
             builder.queryParam("usernameContains", usernameContains.trim());
         }
@@ -108,7 +111,7 @@ public class UserFilters {
         }
 
         UserFilters nextState = copyOf(this);
-        nextState.setPage(1);
+        nextState.setCursor("");
         nextState.setSortBy(nextSortBy);
         nextState.setSortDir(nextSortDir);
 
@@ -120,8 +123,8 @@ public class UserFilters {
         if (usernameContains == null) {
             usernameContains = "";
         }
-        if (page < 1) {
-            page = 1;
+        if (cursor == null) {
+            cursor = "";
         }
         if (!PaginationPolicy.ALLOWED_PAGE_SIZES.contains(size)) {
             size = PaginationPolicy.DEFAULT_PAGE_SIZE;
@@ -82,7 +82,7 @@ class FinalizeUserInviteCommandHandlerIT extends AbstractUsersIntegrationTest {
         entityManager.clear();
 
         User savedUser = userRepository
-                .findByUsernameIgnoreCase("invited-user@example.com")
+                .findByUsernameNormalized("invited-user@example.com")
                 .orElseThrow();
         assertThat(passwordEncoder.matches("new-secure-password", savedUser.getPasswordHash()))
                 .isTrue();
@@ -143,7 +143,7 @@ class FinalizeUserInviteCommandHandlerIT extends AbstractUsersIntegrationTest {
                         .repeatedPassword("different-password")
                         .build()))
                 .isInstanceOf(PasswordsDoNotMatchException.class);
-        assertThat(userRepository.findByUsernameIgnoreCase("invited-user2@example.com"))
+        assertThat(userRepository.findByUsernameNormalized("invited-user2@example.com"))
                 .isEmpty();
     }
 
@@ -70,7 +70,7 @@ class InviteUserCommandHandlerIT extends AbstractUsersIntegrationTest {
         assertThat(result.outcome()).isEqualTo(InviteUserCommandResult.InviteOutcome.INVITE_SENT);
         assertThat(result.email()).isEqualTo("new@example.com");
         assertThat(result.expiresAt()).isEqualTo(now.plusSeconds(24 * 3600L));
-        assertThat(userRepository.findByUsernameIgnoreCase("new@example.com")).isEmpty();
+        assertThat(userRepository.findByUsernameNormalized("new@example.com")).isEmpty();
 
         var invites = userInviteRepository.findAll().stream()
                 .filter(invite -> invite.getEmail().equals("new@example.com"))
@@ -137,7 +137,7 @@ class InviteUserCommandHandlerIT extends AbstractUsersIntegrationTest {
                         .orElseThrow()
                         .getRevokedAt())
                 .isNull();
-        assertThat(userRepository.findByUsernameIgnoreCase("invited@example.com"))
+        assertThat(userRepository.findByUsernameNormalized("invited@example.com"))
                 .isEmpty();
 
         assertThat(eventPublisher.publishedEvents()).singleElement().isInstanceOf(UserInvitedEvent.class);
@@ -0,0 +1,48 @@
+package app.partsvibe.users.commands.password;
+
+import static app.partsvibe.users.test.databuilders.UserTestDataBuilder.aUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.users.domain.User;
+import app.partsvibe.users.repo.UserRepository;
+import app.partsvibe.users.test.it.AbstractUsersIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class UpgradePasswordHashCommandHandlerIT extends AbstractUsersIntegrationTest {
+    @Autowired
+    private UpgradePasswordHashCommandHandler commandHandler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void replacesVerifiedHashWithUpgradedOne() {
+        // given
+        User user = userRepository.save(aUser().withUsername("alice@example.com")
+                .withPasswordHash("legacy-hash")
+                .build());
+
+        // when
+        commandHandler.handle(new UpgradePasswordHashCommand(user.getId(), "legacy-hash", "{bcrypt}upgraded-hash"));
+
+        // then
+        User saved = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(saved.getPasswordHash()).isEqualTo("{bcrypt}upgraded-hash");
+    }
+
+    @Test
+    void keepsPasswordChangedSinceLogin() {
+        // given
+        User user = userRepository.save(aUser().withUsername("alice@example.com")
+                .withPasswordHash("changed-meanwhile-hash")
+                .build());
+
+        // when
+        commandHandler.handle(new UpgradePasswordHashCommand(user.getId(), "legacy-hash", "{bcrypt}upgraded-hash"));
+
+        // then
+        User saved = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(saved.getPasswordHash()).isEqualTo("changed-meanwhile-hash");
+    }
+}
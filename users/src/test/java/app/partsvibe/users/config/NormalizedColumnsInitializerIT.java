@@ -0,0 +1,74 @@
+package app.partsvibe.users.config;
+
+import static app.partsvibe.users.test.databuilders.UserInviteTestDataBuilder.aUserInvite;
+import static app.partsvibe.users.test.databuilders.UserTestDataBuilder.aUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.users.repo.UserRepository;
+import app.partsvibe.users.repo.invite.UserInviteRepository;
+import app.partsvibe.users.test.it.AbstractUsersIntegrationTest;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class NormalizedColumnsInitializerIT extends AbstractUsersIntegrationTest {
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserInviteRepository userInviteRepository;
+
+    @Test
+    void backfillsAndIndexesColumnsMissingFromExistingTables() {
+        // given
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        var user = userRepository.saveAndFlush(aUser().withUsername("Legacy.User@Example.com").build());
+        var invite = userInviteRepository.saveAndFlush(
+                aUserInvite().withEmail("Legacy.Invite@Example.com").build());
+        // The schema as it was before the columns were mapped; the rollback of the test restores it.
+        jdbcTemplate.execute("ALTER TABLE users DROP COLUMN username_normalized");
+        jdbcTemplate.execute("ALTER TABLE user_invites DROP COLUMN email_normalized");
+
+        // when
+        new NormalizedColumnsInitializer(dataSource).afterPropertiesSet();
+
+        // then
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT username_normalized FROM users WHERE id = ?", String.class, user.getId()))
+                .isEqualTo("legacy.user@example.com");
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT email_normalized FROM user_invites WHERE id = ?", String.class, invite.getId()))
+                .isEqualTo("legacy.invite@example.com");
+        assertThat(jdbcTemplate.queryForList(
+                        """
+                        SELECT column_name FROM information_schema.columns
+                        WHERE table_schema = current_schema()
+                          AND column_name IN ('username_normalized', 'email_normalized')
+                          AND is_nullable = 'NO'
+                        """,
+                        String.class))
+                .containsExactlyInAnyOrder("username_normalized", "email_normalized");
+        assertThat(jdbcTemplate.queryForList(
+                        "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema()", String.class))
+                .contains("uk_users_username_normalized", "idx_user_invites_email_normalized");
+    }
+
+    @Test
+    void leavesCurrentSchemaAsItIs() {
+        // given
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        var user = userRepository.saveAndFlush(aUser().withUsername("Current.User@Example.com").build());
+
+        // when
+        new NormalizedColumnsInitializer(dataSource).afterPropertiesSet();
+
+        // then
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT username_normalized FROM users WHERE id = ?", String.class, user.getId()))
+                .isEqualTo("current.user@example.com");
+    }
+}
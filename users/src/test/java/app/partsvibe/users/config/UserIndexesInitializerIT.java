@@ -0,0 +1,30 @@
+package app.partsvibe.users.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.users.test.it.AbstractUsersIntegrationTest;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class UserIndexesInitializerIT extends AbstractUsersIntegrationTest {
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void createsIndexesMissingFromExistingTable() {
+        // given
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        // The schema as it was before the index was declared; the rollback of the test restores it.
+        jdbcTemplate.execute("DROP INDEX idx_users_enabled_id");
+
+        // when
+        new UserIndexesInitializer(dataSource).afterPropertiesSet();
+
+        // then
+        assertThat(jdbcTemplate.queryForList(
+                        "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema()", String.class))
+                .contains("idx_users_enabled_id");
+    }
+}
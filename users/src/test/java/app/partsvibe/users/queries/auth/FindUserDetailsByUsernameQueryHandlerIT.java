@@ -47,6 +47,18 @@ class FindUserDetailsByUsernameQueryHandlerIT extends AbstractUsersIntegrationTe
                 .containsExactlyInAnyOrder("ROLE_IT_AUTH_USER", "ROLE_IT_AUTH_ADMIN");
     }
 
+    @Test
+    void findsUserRegardlessOfUsernameCaseAndSurroundingWhitespace() {
+        userRepository.save(aUser().withUsername("it-auth-john@example.com")
+                .withPasswordHash("{noop}it-secret")
+                .build());
+
+        UserDetails result = queryHandler.handle(new FindUserDetailsByUsernameQuery(" IT-Auth-John@Example.com "));
+
+        assertThat(result.getUsername()).isEqualTo("it-auth-john@example.com");
+        assertThat(result.getAuthorities()).isEmpty();
+    }
+
     @Test
     void throwsWhenUserDoesNotExist() {
         assertThatThrownBy(() -> queryHandler.handle(new FindUserDetailsByUsernameQuery("missing-user")))
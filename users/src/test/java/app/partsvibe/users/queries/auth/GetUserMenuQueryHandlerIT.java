@@ -19,7 +19,7 @@ class GetUserMenuQueryHandlerIT extends AbstractUsersIntegrationTest {
     private UserRepository userRepository;
 
     @Test
-    void returnsAvatarIdForExistingUser() {
+    void returnsMenuDataOfExistingUser() {
         // given
         UUID avatarId = UUID.randomUUID();
         var user = userRepository.save(aUser().withUsername("menu-user@example.com")
@@ -31,6 +31,7 @@ class GetUserMenuQueryHandlerIT extends AbstractUsersIntegrationTest {
 
         // then
         assertThat(result.avatarId()).isEqualTo(avatarId);
+        assertThat(result.displayName()).isEqualTo("menu-user@example.com");
     }
 
     @Test
@@ -0,0 +1,175 @@
+package app.partsvibe.users.queries.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.shared.time.TimeProvider;
+import app.partsvibe.testsupport.fakes.InMemoryMediator;
+import app.partsvibe.users.config.PasswordHashingProperties;
+import app.partsvibe.users.config.UserDetailsCacheProperties;
+import app.partsvibe.users.security.JpaUserDetailsService;
+import app.partsvibe.users.security.password.BoundedPasswordEncoder;
+import app.partsvibe.users.test.it.AbstractUsersIntegrationTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.support.TransactionOperations;
+
+// Run with -Dit.benchmarks=true, see README.md.
+@EnabledIfSystemProperty(named = "it.benchmarks", matches = "true")
+class LoginBenchmarkIT extends AbstractUsersIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(LoginBenchmarkIT.class);
+
+    private static final int USERS = 100_000;
+    // Leaked credential lists reuse the same accounts over and over.
+    private static final int TARGETED_ACCOUNTS = 200;
+    private static final int WARMUP_ATTEMPTS = 50;
+    private static final int MEASURED_ATTEMPTS = 600;
+    private static final String PASSWORD = "benchmark-password";
+
+    @Autowired
+    private FindUserDetailsByUsernameQueryHandler queryHandler;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // Same encoder as production (SecurityConfig), so the measured latency includes the hash comparison.
+    private final BoundedPasswordEncoder passwordEncoder =
+            new BoundedPasswordEncoder(new PasswordHashingProperties(), new SimpleMeterRegistry());
+
+    @Override
+    protected void afterEachTest(TestInfo testInfo) {
+        passwordEncoder.close();
+    }
+
+    @Test
+    void measuresLoginLatencyUnderCredentialStuffing() {
+        seed();
+        List<Attempt> attempts = credentialStuffingAttempts(new Random(42));
+
+        int uncachedLookups = run("disabled", 0, attempts);
+        int cachedLookups = run("enabled", new UserDetailsCacheProperties().getMaxEntries(), attempts);
+
+        assertThat(cachedLookups).isLessThan(uncachedLookups);
+    }
+
+    private int run(String cacheMode, int maxEntries, List<Attempt> attempts) {
+        var lookups = new AtomicInteger();
+        var mediator = new InMemoryMediator();
+        mediator.onQuery(FindUserDetailsByUsernameQuery.class, query -> {
+            lookups.incrementAndGet();
+            return queryHandler.handle(query);
+        });
+        var properties = new UserDetailsCacheProperties();
+        properties.setMaxEntries(maxEntries);
+        TimeProvider systemClock = Instant::now;
+        var userDetailsCache = new UserDetailsCache(
+                properties,
+                mediator,
+                TransactionOperations.withoutTransaction(),
+                systemClock,
+                new SimpleMeterRegistry());
+        var authenticationProvider =
+                new DaoAuthenticationProvider(new JpaUserDetailsService(userDetailsCache, mediator));
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+
+        for (int i = 0; i < WARMUP_ATTEMPTS; i++) {
+            authenticate(authenticationProvider, attempts.get(i));
+        }
+        lookups.set(0);
+        long[] latenciesNanos = new long[MEASURED_ATTEMPTS];
+        int authenticated = 0;
+        for (int i = 0; i < MEASURED_ATTEMPTS; i++) {
+            Attempt attempt = attempts.get(WARMUP_ATTEMPTS + i);
+            long startedAt = System.nanoTime();
+            boolean success = authenticate(authenticationProvider, attempt);
+            latenciesNanos[i] = System.nanoTime() - startedAt;
+            assertThat(success).isEqualTo(attempt.valid());
+            authenticated += success ? 1 : 0;
+        }
+        Arrays.sort(latenciesNanos);
+
+        log.info(
+                "Login benchmark. cache={}, users={}, attempts={}, authenticated={}, lookups={}, p50Ms={}, p95Ms={}, p99Ms={}",
+                cacheMode,
+                USERS,
+                MEASURED_ATTEMPTS,
+                authenticated,
+                lookups.get(),
+                millis(percentile(latenciesNanos, 50)),
+                millis(percentile(latenciesNanos, 95)),
+                millis(percentile(latenciesNanos, 99)));
+        return lookups.get();
+    }
+
+    private static boolean authenticate(DaoAuthenticationProvider authenticationProvider, Attempt attempt) {
+        try {
+            authenticationProvider.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(attempt.username(), attempt.password()));
+            return true;
+        } catch (AuthenticationException ex) {
+            return false;
+        }
+    }
+
+    // Mostly usernames that do not exist here, some known accounts with a wrong password and a few valid pairs,
+    // spelled with varying case as lists merged from several leaks are.
+    private static List<Attempt> credentialStuffingAttempts(Random random) {
+        List<Attempt> attempts = new ArrayList<>();
+        for (int i = 0; i < WARMUP_ATTEMPTS + MEASURED_ATTEMPTS; i++) {
+            int kind = random.nextInt(100);
+            String account = "bench-user-" + random.nextInt(TARGETED_ACCOUNTS) + "@example.com";
+            if (kind < 80) {
+                attempts.add(new Attempt("leaked-" + random.nextInt(1_000_000) + "@example.org", PASSWORD, false));
+            } else if (kind < 95) {
+                attempts.add(new Attempt(account, "leaked-password-" + i, false));
+            } else {
+                String spelling = random.nextBoolean() ? account.toUpperCase(Locale.ROOT) : account;
+                attempts.add(new Attempt(spelling, PASSWORD, true));
+            }
+        }
+        return attempts;
+    }
+
+    private void seed() {
+        entityManager
+                .createNativeQuery(
+                        """
+                        INSERT INTO users (
+                            id, version, created_at, created_by, updated_at, updated_by, username, username_normalized,
+                            password_hash, enabled)
+                        SELECT nextval('users_id_seq'), 0, now(), 'benchmark', now(), 'benchmark',
+                               'bench-user-' || n || '@example.com', 'bench-user-' || n || '@example.com',
+                               :passwordHash, true
+                        FROM generate_series(0, :users - 1) AS n
+                        """)
+                .setParameter("passwordHash", passwordEncoder.encode(PASSWORD))
+                .setParameter("users", USERS)
+                .executeUpdate();
+        entityManager.createNativeQuery("ANALYZE users").executeUpdate();
+    }
+
+    private static long percentile(long[] sortedValues, int percentile) {
+        return sortedValues[Math.min(sortedValues.length - 1, sortedValues.length * percentile / 100)];
+    }
+
+    private static String millis(long nanos) {
+        return "%.2f".formatted(nanos / 1_000_000.0);
+    }
+
+    private record Attempt(String username, String password, boolean valid) {}
+}
@@ -0,0 +1,111 @@
+package app.partsvibe.users.queries.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import app.partsvibe.testsupport.fakes.InMemoryMediator;
+import app.partsvibe.testsupport.fakes.ManuallySetTimeProvider;
+import app.partsvibe.users.config.UserDetailsCacheProperties;
+import app.partsvibe.users.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class UserDetailsCacheTest {
+    private static final long TTL_MS = 10_000;
+    private static final String KNOWN_USERNAME = "jane@example.com";
+
+    private final InMemoryMediator mediator = new InMemoryMediator();
+    private final ManuallySetTimeProvider timeProvider = new ManuallySetTimeProvider();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger queries = new AtomicInteger();
+    private UserDetailsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        mediator.onQuery(FindUserDetailsByUsernameQuery.class, query -> {
+            queries.incrementAndGet();
+            if (!query.username().trim().equalsIgnoreCase(KNOWN_USERNAME)) {
+                throw new UsernameNotFoundException("User not found: " + query.username());
+            }
+            return new UserPrincipal(1L, KNOWN_USERNAME, "{noop}secret", true, Set.of("ROLE_USER"));
+        });
+        cache = cache(100);
+    }
+
+    @AfterEach
+    void clearTransactionState() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void sharesEntryBetweenSpellingsOfSameUsername() {
+        var first = cache.get(KNOWN_USERNAME);
+        var second = cache.get(" Jane@Example.COM ");
+
+        assertThat(second).isSameAs(first);
+        assertThat(queries).hasValue(1);
+        assertThat(requests("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheUnknownUsernames() {
+        assertThatThrownBy(() -> cache.get("nobody@example.com")).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> cache.get("nobody@example.com")).isInstanceOf(UsernameNotFoundException.class);
+
+        assertThat(queries).hasValue(2);
+        assertThat(meterRegistry.get("app.users.details-cache.size").gauge().value()).isZero();
+    }
+
+    @Test
+    void reloadsEntryOlderThanTtl() {
+        cache.get(KNOWN_USERNAME);
+
+        timeProvider.move(Duration.ofMillis(TTL_MS));
+        cache.get(KNOWN_USERNAME);
+
+        assertThat(queries).hasValue(2);
+        assertThat(evictions("expired")).isEqualTo(1);
+    }
+
+    @Test
+    void invalidatesAnySpellingOfUsernameAfterCommit() {
+        cache.get(KNOWN_USERNAME);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidateAfterCommit("JANE@example.com");
+        cache.get(KNOWN_USERNAME);
+        assertThat(queries).hasValue(1);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.get(KNOWN_USERNAME);
+        assertThat(queries).hasValue(2);
+        assertThat(evictions("invalidated")).isEqualTo(1);
+    }
+
+    private UserDetailsCache cache(int maxEntries) {
+        var properties = new UserDetailsCacheProperties();
+        properties.setTtlMs(TTL_MS);
+        properties.setMaxEntries(maxEntries);
+        return new UserDetailsCache(
+                properties, mediator, TransactionOperations.withoutTransaction(), timeProvider, meterRegistry);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.counter("app.users.details-cache.requests", "result", result).count();
+    }
+
+    private double evictions(String cause) {
+        return meterRegistry.counter("app.users.details-cache.evictions", "cause", cause).count();
+    }
+}
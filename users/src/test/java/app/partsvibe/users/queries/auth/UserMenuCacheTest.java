@@ -0,0 +1,153 @@
+package app.partsvibe.users.queries.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.testsupport.fakes.InMemoryMediator;
+import app.partsvibe.testsupport.fakes.ManuallySetTimeProvider;
+import app.partsvibe.users.config.UserMenuCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class UserMenuCacheTest {
+    private static final long TTL_MS = 60_000;
+
+    private final InMemoryMediator mediator = new InMemoryMediator();
+    private final ManuallySetTimeProvider timeProvider = new ManuallySetTimeProvider();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger queries = new AtomicInteger();
+    private UserMenuCache cache;
+
+    @BeforeEach
+    void setUp() {
+        mediator.onQuery(GetUserMenuQuery.class, query -> {
+            queries.incrementAndGet();
+            return menuData(query.userId());
+        });
+        cache = cache(3);
+    }
+
+    @AfterEach
+    void clearTransactionState() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void servesRepeatedRequestsWithoutQuery() {
+        var first = cache.get(1L);
+        var second = cache.get(1L);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(queries).hasValue(1);
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void reloadsEntryOlderThanTtl() {
+        cache.get(1L);
+
+        timeProvider.move(Duration.ofMillis(TTL_MS - 1));
+        cache.get(1L);
+        assertThat(queries).hasValue(1);
+
+        timeProvider.move(Duration.ofMillis(1));
+        cache.get(1L);
+        assertThat(queries).hasValue(2);
+        assertThat(evictions("expired")).isEqualTo(1);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedUserAboveMaxEntries() {
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(3L);
+        cache.get(1L);
+        cache.get(4L);
+
+        cache.get(1L);
+        assertThat(queries).hasValue(4);
+        cache.get(2L);
+        assertThat(queries).hasValue(5);
+        assertThat(evictions("size")).isEqualTo(2);
+    }
+
+    @Test
+    void invalidatesOnlyAfterTransactionCommits() {
+        cache.get(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidateAfterCommit(1L);
+        cache.get(1L);
+        assertThat(queries).hasValue(1);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.get(1L);
+        assertThat(queries).hasValue(2);
+        assertThat(evictions("invalidated")).isEqualTo(1);
+    }
+
+    @Test
+    void invalidatesImmediatelyOutsideTransaction() {
+        cache.get(1L);
+
+        cache.invalidateAfterCommit(1L);
+        cache.get(1L);
+
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    void doesNotStoreDataLoadedConcurrentlyWithInvalidation() {
+        mediator.onQuery(GetUserMenuQuery.class, query -> {
+            queries.incrementAndGet();
+            // The change commits while this load is in flight; what it read may predate the change.
+            cache.invalidate(query.userId());
+            return menuData(query.userId());
+        });
+
+        cache.get(1L);
+        cache.get(1L);
+
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    void queriesEveryTimeWhenDisabled() {
+        cache = cache(0);
+
+        cache.get(1L);
+        cache.get(1L);
+
+        assertThat(queries).hasValue(2);
+    }
+
+    private UserMenuCache cache(int maxEntries) {
+        var properties = new UserMenuCacheProperties();
+        properties.setTtlMs(TTL_MS);
+        properties.setMaxEntries(maxEntries);
+        return new UserMenuCache(
+                properties, mediator, TransactionOperations.withoutTransaction(), timeProvider, meterRegistry);
+    }
+
+    private static GetUserMenuQuery.UserMenuData menuData(Long userId) {
+        return new GetUserMenuQuery.UserMenuData(UUID.randomUUID(), "user" + userId + "@example.com");
+    }
+
+    private double requests(String result) {
+        return meterRegistry.counter("app.users.menu-cache.requests", "result", result).count();
+    }
+
+    private double evictions(String cause) {
+        return meterRegistry.counter("app.users.menu-cache.evictions", "cause", cause).count();
+    }
+}
@@ -0,0 +1,110 @@
+package app.partsvibe.users.queries.usermanagement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.partsvibe.shared.cqrs.KeysetCursor;
+import app.partsvibe.shared.cqrs.KeysetCursorCodec;
+import app.partsvibe.users.test.it.AbstractUsersIntegrationTest;
+import jakarta.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+// Run with -Dit.benchmarks=true, see README.md.
+@EnabledIfSystemProperty(named = "it.benchmarks", matches = "true")
+class SearchUsersDeepPageBenchmarkIT extends AbstractUsersIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(SearchUsersDeepPageBenchmarkIT.class);
+
+    private static final int USERS = 200_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_PAGES = 50;
+    private static final int MEASURED_PAGES = 300;
+
+    @Autowired
+    private SearchUsersQueryHandler queryHandler;
+
+    @Autowired
+    private KeysetCursorCodec keysetCursorCodec;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void servesDeepPagesInUnderTenMilliseconds() {
+        seed();
+
+        for (String sortBy : List.of(SearchUsersQuery.SORT_BY_USERNAME, SearchUsersQuery.SORT_BY_ENABLED)) {
+            for (String sortDir : List.of(SearchUsersQuery.SORT_ASC, SearchUsersQuery.SORT_DESC)) {
+                var query = SearchUsersQuery.builder()
+                        .cursor(deepCursor(sortBy, sortDir))
+                        .pageSize(PAGE_SIZE)
+                        .sortBy(sortBy)
+                        .sortDir(sortDir)
+                        .build();
+                for (int i = 0; i < WARMUP_PAGES; i++) {
+                    queryHandler.handle(query);
+                }
+                long[] latenciesNanos = new long[MEASURED_PAGES];
+                for (int i = 0; i < MEASURED_PAGES; i++) {
+                    long startedAt = System.nanoTime();
+                    assertThat(queryHandler.handle(query).items()).hasSize(PAGE_SIZE);
+                    latenciesNanos[i] = System.nanoTime() - startedAt;
+                }
+                Arrays.sort(latenciesNanos);
+
+                log.info(
+                        "Deep user page benchmark. users={}, sortBy={}, sortDir={}, pages={}, p50Ms={}, p95Ms={}, p99Ms={}",
+                        USERS,
+                        sortBy,
+                        sortDir,
+                        MEASURED_PAGES,
+                        millis(percentile(latenciesNanos, 50)),
+                        millis(percentile(latenciesNanos, 95)),
+                        millis(percentile(latenciesNanos, 99)));
+                assertThat(percentile(latenciesNanos, 95)).isLessThan(10_000_000L);
+            }
+        }
+    }
+
+    // A cursor after the row nine tenths into the list, in the order the handler pages it.
+    private String deepCursor(String sortBy, String sortDir) {
+        String sql = "SELECT CAST(%1$s AS text), id FROM users ORDER BY %1$s %2$s, id ASC OFFSET :offset LIMIT 1"
+                .formatted(sortBy, sortDir);
+        Object[] row = (Object[]) entityManager
+                .createNativeQuery(sql)
+                .setParameter("offset", USERS * 9 / 10)
+                .getSingleResult();
+        // A boolean cast to text is "true" or "false", as the handler writes the enabled sort key.
+        return keysetCursorCodec.encode(
+                "users:" + sortBy + ":" + sortDir, KeysetCursor.after((String) row[0], ((Number) row[1]).longValue()));
+    }
+
+    private void seed() {
+        entityManager
+                .createNativeQuery(
+                        """
+                        INSERT INTO users (
+                            id, version, created_at, created_by, updated_at, updated_by, username, username_normalized,
+                            password_hash, enabled)
+                        SELECT nextval('users_id_seq'), 0, now(), 'benchmark', now(), 'benchmark',
+                               'page-user-' || n || '@example.com', 'page-user-' || n || '@example.com',
+                               'not-a-hash', n % 3 <> 0
+                        FROM generate_series(0, :users - 1) AS n
+                        """)
+                .setParameter("users", USERS)
+                .executeUpdate();
+        entityManager.createNativeQuery("ANALYZE users").executeUpdate();
+    }
+
+    private static long percentile(long[] sortedValues, int percentile) {
+        return sortedValues[Math.min(sortedValues.length - 1, sortedValues.length * percentile / 100)];
+    }
+
+    private static String millis(long nanos) {
+        return "%.2f".formatted(nanos / 1_000_000.0);
+    }
+}
@@ -4,13 +4,16 @@ import static app.partsvibe.users.test.databuilders.RoleTestDataBuilder.aRole;
 import static app.partsvibe.users.test.databuilders.UserTestDataBuilder.aUser;
 import static org.assertj.core.api.Assertions.assertThat;
 
-import app.partsvibe.shared.cqrs.PageResult;
+import app.partsvibe.shared.cqrs.KeysetPageResult;
 import app.partsvibe.users.domain.Role;
 import app.partsvibe.users.repo.RoleRepository;
 import app.partsvibe.users.repo.UserRepository;
 import app.partsvibe.users.test.it.AbstractUsersIntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +32,9 @@ class SearchUsersQueryHandlerIT extends AbstractUsersIntegrationTest {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Override
     protected void beforeEachTest(TestInfo testInfo) {
         ensureRoleExists(ROLE_IT_FILTER);
@@ -48,13 +54,12 @@ class SearchUsersQueryHandlerIT extends AbstractUsersIntegrationTest {
 
         SearchUsersQuery query = SearchUsersQuery.builder()
                 .usernameContains(" FILTER-AL ")
-                .currentPage(1)
                 .pageSize(10)
                 .sortBy(SearchUsersQuery.SORT_BY_USERNAME)
                 .sortDir(SearchUsersQuery.SORT_ASC)
                 .build();
 
-        PageResult<SearchUsersQuery.UserRow> result = queryHandler.handle(query);
+        KeysetPageResult<SearchUsersQuery.UserRow> result = queryHandler.handle(query);
 
         assertThat(result.items())
                 .extracting(SearchUsersQuery.UserRow::username)
@@ -78,13 +83,12 @@ class SearchUsersQueryHandlerIT extends AbstractUsersIntegrationTest {
         SearchUsersQuery query = SearchUsersQuery.builder()
                 .usernameContains("it-enabled")
                 .enabledIs(false)
-                .currentPage(1)
                 .pageSize(10)
                 .sortBy(SearchUsersQuery.SORT_BY_USERNAME)
                 .sortDir(SearchUsersQuery.SORT_ASC)
                 .build();
 
-        PageResult<SearchUsersQuery.UserRow> result = queryHandler.handle(query);
+        KeysetPageResult<SearchUsersQuery.UserRow> result = queryHandler.handle(query);
 
         assertThat(result.items())
                 .extracting(SearchUsersQuery.UserRow::username)
@@ -113,13 +117,12 @@ class SearchUsersQueryHandlerIT extends AbstractUsersIntegrationTest {
         SearchUsersQuery query = SearchUsersQuery.builder()
                 .usernameContains("it-role")
                 .rolesContainAll(List.of(ROLE_IT_ALPHA, ROLE_IT_BETA))
-                .currentPage(1)
                 .pageSize(10)
                 .sortBy(SearchUsersQuery.SORT_BY_USERNAME)
                 .sortDir(SearchUsersQuery.SORT_ASC)
                 .build();
 
-        PageResult<SearchUsersQuery.UserRow> result = queryHandler.handle(query);
+        KeysetPageResult<SearchUsersQuery.UserRow> result = queryHandler.handle(query);
 
         assertThat(result.items())
                 .extracting(SearchUsersQuery.UserRow::username)
@@ -127,33 +130,15 @@ class SearchUsersQueryHandlerIT extends AbstractUsersIntegrationTest {
     }
 
     @Test
-    void appliesPagingAndPageSizeToSortedResults() {
+    void followsCursorsForwardAndBackThroughSortedResults() {
         Role role = roleRepository.findByName(ROLE_IT_FILTER).orElseThrow();
         createUsers("it-page-user-", 12, role, true);
 
-        SearchUsersQuery firstPageQuery = SearchUsersQuery.builder()
-                .usernameContains("it-page-user-")
-                .currentPage(1)
-                .pageSize(10)
-                .sortBy(SearchUsersQuery.SORT_BY_USERNAME)
-                .sortDir(SearchUsersQuery.SORT_ASC)
-                .build();
-        SearchUsersQuery secondPageQuery = SearchUsersQuery.builder()
-                .usernameContains("it-page-user-")
-                .currentPage(2)
-                .pageSize(10)
-                .sortBy(SearchUsersQuery.SORT_BY_USERNAME)
-                .sortDir(SearchUsersQuery.SORT_ASC)
-                .build();
-
-        PageResult<SearchUsersQuery.UserRow> firstPage = queryHandler.handle(firstPageQuery);
-        PageResult<SearchUsersQuery.UserRow> secondPage = queryHandler.handle(secondPageQuery);
+        KeysetPageResult<SearchUsersQuery.UserRow> firstPage = queryHandler.handle(pageQuery("it-page-user-", null));
 
-        assertThat(firstPage.currentPage()).isEqualTo(1);
         assertThat(firstPage.pageSize()).isEqualTo(10);
-        assertThat(firstPage.totalRows()).isEqualTo(12);
-        assertThat(firstPage.totalPages()).isEqualTo(2);
-        assertThat(firstPage.items()).hasSize(10);
+        assertThat(firstPage.hasPrevious()).isFalse();
+        assertThat(firstPage.hasNext()).isTrue();
         assertThat(firstPage.items())
                 .extracting(SearchUsersQuery.UserRow::username)
                 .containsExactly(
@@ -168,14 +153,49 @@ class SearchUsersQueryHandlerIT extends AbstractUsersIntegrationTest {
                         "it-page-user-09",
                         "it-page-user-10");
 
-        assertThat(secondPage.currentPage()).isEqualTo(2);
-        assertThat(secondPage.pageSize()).isEqualTo(10);
-        assertThat(secondPage.totalRows()).isEqualTo(12);
-        assertThat(secondPage.totalPages()).isEqualTo(2);
-        assertThat(secondPage.items()).hasSize(2);
+        KeysetPageResult<SearchUsersQuery.UserRow> secondPage =
+                queryHandler.handle(pageQuery("it-page-user-", firstPage.nextCursor()));
+
+        assertThat(secondPage.hasPrevious()).isTrue();
+        assertThat(secondPage.hasNext()).isFalse();
+        assertThat(secondPage.lastPageCursor()).isNull();
         assertThat(secondPage.items())
                 .extracting(SearchUsersQuery.UserRow::username)
                 .containsExactly("it-page-user-11", "it-page-user-12");
+
+        KeysetPageResult<SearchUsersQuery.UserRow> backToFirstPage =
+                queryHandler.handle(pageQuery("it-page-user-", secondPage.previousCursor()));
+
+        assertThat(backToFirstPage.items()).isEqualTo(firstPage.items());
+        assertThat(backToFirstPage.hasPrevious()).isFalse();
+        assertThat(backToFirstPage.hasNext()).isTrue();
+    }
+
+    @Test
+    void lastPageCursorServesTrailingRows() {
+        Role role = roleRepository.findByName(ROLE_IT_FILTER).orElseThrow();
+        createUsers("it-page-last-user-", 12, role, true);
+
+        KeysetPageResult<SearchUsersQuery.UserRow> firstPage =
+                queryHandler.handle(pageQuery("it-page-last-user-", null));
+        KeysetPageResult<SearchUsersQuery.UserRow> lastPage =
+                queryHandler.handle(pageQuery("it-page-last-user-", firstPage.lastPageCursor()));
+
+        assertThat(lastPage.hasPrevious()).isTrue();
+        assertThat(lastPage.hasNext()).isFalse();
+        assertThat(lastPage.items())
+                .extracting(SearchUsersQuery.UserRow::username)
+                .containsExactly(
+                        "it-page-last-user-03",
+                        "it-page-last-user-04",
+                        "it-page-last-user-05",
+                        "it-page-last-user-06",
+                        "it-page-last-user-07",
+                        "it-page-last-user-08",
+                        "it-page-last-user-09",
+                        "it-page-last-user-10",
+                        "it-page-last-user-11",
+                        "it-page-last-user-12");
     }
 
     @Test
@@ -185,43 +205,79 @@ class SearchUsersQueryHandlerIT extends AbstractUsersIntegrationTest {
 
         SearchUsersQuery query = SearchUsersQuery.builder()
                 .usernameContains("it-page-size-user-")
-                .currentPage(1)
                 .pageSize(25)
                 .sortBy(SearchUsersQuery.SORT_BY_USERNAME)
                 .sortDir(SearchUsersQuery.SORT_ASC)
                 .build();
 
-        PageResult<SearchUsersQuery.UserRow> result = queryHandler.handle(query);
+        KeysetPageResult<SearchUsersQuery.UserRow> result = queryHandler.handle(query);
 
-        assertThat(result.currentPage()).isEqualTo(1);
         assertThat(result.pageSize()).isEqualTo(25);
-        assertThat(result.totalRows()).isEqualTo(12);
-        assertThat(result.totalPages()).isEqualTo(1);
+        assertThat(result.hasNext()).isFalse();
         assertThat(result.items()).hasSize(12);
     }
 
     @Test
-    void clampsCurrentPageToLastPageWhenRequestedPageIsBeyondTotalPages() {
+    void pagesThroughTiesOfSortKeyById() {
         Role role = roleRepository.findByName(ROLE_IT_FILTER).orElseThrow();
-        createUsers("it-page-overflow-user-", 12, role, true);
+        createUsers("it-page-ties-enabled-", 3, role, true);
+        createUsers("it-page-ties-disabled-", 3, role, false);
+
+        List<String> usernames = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPageResult<SearchUsersQuery.UserRow> page = queryHandler.handle(SearchUsersQuery.builder()
+                    .usernameContains("it-page-ties-")
+                    .cursor(cursor)
+                    .pageSize(2)
+                    .sortBy(SearchUsersQuery.SORT_BY_ENABLED)
+                    .sortDir(SearchUsersQuery.SORT_DESC)
+                    .build());
+            page.items().forEach(row -> usernames.add(row.username()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(usernames)
+                .containsExactly(
+                        "it-page-ties-enabled-01",
+                        "it-page-ties-enabled-02",
+                        "it-page-ties-enabled-03",
+                        "it-page-ties-disabled-01",
+                        "it-page-ties-disabled-02",
+                        "it-page-ties-disabled-03");
+    }
 
-        SearchUsersQuery query = SearchUsersQuery.builder()
-                .usernameContains("it-page-overflow-user-")
-                .currentPage(3)
+    @Test
+    void ignoresCursorIssuedForAnotherSortOrder() {
+        Role role = roleRepository.findByName(ROLE_IT_FILTER).orElseThrow();
+        createUsers("it-page-scope-user-", 12, role, true);
+        KeysetPageResult<SearchUsersQuery.UserRow> ascendingFirstPage =
+                queryHandler.handle(pageQuery("it-page-scope-user-", null));
+
+        KeysetPageResult<SearchUsersQuery.UserRow> result = queryHandler.handle(SearchUsersQuery.builder()
+                .usernameContains("it-page-scope-user-")
+                .cursor(ascendingFirstPage.nextCursor())
                 .pageSize(10)
                 .sortBy(SearchUsersQuery.SORT_BY_USERNAME)
-                .sortDir(SearchUsersQuery.SORT_ASC)
-                .build();
+                .sortDir(SearchUsersQuery.SORT_DESC)
+                .build());
 
-        PageResult<SearchUsersQuery.UserRow> result = queryHandler.handle(query);
+        assertThat(result.hasPrevious()).isFalse();
+        assertThat(result.items().getFirst().username()).isEqualTo("it-page-scope-user-12");
+    }
 
-        assertThat(result.currentPage()).isEqualTo(2);
-        assertThat(result.pageSize()).isEqualTo(10);
-        assertThat(result.totalRows()).isEqualTo(12);
-        assertThat(result.totalPages()).isEqualTo(2);
-        assertThat(result.items())
-                .extracting(SearchUsersQuery.UserRow::username)
-                .containsExactly("it-page-overflow-user-11", "it-page-overflow-user-12");
+    @Test
+    void countsOnlyUnfilteredLists() {
+        Role role = roleRepository.findByName(ROLE_IT_FILTER).orElseThrow();
+        createUsers("it-count-user-", 3, role, true);
+
+        KeysetPageResult<SearchUsersQuery.UserRow> unfiltered =
+                queryHandler.handle(SearchUsersQuery.builder().pageSize(10).build());
+        KeysetPageResult<SearchUsersQuery.UserRow> filtered = queryHandler.handle(pageQuery("it-count-user-", null));
+
+        assertThat(unfiltered.totalRows()).isEqualTo(userRepository.count());
+        assertThat(unfiltered.totalRowsEstimated()).isFalse();
+        assertThat(filtered.totalRows()).isNull();
     }
 
     @Test
@@ -231,13 +287,12 @@ class SearchUsersQueryHandlerIT extends AbstractUsersIntegrationTest {
 
         SearchUsersQuery query = SearchUsersQuery.builder()
                 .usernameContains("it-sort-desc-user-")
-                .currentPage(1)
                 .pageSize(10)
                 .sortBy(SearchUsersQuery.SORT_BY_USERNAME)
                 .sortDir(SearchUsersQuery.SORT_DESC)
                 .build();
 
-        PageResult<SearchUsersQuery.UserRow> result = queryHandler.handle(query);
+        KeysetPageResult<SearchUsersQuery.UserRow> result = queryHandler.handle(query);
 
         assertThat(result.items())
                 .extracting(SearchUsersQuery.UserRow::username)
@@ -253,16 +308,73 @@ class SearchUsersQueryHandlerIT extends AbstractUsersIntegrationTest {
         SearchUsersQuery query = SearchUsersQuery.builder()
                 .usernameContains("it-alpha")
                 .rolesContainAll(List.of(ROLE_IT_ALPHA, "ROLE_IT_UNKNOWN"))
-                .currentPage(1)
                 .pageSize(10)
                 .sortBy(SearchUsersQuery.SORT_BY_USERNAME)
                 .sortDir(SearchUsersQuery.SORT_ASC)
                 .build();
 
-        PageResult<SearchUsersQuery.UserRow> result = queryHandler.handle(query);
+        KeysetPageResult<SearchUsersQuery.UserRow> result = queryHandler.handle(query);
 
-        assertThat(result.totalRows()).isZero();
         assertThat(result.items()).isEmpty();
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    @Test
+    void loadsPageAndItsRolesInTwoStatementsRegardlessOfPageSize() {
+        Role alpha = roleRepository.findByName(ROLE_IT_ALPHA).orElseThrow();
+        Role beta = roleRepository.findByName(ROLE_IT_BETA).orElseThrow();
+        List<app.partsvibe.users.domain.User> users = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            users.add(aUser().withUsername("it-statements-user-" + String.format("%02d", i))
+                    .enabled()
+                    .withRoles(alpha, beta)
+                    .build());
+        }
+        userRepository.saveAll(users);
+
+        for (int pageSize : List.of(5, 30)) {
+            Statistics statistics = clearedStatistics();
+
+            KeysetPageResult<SearchUsersQuery.UserRow> result = queryHandler.handle(SearchUsersQuery.builder()
+                    .usernameContains("it-statements-user-")
+                    .rolesContainAll(List.of(ROLE_IT_ALPHA, ROLE_IT_BETA))
+                    .pageSize(pageSize)
+                    .sortBy(SearchUsersQuery.SORT_BY_USERNAME)
+                    .sortDir(SearchUsersQuery.SORT_ASC)
+                    .build());
+
+            assertThat(result.items()).hasSize(pageSize);
+            assertThat(result.items())
+                    .allSatisfy(row -> assertThat(row.roles()).containsExactly(ROLE_IT_ALPHA, ROLE_IT_BETA));
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void skipsRoleQueryForEmptyPage() {
+        Statistics statistics = clearedStatistics();
+
+        KeysetPageResult<SearchUsersQuery.UserRow> result = queryHandler.handle(pageQuery("it-statements-none-", null));
+
+        assertThat(result.items()).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private static SearchUsersQuery pageQuery(String usernamePrefix, String cursor) {
+        return SearchUsersQuery.builder()
+                .usernameContains(usernamePrefix)
+                .cursor(cursor)
+                .pageSize(10)
+                .sortBy(SearchUsersQuery.SORT_BY_USERNAME)
+                .sortDir(SearchUsersQuery.SORT_ASC)
+                .build();
+    }
+
+    private Statistics clearedStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
     }
 
     private void createUsers(String usernamePrefix, int count, Role role, boolean enabled) {
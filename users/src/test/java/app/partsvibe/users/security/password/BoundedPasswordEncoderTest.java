@@ -0,0 +1,116 @@
+package app.partsvibe.users.security.password;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import app.partsvibe.users.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    @Test
+    void rejectsHashingAtOnceWhenQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), properties(1, 1), meterRegistry);
+        var running = CompletableFuture.supplyAsync(() -> encoder.encode("first-password"));
+        var queued = CompletableFuture.supplyAsync(() -> encoder.matches("second-password", "hash"));
+        awaitGauge("app.users.password-hashing.active", 1);
+        awaitGauge("app.users.password-hashing.queue.depth", 1);
+
+        assertThatThrownBy(() -> encoder.encode("third-password")).isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(meterRegistry.counter("app.users.password-hashing.rejected", "operation", "encode").count())
+                .isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash-of-first-password");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isFalse();
+    }
+
+    @Test
+    void recordsHashingDurationPerOperation() {
+        release.countDown();
+        encoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), properties(1, 0), meterRegistry);
+
+        encoder.encode("password");
+        encoder.matches("password", "hash-of-password");
+
+        assertThat(timerCount("app.users.password-hashing.duration", "encode")).isEqualTo(1);
+        assertThat(timerCount("app.users.password-hashing.duration", "matches")).isEqualTo(1);
+        assertThat(timerCount("app.users.password-hashing.queue.wait", "matches")).isEqualTo(1);
+    }
+
+    @Test
+    void verifiesLegacyBcryptHashesAndAsksToUpgradeThem() {
+        PasswordEncoder delegating = BoundedPasswordEncoder.delegatingEncoder(5);
+        String legacyHash = new BCryptPasswordEncoder(5).encode("secret-password");
+        String weakerHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret-password");
+        String currentHash = delegating.encode("secret-password");
+
+        assertThat(currentHash).startsWith("{bcrypt}");
+        assertThat(delegating.matches("secret-password", legacyHash)).isTrue();
+        assertThat(delegating.matches("secret-password", weakerHash)).isTrue();
+        assertThat(delegating.upgradeEncoding(legacyHash)).isTrue();
+        assertThat(delegating.upgradeEncoding(weakerHash)).isTrue();
+        assertThat(delegating.upgradeEncoding(currentHash)).isFalse();
+    }
+
+    private static PasswordHashingProperties properties(int threads, int queueCapacity) {
+        var properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        return properties;
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(name).gauge().value() != expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Gauge " + name + " did not reach " + expected);
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private long timerCount(String name, String operation) {
+        return meterRegistry.get(name).tag("operation", operation).timer().count();
+    }
+
+    private final class BlockingPasswordEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            awaitRelease();
+            return "hash-of-" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            awaitRelease();
+            return encodedPassword.equals("hash-of-" + rawPassword);
+        }
+
+        private void awaitRelease() {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -4,18 +4,27 @@ import app.partsvibe.shared.email.EmailSender;
 import app.partsvibe.shared.security.AuthorizationService;
 import app.partsvibe.storage.api.DeleteFileResult;
 import app.partsvibe.storage.api.StorageClient;
+import app.partsvibe.storage.api.StorageStreamUploadRequest;
 import app.partsvibe.storage.api.StorageUploadRequest;
 import app.partsvibe.storage.api.StorageUploadResult;
 import app.partsvibe.testsupport.fakes.TestFakesConfiguration;
 import app.partsvibe.testsupport.it.CommonJpaTestConfiguration;
+import app.partsvibe.users.config.NormalizedColumnsInitializer;
+import app.partsvibe.users.config.UserDetailsCacheProperties;
+import app.partsvibe.users.config.UserIndexesInitializer;
+import app.partsvibe.users.config.UserMenuCacheProperties;
 import app.partsvibe.users.config.UsersAuthProperties;
 import app.partsvibe.users.email.ThymeleafEmailTemplateRenderer;
 import app.partsvibe.users.email.config.EmailTextTemplateEngineConfig;
 import app.partsvibe.users.email.templates.InviteEmailTemplate;
 import app.partsvibe.users.email.templates.PasswordResetEmailTemplate;
+import app.partsvibe.users.queries.auth.UserDetailsCache;
+import app.partsvibe.users.queries.auth.UserMenuCache;
 import app.partsvibe.users.security.links.UserAuthLinkBuilder;
 import app.partsvibe.users.security.tokens.CredentialTokenCodec;
 import app.partsvibe.users.test.fakes.InMemoryEmailSender;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -42,6 +51,8 @@ import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
         useDefaultFilters = false,
         includeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = ".*Handler"))
 @Import({
+    NormalizedColumnsInitializer.class,
+    UserIndexesInitializer.class,
     CommonJpaTestConfiguration.class,
     TestFakesConfiguration.class,
     EmailTextTemplateEngineConfig.class,
@@ -50,7 +61,9 @@ import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
     PasswordResetEmailTemplate.class,
     CredentialTokenCodec.class,
     AuthorizationService.class,
-    UserAuthLinkBuilder.class
+    UserAuthLinkBuilder.class,
+    UserMenuCache.class,
+    UserDetailsCache.class
 })
 public class UsersItTestApplication {
     @Bean
@@ -93,6 +106,21 @@ public class UsersItTestApplication {
         return new UsersAuthProperties();
     }
 
+    @Bean
+    UserMenuCacheProperties userMenuCacheProperties() {
+        return new UserMenuCacheProperties();
+    }
+
+    @Bean
+    UserDetailsCacheProperties userDetailsCacheProperties() {
+        return new UserDetailsCacheProperties();
+    }
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
     public static final class InMemoryStorageClient implements StorageClient {
         private final Set<UUID> storedIds = new HashSet<>();
         private final Set<UUID> deletedIds = new HashSet<>();
@@ -104,6 +132,13 @@ public class UsersItTestApplication {
             return new StorageUploadResult(fileId);
         }
 
+        @Override
+        public StorageUploadResult upload(StorageStreamUploadRequest request) {
+            UUID fileId = UUID.randomUUID();
+            storedIds.add(fileId);
+            return new StorageUploadResult(fileId);
+        }
+
         @Override
         public DeleteFileResult delete(UUID fileId) {
             deletedIds.add(fileId);
@@ -5,7 +5,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-import app.partsvibe.shared.cqrs.PageResult;
+import app.partsvibe.shared.cqrs.KeysetPageResult;
 import app.partsvibe.users.commands.invite.InviteUserCommand;
 import app.partsvibe.users.commands.invite.InviteUserCommandResult;
 import app.partsvibe.users.commands.usermanagement.DeleteUserCommand;
@@ -26,7 +26,9 @@ class UsersControllerSecurityIT extends AbstractUsersWebIntegrationTest {
     @BeforeEach
     void setUpMediatorHandlers() {
         mediator.onQuery(GetAvailableRolesQuery.class, query -> List.of("ROLE_ADMIN", "ROLE_USER"));
-        mediator.onQuery(SearchUsersQuery.class, query -> new PageResult<>(List.of(), 0, 0, 1, 10));
+        mediator.onQuery(
+                SearchUsersQuery.class,
+                query -> new KeysetPageResult<>(List.of(), 10, null, null, null, 0L, false));
         mediator.onQuery(UserByIdQuery.class, query -> new UserDetailsModel(1L, "bob@example.com", true, List.of()));
         mediator.onCommand(
                 InviteUserCommand.class,
@@ -39,6 +41,10 @@ class UsersControllerSecurityIT extends AbstractUsersWebIntegrationTest {
                 app.partsvibe.users.commands.admin.TriggerRetentionCleanupCommand.class,
                 command ->
                         new app.partsvibe.users.commands.admin.TriggerRetentionCleanupCommandResult(UUID.randomUUID()));
+        mediator.onCommand(
+                app.partsvibe.users.commands.admin.TriggerCatalogReindexCommand.class,
+                command ->
+                        new app.partsvibe.users.commands.admin.TriggerCatalogReindexCommandResult(UUID.randomUUID()));
     }
 
     @Test
@@ -63,6 +69,7 @@ class UsersControllerSecurityIT extends AbstractUsersWebIntegrationTest {
         mockMvc.perform(post("/admin/users/1/do-unlock").with(csrf())).andExpect(status().isForbidden());
         mockMvc.perform(post("/admin/event-queue/retention-cleanup").with(csrf()))
                 .andExpect(status().isForbidden());
+        mockMvc.perform(post("/admin/catalog/reindex").with(csrf())).andExpect(status().isForbidden());
     }
 
     @Test
@@ -87,5 +94,6 @@ class UsersControllerSecurityIT extends AbstractUsersWebIntegrationTest {
         mockMvc.perform(post("/admin/users/1/do-unlock").with(csrf())).andExpect(status().is3xxRedirection());
         mockMvc.perform(post("/admin/event-queue/retention-cleanup").with(csrf()))
                 .andExpect(status().is3xxRedirection());
+        mockMvc.perform(post("/admin/catalog/reindex").with(csrf())).andExpect(status().is3xxRedirection());
     }
 }